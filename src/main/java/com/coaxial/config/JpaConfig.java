@@ -0,0 +1,23 @@
+package com.coaxial.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JpaConfig {
+
+    // Per-request SQL statement counting (see SqlStatementCountingFilter); wrapping the DataSource
+    // counts JdbcTemplate statements as well as Hibernate's
+    @Bean
+    public static BeanPostProcessor sqlStatementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? SqlStatementCounter.wrap(dataSource) : bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,107 @@
+package com.coaxial.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Counts the JDBC statements prepared on the current thread, whether they come from
+ * Hibernate or JdbcTemplate. JpaConfig wraps the application DataSource with wrap();
+ * SqlStatementCountingFilter resets and reads the count around each request.
+ */
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    private SqlStatementCounter() {
+    }
+
+    /**
+     * DataSource whose connections count every prepareStatement, prepareCall and createStatement
+     */
+    public static DataSource wrap(DataSource dataSource) {
+        return new CountingDataSource(dataSource);
+    }
+
+    private static Connection countingConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(SqlStatementCounter.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "prepareStatement", "prepareCall", "createStatement" -> increment();
+                        case "equals" -> {
+                            return proxy == args[0];
+                        }
+                        case "hashCode" -> {
+                            return System.identityHashCode(proxy);
+                        }
+                        default -> {
+                        }
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    private static void increment() {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+    }
+
+    /**
+     * Closeable so the pool behind it is still shut down with the application context
+     */
+    private static final class CountingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+        private CountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return countingConnection(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return countingConnection(super.getConnection(username, password));
+        }
+
+        @Override
+        public void close() throws Exception {
+            if (getTargetDataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    public static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    /**
+     * Statements counted so far on this thread, or -1 if counting is not active
+     */
+    public static int current() {
+        int[] count = COUNT.get();
+        return count != null ? count[0] : -1;
+    }
+
+    /**
+     * Stop counting on this thread and return the number of statements since start()
+     */
+    public static int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count != null ? count[0] : 0;
+    }
+}
@@ -0,0 +1,53 @@
+package com.coaxial.config;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Logs how many SQL statements each API request issued, and warns when a request
+ * goes over the threshold - usually a sign of an N+1 query pattern.
+ */
+@Component
+public class SqlStatementCountingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementCountingFilter.class);
+
+    @Value("${app.sql.statement-counting.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.sql.statement-counting.warn-threshold:50}")
+    private int warnThreshold;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int statements = SqlStatementCounter.stop();
+            if (statements > warnThreshold) {
+                log.warn("{} {} issued {} SQL statements (threshold {})",
+                        request.getMethod(), request.getRequestURI(), statements, warnThreshold);
+            } else if (log.isDebugEnabled()) {
+                log.debug("{} {} issued {} SQL statements", request.getMethod(), request.getRequestURI(), statements);
+            }
+        }
+    }
+}
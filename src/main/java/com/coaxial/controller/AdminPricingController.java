@@ -6,6 +6,10 @@ import com.coaxial.service.AdminPricingService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -404,16 +408,30 @@ public class AdminPricingController {
             logger.info("Admin bulk updating discounts for courseTypeId: {}, level: {}", 
                     request.getCourseTypeId(), request.getLevel());
             
-            int updatedCount = adminPricingService.bulkUpdateDiscountByCourseType(request);
+            BulkDiscountUpdateResultDTO result = adminPricingService.bulkUpdateDiscountByCourseType(request);
+            String message = result.isDryRun()
+                    ? String.format("Dry run: discounts would be updated for %d %s(s)", 
+                            result.getAffectedCount(), request.getLevel().name().toLowerCase())
+                    : String.format("Successfully updated discounts for %d %s(s)", 
+                            result.getUpdatedCount(), request.getLevel().name().toLowerCase());
             
             return ResponseEntity.ok(Map.of(
                 "success", true,
-                "updatedCount", updatedCount,
-                "message", String.format("Successfully updated discounts for %d %s(s)", 
-                        updatedCount, request.getLevel().name().toLowerCase()),
+                "dryRun", result.isDryRun(),
+                "affectedCount", result.getAffectedCount(),
+                "updatedCount", result.getUpdatedCount(),
+                "version", result.getVersion(),
+                "message", message,
                 "courseTypeId", request.getCourseTypeId(),
                 "level", request.getLevel().name()
             ));
+        } catch (OptimisticLockingFailureException e) {
+            logger.warn("Conflicting bulk discount update: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of(
+                    "success", false, 
+                    "message", e.getMessage()
+                ));
         } catch (IllegalArgumentException e) {
             logger.warn("Invalid bulk discount update request: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -433,33 +451,40 @@ public class AdminPricingController {
     
     /**
      * Filter pricing configurations
-     * GET /api/admin/pricing/filter?courseTypeId=1&entityType=COURSE&isActive=true&search=Java
+     * GET /api/admin/pricing/filter?courseTypeId=1&entityType=COURSE&isActive=true&search=Java&page=0&size=50
      */
     @GetMapping("/filter")
     public ResponseEntity<?> filterPricingConfigurations(
             @RequestParam(required = false) Long courseTypeId,
             @RequestParam(required = false) String entityType,
             @RequestParam(required = false) Boolean isActive,
-            @RequestParam(required = false) String search) {
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
         try {
-            logger.info("Admin filtering pricing configurations - courseTypeId: {}, entityType: {}, isActive: {}, search: {}", 
-                    courseTypeId, entityType, isActive, search);
+            logger.info("Admin filtering pricing configurations - courseTypeId: {}, entityType: {}, isActive: {}, search: {}, page: {}, size: {}", 
+                    courseTypeId, entityType, isActive, search, page, size);
             
-            List<com.coaxial.dto.PricingFilterResponse> results = adminPricingService.filterPricingConfigurations(
-                    courseTypeId, entityType, isActive, search);
+            Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), 200));
+            Page<PricingFilterResponse> results = adminPricingService.filterPricingConfigurations(
+                    courseTypeId, entityType, isActive, search, pageable);
             
-            return ResponseEntity.ok(Map.of(
-                "success", true,
-                "data", results,
-                "count", results.size(),
-                "message", "Pricing configurations retrieved successfully",
-                "filters", Map.of(
-                    "courseTypeId", courseTypeId != null ? courseTypeId : "all",
-                    "entityType", entityType != null ? entityType : "all",
-                    "isActive", isActive != null ? isActive : "all",
-                    "search", search != null ? search : ""
-                )
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", results.getContent());
+            response.put("count", results.getNumberOfElements());
+            response.put("currentPage", results.getNumber());
+            response.put("totalPages", results.getTotalPages());
+            response.put("totalElements", results.getTotalElements());
+            response.put("size", results.getSize());
+            response.put("message", "Pricing configurations retrieved successfully");
+            response.put("filters", Map.of(
+                "courseTypeId", courseTypeId != null ? courseTypeId : "all",
+                "entityType", entityType != null ? entityType : "all",
+                "isActive", isActive != null ? isActive : "all",
+                "search", search != null ? search : ""
             ));
+            return ResponseEntity.ok(response);
         } catch (Exception e) {
             logger.error("Error filtering pricing configurations", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
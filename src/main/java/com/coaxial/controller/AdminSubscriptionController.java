@@ -0,0 +1,123 @@
+package com.coaxial.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.coaxial.dto.CursorPageResponse;
+import com.coaxial.dto.SubscriptionAnalyticsPointDTO;
+import com.coaxial.dto.SubscriptionResponseDTO;
+import com.coaxial.enums.SubscriptionLevel;
+import com.coaxial.enums.SubscriptionStatus;
+import com.coaxial.service.StudentSubscriptionService;
+import com.coaxial.service.SubscriptionRollupService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * REST Controller for Admin Subscription Management
+ */
+@RestController
+@RequestMapping("/api/admin/subscriptions")
+@PreAuthorize("hasRole('ADMIN')")
+@CrossOrigin(origins = "*", maxAge = 3600)
+@Tag(name = "Admin Subscriptions", description = "APIs for admins to browse student subscriptions")
+public class AdminSubscriptionController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminSubscriptionController.class);
+
+    @Autowired
+    private StudentSubscriptionService subscriptionService;
+
+    @Autowired
+    private SubscriptionRollupService subscriptionRollupService;
+
+    /**
+     * List all subscriptions, newest first, with keyset pagination
+     * GET /api/admin/subscriptions?status=ACTIVE&size=50&cursor=...
+     */
+    @Operation(summary = "List subscriptions", description = "Cursor-paginated list of all student subscriptions, newest first")
+    @GetMapping
+    public ResponseEntity<?> getSubscriptions(
+            @RequestParam(required = false) SubscriptionStatus status,
+            @Parameter(description = "Opaque cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        try {
+            CursorPageResponse<SubscriptionResponseDTO> page = subscriptionService.getAllSubscriptionsPage(status, cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid admin subscriptions request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error listing subscriptions", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Failed to list subscriptions"));
+        }
+    }
+
+    // ==================== ANALYTICS ENDPOINTS ====================
+
+    /**
+     * Daily revenue and active-subscriber time series from the rollup table
+     * GET /api/admin/subscriptions/analytics/series?fromDate=2025-01-01&toDate=2025-01-31&subscriptionLevel=CLASS
+     */
+    @Operation(summary = "Subscription time series", description = "Daily activations, expirations, cancellations, revenue and active subscribers")
+    @GetMapping("/analytics/series")
+    public ResponseEntity<?> getAnalyticsSeries(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(required = false) SubscriptionLevel subscriptionLevel,
+            @RequestParam(required = false) Long entityId) {
+        try {
+            List<SubscriptionAnalyticsPointDTO> series =
+                    subscriptionRollupService.getDailySeries(fromDate, toDate, subscriptionLevel, entityId);
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "data", series,
+                "count", series.size()
+            ));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid analytics request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error retrieving subscription analytics", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("success", false, "message", "Error retrieving subscription analytics"));
+        }
+    }
+
+    /**
+     * Totals per subscription level from the rollup table
+     * GET /api/admin/subscriptions/analytics/totals
+     */
+    @Operation(summary = "Subscription totals by level", description = "Paid subscriptions, active subscriptions and revenue per level")
+    @GetMapping("/analytics/totals")
+    public ResponseEntity<?> getAnalyticsTotals() {
+        try {
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "data", subscriptionService.getSubscriptionStatistics()
+            ));
+        } catch (Exception e) {
+            logger.error("Error retrieving subscription totals", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("success", false, "message", "Error retrieving subscription totals"));
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.coaxial.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.coaxial.entity.RazorpayWebhookEvent;
+import com.coaxial.enums.WebhookEventStatus;
+import com.coaxial.service.RazorpayWebhookDispatcher;
+import com.coaxial.service.RazorpayWebhookEventService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * REST Controller for inspecting and replaying stored Razorpay webhook events
+ */
+@RestController
+@RequestMapping("/api/admin/webhooks/razorpay")
+@PreAuthorize("hasRole('ADMIN')")
+@CrossOrigin(origins = "*", maxAge = 3600)
+@Tag(name = "Admin Webhooks", description = "APIs for admins to inspect and replay Razorpay webhook events")
+public class AdminWebhookController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminWebhookController.class);
+
+    @Autowired
+    private RazorpayWebhookEventService webhookEventService;
+
+    @Autowired
+    private RazorpayWebhookDispatcher webhookDispatcher;
+
+    /**
+     * List stored webhook events, newest first
+     * GET /api/admin/webhooks/razorpay/events?status=FAILED&page=0&size=50
+     */
+    @Operation(summary = "List webhook events", description = "Paginated list of stored webhook events, optionally filtered by status")
+    @GetMapping("/events")
+    public ResponseEntity<?> getEvents(
+            @RequestParam(required = false) WebhookEventStatus status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        try {
+            Page<RazorpayWebhookEvent> events = webhookEventService.getEvents(
+                    status, PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), 200)));
+            return ResponseEntity.ok(events);
+        } catch (Exception e) {
+            logger.error("Error fetching webhook events", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Failed to fetch webhook events"));
+        }
+    }
+
+    /**
+     * Pending events that have not completed within the given time
+     * GET /api/admin/webhooks/razorpay/events/stuck?olderThanMinutes=30
+     */
+    @Operation(summary = "List stuck webhook events", description = "Pending events received more than olderThanMinutes ago")
+    @GetMapping("/events/stuck")
+    public ResponseEntity<?> getStuckEvents(@RequestParam(defaultValue = "30") int olderThanMinutes) {
+        try {
+            List<RazorpayWebhookEvent> events = webhookEventService.getStuckEvents(olderThanMinutes);
+            return ResponseEntity.ok(events);
+        } catch (Exception e) {
+            logger.error("Error fetching stuck webhook events", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Failed to fetch stuck webhook events"));
+        }
+    }
+
+    /**
+     * Replay a single event
+     * POST /api/admin/webhooks/razorpay/events/{id}/replay
+     */
+    @Operation(summary = "Replay webhook event", description = "Queue a stored webhook event for processing again")
+    @PostMapping("/events/{id}/replay")
+    public ResponseEntity<?> replayEvent(@PathVariable Long id) {
+        try {
+            RazorpayWebhookEvent event = webhookEventService.replayEvent(id);
+            webhookDispatcher.signal();
+            return ResponseEntity.ok(Map.of(
+                    "message", "Webhook event queued for replay",
+                    "eventId", event.getEventId()
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error replaying webhook event {}", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Failed to replay webhook event"));
+        }
+    }
+
+    /**
+     * Replay every failed event
+     * POST /api/admin/webhooks/razorpay/events/replay-failed
+     */
+    @Operation(summary = "Replay failed webhook events", description = "Queue every failed webhook event for processing again")
+    @PostMapping("/events/replay-failed")
+    public ResponseEntity<?> replayFailedEvents() {
+        try {
+            int count = webhookEventService.replayFailedEvents();
+            webhookDispatcher.signal();
+            return ResponseEntity.ok(Map.of(
+                    "message", "Failed webhook events queued for replay",
+                    "count", count
+            ));
+        } catch (Exception e) {
+            logger.error("Error replaying failed webhook events", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Failed to replay webhook events"));
+        }
+    }
+}
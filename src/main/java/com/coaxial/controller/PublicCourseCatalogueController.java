@@ -1,16 +1,22 @@
 package com.coaxial.controller;
 
-import com.coaxial.dto.CourseCatalogueResponse;
 import com.coaxial.service.CourseCatalogueService;
+import com.coaxial.service.CourseCatalogueSnapshotService;
+import com.coaxial.service.CourseCatalogueSnapshotService.CatalogueDocument;
+import com.coaxial.service.CourseCatalogueSnapshotService.CatalogueSnapshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Public Course Catalogue Controller
@@ -19,6 +25,7 @@ import java.util.Map;
  * - Academic: Class objects
  * - Competitive: Exam objects
  * - Professional: Course objects
+ * Catalogue responses are served from an in-memory snapshot with ETag/Last-Modified validators
  */
 @RestController
 @RequestMapping("/api/public/course-catalogue")
@@ -30,6 +37,12 @@ public class PublicCourseCatalogueController {
     @Autowired
     private CourseCatalogueService catalogueService;
     
+    @Autowired
+    private CourseCatalogueSnapshotService snapshotService;
+    
+    @Value("${app.catalogue.snapshot.http-max-age-seconds:60}")
+    private long cacheMaxAgeSeconds;
+    
     /**
      * Get combined course catalogue (all types in one response)
      * GET /api/public/course-catalogue/all
@@ -42,37 +55,9 @@ public class PublicCourseCatalogueController {
     @GetMapping("/all")
     public ResponseEntity<?> getAllCourseCatalogue() {
         try {
-            logger.info("Public request for combined course catalogue");
-            
-            CourseCatalogueResponse catalogue = catalogueService.getAllCourseCatalogue();
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("courseType", catalogue.getCourseType());
-            response.put("description", catalogue.getDescription());
-            
-            // Add all three types
-            if (catalogue.getClasses() != null) {
-                response.put("classes", catalogue.getClasses());
-                response.put("classCount", catalogue.getClasses().size());
-            }
-            if (catalogue.getExams() != null) {
-                response.put("exams", catalogue.getExams());
-                response.put("examCount", catalogue.getExams().size());
-            }
-            if (catalogue.getCourses() != null) {
-                response.put("courses", catalogue.getCourses());
-                response.put("courseCount", catalogue.getCourses().size());
-            }
-            
-            response.put("timestamp", java.time.LocalDateTime.now().toString());
-            
-            logger.info("Returning combined catalogue with {} classes, {} exams, {} courses", 
-                catalogue.getClasses() != null ? catalogue.getClasses().size() : 0,
-                catalogue.getExams() != null ? catalogue.getExams().size() : 0,
-                catalogue.getCourses() != null ? catalogue.getCourses().size() : 0);
-            
-            return ResponseEntity.ok(response);
+            CatalogueSnapshot snapshot = snapshotService.getSnapshot();
+            logger.debug("Serving combined course catalogue from snapshot v{}", snapshot.getVersion());
+            return catalogueResponse(snapshot, snapshot.getAll());
             
         } catch (Exception e) {
             logger.error("Error fetching combined course catalogue", e);
@@ -97,8 +82,6 @@ public class PublicCourseCatalogueController {
     public ResponseEntity<?> getCourseCatalogue(
             @RequestParam(required = false) Long courseTypeId) {
         try {
-            logger.info("Public request for course catalogue, courseTypeId: {}", courseTypeId);
-            
             if (courseTypeId == null) {
                 return ResponseEntity.badRequest()
                         .body(Map.of(
@@ -107,49 +90,20 @@ public class PublicCourseCatalogueController {
                         ));
             }
             
-            CourseCatalogueResponse catalogue = catalogueService.getCourseCatalogue(courseTypeId);
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("courseTypeId", catalogue.getCourseTypeId());
-            response.put("courseType", catalogue.getCourseType());
-            response.put("description", catalogue.getDescription());
-            
-            // Add appropriate data based on course type
-            if (catalogue.getClasses() != null && !catalogue.getClasses().isEmpty()) {
-                logger.info("Adding {} classes to response", catalogue.getClasses().size());
-                response.put("classes", catalogue.getClasses());
-                response.put("count", catalogue.getClasses().size());
-            } else if (catalogue.getExams() != null && !catalogue.getExams().isEmpty()) {
-                logger.info("Adding {} exams to response", catalogue.getExams().size());
-                response.put("exams", catalogue.getExams());
-                response.put("count", catalogue.getExams().size());
-            } else if (catalogue.getCourses() != null && !catalogue.getCourses().isEmpty()) {
-                logger.info("Adding {} courses to response", catalogue.getCourses().size());
-                response.put("courses", catalogue.getCourses());
-                response.put("count", catalogue.getCourses().size());
-            } else {
-                logger.warn("No data found in catalogue response. Classes: {}, Exams: {}, Courses: {}", 
-                    catalogue.getClasses() != null ? catalogue.getClasses().size() : "null",
-                    catalogue.getExams() != null ? catalogue.getExams().size() : "null",
-                    catalogue.getCourses() != null ? catalogue.getCourses().size() : "null");
-                response.put("count", 0);
-                response.put("message", "No data found for this course type");
+            CatalogueSnapshot snapshot = snapshotService.getSnapshot();
+            CatalogueDocument document = snapshot.getCourseType(courseTypeId);
+            if (document == null) {
+                logger.warn("Invalid course type ID: {}", courseTypeId);
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(Map.of(
+                            "success", false,
+                            "message", "Course type not found"
+                        ));
             }
             
-            response.put("timestamp", java.time.LocalDateTime.now().toString());
-            
-            logger.info("Returning catalogue for courseType: {} with {} items", 
-                catalogue.getCourseType(), response.get("count"));
-            return ResponseEntity.ok(response);
+            logger.debug("Serving catalogue for courseTypeId {} from snapshot v{}", courseTypeId, snapshot.getVersion());
+            return catalogueResponse(snapshot, document);
             
-        } catch (IllegalArgumentException e) {
-            logger.warn("Invalid course type ID: {}", courseTypeId);
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(Map.of(
-                        "success", false,
-                        "message", e.getMessage()
-                    ));
         } catch (Exception e) {
             logger.error("Error fetching course catalogue", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -211,5 +165,17 @@ public class PublicCourseCatalogueController {
                     ));
         }
     }
+    
+    /**
+     * Pre-serialized snapshot document with validators; conditional GETs are answered with 304
+     */
+    private ResponseEntity<byte[]> catalogueResponse(CatalogueSnapshot snapshot, CatalogueDocument document) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(document.getETag())
+                .lastModified(snapshot.getLastModified())
+                .cacheControl(CacheControl.maxAge(cacheMaxAgeSeconds, TimeUnit.SECONDS).cachePublic())
+                .body(document.getBody());
+    }
 }
 
@@ -1,15 +1,21 @@
 package com.coaxial.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -22,11 +28,19 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.coaxial.dto.NearDuplicateCheckRequestDTO;
 import com.coaxial.dto.QuestionFilterRequestDTO;
+import com.coaxial.dto.QuestionImportResultDTO;
 import com.coaxial.dto.QuestionRequestDTO;
 import com.coaxial.dto.QuestionResponseDTO;
+import com.coaxial.dto.SimilarQuestionDTO;
+import com.coaxial.service.QuestionExportService;
+import com.coaxial.service.QuestionImportService;
 import com.coaxial.service.QuestionService;
+import com.coaxial.service.QuestionStatisticsService;
 
 import jakarta.validation.Valid;
 
@@ -37,9 +51,17 @@ import jakarta.validation.Valid;
 public class QuestionController {
     
     private final QuestionService questionService;
+    private final QuestionImportService questionImportService;
+    private final QuestionExportService questionExportService;
+    private final QuestionStatisticsService questionStatisticsService;
     
-    public QuestionController(QuestionService questionService) {
+    public QuestionController(QuestionService questionService, QuestionImportService questionImportService,
+                              QuestionExportService questionExportService,
+                              QuestionStatisticsService questionStatisticsService) {
         this.questionService = questionService;
+        this.questionImportService = questionImportService;
+        this.questionExportService = questionExportService;
+        this.questionStatisticsService = questionStatisticsService;
     }
     
     // Get all questions
@@ -92,7 +114,54 @@ public class QuestionController {
                 isActive, questionType, difficultyLevel, chapterId, moduleId, topicId, subjectId);
         return ResponseEntity.ok(questions);
     }
-    
+
+    // Get questions with filters, filtered/sorted/paginated in the database
+    @GetMapping("/filter/paginated")
+    public ResponseEntity<?> searchQuestions(
+            @RequestParam(required = false) Boolean isActive,
+            @RequestParam(required = false) String questionType,
+            @RequestParam(required = false) String difficultyLevel,
+            @RequestParam(required = false) Integer minMarks,
+            @RequestParam(required = false) Integer maxMarks,
+            @RequestParam(required = false) Long courseTypeId,
+            @RequestParam(required = false) Long relationshipId,
+            @RequestParam(required = false) Long subjectId,
+            @RequestParam(required = false) Long topicId,
+            @RequestParam(required = false) Long moduleId,
+            @RequestParam(required = false) Long chapterId,
+            @RequestParam(required = false) String questionTextSearch,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "displayOrder") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir) {
+
+        QuestionFilterRequestDTO filter = new QuestionFilterRequestDTO();
+        filter.setIsActive(isActive);
+        filter.setQuestionType(questionType);
+        filter.setDifficultyLevel(difficultyLevel);
+        filter.setMinMarks(minMarks);
+        filter.setMaxMarks(maxMarks);
+        filter.setCourseTypeId(courseTypeId);
+        filter.setRelationshipId(relationshipId);
+        filter.setSubjectId(subjectId);
+        filter.setTopicId(topicId);
+        filter.setModuleId(moduleId);
+        filter.setChapterId(chapterId);
+        filter.setQuestionTextSearch(questionTextSearch);
+
+        // id as a tie-breaker keeps pages stable when displayOrder repeats
+        Sort sort = sortDir.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), 100), sort.and(Sort.by("id")));
+
+        try {
+            return ResponseEntity.ok(questionService.searchQuestions(filter, pageable));
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
     // Get questions with pagination
     @GetMapping("/paginated")
     public ResponseEntity<Page<QuestionResponseDTO>> getQuestionsPaginated(
@@ -202,35 +271,170 @@ public class QuestionController {
         }
     }
     
-    // Get question statistics
-    @GetMapping("/statistics")
-    public ResponseEntity<Map<String, Object>> getQuestionStatistics() {
-        List<QuestionResponseDTO> allQuestions = questionService.getAllQuestions();
-        
-        Map<String, Object> statistics = new HashMap<>();
-        statistics.put("totalQuestions", allQuestions.size());
-        
-        // Count by question type
-        Map<String, Long> questionTypeCount = allQuestions.stream()
-                .collect(java.util.stream.Collectors.groupingBy(
-                        QuestionResponseDTO::getQuestionType,
-                        java.util.stream.Collectors.counting()));
-        statistics.put("questionTypeCount", questionTypeCount);
-        
-        // Count by difficulty level
-        Map<String, Long> difficultyCount = allQuestions.stream()
-                .collect(java.util.stream.Collectors.groupingBy(
-                        QuestionResponseDTO::getDifficultyLevel,
-                        java.util.stream.Collectors.counting()));
-        statistics.put("difficultyCount", difficultyCount);
-        
-        // Count by active status
-        Map<String, Long> activeCount = allQuestions.stream()
-                .collect(java.util.stream.Collectors.groupingBy(
-                        q -> q.getIsActive() ? "Active" : "Inactive",
-                        java.util.stream.Collectors.counting()));
-        statistics.put("activeCount", activeCount);
+    // Check for near-duplicate questions before saving
+    @PostMapping("/near-duplicates")
+    public ResponseEntity<List<SimilarQuestionDTO>> findNearDuplicates(
+            @Valid @RequestBody NearDuplicateCheckRequestDTO request) {
+        List<SimilarQuestionDTO> similarQuestions = questionService.findNearDuplicates(
+                request.getQuestionText(), request.getExcludeQuestionId());
+        return ResponseEntity.ok(similarQuestions);
+    }
+    
+    // Rebuild the near-duplicate index for the whole question bank
+    @PostMapping("/near-duplicates/rebuild")
+    public ResponseEntity<?> rebuildNearDuplicateIndex() {
+        int indexed = questionService.rebuildNearDuplicateIndex();
+        return ResponseEntity.ok(Map.of(
+                "message", "Near-duplicate index rebuilt",
+                "indexedQuestions", indexed
+        ));
+    }
+    
+    // Bulk import questions from a CSV or JSON file
+    @PostMapping("/import")
+    public ResponseEntity<?> importQuestions(@RequestParam("file") MultipartFile file,
+                                             @RequestParam(required = false) String format) {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Import file is empty"));
+        }
+        String importFormat = format != null ? format : detectImportFormat(file);
+        try (InputStream input = file.getInputStream()) {
+            QuestionImportResultDTO result = questionImportService.importQuestions(input, importFormat);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        } catch (IOException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Failed to read import file: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+    
+    private String detectImportFormat(MultipartFile file) {
+        String filename = file.getOriginalFilename() != null ? file.getOriginalFilename().toLowerCase() : "";
+        String contentType = file.getContentType() != null ? file.getContentType() : "";
+        if (filename.endsWith(".json") || contentType.contains("json")) {
+            return "json";
+        }
+        return "csv";
+    }
+    
+    // Stream the question bank as JSON Lines or CSV
+    @GetMapping("/export")
+    public ResponseEntity<?> exportQuestions(
+            @RequestParam(defaultValue = "jsonl") String format,
+            @RequestParam(required = false) Boolean isActive,
+            @RequestParam(required = false) String questionType,
+            @RequestParam(required = false) String difficultyLevel,
+            @RequestParam(required = false) Long courseTypeId,
+            @RequestParam(required = false) Long relationshipId,
+            @RequestParam(required = false) Long subjectId,
+            @RequestParam(required = false) Long topicId,
+            @RequestParam(required = false) Long moduleId,
+            @RequestParam(required = false) Long chapterId,
+            @RequestParam(required = false) List<Long> examIds) {
+        QuestionFilterRequestDTO filter = buildExportFilter(isActive, questionType, difficultyLevel, courseTypeId,
+                relationshipId, subjectId, topicId, moduleId, chapterId, examIds);
+        boolean csv;
+        try {
+            csv = questionExportService.isCsv(format);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
         
+        StreamingResponseBody body = out -> questionExportService.exportQuestions(filter, format, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"questions." + (csv ? "csv" : "jsonl") + "\"")
+                .contentType(csv ? new MediaType("text", "csv") : new MediaType("application", "x-ndjson"))
+                .body(body);
+    }
+    
+    // Export the question bank to a file in the export directory; download it from /export/files/{fileName}
+    @PostMapping("/export/file")
+    public ResponseEntity<?> exportQuestionsToFile(
+            @RequestParam(defaultValue = "jsonl") String format,
+            @RequestParam(required = false) Boolean isActive,
+            @RequestParam(required = false) String questionType,
+            @RequestParam(required = false) String difficultyLevel,
+            @RequestParam(required = false) Long courseTypeId,
+            @RequestParam(required = false) Long relationshipId,
+            @RequestParam(required = false) Long subjectId,
+            @RequestParam(required = false) Long topicId,
+            @RequestParam(required = false) Long moduleId,
+            @RequestParam(required = false) Long chapterId,
+            @RequestParam(required = false) List<Long> examIds) {
+        QuestionFilterRequestDTO filter = buildExportFilter(isActive, questionType, difficultyLevel, courseTypeId,
+                relationshipId, subjectId, topicId, moduleId, chapterId, examIds);
+        try {
+            return ResponseEntity.ok(questionExportService.exportQuestionsToFile(filter, format));
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        } catch (IOException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Failed to write export file: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+    
+    // Download a finished export file (admin only, like the rest of this controller)
+    @GetMapping("/export/files/{fileName}")
+    public ResponseEntity<?> downloadExportFile(@PathVariable String fileName) {
+        Optional<Path> file = questionExportService.findExportFile(fileName);
+        if (file.isEmpty()) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Export file not found: " + fileName);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        }
+        boolean csv = fileName.endsWith(".csv");
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .contentType(csv ? new MediaType("text", "csv") : new MediaType("application", "x-ndjson"))
+                .body(new FileSystemResource(file.get()));
+    }
+    
+    private QuestionFilterRequestDTO buildExportFilter(Boolean isActive, String questionType, String difficultyLevel,
+                                                       Long courseTypeId, Long relationshipId, Long subjectId,
+                                                       Long topicId, Long moduleId, Long chapterId, List<Long> examIds) {
+        QuestionFilterRequestDTO filter = new QuestionFilterRequestDTO();
+        filter.setIsActive(isActive);
+        filter.setQuestionType(questionType);
+        filter.setDifficultyLevel(difficultyLevel);
+        filter.setCourseTypeId(courseTypeId);
+        filter.setRelationshipId(relationshipId);
+        filter.setSubjectId(subjectId);
+        filter.setTopicId(topicId);
+        filter.setModuleId(moduleId);
+        filter.setChapterId(chapterId);
+        filter.setExamIds(examIds);
+        return filter;
+    }
+    
+    // Get question statistics (aggregated in SQL and cached until the next question write)
+    @GetMapping("/statistics")
+    public ResponseEntity<?> getQuestionStatistics(
+            @RequestParam(required = false) String breakdown,
+            @RequestParam(defaultValue = "false") boolean includeExamSuitability) {
+        Map<String, Object> statistics = new HashMap<>(questionStatisticsService.getSummary());
+        try {
+            if (breakdown != null) {
+                statistics.put("breakdown", breakdown);
+                statistics.put("breakdownCount", questionStatisticsService.getHierarchyBreakdown(breakdown));
+            }
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+        if (includeExamSuitability) {
+            statistics.put("examSuitabilityCount", questionStatisticsService.getExamSuitabilityBreakdown());
+        }
         return ResponseEntity.ok(statistics);
     }
     
@@ -11,6 +11,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -33,6 +34,7 @@ import com.coaxial.repository.StudentSubscriptionRepository;
 import com.coaxial.repository.TopicRepository;
 import com.coaxial.service.ChapterService;
 import com.coaxial.service.ModuleService;
+import com.coaxial.service.StudentCourseTreeService;
 import com.coaxial.service.UserService;
 
 import java.time.LocalDateTime;
@@ -76,6 +78,9 @@ public class StudentCourseContentController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private StudentCourseTreeService studentCourseTreeService;
+
     /**
      * Get all subjects for an entity based on entityId and courseTypeId
      * Returns subjects from the appropriate linkage table (ClassSubject/ExamSubject/CourseSubject)
@@ -392,6 +397,47 @@ public class StudentCourseContentController {
         }
     }
 
+    /**
+     * Get the navigation tree of an entitlement in one call
+     * Subjects, topics, modules and chapters down to the requested depth; deeper nodes carry a cursor to expand later
+     */
+    @Operation(
+        summary = "Get course content tree",
+        description = "Retrieve the accessible subject/topic/module/chapter hierarchy for a subscribed class, exam or course. " +
+                      "CourseTypeId: 1=Academic, 2=Competitive, 3=Professional. Depth 1-4 sets how many levels are returned; " +
+                      "collapsed nodes carry a cursor (e.g. TOPIC:12) that can be passed back to load their children."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved content tree"),
+        @ApiResponse(responseCode = "400", description = "Invalid parameters"),
+        @ApiResponse(responseCode = "403", description = "No active subscription for the entity"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/tree")
+    public ResponseEntity<?> getContentTree(
+            @Parameter(description = "Entity ID (class/exam/course)", example = "1", required = true)
+            @RequestParam Long entityId,
+            @Parameter(description = "Course Type ID (1=Academic, 2=Competitive, 3=Professional)", example = "1", required = true)
+            @RequestParam Long courseTypeId,
+            @Parameter(description = "Number of levels to return (1-4)", example = "2")
+            @RequestParam(defaultValue = "2") int depth,
+            @Parameter(description = "Cursor of a collapsed node to expand, e.g. SUBJECT:5, TOPIC:12 or MODULE:30")
+            @RequestParam(required = false) String cursor,
+            Authentication authentication) {
+        try {
+            Long studentId = getCurrentStudentId(authentication);
+            return ResponseEntity.ok(studentCourseTreeService.getTree(studentId, courseTypeId, entityId, depth, cursor));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error fetching content tree for entityId {} and courseTypeId {}", entityId, courseTypeId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Failed to fetch content tree: " + e.getMessage()));
+        }
+    }
+
     /**
      * Get current student ID from authentication
      */
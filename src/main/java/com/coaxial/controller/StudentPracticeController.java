@@ -0,0 +1,144 @@
+package com.coaxial.controller;
+
+import com.coaxial.dto.PracticeAnswerRequestDTO;
+import com.coaxial.dto.PracticeStepResponseDTO;
+import com.coaxial.service.AdaptivePracticeService;
+import com.coaxial.service.UserService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/student/practice")
+@PreAuthorize("hasRole('STUDENT')")
+@Tag(name = "Student Adaptive Practice", description = "Adaptive practice sessions that pick each question based on the student's ability")
+public class StudentPracticeController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(StudentPracticeController.class);
+    
+    @Autowired
+    private AdaptivePracticeService practiceService;
+    
+    @Autowired
+    private UserService userService;
+    
+    /**
+     * Start an adaptive practice session for a chapter
+     */
+    @Operation(
+        summary = "Start practice session",
+        description = "Starts an adaptive practice session for a chapter and returns the first question"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Session started"),
+        @ApiResponse(responseCode = "400", description = "No questions available or no access"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping("/sessions")
+    public ResponseEntity<?> startSession(
+            @Parameter(description = "Chapter to practice")
+            @RequestParam Long chapterId,
+            Authentication authentication) {
+        try {
+            Long studentId = getCurrentStudentId(authentication);
+            PracticeStepResponseDTO step = practiceService.startSession(studentId, chapterId);
+            return ResponseEntity.status(HttpStatus.CREATED).body(step);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Failed to start practice for chapter {}: {}", chapterId, e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error starting practice for chapter {}", chapterId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Failed to start practice session"));
+        }
+    }
+    
+    /**
+     * Get the current question of a session
+     */
+    @Operation(summary = "Get current practice step", description = "Returns the unanswered question of the session")
+    @GetMapping("/sessions/{sessionId}")
+    public ResponseEntity<?> getCurrentStep(@PathVariable String sessionId, Authentication authentication) {
+        try {
+            Long studentId = getCurrentStudentId(authentication);
+            return ResponseEntity.ok(practiceService.getCurrentStep(studentId, sessionId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error getting practice session {}", sessionId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Failed to get practice session"));
+        }
+    }
+    
+    /**
+     * Answer the current question and receive feedback plus the next question
+     */
+    @Operation(
+        summary = "Submit practice answer",
+        description = "Checks the answer, updates the ability estimate and returns the next question"
+    )
+    @PostMapping("/sessions/{sessionId}/answers")
+    public ResponseEntity<?> submitAnswer(
+            @PathVariable String sessionId,
+            @Valid @RequestBody PracticeAnswerRequestDTO request,
+            Authentication authentication) {
+        try {
+            Long studentId = getCurrentStudentId(authentication);
+            return ResponseEntity.ok(practiceService.submitAnswer(studentId, sessionId, request.getSelectedOptionIds()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error submitting answer for practice session {}", sessionId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Failed to submit answer"));
+        }
+    }
+    
+    /**
+     * End a session and return its summary
+     */
+    @Operation(summary = "End practice session", description = "Ends the session and returns the final summary")
+    @DeleteMapping("/sessions/{sessionId}")
+    public ResponseEntity<?> endSession(@PathVariable String sessionId, Authentication authentication) {
+        try {
+            Long studentId = getCurrentStudentId(authentication);
+            return ResponseEntity.ok(practiceService.endSession(studentId, sessionId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error ending practice session {}", sessionId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Failed to end practice session"));
+        }
+    }
+    
+    /**
+     * Get current student ID from authentication
+     */
+    private Long getCurrentStudentId(Authentication authentication) {
+        String username = authentication.getName();
+        return userService.getUserByUsername(username)
+                .orElseThrow(() -> new RuntimeException("Student not found"))
+                .getId();
+    }
+}
@@ -22,6 +22,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.coaxial.dto.CursorPageResponse;
 import com.coaxial.dto.PaymentCallbackDTO;
 import com.coaxial.dto.RazorpayOrderDTO;
 import com.coaxial.dto.SubscriptionRequestDTO;
@@ -217,6 +218,36 @@ public class StudentSubscriptionController {
         }
     }
 
+    /**
+     * Keyset-paginated subscriptions for current student
+     * Pass nextCursor from the previous response as cursor to fetch the next page
+     */
+    @Operation(
+        summary = "Get student subscriptions page",
+        description = "Cursor-paginated subscriptions for the authenticated student, newest first. By default returns only the latest subscription per entity. Use includeAll=true for complete history."
+    )
+    @GetMapping("/my-subscriptions/page")
+    public ResponseEntity<?> getMySubscriptionsPage(
+            @RequestParam(required = false) SubscriptionStatus status,
+            @RequestParam(required = false, defaultValue = "false") Boolean includeAll,
+            @Parameter(description = "Opaque cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        try {
+            Long studentId = getCurrentStudentId(authentication);
+            CursorPageResponse<SubscriptionResponseDTO> page =
+                    subscriptionService.getMySubscriptionsPage(studentId, status, includeAll, cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid subscriptions page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error fetching student subscriptions page", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * Get all subscriptions for current student (legacy endpoint, kept for backward compatibility)
      */
@@ -17,12 +17,15 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.coaxial.dto.TestPaperBlueprintDTO;
+import com.coaxial.dto.TestPaperGenerationResultDTO;
 import com.coaxial.dto.TestQuestionRequestDTO;
 import com.coaxial.dto.TestQuestionSummaryDTO;
 import com.coaxial.dto.TestRequestDTO;
 import com.coaxial.dto.TestResponseDTO;
 import com.coaxial.enums.TestCreationMode;
 import com.coaxial.enums.TestLevel;
+import com.coaxial.service.TestPaperGeneratorService;
 import com.coaxial.service.TestService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -41,6 +44,9 @@ public class TestController {
     @Autowired
     private TestService testService;
 
+    @Autowired
+    private TestPaperGeneratorService testPaperGeneratorService;
+
     @Operation(
         summary = "Create a new test",
         description = "Create test in EXAM_BASED mode (general exam practice) or CONTENT_BASED mode (linked to course content hierarchy)"
@@ -150,6 +156,23 @@ public class TestController {
         return ResponseEntity.status(HttpStatus.CREATED).body(added);
     }
 
+    @Operation(
+        summary = "Generate test questions from a blueprint",
+        description = "Sample random active questions per section (hierarchy, difficulty, type, marks, exam suitability, previously-asked years) and add them to the test in one request"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Questions generated"),
+        @ApiResponse(responseCode = "400", description = "Invalid blueprint or not enough matching questions")
+    })
+    @PostMapping("/{id}/questions/generate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<TestPaperGenerationResultDTO> generateQuestions(
+            @PathVariable Long id,
+            @Valid @RequestBody TestPaperBlueprintDTO blueprint) {
+        TestPaperGenerationResultDTO result = testPaperGeneratorService.generate(id, blueprint);
+        return ResponseEntity.status(HttpStatus.CREATED).body(result);
+    }
+
     @PutMapping("/{id}/questions/{qId}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<TestQuestionSummaryDTO> updateQuestion(
@@ -35,6 +35,10 @@ public class BulkDiscountUpdateRequest {
     
     private LocalDateTime effectiveDate; // Optional: when to start applying these discounts
     
+    private Boolean dryRun = false; // Only report how many configurations would change
+    
+    private String expectedVersion; // Optional: version from a dry run; the update is rejected if it moved
+    
     // Constructors
     public BulkDiscountUpdateRequest() {}
     
@@ -103,6 +107,22 @@ public class BulkDiscountUpdateRequest {
         this.effectiveDate = effectiveDate;
     }
     
+    public Boolean getDryRun() {
+        return dryRun;
+    }
+    
+    public void setDryRun(Boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+    
+    public String getExpectedVersion() {
+        return expectedVersion;
+    }
+    
+    public void setExpectedVersion(String expectedVersion) {
+        this.expectedVersion = expectedVersion;
+    }
+    
     @Override
     public String toString() {
         return "BulkDiscountUpdateRequest{" +
@@ -112,6 +132,8 @@ public class BulkDiscountUpdateRequest {
                 ", quarterlyDiscountPercent=" + quarterlyDiscountPercent +
                 ", yearlyDiscountPercent=" + yearlyDiscountPercent +
                 ", effectiveDate=" + effectiveDate +
+                ", dryRun=" + dryRun +
+                ", expectedVersion=" + expectedVersion +
                 '}';
     }
 }
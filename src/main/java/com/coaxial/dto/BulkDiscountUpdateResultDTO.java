@@ -0,0 +1,56 @@
+package com.coaxial.dto;
+
+/**
+ * Outcome of a bulk discount update, or of its dry run
+ */
+public class BulkDiscountUpdateResultDTO {
+
+    private boolean dryRun;
+    private int affectedCount; // Configurations matching the course type and level
+    private int updatedCount; // Rows written; always 0 for a dry run
+    private String version; // Pass back as expectedVersion to apply only if nothing changed since
+
+    // Constructors
+    public BulkDiscountUpdateResultDTO() {
+    }
+
+    public BulkDiscountUpdateResultDTO(boolean dryRun, int affectedCount, int updatedCount, String version) {
+        this.dryRun = dryRun;
+        this.affectedCount = affectedCount;
+        this.updatedCount = updatedCount;
+        this.version = version;
+    }
+
+    // Getters and Setters
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    public void setDryRun(boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+
+    public int getAffectedCount() {
+        return affectedCount;
+    }
+
+    public void setAffectedCount(int affectedCount) {
+        this.affectedCount = affectedCount;
+    }
+
+    public int getUpdatedCount() {
+        return updatedCount;
+    }
+
+    public void setUpdatedCount(int updatedCount) {
+        this.updatedCount = updatedCount;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
+}
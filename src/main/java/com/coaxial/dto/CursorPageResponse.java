@@ -0,0 +1,58 @@
+package com.coaxial.dto;
+
+import java.util.List;
+
+/**
+ * Keyset-paginated response. Pass nextCursor back as the cursor parameter to fetch the following page.
+ */
+public class CursorPageResponse<T> {
+
+    private List<T> content;
+    private String nextCursor;
+    private Boolean hasMore;
+    private Integer size;
+
+    // Constructors
+    public CursorPageResponse() {
+    }
+
+    public CursorPageResponse(List<T> content, String nextCursor, Boolean hasMore) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+        this.size = content != null ? content.size() : 0;
+    }
+
+    // Getters and Setters
+    public List<T> getContent() {
+        return content;
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public Boolean getHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(Boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public Integer getSize() {
+        return size;
+    }
+
+    public void setSize(Integer size) {
+        this.size = size;
+    }
+}
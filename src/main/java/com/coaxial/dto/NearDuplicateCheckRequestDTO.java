@@ -0,0 +1,21 @@
+package com.coaxial.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public class NearDuplicateCheckRequestDTO {
+    
+    @NotBlank(message = "Question text is required")
+    private String questionText;
+    
+    private Long excludeQuestionId; // The question being edited, if any
+    
+    // Constructors
+    public NearDuplicateCheckRequestDTO() {}
+    
+    // Getters and Setters
+    public String getQuestionText() { return questionText; }
+    public void setQuestionText(String questionText) { this.questionText = questionText; }
+    
+    public Long getExcludeQuestionId() { return excludeQuestionId; }
+    public void setExcludeQuestionId(Long excludeQuestionId) { this.excludeQuestionId = excludeQuestionId; }
+}
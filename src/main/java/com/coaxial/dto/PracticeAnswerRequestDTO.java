@@ -0,0 +1,14 @@
+package com.coaxial.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+
+public class PracticeAnswerRequestDTO {
+
+    @NotEmpty(message = "Select at least one option")
+    private List<Long> selectedOptionIds;
+
+    public List<Long> getSelectedOptionIds() { return selectedOptionIds; }
+    public void setSelectedOptionIds(List<Long> selectedOptionIds) { this.selectedOptionIds = selectedOptionIds; }
+}
@@ -0,0 +1,55 @@
+package com.coaxial.dto;
+
+import java.util.List;
+
+/**
+ * One step of an adaptive practice session: feedback on the last answer (if any)
+ * and the next question, with correct answers hidden until it is answered
+ */
+public class PracticeStepResponseDTO {
+
+    private String sessionId;
+    private Long chapterId;
+    private double ability;
+    private int answeredCount;
+    private int correctCount;
+    private boolean finished;
+
+    // Feedback on the previous answer
+    private Boolean lastAnswerCorrect;
+    private List<Long> lastCorrectOptionIds;
+    private String lastExplanation;
+
+    // Next question, null when the session is finished
+    private StudentQuestionResponseDTO question;
+
+    public String getSessionId() { return sessionId; }
+    public void setSessionId(String sessionId) { this.sessionId = sessionId; }
+
+    public Long getChapterId() { return chapterId; }
+    public void setChapterId(Long chapterId) { this.chapterId = chapterId; }
+
+    public double getAbility() { return ability; }
+    public void setAbility(double ability) { this.ability = ability; }
+
+    public int getAnsweredCount() { return answeredCount; }
+    public void setAnsweredCount(int answeredCount) { this.answeredCount = answeredCount; }
+
+    public int getCorrectCount() { return correctCount; }
+    public void setCorrectCount(int correctCount) { this.correctCount = correctCount; }
+
+    public boolean isFinished() { return finished; }
+    public void setFinished(boolean finished) { this.finished = finished; }
+
+    public Boolean getLastAnswerCorrect() { return lastAnswerCorrect; }
+    public void setLastAnswerCorrect(Boolean lastAnswerCorrect) { this.lastAnswerCorrect = lastAnswerCorrect; }
+
+    public List<Long> getLastCorrectOptionIds() { return lastCorrectOptionIds; }
+    public void setLastCorrectOptionIds(List<Long> lastCorrectOptionIds) { this.lastCorrectOptionIds = lastCorrectOptionIds; }
+
+    public String getLastExplanation() { return lastExplanation; }
+    public void setLastExplanation(String lastExplanation) { this.lastExplanation = lastExplanation; }
+
+    public StudentQuestionResponseDTO getQuestion() { return question; }
+    public void setQuestion(StudentQuestionResponseDTO question) { this.question = question; }
+}
@@ -0,0 +1,94 @@
+package com.coaxial.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk question import, with the reason each rejected row failed
+ */
+public class QuestionImportResultDTO {
+
+    private int totalRows;
+    private int importedCount;
+    private int failedCount;
+    private boolean errorsTruncated; // More rows failed than are listed in errors
+    private List<RowError> errors = new ArrayList<>();
+
+    // Constructors
+    public QuestionImportResultDTO() {
+    }
+
+    // Getters and Setters
+    public int getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(int totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public int getImportedCount() {
+        return importedCount;
+    }
+
+    public void setImportedCount(int importedCount) {
+        this.importedCount = importedCount;
+    }
+
+    public int getFailedCount() {
+        return failedCount;
+    }
+
+    public void setFailedCount(int failedCount) {
+        this.failedCount = failedCount;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public void setErrorsTruncated(boolean errorsTruncated) {
+        this.errorsTruncated = errorsTruncated;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<RowError> errors) {
+        this.errors = errors;
+    }
+
+    /**
+     * A rejected row; rowNumber is 1-based (CSV data rows exclude the header, JSON counts array elements)
+     */
+    public static class RowError {
+
+        private int rowNumber;
+        private String message;
+
+        public RowError() {
+        }
+
+        public RowError(int rowNumber, String message) {
+            this.rowNumber = rowNumber;
+            this.message = message;
+        }
+
+        public int getRowNumber() {
+            return rowNumber;
+        }
+
+        public void setRowNumber(int rowNumber) {
+            this.rowNumber = rowNumber;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
@@ -53,6 +53,9 @@ public class QuestionResponseDTO {
     private List<QuestionExamHistoryResponseDTO> examHistories;
     private List<QuestionExamSuitabilityResponseDTO> examSuitabilities;
     
+    // Near-duplicate warning, only populated on create/update
+    private List<SimilarQuestionDTO> similarQuestions;
+    
     // Constructors
     public QuestionResponseDTO() {}
     
@@ -197,4 +200,7 @@ public class QuestionResponseDTO {
     
     public List<QuestionExamSuitabilityResponseDTO> getExamSuitabilities() { return examSuitabilities; }
     public void setExamSuitabilities(List<QuestionExamSuitabilityResponseDTO> examSuitabilities) { this.examSuitabilities = examSuitabilities; }
+    
+    public List<SimilarQuestionDTO> getSimilarQuestions() { return similarQuestions; }
+    public void setSimilarQuestions(List<SimilarQuestionDTO> similarQuestions) { this.similarQuestions = similarQuestions; }
 }
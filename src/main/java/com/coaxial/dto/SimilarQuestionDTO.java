@@ -0,0 +1,66 @@
+package com.coaxial.dto;
+
+/**
+ * An existing question whose text is nearly identical to the one being authored
+ */
+public class SimilarQuestionDTO {
+
+    private Long questionId;
+    private Long chapterId;
+    private String chapterName;
+    private String questionText;
+    private Double similarity; // Estimated Jaccard similarity of the texts, 0..1
+
+    // Constructors
+    public SimilarQuestionDTO() {
+    }
+
+    public SimilarQuestionDTO(Long questionId, Long chapterId, String chapterName, String questionText, Double similarity) {
+        this.questionId = questionId;
+        this.chapterId = chapterId;
+        this.chapterName = chapterName;
+        this.questionText = questionText;
+        this.similarity = similarity;
+    }
+
+    // Getters and Setters
+    public Long getQuestionId() {
+        return questionId;
+    }
+
+    public void setQuestionId(Long questionId) {
+        this.questionId = questionId;
+    }
+
+    public Long getChapterId() {
+        return chapterId;
+    }
+
+    public void setChapterId(Long chapterId) {
+        this.chapterId = chapterId;
+    }
+
+    public String getChapterName() {
+        return chapterName;
+    }
+
+    public void setChapterName(String chapterName) {
+        this.chapterName = chapterName;
+    }
+
+    public String getQuestionText() {
+        return questionText;
+    }
+
+    public void setQuestionText(String questionText) {
+        this.questionText = questionText;
+    }
+
+    public Double getSimilarity() {
+        return similarity;
+    }
+
+    public void setSimilarity(Double similarity) {
+        this.similarity = similarity;
+    }
+}
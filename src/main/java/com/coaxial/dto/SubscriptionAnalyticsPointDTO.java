@@ -0,0 +1,80 @@
+package com.coaxial.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One day in a subscription analytics time series
+ */
+public class SubscriptionAnalyticsPointDTO {
+
+    private LocalDate date;
+    private Long activations;
+    private Long expirations;
+    private Long cancellations;
+    private BigDecimal revenue;
+    private Long activeSubscribers; // Active subscriptions at the end of the day
+
+    // Constructors
+    public SubscriptionAnalyticsPointDTO() {
+    }
+
+    public SubscriptionAnalyticsPointDTO(LocalDate date, Long activations, Long expirations, Long cancellations,
+                                         BigDecimal revenue, Long activeSubscribers) {
+        this.date = date;
+        this.activations = activations;
+        this.expirations = expirations;
+        this.cancellations = cancellations;
+        this.revenue = revenue;
+        this.activeSubscribers = activeSubscribers;
+    }
+
+    // Getters and Setters
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public Long getActivations() {
+        return activations;
+    }
+
+    public void setActivations(Long activations) {
+        this.activations = activations;
+    }
+
+    public Long getExpirations() {
+        return expirations;
+    }
+
+    public void setExpirations(Long expirations) {
+        this.expirations = expirations;
+    }
+
+    public Long getCancellations() {
+        return cancellations;
+    }
+
+    public void setCancellations(Long cancellations) {
+        this.cancellations = cancellations;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue;
+    }
+
+    public Long getActiveSubscribers() {
+        return activeSubscribers;
+    }
+
+    public void setActiveSubscribers(Long activeSubscribers) {
+        this.activeSubscribers = activeSubscribers;
+    }
+}
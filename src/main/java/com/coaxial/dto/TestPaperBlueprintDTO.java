@@ -0,0 +1,108 @@
+package com.coaxial.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Blueprint for generating a test paper: each section asks for a number of
+ * random active questions matching its filters. Sections never share questions.
+ */
+public class TestPaperBlueprintDTO {
+
+    // Scope applied to every section (optional)
+    private Long courseTypeId;
+    private Long relationshipId;
+
+    // Remove the test's current questions first; otherwise new questions are appended
+    private Boolean replaceExisting = false;
+
+    // Generate what is available instead of failing when a section is short
+    private Boolean allowPartial = false;
+
+    @NotEmpty(message = "At least one section is required")
+    @Valid
+    private List<Section> sections = new ArrayList<>();
+
+    public Long getCourseTypeId() { return courseTypeId; }
+    public void setCourseTypeId(Long courseTypeId) { this.courseTypeId = courseTypeId; }
+
+    public Long getRelationshipId() { return relationshipId; }
+    public void setRelationshipId(Long relationshipId) { this.relationshipId = relationshipId; }
+
+    public Boolean getReplaceExisting() { return replaceExisting; }
+    public void setReplaceExisting(Boolean replaceExisting) { this.replaceExisting = replaceExisting; }
+
+    public Boolean getAllowPartial() { return allowPartial; }
+    public void setAllowPartial(Boolean allowPartial) { this.allowPartial = allowPartial; }
+
+    public List<Section> getSections() { return sections; }
+    public void setSections(List<Section> sections) { this.sections = sections; }
+
+    public static class Section {
+
+        @NotNull(message = "Question count is required")
+        @Min(value = 1, message = "Question count must be at least 1")
+        @Max(value = 1000, message = "Question count cannot exceed 1000")
+        private Integer count;
+
+        // Content filters
+        private Long subjectId;
+        private Long topicId;
+        private Long moduleId;
+        private Long chapterId;
+        private String difficultyLevel;
+        private String questionType;
+        private Integer questionMarks; // Only questions carrying exactly these marks
+
+        // Exam filters
+        private List<Long> examIds;        // Suitable for any of these exams
+        private List<Integer> appearedYears; // Previously asked in any of these years
+
+        // Marks for the generated test questions; default to the question's own marks
+        @Min(value = 0, message = "Marks cannot be negative")
+        private Integer marks;
+        private Double negativeMarks;
+
+        public Integer getCount() { return count; }
+        public void setCount(Integer count) { this.count = count; }
+
+        public Long getSubjectId() { return subjectId; }
+        public void setSubjectId(Long subjectId) { this.subjectId = subjectId; }
+
+        public Long getTopicId() { return topicId; }
+        public void setTopicId(Long topicId) { this.topicId = topicId; }
+
+        public Long getModuleId() { return moduleId; }
+        public void setModuleId(Long moduleId) { this.moduleId = moduleId; }
+
+        public Long getChapterId() { return chapterId; }
+        public void setChapterId(Long chapterId) { this.chapterId = chapterId; }
+
+        public String getDifficultyLevel() { return difficultyLevel; }
+        public void setDifficultyLevel(String difficultyLevel) { this.difficultyLevel = difficultyLevel; }
+
+        public String getQuestionType() { return questionType; }
+        public void setQuestionType(String questionType) { this.questionType = questionType; }
+
+        public Integer getQuestionMarks() { return questionMarks; }
+        public void setQuestionMarks(Integer questionMarks) { this.questionMarks = questionMarks; }
+
+        public List<Long> getExamIds() { return examIds; }
+        public void setExamIds(List<Long> examIds) { this.examIds = examIds; }
+
+        public List<Integer> getAppearedYears() { return appearedYears; }
+        public void setAppearedYears(List<Integer> appearedYears) { this.appearedYears = appearedYears; }
+
+        public Integer getMarks() { return marks; }
+        public void setMarks(Integer marks) { this.marks = marks; }
+
+        public Double getNegativeMarks() { return negativeMarks; }
+        public void setNegativeMarks(Double negativeMarks) { this.negativeMarks = negativeMarks; }
+    }
+}
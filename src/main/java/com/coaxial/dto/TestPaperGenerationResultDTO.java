@@ -0,0 +1,47 @@
+package com.coaxial.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of generating a test paper from a blueprint
+ */
+public class TestPaperGenerationResultDTO {
+
+    private Long testId;
+    private int generatedCount;
+    private int totalMarks;
+    private List<SectionResult> sections = new ArrayList<>();
+
+    public Long getTestId() { return testId; }
+    public void setTestId(Long testId) { this.testId = testId; }
+
+    public int getGeneratedCount() { return generatedCount; }
+    public void setGeneratedCount(int generatedCount) { this.generatedCount = generatedCount; }
+
+    public int getTotalMarks() { return totalMarks; }
+    public void setTotalMarks(int totalMarks) { this.totalMarks = totalMarks; }
+
+    public List<SectionResult> getSections() { return sections; }
+    public void setSections(List<SectionResult> sections) { this.sections = sections; }
+
+    public static class SectionResult {
+
+        private int sectionIndex;
+        private int requested;
+        private long available;
+        private int selected;
+
+        public SectionResult(int sectionIndex, int requested, long available, int selected) {
+            this.sectionIndex = sectionIndex;
+            this.requested = requested;
+            this.available = available;
+            this.selected = selected;
+        }
+
+        public int getSectionIndex() { return sectionIndex; }
+        public int getRequested() { return requested; }
+        public long getAvailable() { return available; }
+        public int getSelected() { return selected; }
+    }
+}
@@ -97,6 +97,11 @@ public class PricingConfiguration {
     @Column(name = "is_active")
     private Boolean isActive = true;
     
+    // Optimistic lock; bulk discount updates increment it in SQL
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
     @CreatedDate
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -279,6 +284,14 @@ public class PricingConfiguration {
         this.createdAt = createdAt;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     public LocalDateTime getUpdatedAt() {
         return updatedAt;
     }
@@ -0,0 +1,80 @@
+package com.coaxial.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * MinHash signature of a question's text plus its LSH band keys.
+ * band_keys is GIN indexed, so candidate near-duplicates are found with a single
+ * array-overlap lookup instead of comparing against the whole question bank.
+ */
+@Entity
+@Table(name = "question_signatures")
+public class QuestionSignature {
+
+    @Id
+    @Column(name = "question_id")
+    private Long questionId;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "minhash", nullable = false, columnDefinition = "integer[]")
+    private int[] minhash;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "band_keys", nullable = false, columnDefinition = "bigint[]")
+    private long[] bandKeys;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public QuestionSignature() {
+    }
+
+    public QuestionSignature(Long questionId, int[] minhash, long[] bandKeys) {
+        this.questionId = questionId;
+        this.minhash = minhash;
+        this.bandKeys = bandKeys;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getQuestionId() {
+        return questionId;
+    }
+
+    public void setQuestionId(Long questionId) {
+        this.questionId = questionId;
+    }
+
+    public int[] getMinhash() {
+        return minhash;
+    }
+
+    public void setMinhash(int[] minhash) {
+        this.minhash = minhash;
+    }
+
+    public long[] getBandKeys() {
+        return bandKeys;
+    }
+
+    public void setBandKeys(long[] bandKeys) {
+        this.bandKeys = bandKeys;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
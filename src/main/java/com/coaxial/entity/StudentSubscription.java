@@ -103,6 +103,13 @@ public class StudentSubscription {
     @Column(name = "status")
     private SubscriptionStatus status;
 
+    @Column(name = "renewal_reminder_sent_at")
+    private LocalDateTime renewalReminderSentAt;
+
+    // Most recent subscription for this (student, level, entity); maintained on write
+    @Column(name = "is_latest_for_entity")
+    private Boolean isLatestForEntity = true;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -293,6 +300,22 @@ public class StudentSubscription {
         this.status = status;
     }
 
+    public LocalDateTime getRenewalReminderSentAt() {
+        return renewalReminderSentAt;
+    }
+
+    public void setRenewalReminderSentAt(LocalDateTime renewalReminderSentAt) {
+        this.renewalReminderSentAt = renewalReminderSentAt;
+    }
+
+    public Boolean getIsLatestForEntity() {
+        return isLatestForEntity;
+    }
+
+    public void setIsLatestForEntity(Boolean isLatestForEntity) {
+        this.isLatestForEntity = isLatestForEntity;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
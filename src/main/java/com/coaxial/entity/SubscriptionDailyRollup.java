@@ -0,0 +1,137 @@
+package com.coaxial.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.coaxial.enums.SubscriptionLevel;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Daily per-level/per-entity subscription counters and revenue.
+ * Rows are incremented in place on activation, expiry and cancellation so analytics
+ * never have to aggregate the raw student_subscriptions table.
+ */
+@Entity
+@Table(name = "subscription_daily_rollups",
+       uniqueConstraints = @UniqueConstraint(name = "uk_subscription_rollup_day_entity",
+                                             columnNames = {"rollup_date", "subscription_level", "entity_id"}),
+       indexes = @Index(name = "idx_subscription_rollup_level_date", columnList = "subscription_level, rollup_date"))
+public class SubscriptionDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "subscription_level", nullable = false, length = 20)
+    private SubscriptionLevel subscriptionLevel;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "activations", nullable = false)
+    private Integer activations = 0;
+
+    @Column(name = "expirations", nullable = false)
+    private Integer expirations = 0;
+
+    @Column(name = "cancellations", nullable = false)
+    private Integer cancellations = 0;
+
+    @Column(name = "revenue", nullable = false, precision = 12, scale = 2)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public SubscriptionDailyRollup() {
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getRollupDate() {
+        return rollupDate;
+    }
+
+    public void setRollupDate(LocalDate rollupDate) {
+        this.rollupDate = rollupDate;
+    }
+
+    public SubscriptionLevel getSubscriptionLevel() {
+        return subscriptionLevel;
+    }
+
+    public void setSubscriptionLevel(SubscriptionLevel subscriptionLevel) {
+        this.subscriptionLevel = subscriptionLevel;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public Integer getActivations() {
+        return activations;
+    }
+
+    public void setActivations(Integer activations) {
+        this.activations = activations;
+    }
+
+    public Integer getExpirations() {
+        return expirations;
+    }
+
+    public void setExpirations(Integer expirations) {
+        this.expirations = expirations;
+    }
+
+    public Integer getCancellations() {
+        return cancellations;
+    }
+
+    public void setCancellations(Integer cancellations) {
+        this.cancellations = cancellations;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,22 @@
+package com.coaxial.enums;
+
+public enum WebhookEventStatus {
+    PENDING("Pending"),
+    PROCESSED("Processed"),
+    FAILED("Failed");
+
+    private final String displayName;
+
+    WebhookEventStatus(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
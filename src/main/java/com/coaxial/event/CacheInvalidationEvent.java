@@ -0,0 +1,46 @@
+package com.coaxial.event;
+
+/**
+ * Published on every instance after master data or questions changed on any instance.
+ * Cache layers subscribe to this event rather than to the write events, so they are also
+ * dropped when the write happened elsewhere in the cluster. Delivered outside any transaction.
+ */
+public class CacheInvalidationEvent {
+
+    public static final String QUESTION = "QUESTION";
+
+    private final String entityType;
+    private final Long entityId;
+    private final boolean remote;
+
+    public CacheInvalidationEvent(String entityType, Long entityId, boolean remote) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.remote = remote;
+    }
+
+    /**
+     * One of the MasterDataChangedEvent entity types, or QUESTION
+     */
+    public String getEntityType() {
+        return entityType;
+    }
+
+    /**
+     * Id of the changed row, or null when several rows changed at once
+     */
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    /**
+     * Whether the change was made on another instance
+     */
+    public boolean isRemote() {
+        return remote;
+    }
+
+    public boolean isQuestionChange() {
+        return QUESTION.equals(entityType);
+    }
+}
@@ -0,0 +1,40 @@
+package com.coaxial.event;
+
+/**
+ * Published when course hierarchy or pricing data is created, updated or deleted.
+ * Listeners use it to rebuild anything derived from master data, such as the public catalogue.
+ */
+public class MasterDataChangedEvent {
+
+    public static final String COURSE_TYPE = "COURSE_TYPE";
+    public static final String COURSE = "COURSE";
+    public static final String CLASS = "CLASS";
+    public static final String EXAM = "EXAM";
+    public static final String SUBJECT = "SUBJECT";
+    public static final String CLASS_SUBJECT = "CLASS_SUBJECT";
+    public static final String EXAM_SUBJECT = "EXAM_SUBJECT";
+    public static final String COURSE_SUBJECT = "COURSE_SUBJECT";
+    public static final String TOPIC = "TOPIC";
+    public static final String MODULE = "MODULE";
+    public static final String CHAPTER = "CHAPTER";
+    public static final String PRICING = "PRICING";
+
+    private final String entityType;
+    private final Long entityId;
+
+    public MasterDataChangedEvent(String entityType, Long entityId) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    /**
+     * Id of the changed row, or null when several rows changed at once
+     */
+    public Long getEntityId() {
+        return entityId;
+    }
+}
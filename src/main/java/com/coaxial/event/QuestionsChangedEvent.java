@@ -0,0 +1,18 @@
+package com.coaxial.event;
+
+/**
+ * Published when questions are created, updated, deleted or imported.
+ * Listeners use it to drop anything derived from the question bank.
+ */
+public class QuestionsChangedEvent {
+
+    private final int affectedCount;
+
+    public QuestionsChangedEvent(int affectedCount) {
+        this.affectedCount = affectedCount;
+    }
+
+    public int getAffectedCount() {
+        return affectedCount;
+    }
+}
@@ -0,0 +1,42 @@
+package com.coaxial.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.coaxial.enums.SubscriptionLevel;
+
+/**
+ * Published when a pending subscription is marked paid. Carries only what the
+ * daily rollups need, so listeners can run after the payment transaction commits.
+ */
+public class SubscriptionActivatedEvent {
+
+    private final SubscriptionLevel subscriptionLevel;
+    private final Long entityId;
+    private final LocalDateTime paymentDate;
+    private final BigDecimal amount;
+
+    public SubscriptionActivatedEvent(SubscriptionLevel subscriptionLevel, Long entityId,
+                                      LocalDateTime paymentDate, BigDecimal amount) {
+        this.subscriptionLevel = subscriptionLevel;
+        this.entityId = entityId;
+        this.paymentDate = paymentDate;
+        this.amount = amount;
+    }
+
+    public SubscriptionLevel getSubscriptionLevel() {
+        return subscriptionLevel;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public LocalDateTime getPaymentDate() {
+        return paymentDate;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+}
@@ -1,10 +1,13 @@
 package com.coaxial.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.coaxial.entity.Chapter;
@@ -37,4 +40,8 @@ public interface ChapterRepository extends JpaRepository<Chapter, Long> {
     Optional<Chapter> findByNameAndModuleId(String name, Long moduleId);
     boolean existsByNameAndModuleId(String name, Long moduleId);
     boolean existsByNameAndModuleIdAndIdNot(String name, Long moduleId, Long id);
-}
\ No newline at end of file
+    
+    // Bulk load with module and topic for hierarchy resolution
+    @Query("SELECT c FROM Chapter c JOIN FETCH c.module m JOIN FETCH m.topic WHERE c.id IN :ids")
+    List<Chapter> findAllByIdInWithModuleAndTopic(@Param("ids") Collection<Long> ids);
+}
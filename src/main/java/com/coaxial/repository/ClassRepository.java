@@ -1,12 +1,16 @@
 package com.coaxial.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.coaxial.dto.ClassDropdownDTO;
 import com.coaxial.entity.ClassEntity;
 import com.coaxial.entity.Course;
 import com.coaxial.entity.CourseType;
@@ -38,6 +42,20 @@ public interface ClassRepository extends JpaRepository<ClassEntity, Long> {
     boolean existsByNameAndCourse(String name, Course course);
     boolean existsByNameAndCourseAndIdNot(String name, Course course, Long id);
     
+    // Bulk fetch with course and course type for name resolution
+    @Query("SELECT c FROM ClassEntity c JOIN FETCH c.course co JOIN FETCH co.courseType WHERE c.id IN :ids")
+    List<ClassEntity> findAllByIdInWithCourseAndCourseType(@Param("ids") Collection<Long> ids);
+    
+    // Active classes of a course type with their course, for the catalogue
+    @Query("SELECT c FROM ClassEntity c JOIN FETCH c.course co WHERE co.courseType.id = :courseTypeId " +
+           "AND c.isActive = true ORDER BY co.id, c.id")
+    List<ClassEntity> findActiveByCourseTypeIdWithCourse(@Param("courseTypeId") Long courseTypeId);
+    
+    // Admin pricing dropdown rows, optionally for one course; selects only the columns the dropdown shows
+    @Query("SELECT new com.coaxial.dto.ClassDropdownDTO(c.id, c.name, co.id, COALESCE(co.name, 'Unknown'), c.description) " +
+           "FROM ClassEntity c LEFT JOIN c.course co WHERE (:courseId IS NULL OR co.id = :courseId) ORDER BY c.id")
+    List<ClassDropdownDTO> findDropdownRows(@Param("courseId") Long courseId);
+    
     // Paginated methods
     Page<ClassEntity> findByCourse(Course course, Pageable pageable);
     Page<ClassEntity> findByCourseAndIsActive(Course course, Boolean isActive, Pageable pageable);
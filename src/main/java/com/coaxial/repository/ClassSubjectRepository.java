@@ -1,9 +1,12 @@
 package com.coaxial.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.coaxial.entity.ClassEntity;
@@ -36,4 +39,13 @@ public interface ClassSubjectRepository extends JpaRepository<ClassSubject, Long
     // Check existence
     boolean existsByClassEntityAndSubject(ClassEntity classEntity, Subject subject);
     boolean existsByClassEntityAndSubjectAndIdNot(ClassEntity classEntity, Subject subject, Long id);
-}
\ No newline at end of file
+    
+    // Bulk subject resolution for question listings
+    @Query("SELECT cs FROM ClassSubject cs JOIN FETCH cs.subject s LEFT JOIN FETCH s.courseType WHERE cs.id IN :ids")
+    List<ClassSubject> findAllByIdInWithSubject(@Param("ids") Collection<Long> ids);
+    
+    // Active subjects of several classes in one query, for the catalogue
+    @Query("SELECT cs FROM ClassSubject cs JOIN FETCH cs.subject WHERE cs.classEntity.id IN :classIds " +
+           "AND cs.isActive = true ORDER BY cs.id")
+    List<ClassSubject> findActiveByClassIdsWithSubject(@Param("classIds") Collection<Long> classIds);
+}
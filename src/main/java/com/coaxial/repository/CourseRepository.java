@@ -1,12 +1,16 @@
 package com.coaxial.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.coaxial.dto.CourseDropdownDTO;
 import com.coaxial.entity.Course;
 import com.coaxial.entity.CourseType;
 
@@ -44,6 +48,15 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     // Check if course name exists within course type (excluding specific ID)
     boolean existsByNameAndCourseTypeAndIdNot(String name, CourseType courseType, Long id);
     
+    // Bulk fetch with course type for name resolution
+    @Query("SELECT c FROM Course c JOIN FETCH c.courseType WHERE c.id IN :ids")
+    List<Course> findAllByIdInWithCourseType(@Param("ids") Collection<Long> ids);
+    
+    // Admin pricing dropdown rows; selects only the columns the dropdown shows
+    @Query("SELECT new com.coaxial.dto.CourseDropdownDTO(c.id, c.name, COALESCE(ct.name, 'Unknown'), c.description) " +
+           "FROM Course c LEFT JOIN c.courseType ct ORDER BY c.id")
+    List<CourseDropdownDTO> findDropdownRows();
+    
     // Paginated methods
     Page<Course> findByCourseType(CourseType courseType, Pageable pageable);
     Page<Course> findByCourseTypeAndIsActive(CourseType courseType, Boolean isActive, Pageable pageable);
@@ -1,9 +1,12 @@
 package com.coaxial.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.coaxial.entity.Course;
@@ -36,4 +39,12 @@ public interface CourseSubjectRepository extends JpaRepository<CourseSubject, Lo
     // Check existence
     boolean existsByCourseAndSubject(Course course, Subject subject);
     boolean existsByCourseAndSubjectAndIdNot(Course course, Subject subject, Long id);
+    
+    // Bulk subject resolution for question listings
+    @Query("SELECT cs FROM CourseSubject cs JOIN FETCH cs.subject s LEFT JOIN FETCH s.courseType WHERE cs.id IN :ids")
+    List<CourseSubject> findAllByIdInWithSubject(@Param("ids") Collection<Long> ids);
+    
+    // Subjects of several courses in one query, for the catalogue
+    @Query("SELECT cs FROM CourseSubject cs JOIN FETCH cs.subject WHERE cs.course.id IN :courseIds ORDER BY cs.id")
+    List<CourseSubject> findByCourseIdsWithSubject(@Param("courseIds") Collection<Long> courseIds);
 }
@@ -1,13 +1,16 @@
 package com.coaxial.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.coaxial.dto.ExamDropdownDTO;
 import com.coaxial.entity.Course;
 import com.coaxial.entity.CourseType;
 import com.coaxial.entity.Exam;
@@ -41,9 +44,22 @@ public interface ExamRepository extends JpaRepository<Exam, Long> {
     @Query("SELECT e FROM Exam e JOIN FETCH e.course c JOIN FETCH c.courseType")
     List<Exam> findAllWithCourseAndCourseType();
     
+    // Bulk fetch with course and course type for name resolution
+    @Query("SELECT e FROM Exam e JOIN FETCH e.course c JOIN FETCH c.courseType WHERE e.id IN :ids")
+    List<Exam> findAllByIdInWithCourseAndCourseType(@Param("ids") Collection<Long> ids);
+    
+    // Active exams of a course type with their course, for the catalogue
+    @Query("SELECT e FROM Exam e JOIN FETCH e.course co WHERE co.courseType.id = :courseTypeId " +
+           "AND e.isActive = true ORDER BY co.id, e.id")
+    List<Exam> findActiveByCourseTypeIdWithCourse(@Param("courseTypeId") Long courseTypeId);
+    
     // Find exam entities by course ID
     List<Exam> findByCourseId(Long courseId);
     
+    // Admin pricing dropdown rows; selects only the columns the dropdown shows
+    @Query("SELECT new com.coaxial.dto.ExamDropdownDTO(e.id, e.name, e.description) FROM Exam e ORDER BY e.id")
+    List<ExamDropdownDTO> findDropdownRows();
+    
     // Paginated methods
     Page<Exam> findByCourse(Course course, Pageable pageable);
     Page<Exam> findByCourseAndIsActive(Course course, Boolean isActive, Pageable pageable);
@@ -1,9 +1,12 @@
 package com.coaxial.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.coaxial.entity.Exam;
@@ -36,4 +39,12 @@ public interface ExamSubjectRepository extends JpaRepository<ExamSubject, Long>
     // Check existence
     boolean existsByExamAndSubject(Exam exam, Subject subject);
     boolean existsByExamAndSubjectAndIdNot(Exam exam, Subject subject, Long id);
+    
+    // Bulk subject resolution for question listings
+    @Query("SELECT es FROM ExamSubject es JOIN FETCH es.subject s LEFT JOIN FETCH s.courseType WHERE es.id IN :ids")
+    List<ExamSubject> findAllByIdInWithSubject(@Param("ids") Collection<Long> ids);
+    
+    // Subjects of several exams in one query, for the catalogue
+    @Query("SELECT es FROM ExamSubject es JOIN FETCH es.subject WHERE es.exam.id IN :examIds ORDER BY es.id")
+    List<ExamSubject> findByExamIdsWithSubject(@Param("examIds") Collection<Long> examIds);
 }
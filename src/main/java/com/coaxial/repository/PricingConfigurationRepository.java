@@ -1,11 +1,16 @@
 package com.coaxial.repository;
 
 import com.coaxial.entity.PricingConfiguration;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +26,11 @@ public interface PricingConfigurationRepository extends JpaRepository<PricingCon
      */
     Optional<PricingConfiguration> findByEntityTypeAndEntityId(String entityType, Long entityId);
     
+    /**
+     * Find pricing configurations for many entities of one type in a single query
+     */
+    List<PricingConfiguration> findByEntityTypeAndEntityIdIn(String entityType, Collection<Long> entityIds);
+    
     /**
      * Find all pricing configurations by entity type
      */
@@ -125,4 +135,70 @@ public interface PricingConfigurationRepository extends JpaRepository<PricingCon
      * Find all active pricing configurations by course type and entity type
      */
     List<PricingConfiguration> findByCourseTypeIdAndEntityTypeAndIsActiveTrue(Long courseTypeId, String entityType);
+    
+    /**
+     * Admin filter by course type, level, active status and a lower-case LIKE pattern on entity name
+     */
+    @Query(value = "SELECT pc FROM PricingConfiguration pc WHERE " +
+           "(:courseTypeId IS NULL OR pc.courseTypeId = :courseTypeId) AND " +
+           "(:entityType IS NULL OR pc.entityType = :entityType) AND " +
+           "(:isActive IS NULL OR pc.isActive = :isActive) AND " +
+           "LOWER(pc.entityName) LIKE :pattern " +
+           "ORDER BY pc.entityType, pc.entityName, pc.id",
+           countQuery = "SELECT COUNT(pc) FROM PricingConfiguration pc WHERE " +
+           "(:courseTypeId IS NULL OR pc.courseTypeId = :courseTypeId) AND " +
+           "(:entityType IS NULL OR pc.entityType = :entityType) AND " +
+           "(:isActive IS NULL OR pc.isActive = :isActive) AND " +
+           "LOWER(pc.entityName) LIKE :pattern")
+    Page<PricingConfiguration> findByFilters(@Param("courseTypeId") Long courseTypeId,
+                                             @Param("entityType") String entityType,
+                                             @Param("isActive") Boolean isActive,
+                                             @Param("pattern") String pattern,
+                                             Pageable pageable);
+    
+    /**
+     * Id and version of each active configuration a bulk discount update would touch, ordered by id.
+     * The bulk update's version token is derived from these rows.
+     */
+    @Query(value = "SELECT id, version FROM pricing_configurations " +
+                   "WHERE course_type_id = :courseTypeId AND entity_type = :entityType AND is_active = true " +
+                   "ORDER BY id",
+           nativeQuery = true)
+    List<Object[]> findBulkUpdateScope(@Param("courseTypeId") Long courseTypeId, @Param("entityType") String entityType);
+    
+    /**
+     * Same rows as findBulkUpdateScope, locked until the transaction ends so single-row edits
+     * wait for the bulk update instead of slipping in between the version check and the UPDATE
+     */
+    @Query(value = "SELECT id, version FROM pricing_configurations " +
+                   "WHERE course_type_id = :courseTypeId AND entity_type = :entityType AND is_active = true " +
+                   "ORDER BY id FOR UPDATE",
+           nativeQuery = true)
+    List<Object[]> lockBulkUpdateScope(@Param("courseTypeId") Long courseTypeId, @Param("entityType") String entityType);
+    
+    /**
+     * Set-based discount update for all active configurations of a course type and level.
+     * Null arguments leave the column unchanged; the version is bumped so concurrent single-row edits fail.
+     */
+    @Modifying
+    @Query("UPDATE PricingConfiguration pc SET " +
+           "pc.monthlyDiscountPercent = COALESCE(:monthlyDiscount, pc.monthlyDiscountPercent), " +
+           "pc.quarterlyDiscountPercent = COALESCE(:quarterlyDiscount, pc.quarterlyDiscountPercent), " +
+           "pc.yearlyDiscountPercent = COALESCE(:yearlyDiscount, pc.yearlyDiscountPercent), " +
+           "pc.monthlyOfferValidFrom = COALESCE(:offerValidFrom, pc.monthlyOfferValidFrom), " +
+           "pc.quarterlyOfferValidFrom = COALESCE(:offerValidFrom, pc.quarterlyOfferValidFrom), " +
+           "pc.yearlyOfferValidFrom = COALESCE(:offerValidFrom, pc.yearlyOfferValidFrom), " +
+           "pc.monthlyOfferValidTo = COALESCE(:offerValidTo, pc.monthlyOfferValidTo), " +
+           "pc.quarterlyOfferValidTo = COALESCE(:offerValidTo, pc.quarterlyOfferValidTo), " +
+           "pc.yearlyOfferValidTo = COALESCE(:offerValidTo, pc.yearlyOfferValidTo), " +
+           "pc.version = pc.version + 1, pc.updatedAt = :now " +
+           "WHERE pc.courseTypeId = :courseTypeId AND pc.entityType = :entityType AND pc.isActive = true")
+    int bulkUpdateDiscounts(@Param("courseTypeId") Long courseTypeId,
+                            @Param("entityType") String entityType,
+                            @Param("monthlyDiscount") Integer monthlyDiscount,
+                            @Param("quarterlyDiscount") Integer quarterlyDiscount,
+                            @Param("yearlyDiscount") Integer yearlyDiscount,
+                            @Param("offerValidFrom") LocalDateTime offerValidFrom,
+                            @Param("offerValidTo") LocalDateTime offerValidTo,
+                            @Param("now") LocalDateTime now);
 }
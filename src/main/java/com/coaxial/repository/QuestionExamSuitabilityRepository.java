@@ -3,6 +3,7 @@ package com.coaxial.repository;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.coaxial.entity.QuestionExamSuitability;
@@ -37,6 +38,13 @@ public interface QuestionExamSuitabilityRepository extends JpaRepository<Questio
     // Find by active status
     List<QuestionExamSuitability> findByIsActiveOrderByCreatedAtDesc(Boolean isActive);
     
+    // Distinct questions per (exam, suitability level) for the statistics dashboard
+    @Query("SELECT s.masterExam.id, s.masterExam.examName, s.suitabilityLevel, COUNT(DISTINCT s.question.id) " +
+           "FROM QuestionExamSuitability s WHERE s.isActive = true " +
+           "GROUP BY s.masterExam.id, s.masterExam.examName, s.suitabilityLevel " +
+           "ORDER BY s.masterExam.examName, s.suitabilityLevel")
+    List<Object[]> countQuestionsByExamAndSuitabilityLevel();
+    
     // Count methods
     long countByQuestionIdAndIsActiveTrue(Long questionId);
     long countByMasterExamIdAndIsActiveTrue(Long masterExamId);
@@ -1,11 +1,13 @@
 package com.coaxial.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -13,7 +15,7 @@ import org.springframework.stereotype.Repository;
 import com.coaxial.entity.Question;
 
 @Repository
-public interface QuestionRepository extends JpaRepository<Question, Long> {
+public interface QuestionRepository extends JpaRepository<Question, Long>, JpaSpecificationExecutor<Question> {
     
     // Find by chapter
     List<Question> findByChapterIdAndIsActiveTrueOrderByDisplayOrderAsc(Long chapterId);
@@ -106,6 +108,15 @@ public interface QuestionRepository extends JpaRepository<Question, Long> {
     long countByCourseTypeIdAndRelationshipIdAndDifficultyLevelAndIsActiveTrue(Long courseTypeId, Long relationshipId, String difficultyLevel);
     long countByCourseTypeIdAndRelationshipIdAndMarksBetweenAndIsActiveTrue(Long courseTypeId, Long relationshipId, Integer minMarks, Integer maxMarks);
     
+    // Keyset scan of (id, questionText) for batch jobs that only need the text
+    @Query("SELECT q.id, q.questionText FROM Question q WHERE q.id > :afterId ORDER BY q.id")
+    List<Object[]> findIdAndTextAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    // Counts per (type, difficulty, active) combination, enough to derive every summary statistic
+    @Query("SELECT q.questionType, q.difficultyLevel, q.isActive, COUNT(q) FROM Question q " +
+           "GROUP BY q.questionType, q.difficultyLevel, q.isActive")
+    List<Object[]> countByTypeDifficultyAndActive();
+    
     // Check existence
     boolean existsByQuestionTextAndChapterId(String questionText, Long chapterId);
     boolean existsByQuestionTextAndChapterIdAndIdNot(String questionText, Long chapterId, Long id);
@@ -184,10 +195,11 @@ public interface QuestionRepository extends JpaRepository<Question, Long> {
             @Param("questionNumbers") List<String> questionNumbers,
             @Param("examDifficulties") List<String> examDifficulties);
     
-    // Combined filtering query with text search fix
-    @Query("SELECT DISTINCT q FROM Question q " +
-           "LEFT JOIN q.examSuitabilities es " +
-           "LEFT JOIN q.examHistories eh " +
+    // Enhanced filtering, phase 1: page over question ids only.
+    // Exam filters are EXISTS subqueries, so no join fan-out, DISTINCT or in-memory paging.
+    // Collection parameters are guarded by boolean flags because "(:list) IS NULL" breaks
+    // once Hibernate expands a multi-element list.
+    @Query(value = "SELECT q.id FROM Question q " +
            "WHERE (:isActive IS NULL OR q.isActive = :isActive) " +
            "AND (:questionType IS NULL OR q.questionType = :questionType) " +
            "AND (:difficultyLevel IS NULL OR q.difficultyLevel = :difficultyLevel) " +
@@ -199,11 +211,34 @@ public interface QuestionRepository extends JpaRepository<Question, Long> {
            "AND (:topicId IS NULL OR q.topicId = :topicId) " +
            "AND (:moduleId IS NULL OR q.moduleId = :moduleId) " +
            "AND (:chapterId IS NULL OR q.chapter.id = :chapterId) " +
-           "AND (:examIds IS NULL OR es.masterExam.id IN :examIds) " +
-           "AND (:suitabilityLevels IS NULL OR es.suitabilityLevel IN :suitabilityLevels) " +
-           "AND (:appearedYears IS NULL OR eh.appearedYear.yearValue IN :appearedYears) " +
-           "ORDER BY q.displayOrder ASC")
-    Page<Question> findQuestionsWithEnhancedFilters(
+           "AND ((:filterExamIds = false AND :filterSuitabilityLevels = false) OR EXISTS (" +
+           "     SELECT 1 FROM QuestionExamSuitability es WHERE es.question = q " +
+           "     AND (:filterExamIds = false OR es.masterExam.id IN :examIds) " +
+           "     AND (:filterSuitabilityLevels = false OR es.suitabilityLevel IN :suitabilityLevels))) " +
+           "AND (:filterAppearedYears = false OR EXISTS (" +
+           "     SELECT 1 FROM QuestionExamHistory eh WHERE eh.question = q " +
+           "     AND eh.appearedYear.yearValue IN :appearedYears)) " +
+           "ORDER BY q.displayOrder ASC, q.id ASC",
+           countQuery = "SELECT COUNT(q) FROM Question q " +
+           "WHERE (:isActive IS NULL OR q.isActive = :isActive) " +
+           "AND (:questionType IS NULL OR q.questionType = :questionType) " +
+           "AND (:difficultyLevel IS NULL OR q.difficultyLevel = :difficultyLevel) " +
+           "AND (:minMarks IS NULL OR q.marks >= :minMarks) " +
+           "AND (:maxMarks IS NULL OR q.marks <= :maxMarks) " +
+           "AND (:courseTypeId IS NULL OR q.courseTypeId = :courseTypeId) " +
+           "AND (:relationshipId IS NULL OR q.relationshipId = :relationshipId) " +
+           "AND (:subjectId IS NULL OR q.subjectId = :subjectId) " +
+           "AND (:topicId IS NULL OR q.topicId = :topicId) " +
+           "AND (:moduleId IS NULL OR q.moduleId = :moduleId) " +
+           "AND (:chapterId IS NULL OR q.chapter.id = :chapterId) " +
+           "AND ((:filterExamIds = false AND :filterSuitabilityLevels = false) OR EXISTS (" +
+           "     SELECT 1 FROM QuestionExamSuitability es WHERE es.question = q " +
+           "     AND (:filterExamIds = false OR es.masterExam.id IN :examIds) " +
+           "     AND (:filterSuitabilityLevels = false OR es.suitabilityLevel IN :suitabilityLevels))) " +
+           "AND (:filterAppearedYears = false OR EXISTS (" +
+           "     SELECT 1 FROM QuestionExamHistory eh WHERE eh.question = q " +
+           "     AND eh.appearedYear.yearValue IN :appearedYears))")
+    Page<Long> findQuestionIdsWithEnhancedFilters(
             @Param("isActive") Boolean isActive,
             @Param("questionType") String questionType,
             @Param("difficultyLevel") String difficultyLevel,
@@ -215,8 +250,89 @@ public interface QuestionRepository extends JpaRepository<Question, Long> {
             @Param("topicId") Long topicId,
             @Param("moduleId") Long moduleId,
             @Param("chapterId") Long chapterId,
+            @Param("filterExamIds") boolean filterExamIds,
             @Param("examIds") List<Long> examIds,
+            @Param("filterSuitabilityLevels") boolean filterSuitabilityLevels,
             @Param("suitabilityLevels") List<String> suitabilityLevels,
+            @Param("filterAppearedYears") boolean filterAppearedYears,
             @Param("appearedYears") List<Integer> appearedYears,
             Pageable pageable);
+    
+    // Full-text search over the generated questions.search_vector column (GIN indexed).
+    // Question text carries weight A and explanation weight B, so a tsquery term can target either.
+    // Native, so nullable parameters are cast to give PostgreSQL their types.
+    String FULL_TEXT_SEARCH_WHERE =
+           "WHERE q.search_vector @@ to_tsquery('english', :tsQuery) " +
+           "AND (CAST(:isActive AS boolean) IS NULL OR q.is_active = :isActive) " +
+           "AND (CAST(:questionType AS varchar) IS NULL OR q.question_type = :questionType) " +
+           "AND (CAST(:difficultyLevel AS varchar) IS NULL OR q.difficulty_level = :difficultyLevel) " +
+           "AND (CAST(:minMarks AS integer) IS NULL OR q.marks >= :minMarks) " +
+           "AND (CAST(:maxMarks AS integer) IS NULL OR q.marks <= :maxMarks) " +
+           "AND (CAST(:courseTypeId AS bigint) IS NULL OR q.course_type_id = :courseTypeId) " +
+           "AND (CAST(:relationshipId AS bigint) IS NULL OR q.relationship_id = :relationshipId) " +
+           "AND (CAST(:subjectId AS bigint) IS NULL OR q.subject_id = :subjectId) " +
+           "AND (CAST(:topicId AS bigint) IS NULL OR q.topic_id = :topicId) " +
+           "AND (CAST(:moduleId AS bigint) IS NULL OR q.module_id = :moduleId) " +
+           "AND (CAST(:chapterId AS bigint) IS NULL OR q.chapter_id = :chapterId) " +
+           "AND ((:filterExamIds = false AND :filterSuitabilityLevels = false) OR EXISTS (" +
+           "     SELECT 1 FROM question_exam_suitabilities es WHERE es.question_id = q.id " +
+           "     AND (:filterExamIds = false OR es.master_exam_id IN (:examIds)) " +
+           "     AND (:filterSuitabilityLevels = false OR es.suitability_level IN (:suitabilityLevels)))) " +
+           "AND (:filterAppearedYears = false OR EXISTS (" +
+           "     SELECT 1 FROM question_exam_histories eh JOIN master_years my ON my.id = eh.appeared_year_id " +
+           "     WHERE eh.question_id = q.id AND my.year_value IN (:appearedYears))) ";
+    
+    @Query(value = "SELECT q.id FROM questions q " + FULL_TEXT_SEARCH_WHERE +
+           "ORDER BY ts_rank(q.search_vector, to_tsquery('english', :tsQuery)) DESC, q.id ASC",
+           countQuery = "SELECT COUNT(*) FROM questions q " + FULL_TEXT_SEARCH_WHERE,
+           nativeQuery = true)
+    Page<Long> searchQuestionIds(
+            @Param("tsQuery") String tsQuery,
+            @Param("isActive") Boolean isActive,
+            @Param("questionType") String questionType,
+            @Param("difficultyLevel") String difficultyLevel,
+            @Param("minMarks") Integer minMarks,
+            @Param("maxMarks") Integer maxMarks,
+            @Param("courseTypeId") Long courseTypeId,
+            @Param("relationshipId") Long relationshipId,
+            @Param("subjectId") Long subjectId,
+            @Param("topicId") Long topicId,
+            @Param("moduleId") Long moduleId,
+            @Param("chapterId") Long chapterId,
+            @Param("filterExamIds") boolean filterExamIds,
+            @Param("examIds") List<Long> examIds,
+            @Param("filterSuitabilityLevels") boolean filterSuitabilityLevels,
+            @Param("suitabilityLevels") List<String> suitabilityLevels,
+            @Param("filterAppearedYears") boolean filterAppearedYears,
+            @Param("appearedYears") List<Integer> appearedYears,
+            Pageable pageable);
+    
+    // Enhanced filtering, phase 2: load one page of questions with their exam data.
+    // The two collections are fetched by separate queries (fetching both bags at once is
+    // not allowed); both land in the same persistence context.
+    @Query("SELECT DISTINCT q FROM Question q " +
+           "LEFT JOIN FETCH q.examSuitabilities es " +
+           "LEFT JOIN FETCH es.masterExam " +
+           "LEFT JOIN FETCH es.createdBy " +
+           "WHERE q.id IN :ids")
+    List<Question> findAllWithExamSuitabilitiesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT DISTINCT q FROM Question q " +
+           "LEFT JOIN FETCH q.examHistories eh " +
+           "LEFT JOIN FETCH eh.masterExam " +
+           "LEFT JOIN FETCH eh.appearedYear " +
+           "LEFT JOIN FETCH eh.createdBy " +
+           "WHERE q.id IN :ids")
+    List<Question> findAllWithExamHistoriesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Options, chapter -> module -> topic and audit users for a batch of questions (response mapping)
+    @Query("SELECT DISTINCT q FROM Question q " +
+           "LEFT JOIN FETCH q.options " +
+           "LEFT JOIN FETCH q.chapter c " +
+           "LEFT JOIN FETCH c.module m " +
+           "LEFT JOIN FETCH m.topic " +
+           "LEFT JOIN FETCH q.createdBy " +
+           "LEFT JOIN FETCH q.updatedBy " +
+           "WHERE q.id IN :ids")
+    List<Question> findAllWithOptionsAndHierarchyByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,28 @@
+package com.coaxial.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.coaxial.entity.QuestionSignature;
+
+@Repository
+public interface QuestionSignatureRepository extends JpaRepository<QuestionSignature, Long> {
+
+    // LSH candidates: questions sharing at least one band with the probe (GIN index on band_keys).
+    // Ranked by number of shared bands so the limit keeps the likeliest near-duplicates.
+    // bandKeys is a PostgreSQL array literal such as "{12,-34}".
+    @Query(value = "SELECT s.* FROM question_signatures s " +
+                   "WHERE s.band_keys && CAST(:bandKeys AS bigint[]) " +
+                   "AND s.question_id <> :excludeQuestionId " +
+                   "ORDER BY cardinality(ARRAY(SELECT unnest(s.band_keys) " +
+                   "INTERSECT SELECT unnest(CAST(:bandKeys AS bigint[])))) DESC, s.question_id " +
+                   "LIMIT :maxCandidates",
+           nativeQuery = true)
+    List<QuestionSignature> findCandidates(@Param("bandKeys") String bandKeys,
+                                           @Param("excludeQuestionId") Long excludeQuestionId,
+                                           @Param("maxCandidates") int maxCandidates);
+}
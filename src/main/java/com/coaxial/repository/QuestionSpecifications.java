@@ -0,0 +1,98 @@
+package com.coaxial.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.coaxial.dto.QuestionFilterRequestDTO;
+import com.coaxial.entity.Question;
+
+import jakarta.persistence.criteria.Predicate;
+
+/**
+ * Composable filters for the question bank.
+ * Only the criteria that are actually supplied become SQL predicates, so one query
+ * shape covers every filter combination instead of a derived finder per combination.
+ */
+public final class QuestionSpecifications {
+
+    private QuestionSpecifications() {
+    }
+
+    /**
+     * Column-level filters from the request; exam suitability/history filters are not applied here
+     */
+    public static Specification<Question> withFilters(QuestionFilterRequestDTO filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (filter.getIsActive() != null) {
+                predicates.add(cb.equal(root.get("isActive"), filter.getIsActive()));
+            }
+            if (hasText(filter.getQuestionType())) {
+                predicates.add(cb.equal(root.get("questionType"), filter.getQuestionType()));
+            }
+            if (hasText(filter.getDifficultyLevel())) {
+                predicates.add(cb.equal(root.get("difficultyLevel"), filter.getDifficultyLevel()));
+            }
+            if (filter.getMinMarks() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("marks"), filter.getMinMarks()));
+            }
+            if (filter.getMaxMarks() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("marks"), filter.getMaxMarks()));
+            }
+
+            // Hierarchy
+            if (filter.getCourseTypeId() != null) {
+                predicates.add(cb.equal(root.get("courseTypeId"), filter.getCourseTypeId()));
+            }
+            if (filter.getRelationshipId() != null) {
+                predicates.add(cb.equal(root.get("relationshipId"), filter.getRelationshipId()));
+            }
+            if (filter.getSubjectId() != null) {
+                predicates.add(cb.equal(root.get("subjectId"), filter.getSubjectId()));
+            }
+            if (filter.getTopicId() != null) {
+                predicates.add(cb.equal(root.get("topicId"), filter.getTopicId()));
+            }
+            if (filter.getModuleId() != null) {
+                predicates.add(cb.equal(root.get("moduleId"), filter.getModuleId()));
+            }
+            if (filter.getChapterId() != null) {
+                // chapter.id resolves to the chapter_id column, no join needed
+                predicates.add(cb.equal(root.get("chapter").get("id"), filter.getChapterId()));
+            }
+
+            // Text search
+            if (hasText(filter.getQuestionTextSearch())) {
+                predicates.add(cb.like(cb.lower(root.get("questionText")), likePattern(filter.getQuestionTextSearch()), '\\'));
+            }
+            if (hasText(filter.getExplanationSearch())) {
+                predicates.add(cb.like(cb.lower(root.get("explanation")), likePattern(filter.getExplanationSearch()), '\\'));
+            }
+
+            // Creation date
+            if (filter.getCreatedAfter() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), filter.getCreatedAfter()));
+            }
+            if (filter.getCreatedBefore() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("createdAt"), filter.getCreatedBefore()));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private static String likePattern(String value) {
+        String escaped = value.trim().toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
@@ -0,0 +1,53 @@
+package com.coaxial.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.coaxial.entity.RazorpayWebhookEvent;
+import com.coaxial.enums.WebhookEventStatus;
+
+@Repository
+public interface RazorpayWebhookEventRepository extends JpaRepository<RazorpayWebhookEvent, Long> {
+
+    boolean existsByEventId(String eventId);
+
+    Optional<RazorpayWebhookEvent> findByEventId(String eventId);
+
+    Page<RazorpayWebhookEvent> findByStatusOrderByIdDesc(WebhookEventStatus status, Pageable pageable);
+
+    Page<RazorpayWebhookEvent> findAllByOrderByIdDesc(Pageable pageable);
+
+    // Lock the oldest due event. Events of the same order wait until every earlier
+    // pending event of that order is done, which keeps per-order handling ordered
+    // across instances; SKIP LOCKED lets other instances move on to other orders.
+    @Query(value = "SELECT e.* FROM razorpay_webhook_events e " +
+                   "WHERE e.status = 'PENDING' AND e.next_attempt_at <= :now " +
+                   "AND NOT EXISTS (SELECT 1 FROM razorpay_webhook_events p " +
+                   "                WHERE p.order_id = e.order_id AND p.id < e.id AND p.status = 'PENDING') " +
+                   "ORDER BY e.id LIMIT 1 FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    Optional<RazorpayWebhookEvent> lockNextDueEvent(@Param("now") LocalDateTime now);
+
+    // Reset dead-lettered events so the processor picks them up again
+    @Modifying
+    @Query("UPDATE RazorpayWebhookEvent e SET e.status = com.coaxial.enums.WebhookEventStatus.PENDING, " +
+           "e.attempts = 0, e.nextAttemptAt = :now " +
+           "WHERE e.status = com.coaxial.enums.WebhookEventStatus.FAILED")
+    int requeueFailedEvents(@Param("now") LocalDateTime now);
+
+    // Pending events that keep failing or sit behind an expired lease
+    @Query("SELECT e FROM RazorpayWebhookEvent e WHERE e.status = com.coaxial.enums.WebhookEventStatus.PENDING " +
+           "AND e.receivedAt < :cutoff ORDER BY e.id")
+    List<RazorpayWebhookEvent> findStuckEvents(@Param("cutoff") LocalDateTime cutoff);
+
+    long countByStatus(WebhookEventStatus status);
+}
@@ -5,7 +5,9 @@ import com.coaxial.entity.User;
 import com.coaxial.enums.PaymentStatus;
 import com.coaxial.enums.SubscriptionLevel;
 import com.coaxial.enums.SubscriptionStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -52,6 +54,26 @@ public interface StudentSubscriptionRepository extends JpaRepository<StudentSubs
     List<StudentSubscription> findSubscriptionsExpiringSoon(@Param("now") LocalDateTime now, 
                                                            @Param("futureDate") LocalDateTime futureDate);
 
+    // Find subscriptions expiring soon for a single student
+    @Query("SELECT s FROM StudentSubscription s WHERE s.student.id = :studentId AND s.isActive = true AND s.endDate IS NOT NULL AND s.endDate BETWEEN :now AND :futureDate ORDER BY s.endDate ASC")
+    List<StudentSubscription> findSubscriptionsExpiringSoonForStudent(@Param("studentId") Long studentId,
+                                                                     @Param("now") LocalDateTime now,
+                                                                     @Param("futureDate") LocalDateTime futureDate);
+
+    // Keyset cursor over paid subscriptions expiring soon that have not been reminded yet.
+    // Ordered by (student, id) so a batch can be grouped per student without loading the full result.
+    @Query("SELECT s FROM StudentSubscription s JOIN FETCH s.student st " +
+           "WHERE s.isActive = true AND s.paymentStatus = 'PAID' " +
+           "AND s.endDate IS NOT NULL AND s.endDate BETWEEN :now AND :futureDate " +
+           "AND s.renewalReminderSentAt IS NULL " +
+           "AND (st.id > :lastStudentId OR (st.id = :lastStudentId AND s.id > :lastId)) " +
+           "ORDER BY st.id ASC, s.id ASC")
+    List<StudentSubscription> findExpiringSoonAfterCursor(@Param("now") LocalDateTime now,
+                                                          @Param("futureDate") LocalDateTime futureDate,
+                                                          @Param("lastStudentId") Long lastStudentId,
+                                                          @Param("lastId") Long lastId,
+                                                          Pageable pageable);
+
     // Count active subscriptions for a student
     @Query("SELECT COUNT(s) FROM StudentSubscription s WHERE s.student.id = :studentId AND s.isActive = true AND (s.endDate IS NULL OR s.endDate > :now)")
     Long countActiveSubscriptionsByStudentId(@Param("studentId") Long studentId, @Param("now") LocalDateTime now);
@@ -96,17 +118,100 @@ public interface StudentSubscriptionRepository extends JpaRepository<StudentSubs
     List<StudentSubscription> findByStatusOrderByCreatedAtDesc(SubscriptionStatus status);
 
     // Get latest subscription for each unique entity (prevents duplicate cancelled subscriptions)
-    // Standard approach: GROUP BY entity, return MAX(id) - shows only most recent per entity
+    // Uses the isLatestForEntity flag maintained on write instead of a per-row MAX(id) subquery
     @Query("SELECT s FROM StudentSubscription s " +
            "WHERE s.student.id = :studentId " +
-           "AND s.id IN (" +
-           "  SELECT MAX(s2.id) FROM StudentSubscription s2 " +
-           "  WHERE s2.student.id = :studentId " +
-           "  GROUP BY s2.subscriptionLevel, s2.entityId" +
-           ") " +
+           "AND s.isLatestForEntity = true " +
            "ORDER BY s.createdAt DESC")
     List<StudentSubscription> findLatestSubscriptionsPerEntity(@Param("studentId") Long studentId);
 
+    // Clear the latest flag on previous subscriptions before a new one is created for the same entity
+    @Modifying
+    @Query("UPDATE StudentSubscription s SET s.isLatestForEntity = false " +
+           "WHERE s.student.id = :studentId AND s.subscriptionLevel = :level AND s.entityId = :entityId " +
+           "AND s.isLatestForEntity = true")
+    int clearLatestForEntity(@Param("studentId") Long studentId,
+                             @Param("level") SubscriptionLevel level,
+                             @Param("entityId") Long entityId);
+
+    // Mark the subscription for an order paid unless another caller already did; returns 1 only for the winner
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE StudentSubscription s SET s.razorpayPaymentId = :paymentId, " +
+           "s.razorpaySignature = COALESCE(:signature, s.razorpaySignature), " +
+           "s.paymentStatus = :paid, s.paymentDate = :paymentDate, s.isActive = true, " +
+           "s.status = :active, s.updatedAt = :paymentDate " +
+           "WHERE s.razorpayOrderId = :orderId AND s.paymentStatus <> :paid")
+    int markPaidIfUnpaid(@Param("orderId") String orderId,
+                         @Param("paymentId") String paymentId,
+                         @Param("signature") String signature,
+                         @Param("paymentDate") LocalDateTime paymentDate,
+                         @Param("paid") PaymentStatus paid,
+                         @Param("active") SubscriptionStatus active);
+
+    // Record a failed payment unless the order was already paid, so a late or replayed failure cannot cancel it
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE StudentSubscription s SET s.paymentStatus = :failed, s.status = :cancelled, " +
+           "s.isActive = false, s.notes = :notes, s.updatedAt = :now " +
+           "WHERE s.razorpayOrderId = :orderId AND s.paymentStatus <> :paid")
+    int markFailedIfUnpaid(@Param("orderId") String orderId,
+                           @Param("notes") String notes,
+                           @Param("now") LocalDateTime now,
+                           @Param("failed") PaymentStatus failed,
+                           @Param("cancelled") SubscriptionStatus cancelled,
+                           @Param("paid") PaymentStatus paid);
+
+    // ==================== Keyset pagination on (createdAt, id) ====================
+
+    @Query("SELECT s FROM StudentSubscription s WHERE s.student.id = :studentId " +
+           "AND (s.createdAt < :cursorCreatedAt OR (s.createdAt = :cursorCreatedAt AND s.id < :cursorId)) " +
+           "ORDER BY s.createdAt DESC, s.id DESC")
+    List<StudentSubscription> findPageByStudentId(@Param("studentId") Long studentId,
+                                                  @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                                  @Param("cursorId") Long cursorId,
+                                                  Pageable pageable);
+
+    @Query("SELECT s FROM StudentSubscription s WHERE s.student.id = :studentId AND s.status = :status " +
+           "AND (s.createdAt < :cursorCreatedAt OR (s.createdAt = :cursorCreatedAt AND s.id < :cursorId)) " +
+           "ORDER BY s.createdAt DESC, s.id DESC")
+    List<StudentSubscription> findPageByStudentIdAndStatus(@Param("studentId") Long studentId,
+                                                           @Param("status") SubscriptionStatus status,
+                                                           @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                                           @Param("cursorId") Long cursorId,
+                                                           Pageable pageable);
+
+    @Query("SELECT s FROM StudentSubscription s WHERE s.student.id = :studentId AND s.isLatestForEntity = true " +
+           "AND (s.createdAt < :cursorCreatedAt OR (s.createdAt = :cursorCreatedAt AND s.id < :cursorId)) " +
+           "ORDER BY s.createdAt DESC, s.id DESC")
+    List<StudentSubscription> findLatestPageByStudentId(@Param("studentId") Long studentId,
+                                                        @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                                        @Param("cursorId") Long cursorId,
+                                                        Pageable pageable);
+
+    @Query("SELECT s FROM StudentSubscription s WHERE s.student.id = :studentId AND s.isLatestForEntity = true " +
+           "AND s.status = :status " +
+           "AND (s.createdAt < :cursorCreatedAt OR (s.createdAt = :cursorCreatedAt AND s.id < :cursorId)) " +
+           "ORDER BY s.createdAt DESC, s.id DESC")
+    List<StudentSubscription> findLatestPageByStudentIdAndStatus(@Param("studentId") Long studentId,
+                                                                 @Param("status") SubscriptionStatus status,
+                                                                 @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                                                 @Param("cursorId") Long cursorId,
+                                                                 Pageable pageable);
+
+    @Query("SELECT s FROM StudentSubscription s JOIN FETCH s.student " +
+           "WHERE (s.createdAt < :cursorCreatedAt OR (s.createdAt = :cursorCreatedAt AND s.id < :cursorId)) " +
+           "ORDER BY s.createdAt DESC, s.id DESC")
+    List<StudentSubscription> findPage(@Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                       @Param("cursorId") Long cursorId,
+                                       Pageable pageable);
+
+    @Query("SELECT s FROM StudentSubscription s JOIN FETCH s.student WHERE s.status = :status " +
+           "AND (s.createdAt < :cursorCreatedAt OR (s.createdAt = :cursorCreatedAt AND s.id < :cursorId)) " +
+           "ORDER BY s.createdAt DESC, s.id DESC")
+    List<StudentSubscription> findPageByStatus(@Param("status") SubscriptionStatus status,
+                                               @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                               @Param("cursorId") Long cursorId,
+                                               Pageable pageable);
+
     // Get latest subscription for each unique entity filtered by status
     // Shows only most recent CANCELLED/EXPIRED per entity to avoid confusion
     @Query("SELECT s FROM StudentSubscription s " +
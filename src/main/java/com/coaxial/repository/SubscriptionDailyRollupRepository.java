@@ -0,0 +1,81 @@
+package com.coaxial.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.coaxial.entity.SubscriptionDailyRollup;
+import com.coaxial.enums.SubscriptionLevel;
+
+@Repository
+public interface SubscriptionDailyRollupRepository extends JpaRepository<SubscriptionDailyRollup, Long> {
+
+    // Atomically add deltas to the (date, level, entity) row, creating it on first use
+    @Modifying
+    @Query(value = "INSERT INTO subscription_daily_rollups " +
+                   "(rollup_date, subscription_level, entity_id, activations, expirations, cancellations, revenue, updated_at) " +
+                   "VALUES (:rollupDate, :level, :entityId, :activations, :expirations, :cancellations, :revenue, CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT (rollup_date, subscription_level, entity_id) DO UPDATE SET " +
+                   "activations = subscription_daily_rollups.activations + EXCLUDED.activations, " +
+                   "expirations = subscription_daily_rollups.expirations + EXCLUDED.expirations, " +
+                   "cancellations = subscription_daily_rollups.cancellations + EXCLUDED.cancellations, " +
+                   "revenue = subscription_daily_rollups.revenue + EXCLUDED.revenue, " +
+                   "updated_at = CURRENT_TIMESTAMP",
+           nativeQuery = true)
+    int upsertIncrement(@Param("rollupDate") LocalDate rollupDate,
+                        @Param("level") String level,
+                        @Param("entityId") Long entityId,
+                        @Param("activations") int activations,
+                        @Param("expirations") int expirations,
+                        @Param("cancellations") int cancellations,
+                        @Param("revenue") BigDecimal revenue);
+
+    // Daily series rows: [date, activations, expirations, cancellations, revenue]
+    @Query("SELECT r.rollupDate, SUM(r.activations), SUM(r.expirations), SUM(r.cancellations), SUM(r.revenue) " +
+           "FROM SubscriptionDailyRollup r WHERE r.rollupDate BETWEEN :fromDate AND :toDate " +
+           "GROUP BY r.rollupDate ORDER BY r.rollupDate")
+    List<Object[]> findDailySeries(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+    @Query("SELECT r.rollupDate, SUM(r.activations), SUM(r.expirations), SUM(r.cancellations), SUM(r.revenue) " +
+           "FROM SubscriptionDailyRollup r WHERE r.subscriptionLevel = :level AND r.rollupDate BETWEEN :fromDate AND :toDate " +
+           "GROUP BY r.rollupDate ORDER BY r.rollupDate")
+    List<Object[]> findDailySeriesByLevel(@Param("level") SubscriptionLevel level,
+                                          @Param("fromDate") LocalDate fromDate,
+                                          @Param("toDate") LocalDate toDate);
+
+    @Query("SELECT r.rollupDate, SUM(r.activations), SUM(r.expirations), SUM(r.cancellations), SUM(r.revenue) " +
+           "FROM SubscriptionDailyRollup r WHERE r.subscriptionLevel = :level AND r.entityId = :entityId " +
+           "AND r.rollupDate BETWEEN :fromDate AND :toDate " +
+           "GROUP BY r.rollupDate ORDER BY r.rollupDate")
+    List<Object[]> findDailySeriesByLevelAndEntity(@Param("level") SubscriptionLevel level,
+                                                   @Param("entityId") Long entityId,
+                                                   @Param("fromDate") LocalDate fromDate,
+                                                   @Param("toDate") LocalDate toDate);
+
+    // Net active subscribers before a date, used as the starting point of a series
+    @Query("SELECT COALESCE(SUM(r.activations - r.expirations - r.cancellations), 0) " +
+           "FROM SubscriptionDailyRollup r WHERE r.rollupDate < :fromDate")
+    Long sumNetActiveBefore(@Param("fromDate") LocalDate fromDate);
+
+    @Query("SELECT COALESCE(SUM(r.activations - r.expirations - r.cancellations), 0) " +
+           "FROM SubscriptionDailyRollup r WHERE r.subscriptionLevel = :level AND r.rollupDate < :fromDate")
+    Long sumNetActiveBeforeByLevel(@Param("level") SubscriptionLevel level, @Param("fromDate") LocalDate fromDate);
+
+    @Query("SELECT COALESCE(SUM(r.activations - r.expirations - r.cancellations), 0) " +
+           "FROM SubscriptionDailyRollup r WHERE r.subscriptionLevel = :level AND r.entityId = :entityId " +
+           "AND r.rollupDate < :fromDate")
+    Long sumNetActiveBeforeByLevelAndEntity(@Param("level") SubscriptionLevel level,
+                                            @Param("entityId") Long entityId,
+                                            @Param("fromDate") LocalDate fromDate);
+
+    // Totals per level: [level, activations, net active, revenue]
+    @Query("SELECT r.subscriptionLevel, SUM(r.activations), SUM(r.activations - r.expirations - r.cancellations), SUM(r.revenue) " +
+           "FROM SubscriptionDailyRollup r GROUP BY r.subscriptionLevel")
+    List<Object[]> findTotalsByLevel();
+}
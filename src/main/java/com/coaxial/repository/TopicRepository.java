@@ -1,10 +1,16 @@
 package com.coaxial.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.coaxial.entity.Topic;
@@ -12,6 +18,13 @@ import com.coaxial.entity.Topic;
 @Repository
 public interface TopicRepository extends JpaRepository<Topic, Long> {
     
+    // Topics under any of the given subject links, one id list per course type (an empty list matches nothing)
+    String LINK_FILTER_QUERY = "SELECT t FROM Topic t WHERE " +
+           "((t.courseTypeId = 1 AND t.relationshipId IN :classSubjectIds) " +
+           "OR (t.courseTypeId = 2 AND t.relationshipId IN :examSubjectIds) " +
+           "OR (t.courseTypeId = 3 AND t.relationshipId IN :courseSubjectIds)) " +
+           "AND (:isActive IS NULL OR t.isActive = :isActive)";
+    
     // Basic queries
     List<Topic> findAllByOrderByDisplayOrderAsc();
     List<Topic> findByIsActiveOrderByDisplayOrderAsc(Boolean isActive);
@@ -25,6 +38,8 @@ public interface TopicRepository extends JpaRepository<Topic, Long> {
         Long courseTypeId, Long relationshipId, Boolean isActive);
     List<Topic> findByCourseTypeIdAndRelationshipIdOrderByDisplayOrderAsc(
         Long courseTypeId, Long relationshipId);
+    List<Topic> findByCourseTypeIdAndRelationshipIdInAndIsActiveOrderByDisplayOrderAsc(
+        Long courseTypeId, Collection<Long> relationshipIds, Boolean isActive);
     
     // Find topics by relationship ID (regardless of course type)
     List<Topic> findByRelationshipIdAndIsActiveOrderByDisplayOrderAsc(Long relationshipId, Boolean isActive);
@@ -41,4 +56,28 @@ public interface TopicRepository extends JpaRepository<Topic, Long> {
     Optional<Topic> findByNameAndCourseTypeIdAndRelationshipId(String name, Long courseTypeId, Long relationshipId);
     boolean existsByNameAndCourseTypeIdAndRelationshipId(String name, Long courseTypeId, Long relationshipId);
     boolean existsByNameAndCourseTypeIdAndRelationshipIdAndIdNot(String name, Long courseTypeId, Long relationshipId, Long id);
-}
\ No newline at end of file
+    
+    // Combined filter by subject links
+    @Query(LINK_FILTER_QUERY)
+    Page<Topic> findByLinkIds(@Param("classSubjectIds") Collection<Long> classSubjectIds,
+                              @Param("examSubjectIds") Collection<Long> examSubjectIds,
+                              @Param("courseSubjectIds") Collection<Long> courseSubjectIds,
+                              @Param("isActive") Boolean isActive,
+                              Pageable pageable);
+    
+    @Query(LINK_FILTER_QUERY)
+    List<Topic> findByLinkIds(@Param("classSubjectIds") Collection<Long> classSubjectIds,
+                              @Param("examSubjectIds") Collection<Long> examSubjectIds,
+                              @Param("courseSubjectIds") Collection<Long> courseSubjectIds,
+                              @Param("isActive") Boolean isActive,
+                              Sort sort);
+    
+    // Combined filter by course type, active status and a lower-case LIKE pattern on name or description
+    @Query("SELECT t FROM Topic t WHERE (:courseTypeId IS NULL OR t.courseTypeId = :courseTypeId) " +
+           "AND (:isActive IS NULL OR t.isActive = :isActive) " +
+           "AND (LOWER(t.name) LIKE :pattern OR LOWER(t.description) LIKE :pattern)")
+    Page<Topic> findByFilters(@Param("courseTypeId") Long courseTypeId,
+                              @Param("isActive") Boolean isActive,
+                              @Param("pattern") String pattern,
+                              Pageable pageable);
+}
@@ -0,0 +1,141 @@
+package com.coaxial.service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.coaxial.event.CacheInvalidationEvent;
+
+/**
+ * In-memory index of each chapter's active questions sorted by calibrated difficulty.
+ * Difficulty is on the same logit scale as student ability: the difficulty level gives a prior
+ * (EASY -1, MEDIUM 0, HARD +1) which is pulled towards the observed success rate in test answers.
+ * A chapter is loaded with one GROUP BY query on first use and kept until it expires or a
+ * question changes; picking the question closest to a target difficulty is a binary search.
+ */
+@Service
+public class AdaptivePracticeIndex {
+
+    // Pseudo-answers given to the prior, so a handful of real answers cannot swing the calibration
+    private static final double PRIOR_WEIGHT = 10.0;
+    private static final double MAX_DIFFICULTY = 4.0;
+
+    private static final String CHAPTER_CALIBRATION_SQL =
+            "SELECT q.id, q.difficulty_level, COUNT(ta.id) AS attempts, " +
+            "COUNT(ta.id) FILTER (WHERE ta.is_correct = true) AS correct " +
+            "FROM questions q " +
+            "LEFT JOIN test_answers ta ON ta.question_id = q.id AND ta.is_answered = true " +
+            "WHERE q.chapter_id = ? AND q.is_active = true " +
+            "GROUP BY q.id, q.difficulty_level";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.practice.index-ttl-minutes:30}")
+    private long indexTtlMinutes;
+
+    private final ConcurrentHashMap<Long, ChapterIndex> indexes = new ConcurrentHashMap<>();
+
+    public ChapterIndex getChapterIndex(Long chapterId) {
+        ChapterIndex index = indexes.get(chapterId);
+        if (index == null || index.loadedAtNanos + TimeUnit.MINUTES.toNanos(indexTtlMinutes) < System.nanoTime()) {
+            index = loadChapterIndex(chapterId);
+            indexes.put(chapterId, index);
+        }
+        return index;
+    }
+
+    // Question writes on any instance
+    @EventListener
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (event.isQuestionChange()) {
+            indexes.clear();
+        }
+    }
+
+    private ChapterIndex loadChapterIndex(Long chapterId) {
+        List<double[]> rows = jdbcTemplate.query(CHAPTER_CALIBRATION_SQL, (rs, rowNum) -> new double[] {
+                rs.getLong("id"),
+                calibrate(rs.getString("difficulty_level"), rs.getLong("attempts"), rs.getLong("correct")) },
+                chapterId);
+        rows.sort(Comparator.comparingDouble(row -> row[1]));
+
+        long[] questionIds = new long[rows.size()];
+        double[] difficulties = new double[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            questionIds[i] = (long) rows.get(i)[0];
+            difficulties[i] = rows.get(i)[1];
+        }
+        return new ChapterIndex(questionIds, difficulties);
+    }
+
+    /**
+     * Smoothed success rate for an average student (ability 0), turned back into a difficulty
+     */
+    static double calibrate(String difficultyLevel, long attempts, long correct) {
+        double prior = "EASY".equalsIgnoreCase(difficultyLevel) ? -1.0
+                : "HARD".equalsIgnoreCase(difficultyLevel) ? 1.0 : 0.0;
+        double priorSuccess = 1.0 / (1.0 + Math.exp(prior));
+        double success = (correct + PRIOR_WEIGHT * priorSuccess) / (attempts + PRIOR_WEIGHT);
+        double difficulty = Math.log((1.0 - success) / success);
+        return Math.max(-MAX_DIFFICULTY, Math.min(MAX_DIFFICULTY, difficulty));
+    }
+
+    /**
+     * Immutable snapshot of one chapter: question ids sorted by ascending difficulty
+     */
+    public static class ChapterIndex {
+
+        private final long[] questionIds;
+        private final double[] difficulties;
+        private final long loadedAtNanos = System.nanoTime();
+
+        private ChapterIndex(long[] questionIds, double[] difficulties) {
+            this.questionIds = questionIds;
+            this.difficulties = difficulties;
+        }
+
+        public int size() {
+            return questionIds.length;
+        }
+
+        public long getQuestionId(int position) {
+            return questionIds[position];
+        }
+
+        public double getDifficulty(int position) {
+            return difficulties[position];
+        }
+
+        /**
+         * Position of the question closest to the target difficulty that is not excluded, or -1
+         * when every question is excluded. Binary search, then walk outwards past excluded ids.
+         */
+        public int findClosest(double targetDifficulty, Collection<Long> excludedIds) {
+            int insertion = Arrays.binarySearch(difficulties, targetDifficulty);
+            if (insertion < 0) {
+                insertion = -insertion - 1;
+            }
+            int below = insertion - 1;
+            int above = insertion;
+            while (below >= 0 || above < questionIds.length) {
+                boolean takeBelow = above >= questionIds.length
+                        || (below >= 0 && targetDifficulty - difficulties[below] <= difficulties[above] - targetDifficulty);
+                int candidate = takeBelow ? below-- : above++;
+                if (!excludedIds.contains(questionIds[candidate])) {
+                    return candidate;
+                }
+            }
+            return -1;
+        }
+    }
+}
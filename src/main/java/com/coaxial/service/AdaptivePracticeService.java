@@ -0,0 +1,242 @@
+package com.coaxial.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.coaxial.dto.PracticeStepResponseDTO;
+import com.coaxial.dto.StudentQuestionResponseDTO;
+import com.coaxial.dto.StudentQuestionResponseDTO.StudentQuestionOptionDTO;
+
+/**
+ * Adaptive practice: serves one question at a time from a chapter, aimed at the student's
+ * running ability estimate (Elo-style update on a logit scale shared with question difficulty).
+ * Question selection uses AdaptivePracticeIndex; session state lives in PracticeSessionStore.
+ * The only per-step database work is reading the question being served.
+ * Steps that load and save a session run under the store's per-session lock.
+ */
+@Service
+public class AdaptivePracticeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptivePracticeService.class);
+
+    private static final double MAX_ABILITY = 4.0;
+
+    private static final String STUDENT_CHAPTER_HISTORY_SQL =
+            "SELECT COUNT(*) AS answered, COUNT(*) FILTER (WHERE ta.is_correct = true) AS correct " +
+            "FROM test_answers ta " +
+            "JOIN test_attempts at ON at.id = ta.test_attempt_id " +
+            "JOIN questions q ON q.id = ta.question_id " +
+            "WHERE at.student_id = ? AND q.chapter_id = ? AND ta.is_answered = true";
+
+    @Autowired
+    private AdaptivePracticeIndex practiceIndex;
+
+    @Autowired
+    private PracticeSessionStore sessionStore;
+
+    @Autowired
+    private StudentQuestionService studentQuestionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Success probability the next question is aimed at
+    @Value("${app.practice.target-success-rate:0.7}")
+    private double targetSuccessRate;
+
+    @Value("${app.practice.initial-k:0.8}")
+    private double initialK;
+
+    @Value("${app.practice.min-k:0.2}")
+    private double minK;
+
+    @Value("${app.practice.max-questions:50}")
+    private int maxQuestions;
+
+    public PracticeStepResponseDTO startSession(Long studentId, Long chapterId) {
+        AdaptivePracticeIndex.ChapterIndex index = practiceIndex.getChapterIndex(chapterId);
+        if (index.size() == 0) {
+            throw new IllegalArgumentException("No practice questions available for chapter: " + chapterId);
+        }
+
+        PracticeSessionStore.PracticeSession session = new PracticeSessionStore.PracticeSession();
+        session.setId(UUID.randomUUID().toString());
+        session.setStudentId(studentId);
+        session.setChapterId(chapterId);
+        session.setAbility(estimateInitialAbility(studentId, chapterId));
+
+        PracticeStepResponseDTO step = new PracticeStepResponseDTO();
+        serveNextQuestion(session, index, step);
+        sessionStore.save(session);
+        return fillProgress(session, step);
+    }
+
+    public PracticeStepResponseDTO getCurrentStep(Long studentId, String sessionId) {
+        return sessionStore.withLock(sessionId, () -> {
+            PracticeSessionStore.PracticeSession session = loadSession(studentId, sessionId);
+            PracticeStepResponseDTO step = new PracticeStepResponseDTO();
+            if (session.getCurrentQuestionId() != null) {
+                step.setQuestion(renderQuestion(session, session.getCurrentQuestionId(), studentId)
+                        .orElseThrow(() -> new IllegalArgumentException("Question not found")));
+            } else {
+                step.setFinished(true);
+            }
+            return fillProgress(session, step);
+        });
+    }
+
+    public PracticeStepResponseDTO submitAnswer(Long studentId, String sessionId, List<Long> selectedOptionIds) {
+        return sessionStore.withLock(sessionId, () -> applyAnswer(loadSession(studentId, sessionId), selectedOptionIds));
+    }
+
+    public Map<String, Object> endSession(Long studentId, String sessionId) {
+        return sessionStore.withLock(sessionId, () -> {
+            PracticeSessionStore.PracticeSession session = loadSession(studentId, sessionId);
+            sessionStore.delete(sessionId);
+            return Map.of(
+                    "sessionId", session.getId(),
+                    "chapterId", session.getChapterId(),
+                    "answeredCount", session.getAnsweredCount(),
+                    "correctCount", session.getCorrectCount(),
+                    "ability", session.getAbility());
+        });
+    }
+
+    private PracticeStepResponseDTO applyAnswer(PracticeSessionStore.PracticeSession session, List<Long> selectedOptionIds) {
+        if (session.getCurrentQuestionId() == null) {
+            throw new IllegalArgumentException("Practice session is finished");
+        }
+
+        boolean correct = !session.getCurrentCorrectOptionIds().isEmpty()
+                && new HashSet<>(selectedOptionIds).equals(new HashSet<>(session.getCurrentCorrectOptionIds()));
+
+        // Elo-style update: move ability by the surprise, with a step that shrinks as evidence accumulates
+        double expected = 1.0 / (1.0 + Math.exp(session.getCurrentDifficulty() - session.getAbility()));
+        double k = Math.max(minK, initialK / Math.sqrt(1.0 + session.getAnsweredCount()));
+        double ability = session.getAbility() + k * ((correct ? 1.0 : 0.0) - expected);
+        session.setAbility(Math.max(-MAX_ABILITY, Math.min(MAX_ABILITY, ability)));
+        session.setAnsweredCount(session.getAnsweredCount() + 1);
+        if (correct) {
+            session.setCorrectCount(session.getCorrectCount() + 1);
+        }
+
+        PracticeStepResponseDTO step = new PracticeStepResponseDTO();
+        step.setLastAnswerCorrect(correct);
+        step.setLastCorrectOptionIds(new ArrayList<>(session.getCurrentCorrectOptionIds()));
+        step.setLastExplanation(session.getCurrentExplanation());
+
+        if (session.getAnsweredCount() >= maxQuestions) {
+            clearCurrentQuestion(session);
+        } else {
+            serveNextQuestion(session, practiceIndex.getChapterIndex(session.getChapterId()), step);
+        }
+        sessionStore.save(session);
+        return fillProgress(session, step);
+    }
+
+    private PracticeSessionStore.PracticeSession loadSession(Long studentId, String sessionId) {
+        PracticeSessionStore.PracticeSession session = sessionStore.find(sessionId)
+                .orElseThrow(() -> new IllegalArgumentException("Practice session not found or expired: " + sessionId));
+        if (!session.getStudentId().equals(studentId)) {
+            throw new IllegalArgumentException("Practice session not found or expired: " + sessionId);
+        }
+        return session;
+    }
+
+    /**
+     * Start from the student's smoothed success rate in this chapter's test answers (0 when there is no history)
+     */
+    private double estimateInitialAbility(Long studentId, Long chapterId) {
+        Map<String, Object> history = jdbcTemplate.queryForMap(STUDENT_CHAPTER_HISTORY_SQL, studentId, chapterId);
+        long answered = ((Number) history.get("answered")).longValue();
+        long correct = ((Number) history.get("correct")).longValue();
+        double success = (correct + 2.5) / (answered + 5.0);
+        return Math.max(-3.0, Math.min(3.0, Math.log(success / (1.0 - success))));
+    }
+
+    /**
+     * Pick the unseen question whose difficulty gives the target success probability at the current ability
+     */
+    private void serveNextQuestion(PracticeSessionStore.PracticeSession session,
+                                   AdaptivePracticeIndex.ChapterIndex index, PracticeStepResponseDTO step) {
+        double targetDifficulty = session.getAbility() - Math.log(targetSuccessRate / (1.0 - targetSuccessRate));
+        HashSet<Long> seen = new HashSet<>(session.getSeenQuestionIds());
+
+        while (true) {
+            int position = index.findClosest(targetDifficulty, seen);
+            if (position < 0) {
+                clearCurrentQuestion(session);
+                step.setFinished(true);
+                return;
+            }
+            long questionId = index.getQuestionId(position);
+            seen.add(questionId);
+            session.getSeenQuestionIds().add(questionId);
+            Optional<StudentQuestionResponseDTO> question = renderQuestion(session, questionId, session.getStudentId());
+            if (question.isPresent()) {
+                step.setQuestion(question.get());
+                session.setCurrentDifficulty(index.getDifficulty(position));
+                return;
+            }
+            // Deleted since the index was built; try the next closest
+            logger.debug("Skipping deleted practice question {}", questionId);
+        }
+    }
+
+    /**
+     * Load the question for the student (access is checked there), remember its answer key in the
+     * session and hide the key and explanation from the response. Empty if the question was deleted.
+     */
+    private Optional<StudentQuestionResponseDTO> renderQuestion(PracticeSessionStore.PracticeSession session,
+                                                                Long questionId, Long studentId) {
+        Optional<StudentQuestionResponseDTO> found = studentQuestionService.findQuestionById(questionId, studentId);
+        if (found.isEmpty()) {
+            return found;
+        }
+        StudentQuestionResponseDTO question = found.get();
+
+        List<Long> correctOptionIds = new ArrayList<>();
+        if (question.getOptions() != null) {
+            for (StudentQuestionOptionDTO option : question.getOptions()) {
+                if (Boolean.TRUE.equals(option.getIsCorrect())) {
+                    correctOptionIds.add(option.getOptionId());
+                }
+                option.setIsCorrect(null);
+            }
+        }
+        session.setCurrentQuestionId(questionId);
+        session.setCurrentCorrectOptionIds(correctOptionIds);
+        session.setCurrentExplanation(question.getExplanation());
+        question.setExplanation(null);
+        return found;
+    }
+
+    private void clearCurrentQuestion(PracticeSessionStore.PracticeSession session) {
+        session.setCurrentQuestionId(null);
+        session.setCurrentCorrectOptionIds(new ArrayList<>());
+        session.setCurrentExplanation(null);
+    }
+
+    private PracticeStepResponseDTO fillProgress(PracticeSessionStore.PracticeSession session, PracticeStepResponseDTO step) {
+        step.setSessionId(session.getId());
+        step.setChapterId(session.getChapterId());
+        step.setAbility(session.getAbility());
+        step.setAnsweredCount(session.getAnsweredCount());
+        step.setCorrectCount(session.getCorrectCount());
+        if (session.getCurrentQuestionId() == null) {
+            step.setFinished(true);
+        }
+        return step;
+    }
+}
@@ -2,18 +2,36 @@ package com.coaxial.service;
 
 import com.coaxial.dto.*;
 import com.coaxial.entity.*;
+import com.coaxial.event.CacheInvalidationEvent;
+import com.coaxial.event.MasterDataChangedEvent;
 import com.coaxial.repository.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -38,18 +56,51 @@ public class AdminPricingService {
     @Autowired
     private ExamRepository examRepository;
     
+    @Autowired
+    private MasterDataIndexService masterDataIndexService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private PricingService pricingService;
+    
+    // Dropdown rows keyed by dropdown (and course for classes); cleared on any master data or pricing change
+    private final ConcurrentHashMap<String, List<?>> dropdownCache = new ConcurrentHashMap<>();
+    private final AtomicLong dropdownGeneration = new AtomicLong();
+    
     // ==================== DROPDOWN DATA METHODS ====================
     
+    /**
+     * Drop cached dropdown rows when master data or pricing changes on any instance.
+     * Ordered after PricingService marks its table stale, so reloads see the new pricing status.
+     */
+    @EventListener
+    @Order(1)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (!event.isQuestionChange()) {
+            dropdownGeneration.incrementAndGet();
+            dropdownCache.clear();
+        }
+    }
+    
     /**
      * Get course dropdown data for admin pricing management
      */
     public List<CourseDropdownDTO> getCourseDropdownData() {
         logger.info("Retrieving course dropdown data for admin pricing management");
         
-        List<Course> courses = courseRepository.findAll();
-        return courses.stream()
-                .map(this::convertToCourseDropdownDTO)
-                .collect(Collectors.toList());
+        return cachedDropdown("COURSE", () -> {
+            List<CourseDropdownDTO> courses = courseRepository.findDropdownRows();
+            Map<Long, PricingConfiguration> pricing = pricingService.getConfigurations("COURSE",
+                    courses.stream().map(CourseDropdownDTO::getId).collect(Collectors.toList()));
+            for (CourseDropdownDTO dto : courses) {
+                dto.setHasExistingPricing(pricing.containsKey(dto.getId()));
+                dto.setCurrentPricingStatus(pricingStatus(pricing.get(dto.getId())));
+            }
+            return courses;
+        });
     }
     
     /**
@@ -58,16 +109,16 @@ public class AdminPricingService {
     public List<ClassDropdownDTO> getClassDropdownData(Long courseId) {
         logger.info("Retrieving class dropdown data for courseId: {}", courseId);
         
-        List<ClassEntity> classes;
-        if (courseId != null) {
-            classes = classRepository.findByCourseId(courseId);
-        } else {
-            classes = classRepository.findAll();
-        }
-        
-        return classes.stream()
-                .map(this::convertToClassDropdownDTO)
-                .collect(Collectors.toList());
+        return cachedDropdown("CLASS:" + courseId, () -> {
+            List<ClassDropdownDTO> classes = classRepository.findDropdownRows(courseId);
+            Map<Long, PricingConfiguration> pricing = pricingService.getConfigurations("CLASS",
+                    classes.stream().map(ClassDropdownDTO::getId).collect(Collectors.toList()));
+            for (ClassDropdownDTO dto : classes) {
+                dto.setHasExistingPricing(pricing.containsKey(dto.getId()));
+                dto.setCurrentPricingStatus(pricingStatus(pricing.get(dto.getId())));
+            }
+            return classes;
+        });
     }
     
     /**
@@ -76,10 +127,39 @@ public class AdminPricingService {
     public List<ExamDropdownDTO> getExamDropdownData() {
         logger.info("Retrieving exam dropdown data for admin pricing management");
         
-        List<Exam> exams = examRepository.findAll();
-        return exams.stream()
-                .map(this::convertToExamDropdownDTO)
-                .collect(Collectors.toList());
+        return cachedDropdown("EXAM", () -> {
+            List<ExamDropdownDTO> exams = examRepository.findDropdownRows();
+            Map<Long, PricingConfiguration> pricing = pricingService.getConfigurations("EXAM",
+                    exams.stream().map(ExamDropdownDTO::getId).collect(Collectors.toList()));
+            for (ExamDropdownDTO dto : exams) {
+                dto.setHasExistingPricing(pricing.containsKey(dto.getId()));
+                dto.setCurrentPricingStatus(pricingStatus(pricing.get(dto.getId())));
+            }
+            return exams;
+        });
+    }
+    
+    @SuppressWarnings("unchecked")
+    private <T> List<T> cachedDropdown(String key, Supplier<List<T>> loader) {
+        List<?> cached = dropdownCache.get(key);
+        if (cached != null) {
+            return (List<T>) cached;
+        }
+        long generation = dropdownGeneration.get();
+        List<T> rows = List.copyOf(loader.get());
+        dropdownCache.put(key, rows);
+        // An invalidation that raced with the load must not leave its result behind
+        if (dropdownGeneration.get() != generation) {
+            dropdownCache.remove(key, rows);
+        }
+        return rows;
+    }
+    
+    private static String pricingStatus(PricingConfiguration config) {
+        if (config == null) {
+            return "NOT_SET";
+        }
+        return Boolean.TRUE.equals(config.getIsActive()) ? "SET" : "INACTIVE";
     }
     
     // ==================== PRICING CONFIGURATION METHODS ====================
@@ -118,6 +198,7 @@ public class AdminPricingService {
         config.setIsActive(request.getIsActive());
         
         PricingConfiguration savedConfig = pricingConfigRepository.save(config);
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.PRICING, savedConfig.getId()));
         logger.info("Course pricing configuration saved with ID: {}", savedConfig.getId());
         
         // If cascade to classes is enabled, update all classes in this course
@@ -163,6 +244,7 @@ public class AdminPricingService {
         config.setIsActive(request.getIsActive());
         
         PricingConfiguration savedConfig = pricingConfigRepository.save(config);
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.PRICING, savedConfig.getId()));
         logger.info("Class pricing configuration saved with ID: {}", savedConfig.getId());
         
         return savedConfig;
@@ -202,6 +284,7 @@ public class AdminPricingService {
         config.setIsActive(request.getIsActive());
         
         PricingConfiguration savedConfig = pricingConfigRepository.save(config);
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.PRICING, savedConfig.getId()));
         logger.info("Exam pricing configuration saved with ID: {}", savedConfig.getId());
         
         return savedConfig;
@@ -221,91 +304,36 @@ public class AdminPricingService {
     // ==================== HELPER METHODS ====================
     
     /**
-     * Convert Course entity to CourseDropdownDTO
-     */
-    private CourseDropdownDTO convertToCourseDropdownDTO(Course course) {
-        CourseDropdownDTO dto = new CourseDropdownDTO();
-        dto.setId(course.getId());
-        dto.setName(course.getName());
-        dto.setCourseTypeName(course.getCourseType() != null ? course.getCourseType().getName() : "Unknown");
-        dto.setDescription(course.getDescription());
-        
-        // Check if pricing exists
-        Optional<PricingConfiguration> existingPricing = pricingConfigRepository
-                .findByEntityTypeAndEntityId("COURSE", course.getId());
-        
-        dto.setHasExistingPricing(existingPricing.isPresent());
-        dto.setCurrentPricingStatus(existingPricing.isPresent() ? 
-                (existingPricing.get().getIsActive() ? "SET" : "INACTIVE") : "NOT_SET");
-        
-        return dto;
-    }
-    
-    /**
-     * Convert ClassEntity to ClassDropdownDTO
-     */
-    private ClassDropdownDTO convertToClassDropdownDTO(ClassEntity classEntity) {
-        ClassDropdownDTO dto = new ClassDropdownDTO();
-        dto.setId(classEntity.getId());
-        dto.setName(classEntity.getName());
-        dto.setCourseId(classEntity.getCourse() != null ? classEntity.getCourse().getId() : null);
-        dto.setCourseName(classEntity.getCourse() != null ? classEntity.getCourse().getName() : "Unknown");
-        dto.setDescription(classEntity.getDescription());
-        
-        // Check if pricing exists
-        Optional<PricingConfiguration> existingPricing = pricingConfigRepository
-                .findByEntityTypeAndEntityId("CLASS", classEntity.getId());
-        
-        dto.setHasExistingPricing(existingPricing.isPresent());
-        dto.setCurrentPricingStatus(existingPricing.isPresent() ? 
-                (existingPricing.get().getIsActive() ? "SET" : "INACTIVE") : "NOT_SET");
-        
-        return dto;
-    }
-    
-    /**
-     * Convert Exam entity to ExamDropdownDTO
-     */
-    private ExamDropdownDTO convertToExamDropdownDTO(Exam exam) {
-        ExamDropdownDTO dto = new ExamDropdownDTO();
-        dto.setId(exam.getId());
-        dto.setName(exam.getName());
-        dto.setDescription(exam.getDescription());
-        
-        // Check if pricing exists
-        Optional<PricingConfiguration> existingPricing = pricingConfigRepository
-                .findByEntityTypeAndEntityId("EXAM", exam.getId());
-        
-        dto.setHasExistingPricing(existingPricing.isPresent());
-        dto.setCurrentPricingStatus(existingPricing.isPresent() ? 
-                (existingPricing.get().getIsActive() ? "SET" : "INACTIVE") : "NOT_SET");
-        
-        return dto;
-    }
-    
-    /**
-     * Update all classes in a course with pricing (for cascade functionality)
+     * Split course pricing across its classes, loading existing class configurations in one query
+     * and writing them with saveAll so updates go out as JDBC batches
      */
     private void updateClassesInCourse(Long courseId, CoursePricingRequest request) {
         List<ClassEntity> classes = classRepository.findByCourseId(courseId);
         logger.info("Found {} classes in course {} to update pricing", classes.size(), courseId);
+        if (classes.isEmpty()) {
+            return;
+        }
+        
+        // Calculate class pricing (divide course pricing by number of classes)
+        BigDecimal classCount = BigDecimal.valueOf(classes.size());
+        BigDecimal classMonthlyPrice = request.getMonthlyPrice().divide(classCount, 2, RoundingMode.HALF_UP);
+        BigDecimal classQuarterlyPrice = request.getQuarterlyPrice().divide(classCount, 2, RoundingMode.HALF_UP);
+        BigDecimal classYearlyPrice = request.getYearlyPrice().divide(classCount, 2, RoundingMode.HALF_UP);
+        
+        List<Long> classIds = classes.stream().map(ClassEntity::getId).collect(Collectors.toList());
+        Map<Long, PricingConfiguration> existingConfigs = new HashMap<>();
+        for (PricingConfiguration config : pricingConfigRepository.findByEntityTypeAndEntityIdIn("CLASS", classIds)) {
+            existingConfigs.putIfAbsent(config.getEntityId(), config);
+        }
         
+        List<PricingConfiguration> classConfigs = new ArrayList<>(classes.size());
         for (ClassEntity classEntity : classes) {
-            // Calculate class pricing (divide course pricing by number of classes)
-            BigDecimal classMonthlyPrice = request.getMonthlyPrice()
-                    .divide(BigDecimal.valueOf(classes.size()), 2, RoundingMode.HALF_UP);
-            BigDecimal classQuarterlyPrice = request.getQuarterlyPrice()
-                    .divide(BigDecimal.valueOf(classes.size()), 2, RoundingMode.HALF_UP);
-            BigDecimal classYearlyPrice = request.getYearlyPrice()
-                    .divide(BigDecimal.valueOf(classes.size()), 2, RoundingMode.HALF_UP);
-            
-            PricingConfiguration classConfig = pricingConfigRepository
-                    .findByEntityTypeAndEntityId("CLASS", classEntity.getId())
-                    .orElse(new PricingConfiguration());
+            PricingConfiguration classConfig = existingConfigs.getOrDefault(classEntity.getId(), new PricingConfiguration());
             
             classConfig.setEntityType("CLASS");
             classConfig.setEntityId(classEntity.getId());
             classConfig.setEntityName(classEntity.getName());
+            classConfig.setCourseTypeId(request.getCourseTypeId());
             classConfig.setMonthlyPrice(classMonthlyPrice);
             classConfig.setQuarterlyPrice(classQuarterlyPrice);
             classConfig.setYearlyPrice(classYearlyPrice);
@@ -319,10 +347,11 @@ public class AdminPricingService {
             classConfig.setYearlyOfferValidFrom(request.getYearlyOfferValidFrom());
             classConfig.setYearlyOfferValidTo(request.getYearlyOfferValidTo());
             classConfig.setIsActive(request.getIsActive());
-            
-            pricingConfigRepository.save(classConfig);
-            logger.info("Updated pricing for class: {} (ID: {})", classEntity.getName(), classEntity.getId());
+            classConfigs.add(classConfig);
         }
+        
+        pricingConfigRepository.saveAll(classConfigs);
+        logger.info("Updated pricing for {} classes in course {}", classConfigs.size(), courseId);
     }
     
     // ==================== ADDITIONAL UTILITY METHODS ====================
@@ -370,7 +399,9 @@ public class AdminPricingService {
                 .orElseThrow(() -> new IllegalArgumentException("Pricing configuration not found"));
         
         config.setIsActive(false);
-        return pricingConfigRepository.save(config);
+        PricingConfiguration savedConfig = pricingConfigRepository.save(config);
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.PRICING, savedConfig.getId()));
+        return savedConfig;
     }
     
     /**
@@ -384,116 +415,103 @@ public class AdminPricingService {
                 .orElseThrow(() -> new IllegalArgumentException("Pricing configuration not found"));
         
         config.setIsActive(true);
-        return pricingConfigRepository.save(config);
+        PricingConfiguration savedConfig = pricingConfigRepository.save(config);
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.PRICING, savedConfig.getId()));
+        return savedConfig;
     }
     
     /**
      * Bulk update discounts for all entities of a specific course type
+     * Runs as one UPDATE statement; a dry run only reports how many configurations would change
      */
-    public int bulkUpdateDiscountByCourseType(com.coaxial.dto.BulkDiscountUpdateRequest request) {
-        logger.info("Bulk updating discounts for courseTypeId: {}, level: {}", 
-                request.getCourseTypeId(), request.getLevel());
+    public BulkDiscountUpdateResultDTO bulkUpdateDiscountByCourseType(BulkDiscountUpdateRequest request) {
+        boolean dryRun = Boolean.TRUE.equals(request.getDryRun());
+        logger.info("Bulk updating discounts for courseTypeId: {}, level: {}, dryRun: {}", 
+                request.getCourseTypeId(), request.getLevel(), dryRun);
         
-        // Find all pricing configurations for the given course type and level
         String entityType = request.getLevel().name(); // COURSE, CLASS, or EXAM
-        List<PricingConfiguration> configs = pricingConfigRepository
-                .findByCourseTypeIdAndEntityTypeAndIsActiveTrue(request.getCourseTypeId(), entityType);
-        
-        if (configs.isEmpty()) {
-            logger.warn("No active pricing configurations found for courseTypeId: {}, level: {}", 
-                    request.getCourseTypeId(), request.getLevel());
-            return 0;
+        // A real update locks the rows first, so nothing changes between the version check and the UPDATE
+        List<Object[]> scope = dryRun
+                ? pricingConfigRepository.findBulkUpdateScope(request.getCourseTypeId(), entityType)
+                : pricingConfigRepository.lockBulkUpdateScope(request.getCourseTypeId(), entityType);
+        int affectedCount = scope.size();
+        String version = scopeVersion(scope, 0);
+        
+        if (request.getExpectedVersion() != null && !request.getExpectedVersion().equals(version)) {
+            throw new OptimisticLockingFailureException("Pricing configurations for this course type changed since version "
+                    + request.getExpectedVersion() + " (now " + version + "). Preview the update again.");
+        }
+        if (dryRun || affectedCount == 0) {
+            if (affectedCount == 0) {
+                logger.warn("No active pricing configurations found for courseTypeId: {}, level: {}", 
+                        request.getCourseTypeId(), request.getLevel());
+            }
+            return new BulkDiscountUpdateResultDTO(dryRun, affectedCount, 0, version);
         }
         
-        logger.info("Found {} configurations to update", configs.size());
+        // Same offer validity dates are applied to all pricing tiers; null fields are left unchanged
+        int updatedCount = pricingConfigRepository.bulkUpdateDiscounts(request.getCourseTypeId(), entityType,
+                request.getMonthlyDiscountPercent(), request.getQuarterlyDiscountPercent(),
+                request.getYearlyDiscountPercent(), request.getOfferValidFrom(), request.getOfferValidTo(),
+                LocalDateTime.now());
         
-        // Update discount percentages and offer validity dates for each configuration
-        for (PricingConfiguration config : configs) {
-            // Update monthly discount if provided
-            if (request.getMonthlyDiscountPercent() != null) {
-                config.setMonthlyDiscountPercent(request.getMonthlyDiscountPercent());
-            }
-            
-            // Update quarterly discount if provided
-            if (request.getQuarterlyDiscountPercent() != null) {
-                config.setQuarterlyDiscountPercent(request.getQuarterlyDiscountPercent());
-            }
-            
-            // Update yearly discount if provided
-            if (request.getYearlyDiscountPercent() != null) {
-                config.setYearlyDiscountPercent(request.getYearlyDiscountPercent());
-            }
-            
-            // Apply same offer validity dates to all pricing tiers
-            if (request.getOfferValidFrom() != null) {
-                config.setMonthlyOfferValidFrom(request.getOfferValidFrom());
-                config.setQuarterlyOfferValidFrom(request.getOfferValidFrom());
-                config.setYearlyOfferValidFrom(request.getOfferValidFrom());
-            }
-            if (request.getOfferValidTo() != null) {
-                config.setMonthlyOfferValidTo(request.getOfferValidTo());
-                config.setQuarterlyOfferValidTo(request.getOfferValidTo());
-                config.setYearlyOfferValidTo(request.getOfferValidTo());
-            }
-            
-            pricingConfigRepository.save(config);
-            logger.debug("Updated pricing for {}: {} (ID: {})", 
-                    config.getEntityType(), config.getEntityName(), config.getEntityId());
+        if (updatedCount != affectedCount) {
+            // A configuration was added to the scope after the rows were locked; roll back
+            throw new OptimisticLockingFailureException("Pricing configurations for this course type changed during the update ("
+                    + updatedCount + " matched, " + affectedCount + " expected). Preview the update again.");
         }
         
-        logger.info("Successfully updated {} pricing configurations", configs.size());
-        return configs.size();
+        logger.info("Successfully updated {} pricing configurations", updatedCount);
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.PRICING, null));
+        return new BulkDiscountUpdateResultDTO(false, affectedCount, updatedCount, scopeVersion(scope, 1));
     }
     
     /**
-     * Filter pricing configurations
+     * Version token of a bulk update scope: row count plus a hash of every (id, version) pair,
+     * so added, removed and edited configurations all change it. versionOffset is added to each version.
      */
-    public List<com.coaxial.dto.PricingFilterResponse> filterPricingConfigurations(
-            Long courseTypeId, String entityType, Boolean isActive, String searchTerm) {
-        logger.info("Filtering pricing configurations - courseTypeId: {}, entityType: {}, isActive: {}, searchTerm: {}", 
-                courseTypeId, entityType, isActive, searchTerm);
-        
-        List<PricingConfiguration> configs;
-        
-        // Build query based on filters
-        if (courseTypeId != null && entityType != null && isActive != null) {
-            configs = pricingConfigRepository.findByCourseTypeIdAndEntityTypeAndIsActiveTrue(courseTypeId, entityType);
-        } else if (courseTypeId != null && entityType != null) {
-            configs = pricingConfigRepository.findByCourseTypeIdAndEntityType(courseTypeId, entityType);
-        } else if (entityType != null && isActive != null) {
-            configs = pricingConfigRepository.findByEntityTypeAndIsActiveTrue(entityType);
-        } else if (entityType != null) {
-            configs = pricingConfigRepository.findByEntityType(entityType);
-        } else {
-            configs = pricingConfigRepository.findAll();
+    private String scopeVersion(List<Object[]> scope, long versionOffset) {
+        StringBuilder rows = new StringBuilder();
+        for (Object[] row : scope) {
+            rows.append(((Number) row[0]).longValue()).append(':')
+                .append(((Number) row[1]).longValue() + versionOffset).append(',');
         }
-        
-        // Filter by course type if specified
-        if (courseTypeId != null && (entityType == null || (entityType != null && !configs.isEmpty()))) {
-            configs = configs.stream()
-                    .filter(c -> courseTypeId.equals(c.getCourseTypeId()))
-                    .collect(java.util.stream.Collectors.toList());
-        }
-        
-        // Filter by search term
-        if (searchTerm != null && !searchTerm.trim().isEmpty()) {
-            String searchLower = searchTerm.toLowerCase();
-            configs = configs.stream()
-                    .filter(c -> c.getEntityName().toLowerCase().contains(searchLower))
-                    .collect(java.util.stream.Collectors.toList());
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rows.toString().getBytes(StandardCharsets.UTF_8));
+            return scope.size() + "-" + HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
-        
-        // Convert to response DTOs
-        return configs.stream()
-                .map(this::convertToFilterResponse)
-                .collect(java.util.stream.Collectors.toList());
+    }
+    
+    /**
+     * Filter pricing configurations
+     * All filters are applied in SQL and the result is paged
+     */
+    @Transactional(readOnly = true)
+    public Page<PricingFilterResponse> filterPricingConfigurations(
+            Long courseTypeId, String entityType, Boolean isActive, String searchTerm, Pageable pageable) {
+        logger.info("Filtering pricing configurations - courseTypeId: {}, entityType: {}, isActive: {}, searchTerm: {}, page: {}", 
+                courseTypeId, entityType, isActive, searchTerm, pageable.getPageNumber());
+        
+        String pattern = searchTerm != null && !searchTerm.trim().isEmpty() ? toLikePattern(searchTerm.trim()) : "%";
+        return pricingConfigRepository.findByFilters(courseTypeId, entityType, isActive, pattern, pageable)
+                .map(this::convertToFilterResponse);
+    }
+    
+    private String toLikePattern(String search) {
+        String escaped = search.toLowerCase()
+            .replace("\\", "\\\\")
+            .replace("%", "\\%")
+            .replace("_", "\\_");
+        return "%" + escaped + "%";
     }
     
     /**
      * Convert PricingConfiguration to PricingFilterResponse
      */
-    private com.coaxial.dto.PricingFilterResponse convertToFilterResponse(PricingConfiguration config) {
-        com.coaxial.dto.PricingFilterResponse response = new com.coaxial.dto.PricingFilterResponse();
+    private PricingFilterResponse convertToFilterResponse(PricingConfiguration config) {
+        PricingFilterResponse response = new PricingFilterResponse();
         
         response.setId(config.getId());
         response.setEntityType(config.getEntityType());
@@ -534,12 +552,10 @@ public class AdminPricingService {
         
         // Get course type name if available
         if (config.getCourseTypeId() != null) {
-            courseRepository.findById(config.getEntityId())
-                    .ifPresent(course -> {
-                        if (course.getCourseType() != null) {
-                            response.setCourseTypeName(course.getCourseType().getName());
-                        }
-                    });
+            MasterDataIndexService.Node courseType = masterDataIndexService.getIndex().getCourseType(config.getCourseTypeId());
+            if (courseType != null) {
+                response.setCourseTypeName(courseType.getName());
+            }
         }
         
         return response;
@@ -0,0 +1,149 @@
+package com.coaxial.service;
+
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.coaxial.event.CacheInvalidationEvent;
+import com.coaxial.event.MasterDataChangedEvent;
+import com.coaxial.event.QuestionsChangedEvent;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Turns committed master data and question writes into CacheInvalidationEvents on every instance.
+ * The event is published locally straight away and, when Redis is enabled, broadcast over Redis
+ * pub/sub so the other instances publish it too. Without Redis the bus stays in this JVM.
+ * Subscribers must use plain @EventListener: the event is published from an after-commit callback.
+ */
+@Service
+public class CacheInvalidationBus implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    // Identifies this instance so it ignores its own broadcasts
+    private final String instanceId = UUID.randomUUID().toString();
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired(required = false)
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Autowired(required = false)
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Value("${app.cache.invalidation.channel:coaxial:cache-invalidation}")
+    private String channel;
+
+    @PostConstruct
+    public void subscribe() {
+        if (listenerContainer != null) {
+            listenerContainer.addMessageListener(this, new ChannelTopic(channel));
+            logger.info("Cache invalidation bus subscribed to Redis channel {}", channel);
+        } else {
+            logger.info("Redis disabled, cache invalidation stays within this instance");
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMasterDataChanged(MasterDataChangedEvent event) {
+        invalidate(event.getEntityType(), event.getEntityId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuestionsChanged(QuestionsChangedEvent event) {
+        invalidate(CacheInvalidationEvent.QUESTION, null);
+    }
+
+    /**
+     * Drop caches derived from the given entity here and on every other instance
+     */
+    public void invalidate(String entityType, Long entityId) {
+        eventPublisher.publishEvent(new CacheInvalidationEvent(entityType, entityId, false));
+
+        if (redisTemplate != null) {
+            try {
+                redisTemplate.convertAndSend(channel, new InvalidationMessage(instanceId, entityType, entityId));
+            } catch (Exception e) {
+                // Other instances fall back to their own cache expiry
+                logger.warn("Failed to broadcast cache invalidation for {} {}: {}", entityType, entityId, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object value;
+        try {
+            value = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        } catch (Exception e) {
+            logger.warn("Ignoring unreadable cache invalidation message: {}", e.getMessage());
+            return;
+        }
+        if (!(value instanceof InvalidationMessage)) {
+            return;
+        }
+
+        InvalidationMessage invalidation = (InvalidationMessage) value;
+        if (instanceId.equals(invalidation.getOrigin())) {
+            return;
+        }
+        logger.debug("Cache invalidation from another instance: {} {}", invalidation.getEntityType(), invalidation.getEntityId());
+        eventPublisher.publishEvent(new CacheInvalidationEvent(invalidation.getEntityType(), invalidation.getEntityId(), true));
+    }
+
+    /**
+     * Message broadcast to the other instances. Plain bean so it round-trips through the Redis JSON serializer.
+     */
+    public static class InvalidationMessage {
+
+        private String origin;
+        private String entityType;
+        private Long entityId;
+
+        public InvalidationMessage() {
+        }
+
+        public InvalidationMessage(String origin, String entityType, Long entityId) {
+            this.origin = origin;
+            this.entityType = entityType;
+            this.entityId = entityId;
+        }
+
+        public String getOrigin() {
+            return origin;
+        }
+
+        public void setOrigin(String origin) {
+            this.origin = origin;
+        }
+
+        public String getEntityType() {
+            return entityType;
+        }
+
+        public void setEntityType(String entityType) {
+            this.entityType = entityType;
+        }
+
+        public Long getEntityId() {
+            return entityId;
+        }
+
+        public void setEntityId(Long entityId) {
+            this.entityId = entityId;
+        }
+    }
+}
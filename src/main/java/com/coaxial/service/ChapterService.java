@@ -7,6 +7,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -22,18 +23,13 @@ import com.coaxial.dto.ChapterVideoDTO;
 import com.coaxial.entity.Chapter;
 import com.coaxial.entity.ChapterUploadedFile;
 import com.coaxial.entity.ChapterYoutubeLink;
-import com.coaxial.entity.ClassSubject;
-import com.coaxial.entity.CourseSubject;
-import com.coaxial.entity.ExamSubject;
 import com.coaxial.entity.Module;
-import com.coaxial.entity.Subject;
 import com.coaxial.entity.Topic;
 import com.coaxial.entity.User;
+import com.coaxial.event.MasterDataChangedEvent;
 import com.coaxial.repository.ChapterRepository;
-import com.coaxial.repository.ClassSubjectRepository;
-import com.coaxial.repository.CourseSubjectRepository;
-import com.coaxial.repository.ExamSubjectRepository;
 import com.coaxial.repository.ModuleRepository;
+import com.coaxial.service.MasterDataIndexService.MasterDataIndex;
 
 @Service
 @Transactional
@@ -46,13 +42,13 @@ public class ChapterService {
     private ModuleRepository moduleRepository;
     
     @Autowired
-    private ClassSubjectRepository classSubjectRepository;
+    private MasterDataIndexService masterDataIndexService;
     
     @Autowired
-    private ExamSubjectRepository examSubjectRepository;
+    private ApplicationEventPublisher eventPublisher;
     
     @Autowired
-    private CourseSubjectRepository courseSubjectRepository;
+    private ContentCountRollupService contentCountRollupService;
     
     public List<ChapterResponseDTO> getAllChapters() {
         return chapterRepository.findAll().stream()
@@ -260,6 +256,8 @@ public class ChapterService {
         }
         
         Chapter savedChapter = chapterRepository.save(chapter);
+        contentCountRollupService.onChapterChanged(savedChapter.getId(), null, false, module.getId(), savedChapter.getIsActive());
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.CHAPTER, savedChapter.getId()));
         System.out.println("Chapter saved with ID: " + savedChapter.getId());
         System.out.println("Number of uploaded files: " + (savedChapter.getUploadedFiles() != null ? savedChapter.getUploadedFiles().size() : 0));
 
@@ -284,6 +282,8 @@ public class ChapterService {
     public ChapterResponseDTO updateChapter(Long id, ChapterRequestDTO chapterRequestDTO) {
         Chapter existingChapter = chapterRepository.findById(id)
                 .orElseThrow(() -> (RuntimeException) new IllegalArgumentException("Chapter not found with ID: " + id));
+        Long previousModuleId = existingChapter.getModule().getId();
+        Boolean wasActive = existingChapter.getIsActive();
         
         // Validate module exists
         Module module = moduleRepository.findById(chapterRequestDTO.getModuleId())
@@ -363,6 +363,8 @@ public class ChapterService {
         }
         
         Chapter updatedChapter = chapterRepository.save(existingChapter);
+        contentCountRollupService.onChapterChanged(id, previousModuleId, wasActive, module.getId(), updatedChapter.getIsActive());
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.CHAPTER, updatedChapter.getId()));
 
         // Ensure filePath is set for name-only entries after update as well
         if (updatedChapter.getUploadedFiles() != null && !updatedChapter.getUploadedFiles().isEmpty()) {
@@ -383,10 +385,11 @@ public class ChapterService {
     }
     
     public void deleteChapter(Long id) {
-        if (!chapterRepository.existsById(id)) {
-            throw new IllegalArgumentException("Chapter not found with ID: " + id);
-        }
-        chapterRepository.deleteById(id);
+        Chapter chapter = chapterRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Chapter not found with ID: " + id));
+        contentCountRollupService.onChapterChanged(id, chapter.getModule().getId(), chapter.getIsActive(), null, false);
+        chapterRepository.delete(chapter);
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.CHAPTER, id));
     }
     
     public boolean existsById(Long id) {
@@ -416,11 +419,13 @@ public class ChapterService {
         if (module != null) {
             Topic topic = module.getTopic();
             if (topic != null) {
-                Subject subject = resolveSubjectFromTopic(topic);
+                MasterDataIndex index = masterDataIndexService.getIndex();
+                MasterDataIndexService.Node subject = index.getLinkedSubject(topic.getCourseTypeId(), topic.getRelationshipId());
                 if (subject != null) {
+                    MasterDataIndexService.Node courseType = index.getCourseType(subject.getParentId());
                     dto.setSubjectId(subject.getId());
                     dto.setSubjectName(subject.getName());
-                    dto.setSubjectType(subject.getCourseType() != null ? subject.getCourseType().getName() : "Unknown");
+                    dto.setSubjectType(courseType != null ? courseType.getName() : "Unknown");
                 }
             }
         }
@@ -428,47 +433,6 @@ public class ChapterService {
         return dto;
     }
     
-    /**
-     * Resolves the Subject entity from a Topic based on its courseTypeId and relationshipId
-     * 
-     * @param topic The Topic entity
-     * @return The resolved Subject entity, or null if not found
-     */
-    private Subject resolveSubjectFromTopic(Topic topic) {
-        Long courseTypeId = topic.getCourseTypeId();
-        Long relationshipId = topic.getRelationshipId();
-        
-        if (courseTypeId == null || relationshipId == null) {
-            return null;
-        }
-        
-        try {
-            // CourseTypeId 1 = Academic (ClassSubject)
-            if (courseTypeId == 1) {
-                return classSubjectRepository.findById(relationshipId)
-                        .map(ClassSubject::getSubject)
-                        .orElse(null);
-            }
-            // CourseTypeId 2 = Competitive (ExamSubject)
-            else if (courseTypeId == 2) {
-                return examSubjectRepository.findById(relationshipId)
-                        .map(ExamSubject::getSubject)
-                        .orElse(null);
-            }
-            // CourseTypeId 3 = Professional (CourseSubject)
-            else if (courseTypeId == 3) {
-                return courseSubjectRepository.findById(relationshipId)
-                        .map(CourseSubject::getSubject)
-                        .orElse(null);
-            }
-        } catch (Exception e) {
-            // Log error if needed, but don't fail the entire operation
-            System.err.println("Error resolving subject for topic (courseTypeId=" + topic.getCourseTypeId() + ", relationshipId=" + topic.getRelationshipId() + "): " + e.getMessage());
-        }
-        
-        return null;
-    }
-    
     // Paginated method for standardized endpoints
     @Transactional(readOnly = true)
     public Page<ChapterResponseDTO> getChaptersCombinedFilter(Long courseTypeId, Long courseId, Long classId, 
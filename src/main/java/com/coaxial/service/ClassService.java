@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -18,6 +19,7 @@ import com.coaxial.entity.ClassEntity;
 import com.coaxial.entity.Course;
 import com.coaxial.entity.CourseType;
 import com.coaxial.entity.User;
+import com.coaxial.event.MasterDataChangedEvent;
 import com.coaxial.repository.ClassRepository;
 import com.coaxial.repository.CourseRepository;
 
@@ -31,6 +33,9 @@ public class ClassService {
     @Autowired
     private CourseRepository courseRepository;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     // Create new class
     public ClassResponse createClass(ClassRequest classRequest) {
         // Validate course exists
@@ -51,6 +56,7 @@ public class ClassService {
         classEntity.setCreatedBy(getCurrentUser());
         
         ClassEntity savedClass = classRepository.save(classEntity);
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.CLASS, savedClass.getId()));
         return convertToResponse(savedClass);
     }
     
@@ -178,6 +184,7 @@ public class ClassService {
         classEntity.setUpdatedBy(getCurrentUser());
         
         ClassEntity updatedClass = classRepository.save(classEntity);
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.CLASS, updatedClass.getId()));
         return convertToResponse(updatedClass);
     }
     
@@ -187,6 +194,7 @@ public class ClassService {
             throw new IllegalArgumentException("Class not found with id: " + id);
         }
         classRepository.deleteById(id);
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.CLASS, id));
     }
     
     // Convert ClassEntity to ClassResponse DTO
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -15,6 +16,7 @@ import com.coaxial.entity.ClassEntity;
 import com.coaxial.entity.ClassSubject;
 import com.coaxial.entity.Subject;
 import com.coaxial.entity.User;
+import com.coaxial.event.MasterDataChangedEvent;
 import com.coaxial.repository.ClassRepository;
 import com.coaxial.repository.ClassSubjectRepository;
 import com.coaxial.repository.SubjectRepository;
@@ -32,6 +34,9 @@ public class ClassSubjectService {
     @Autowired
     private SubjectRepository subjectRepository;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     // Add subject to class
     public ClassSubjectResponse addSubjectToClass(ClassSubjectRequest request) {
         // Validate class exists
@@ -55,6 +60,7 @@ public class ClassSubjectService {
         classSubject.setCreatedBy(getCurrentUser());
         
         ClassSubject savedClassSubject = classSubjectRepository.save(classSubject);
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.CLASS_SUBJECT, savedClassSubject.getId()));
         return convertToResponse(savedClassSubject);
     }
     
@@ -93,6 +99,7 @@ public class ClassSubjectService {
         classSubject.setUpdatedBy(getCurrentUser());
         
         ClassSubject updatedClassSubject = classSubjectRepository.save(classSubject);
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.CLASS_SUBJECT, updatedClassSubject.getId()));
         return convertToResponse(updatedClassSubject);
     }
     
@@ -102,6 +109,7 @@ public class ClassSubjectService {
             throw new IllegalArgumentException("Class-Subject relationship not found");
         }
         classSubjectRepository.deleteById(id);
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.CLASS_SUBJECT, id));
     }
     
     // Convert ClassSubject entity to ClassSubjectResponse DTO
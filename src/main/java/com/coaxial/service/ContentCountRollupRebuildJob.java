@@ -0,0 +1,42 @@
+package com.coaxial.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the content count rollups on first startup and rebuilds them nightly,
+ * repairing drift from writes that bypass the services (manual SQL, restored dumps).
+ */
+@Component
+public class ContentCountRollupRebuildJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentCountRollupRebuildJob.class);
+
+    @Autowired
+    private ContentCountRollupService rollupService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIfEmpty() {
+        try {
+            if (rollupService.isEmpty()) {
+                rollupService.rebuild();
+            }
+        } catch (Exception e) {
+            logger.error("Initial content count rollup build failed", e);
+        }
+    }
+
+    @Scheduled(cron = "${app.content-rollup.rebuild-cron:0 15 3 * * *}")
+    public void rebuild() {
+        try {
+            rollupService.rebuild();
+        } catch (Exception e) {
+            logger.error("Content count rollup rebuild failed", e);
+        }
+    }
+}
@@ -0,0 +1,425 @@
+package com.coaxial.service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.coaxial.event.MasterDataChangedEvent;
+
+/**
+ * Active topic/module/chapter/question counts per hierarchy node, stored in content_count_rollups.
+ * A row holds the counts below its node as if the node itself were active. Writes apply a delta to
+ * the ancestors and stop at the first inactive one, so a change touches a handful of rows and
+ * reads are primary-key lookups. rebuild() recomputes every row set-based to repair drift
+ * (see ContentCountRollupRebuildJob).
+ */
+@Service
+@Transactional
+public class ContentCountRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentCountRollupService.class);
+
+    public static final String CHAPTER = "CHAPTER";
+    public static final String MODULE = "MODULE";
+    public static final String TOPIC = "TOPIC";
+    public static final String SUBJECT_LINK = "SUBJECT_LINK";
+    public static final String CLASS = "CLASS";
+    public static final String EXAM = "EXAM";
+    public static final String COURSE = "COURSE";
+
+    // topic course type -> {rollup node type, owner table, link table, owner column, link filter}
+    private static final Map<Long, String[]> LINK_OWNERS = Map.of(
+            1L, new String[] { CLASS, "classes", "class_subjects", "class_id", " AND l.is_active = true" },
+            2L, new String[] { EXAM, "exams", "exam_subjects", "exam_id", "" },
+            3L, new String[] { COURSE, "courses", "course_subjects", "course_id", "" });
+
+    private static final String UPSERT_DELTA =
+            "INSERT INTO content_count_rollups (node_type, scope_id, node_id, topic_count, module_count, " +
+            "chapter_count, question_count, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, now()) " +
+            "ON CONFLICT (node_type, scope_id, node_id) DO UPDATE SET " +
+            "topic_count = content_count_rollups.topic_count + EXCLUDED.topic_count, " +
+            "module_count = content_count_rollups.module_count + EXCLUDED.module_count, " +
+            "chapter_count = content_count_rollups.chapter_count + EXCLUDED.chapter_count, " +
+            "question_count = content_count_rollups.question_count + EXCLUDED.question_count, " +
+            "updated_at = now()";
+
+    private static final String REPLACE_ON_CONFLICT =
+            " ON CONFLICT (node_type, scope_id, node_id) DO UPDATE SET " +
+            "topic_count = EXCLUDED.topic_count, module_count = EXCLUDED.module_count, " +
+            "chapter_count = EXCLUDED.chapter_count, question_count = EXCLUDED.question_count, " +
+            "updated_at = EXCLUDED.updated_at";
+
+    private static final String COUNT_COLUMNS = "topic_count, module_count, chapter_count, question_count";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // ==================== INCREMENTAL MAINTENANCE ====================
+
+    /**
+     * Question created (previousChapterId null), moved, activated/deactivated or deleted (chapterId null)
+     */
+    public void onQuestionChanged(Long previousChapterId, Boolean wasActive, Long chapterId, Boolean isActive) {
+        move(previousChapterId, wasActive, chapterId, isActive, new ContentCounts(0, 0, 0, 1), this::pathFromChapter);
+    }
+
+    /**
+     * Questions inserted in bulk, as active question counts per chapter
+     */
+    public void onQuestionsAdded(Map<Long, Long> activeCountByChapter) {
+        activeCountByChapter.forEach((chapterId, count) ->
+                propagate(pathFromChapter(chapterId), new ContentCounts(0, 0, 0, count)));
+    }
+
+    /**
+     * Chapter created (previousModuleId null), moved, activated/deactivated or deleted (moduleId null)
+     */
+    public void onChapterChanged(Long chapterId, Long previousModuleId, Boolean wasActive, Long moduleId, Boolean isActive) {
+        ContentCounts own = getCounts(CHAPTER, chapterId);
+        ContentCounts contribution = new ContentCounts(0, 0, 1, own.getQuestionCount());
+        move(previousModuleId, wasActive, moduleId, isActive, contribution, this::pathFromModule);
+        if (moduleId == null) {
+            deleteRow(CHAPTER, chapterId);
+        }
+    }
+
+    /**
+     * Module created (previousTopicId null), moved, activated/deactivated or deleted (topicId null)
+     */
+    public void onModuleChanged(Long moduleId, Long previousTopicId, Boolean wasActive, Long topicId, Boolean isActive) {
+        ContentCounts own = getCounts(MODULE, moduleId);
+        ContentCounts contribution = new ContentCounts(0, 1, own.getChapterCount(), own.getQuestionCount());
+        move(previousTopicId, wasActive, topicId, isActive, contribution, this::pathFromTopic);
+        if (topicId == null) {
+            deleteRow(MODULE, moduleId);
+        }
+    }
+
+    /**
+     * Topic created (previous link null), relinked, activated/deactivated or deleted (relationshipId null)
+     */
+    public void onTopicChanged(Long topicId, Long previousCourseTypeId, Long previousRelationshipId, Boolean wasActive,
+                               Long courseTypeId, Long relationshipId, Boolean isActive) {
+        boolean before = previousRelationshipId != null && Boolean.TRUE.equals(wasActive);
+        boolean after = relationshipId != null && Boolean.TRUE.equals(isActive);
+        if (before && after && Objects.equals(previousCourseTypeId, courseTypeId)
+                && previousRelationshipId.equals(relationshipId)) {
+            return;
+        }
+
+        ContentCounts own = getCounts(TOPIC, topicId);
+        ContentCounts contribution = new ContentCounts(1, own.getModuleCount(), own.getChapterCount(), own.getQuestionCount());
+        if (before) {
+            propagate(List.of(PathNode.link(previousCourseTypeId, previousRelationshipId)), contribution.negate());
+        }
+        if (after) {
+            propagate(List.of(PathNode.link(courseTypeId, relationshipId)), contribution);
+        }
+        if (relationshipId == null) {
+            deleteRow(TOPIC, topicId);
+        }
+    }
+
+    /**
+     * Subject links decide which topics count towards a class, exam or course, so re-derive those
+     * rows once the link change is committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onMasterDataChanged(MasterDataChangedEvent event) {
+        switch (event.getEntityType()) {
+            case MasterDataChangedEvent.CLASS_SUBJECT -> refreshLinkOwners(1L, null);
+            case MasterDataChangedEvent.EXAM_SUBJECT -> refreshLinkOwners(2L, null);
+            case MasterDataChangedEvent.COURSE_SUBJECT -> refreshLinkOwners(3L, null);
+            default -> {
+                // Hierarchy services update their rollups directly inside the write transaction
+            }
+        }
+    }
+
+    private void move(Long previousParentId, Boolean wasActive, Long parentId, Boolean isActive,
+                      ContentCounts contribution, Function<Long, List<PathNode>> pathResolver) {
+        boolean before = previousParentId != null && Boolean.TRUE.equals(wasActive);
+        boolean after = parentId != null && Boolean.TRUE.equals(isActive);
+        if (before && after && previousParentId.equals(parentId)) {
+            return;
+        }
+        if (before) {
+            propagate(pathResolver.apply(previousParentId), contribution.negate());
+        }
+        if (after) {
+            propagate(pathResolver.apply(parentId), contribution);
+        }
+    }
+
+    /**
+     * Apply a delta to each ancestor, stopping after the first inactive one (its own row still changes,
+     * but it contributes nothing further up). Reaching a subject link re-derives its owner's totals.
+     */
+    private void propagate(List<PathNode> path, ContentCounts delta) {
+        for (PathNode node : path) {
+            jdbcTemplate.update(UPSERT_DELTA, node.type, node.scopeId, node.id,
+                    delta.getTopicCount(), delta.getModuleCount(), delta.getChapterCount(), delta.getQuestionCount());
+            if (SUBJECT_LINK.equals(node.type)) {
+                refreshLinkOwners(node.scopeId, node.id);
+                return;
+            }
+            if (!node.active) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Recompute class/exam/course rows from their subject link rows; linkId limits it to that link's owner
+     */
+    private void refreshLinkOwners(Long courseTypeId, Long linkId) {
+        String[] owner = LINK_OWNERS.get(courseTypeId);
+        if (owner == null) {
+            return;
+        }
+        String sql = "INSERT INTO content_count_rollups (node_type, scope_id, node_id, " + COUNT_COLUMNS + ", updated_at) " +
+                "SELECT '" + owner[0] + "', 0, o.id, COALESCE(SUM(r.topic_count), 0), COALESCE(SUM(r.module_count), 0), " +
+                "COALESCE(SUM(r.chapter_count), 0), COALESCE(SUM(r.question_count), 0), now() " +
+                "FROM " + owner[1] + " o " +
+                "LEFT JOIN " + owner[2] + " l ON l." + owner[3] + " = o.id" + owner[4] + " " +
+                "LEFT JOIN content_count_rollups r ON r.node_type = '" + SUBJECT_LINK + "' AND r.scope_id = " + courseTypeId +
+                " AND r.node_id = l.id " +
+                (linkId != null ? "WHERE o.id = (SELECT " + owner[3] + " FROM " + owner[2] + " WHERE id = ?) " : "") +
+                "GROUP BY o.id" + REPLACE_ON_CONFLICT;
+        if (linkId != null) {
+            jdbcTemplate.update(sql, linkId);
+        } else {
+            jdbcTemplate.update(sql);
+        }
+    }
+
+    private void deleteRow(String nodeType, Long nodeId) {
+        jdbcTemplate.update("DELETE FROM content_count_rollups WHERE node_type = ? AND scope_id = 0 AND node_id = ?",
+                nodeType, nodeId);
+    }
+
+    // Ancestor paths are read from committed hierarchy rows; callers only pass ids of nodes they did not modify
+
+    private List<PathNode> pathFromChapter(Long chapterId) {
+        List<List<PathNode>> paths = jdbcTemplate.query(
+                "SELECT c.is_active AS c_active, m.id AS m_id, m.is_active AS m_active, t.id AS t_id, " +
+                "t.is_active AS t_active, t.course_type_id, t.relationship_id " +
+                "FROM chapters c JOIN modules m ON m.id = c.module_id JOIN topics t ON t.id = m.topic_id WHERE c.id = ?",
+                (rs, rowNum) -> List.of(
+                        new PathNode(CHAPTER, 0L, chapterId, rs.getBoolean("c_active")),
+                        new PathNode(MODULE, 0L, rs.getLong("m_id"), rs.getBoolean("m_active")),
+                        new PathNode(TOPIC, 0L, rs.getLong("t_id"), rs.getBoolean("t_active")),
+                        PathNode.link(rs.getLong("course_type_id"), rs.getLong("relationship_id"))),
+                chapterId);
+        return paths.isEmpty() ? List.of() : paths.get(0);
+    }
+
+    private List<PathNode> pathFromModule(Long moduleId) {
+        List<List<PathNode>> paths = jdbcTemplate.query(
+                "SELECT m.is_active AS m_active, t.id AS t_id, t.is_active AS t_active, t.course_type_id, t.relationship_id " +
+                "FROM modules m JOIN topics t ON t.id = m.topic_id WHERE m.id = ?",
+                (rs, rowNum) -> List.of(
+                        new PathNode(MODULE, 0L, moduleId, rs.getBoolean("m_active")),
+                        new PathNode(TOPIC, 0L, rs.getLong("t_id"), rs.getBoolean("t_active")),
+                        PathNode.link(rs.getLong("course_type_id"), rs.getLong("relationship_id"))),
+                moduleId);
+        return paths.isEmpty() ? List.of() : paths.get(0);
+    }
+
+    private List<PathNode> pathFromTopic(Long topicId) {
+        List<List<PathNode>> paths = jdbcTemplate.query(
+                "SELECT t.is_active AS t_active, t.course_type_id, t.relationship_id FROM topics t WHERE t.id = ?",
+                (rs, rowNum) -> List.of(
+                        new PathNode(TOPIC, 0L, topicId, rs.getBoolean("t_active")),
+                        PathNode.link(rs.getLong("course_type_id"), rs.getLong("relationship_id"))),
+                topicId);
+        return paths.isEmpty() ? List.of() : paths.get(0);
+    }
+
+    // ==================== READS ====================
+
+    /**
+     * Counts for a chapter, module, topic, class, exam or course; zeros when no row exists
+     */
+    @Transactional(readOnly = true)
+    public ContentCounts getCounts(String nodeType, Long nodeId) {
+        List<ContentCounts> rows = jdbcTemplate.query(
+                "SELECT " + COUNT_COLUMNS + " FROM content_count_rollups WHERE node_type = ? AND scope_id = 0 AND node_id = ?",
+                (rs, rowNum) -> mapCounts(rs), nodeType, nodeId);
+        return rows.isEmpty() ? ContentCounts.EMPTY : rows.get(0);
+    }
+
+    /**
+     * Counts for several nodes of one type, keyed by node id; missing ids have no rows yet
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, ContentCounts> getCounts(String nodeType, Collection<Long> nodeIds) {
+        return queryByIds(nodeType, 0L, nodeIds);
+    }
+
+    /**
+     * Counts for subject links (class/exam/course subjects), keyed by relationship id
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, ContentCounts> getSubjectLinkCounts(Long courseTypeId, Collection<Long> relationshipIds) {
+        return queryByIds(SUBJECT_LINK, courseTypeId, relationshipIds);
+    }
+
+    private Map<Long, ContentCounts> queryByIds(String nodeType, Long scopeId, Collection<Long> nodeIds) {
+        Map<Long, ContentCounts> counts = new HashMap<>();
+        if (nodeIds == null || nodeIds.isEmpty()) {
+            return counts;
+        }
+        jdbcTemplate.query(
+                "SELECT node_id, " + COUNT_COLUMNS + " FROM content_count_rollups " +
+                "WHERE node_type = ? AND scope_id = ? AND node_id = ANY(CAST(? AS bigint[]))",
+                rs -> {
+                    counts.put(rs.getLong("node_id"), mapCounts(rs));
+                },
+                nodeType, scopeId, toArrayLiteral(nodeIds));
+        return counts;
+    }
+
+    private ContentCounts mapCounts(ResultSet rs) throws SQLException {
+        return new ContentCounts(rs.getLong("topic_count"), rs.getLong("module_count"),
+                rs.getLong("chapter_count"), rs.getLong("question_count"));
+    }
+
+    private String toArrayLiteral(Collection<Long> values) {
+        StringBuilder literal = new StringBuilder("{");
+        for (Long value : values) {
+            if (literal.length() > 1) {
+                literal.append(',');
+            }
+            literal.append(value);
+        }
+        return literal.append('}').toString();
+    }
+
+    // ==================== FULL REBUILD ====================
+
+    @Transactional(readOnly = true)
+    public boolean isEmpty() {
+        return jdbcTemplate.query("SELECT 1 FROM content_count_rollups LIMIT 1", rs -> !rs.next());
+    }
+
+    /**
+     * Recompute every rollup row bottom-up, one set-based statement per level.
+     * The table lock makes concurrent incremental updates wait until the rebuilt rows are committed.
+     */
+    public int rebuild() {
+        long startedAt = System.currentTimeMillis();
+        jdbcTemplate.execute("LOCK TABLE content_count_rollups IN EXCLUSIVE MODE");
+        jdbcTemplate.update("DELETE FROM content_count_rollups");
+
+        String insert = "INSERT INTO content_count_rollups (node_type, scope_id, node_id, " + COUNT_COLUMNS + ", updated_at) ";
+        int rows = jdbcTemplate.update(insert +
+                "SELECT '" + CHAPTER + "', 0, c.id, 0, 0, 0, COUNT(q.id), now() " +
+                "FROM chapters c LEFT JOIN questions q ON q.chapter_id = c.id AND q.is_active = true GROUP BY c.id");
+        rows += jdbcTemplate.update(insert +
+                "SELECT '" + MODULE + "', 0, m.id, 0, 0, COUNT(c.id), COALESCE(SUM(r.question_count), 0), now() " +
+                "FROM modules m LEFT JOIN chapters c ON c.module_id = m.id AND c.is_active = true " +
+                "LEFT JOIN content_count_rollups r ON r.node_type = '" + CHAPTER + "' AND r.scope_id = 0 AND r.node_id = c.id " +
+                "GROUP BY m.id");
+        rows += jdbcTemplate.update(insert +
+                "SELECT '" + TOPIC + "', 0, t.id, 0, COUNT(m.id), COALESCE(SUM(r.chapter_count), 0), " +
+                "COALESCE(SUM(r.question_count), 0), now() " +
+                "FROM topics t LEFT JOIN modules m ON m.topic_id = t.id AND m.is_active = true " +
+                "LEFT JOIN content_count_rollups r ON r.node_type = '" + MODULE + "' AND r.scope_id = 0 AND r.node_id = m.id " +
+                "GROUP BY t.id");
+        rows += jdbcTemplate.update(insert +
+                "SELECT '" + SUBJECT_LINK + "', t.course_type_id, t.relationship_id, COUNT(t.id), " +
+                "COALESCE(SUM(r.module_count), 0), COALESCE(SUM(r.chapter_count), 0), COALESCE(SUM(r.question_count), 0), now() " +
+                "FROM topics t " +
+                "LEFT JOIN content_count_rollups r ON r.node_type = '" + TOPIC + "' AND r.scope_id = 0 AND r.node_id = t.id " +
+                "WHERE t.is_active = true GROUP BY t.course_type_id, t.relationship_id");
+        for (Long courseTypeId : LINK_OWNERS.keySet()) {
+            refreshLinkOwners(courseTypeId, null);
+        }
+
+        logger.info("Rebuilt content count rollups ({} hierarchy rows) in {} ms", rows, System.currentTimeMillis() - startedAt);
+        return rows;
+    }
+
+    /**
+     * One step of an ancestor path; subject links are keyed by (course type, relationship id)
+     */
+    private static final class PathNode {
+
+        private final String type;
+        private final Long scopeId;
+        private final Long id;
+        private final boolean active;
+
+        private PathNode(String type, Long scopeId, Long id, boolean active) {
+            this.type = type;
+            this.scopeId = scopeId;
+            this.id = id;
+            this.active = active;
+        }
+
+        private static PathNode link(Long courseTypeId, Long relationshipId) {
+            return new PathNode(SUBJECT_LINK, courseTypeId, relationshipId, true);
+        }
+    }
+
+    /**
+     * Active descendant counts below one node
+     */
+    public static class ContentCounts {
+
+        public static final ContentCounts EMPTY = new ContentCounts(0, 0, 0, 0);
+
+        private final long topicCount;
+        private final long moduleCount;
+        private final long chapterCount;
+        private final long questionCount;
+
+        public ContentCounts(long topicCount, long moduleCount, long chapterCount, long questionCount) {
+            this.topicCount = topicCount;
+            this.moduleCount = moduleCount;
+            this.chapterCount = chapterCount;
+            this.questionCount = questionCount;
+        }
+
+        public ContentCounts negate() {
+            return new ContentCounts(-topicCount, -moduleCount, -chapterCount, -questionCount);
+        }
+
+        public ContentCounts plus(ContentCounts other) {
+            return new ContentCounts(topicCount + other.topicCount, moduleCount + other.moduleCount,
+                    chapterCount + other.chapterCount, questionCount + other.questionCount);
+        }
+
+        public long getTopicCount() {
+            return topicCount;
+        }
+
+        public long getModuleCount() {
+            return moduleCount;
+        }
+
+        public long getChapterCount() {
+            return chapterCount;
+        }
+
+        public long getQuestionCount() {
+            return questionCount;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.coaxial.dto.CourseCatalogueResponse;
 import com.coaxial.dto.CourseCatalogueResponse.*;
 import com.coaxial.entity.*;
 import com.coaxial.repository.*;
+import com.coaxial.service.ContentCountRollupService.ContentCounts;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -36,9 +37,6 @@ public class CourseCatalogueService {
     @Autowired
     private ExamRepository examRepository;
     
-    @Autowired
-    private PricingConfigurationRepository pricingConfigRepository;
-    
     @Autowired
     private CourseTypeRepository courseTypeRepository;
     
@@ -55,13 +53,10 @@ public class CourseCatalogueService {
     private TopicRepository topicRepository;
     
     @Autowired
-    private ModuleRepository moduleRepository;
-    
-    @Autowired
-    private ChapterRepository chapterRepository;
+    private ContentCountRollupService contentCountRollupService;
     
     @Autowired
-    private QuestionRepository questionRepository;
+    private PricingService pricingService;
     
     /**
      * Get course catalogue by course type
@@ -95,65 +90,64 @@ public class CourseCatalogueService {
     public CourseCatalogueResponse getAllCourseCatalogue() {
         logger.info("Getting combined course catalogue for all course types");
         
-        CourseCatalogueResponse response = new CourseCatalogueResponse();
-        response.setCourseType("All Course Types");
-        response.setDescription("Combined catalogue with Academic classes, Competitive exams, and Professional courses");
-        
         // Build all three catalogues
         List<ClassCatalogueItem> academicClasses = buildAcademicClassCatalogue(1L); // Academic
         List<ExamCatalogueItem> competitiveExams = buildCompetitiveExamCatalogue(2L); // Competitive
         List<CourseCatalogueItem> professionalCourses = buildProfessionalCourseCatalogue(3L); // Professional
         
-        response.setClasses(academicClasses);
-        response.setExams(competitiveExams);
-        response.setCourses(professionalCourses);
+        return combineCatalogues(academicClasses, competitiveExams, professionalCourses);
+    }
+    
+    /**
+     * Assemble the combined catalogue from already built per-type item lists
+     */
+    public CourseCatalogueResponse combineCatalogues(List<ClassCatalogueItem> academicClasses,
+                                                     List<ExamCatalogueItem> competitiveExams,
+                                                     List<CourseCatalogueItem> professionalCourses) {
+        CourseCatalogueResponse response = new CourseCatalogueResponse();
+        response.setCourseType("All Course Types");
+        response.setDescription("Combined catalogue with Academic classes, Competitive exams, and Professional courses");
+        
+        response.setClasses(academicClasses != null ? academicClasses : new ArrayList<>());
+        response.setExams(competitiveExams != null ? competitiveExams : new ArrayList<>());
+        response.setCourses(professionalCourses != null ? professionalCourses : new ArrayList<>());
         
         logger.info("Combined catalogue: {} classes, {} exams, {} courses", 
-                academicClasses.size(), competitiveExams.size(), professionalCourses.size());
+                response.getClasses().size(), response.getExams().size(), response.getCourses().size());
         
         return response;
     }
     
     /**
-     * Build Academic course catalogue (Class-based)
+     * Build Academic course catalogue (Class-based).
+     * Each level is loaded once for the whole course type, so the query count does not grow with the tree.
      */
     private List<ClassCatalogueItem> buildAcademicClassCatalogue(Long courseTypeId) {
         logger.info("Building Academic class catalogue for courseTypeId: {}", courseTypeId);
         
-        // Get course type entity
-        CourseType courseType = courseTypeRepository.findById(courseTypeId)
-                .orElseThrow(() -> new IllegalArgumentException("Course type not found"));
-        
-        logger.info("CourseType found: id={}, name={}", courseType.getId(), courseType.getName());
-        
-        // Find all courses for this course type
-        List<Course> courses = courseRepository.findByCourseType(courseType);
-        logger.info("Found {} courses for courseType: {}", courses.size(), courseType.getName());
-        
-        // Get all classes from these courses
-        List<ClassEntity> allClasses = new ArrayList<>();
-        for (Course course : courses) {
-            List<ClassEntity> courseClasses = classRepository.findByCourseId(course.getId());
-            logger.info("Course '{}' (ID:{}) has {} classes", course.getName(), course.getId(), courseClasses.size());
-            allClasses.addAll(courseClasses);
+        List<ClassEntity> classes = classRepository.findActiveByCourseTypeIdWithCourse(courseTypeId);
+        if (classes.isEmpty()) {
+            logger.warn("No active classes found for courseTypeId: {}", courseTypeId);
+            return new ArrayList<>();
         }
         
-        logger.info("Total classes found: {}", allClasses.size());
-        
-        // Filter active classes
-        List<ClassEntity> activeClasses = allClasses.stream()
-                .filter(c -> c.getIsActive())
-                .collect(Collectors.toList());
+        List<Long> classIds = classes.stream().map(ClassEntity::getId).collect(Collectors.toList());
+        List<ClassSubject> classSubjects = classSubjectRepository.findActiveByClassIdsWithSubject(classIds);
+        Map<Long, List<ClassSubject>> subjectsByClass = new HashMap<>();
+        for (ClassSubject classSubject : classSubjects) {
+            subjectsByClass.computeIfAbsent(classSubject.getClassEntity().getId(), id -> new ArrayList<>()).add(classSubject);
+        }
         
-        logger.info("Active classes: {}", activeClasses.size());
+        Map<Long, ContentCounts> linkCounts = contentCountRollupService.getSubjectLinkCounts(courseTypeId,
+                classSubjects.stream().map(ClassSubject::getId).collect(Collectors.toList()));
+        Map<Long, PricingConfiguration> pricing = loadPricing("CLASS", classIds);
         
-        if (activeClasses.isEmpty()) {
-            logger.warn("No active classes found for courseTypeId: {}. Total classes: {}, Active: {}", 
-                    courseTypeId, allClasses.size(), activeClasses.size());
-        }
+        logger.info("Active classes: {}, class subjects: {}", classes.size(), classSubjects.size());
         
-        return activeClasses.stream()
-                .map(this::convertToClassCatalogueItem)
+        return classes.stream()
+                .map(classEntity -> convertToClassCatalogueItem(classEntity,
+                        subjectsByClass.getOrDefault(classEntity.getId(), Collections.emptyList()),
+                        linkCounts, pricing.get(classEntity.getId())))
                 .collect(Collectors.toList());
     }
     
@@ -163,40 +157,30 @@ public class CourseCatalogueService {
     private List<ExamCatalogueItem> buildCompetitiveExamCatalogue(Long courseTypeId) {
         logger.info("Building Competitive exam catalogue for courseTypeId: {}", courseTypeId);
         
-        // Get course type entity
-        CourseType courseType = courseTypeRepository.findById(courseTypeId)
-                .orElseThrow(() -> new IllegalArgumentException("Course type not found"));
-        
-        logger.info("CourseType found: id={}, name={}", courseType.getId(), courseType.getName());
-        
-        // Find all courses for this course type
-        List<Course> courses = courseRepository.findByCourseType(courseType);
-        logger.info("Found {} courses for courseType: {}", courses.size(), courseType.getName());
-        
-        // Get all exams from these courses
-        List<Exam> allExams = new ArrayList<>();
-        for (Course course : courses) {
-            List<Exam> courseExams = examRepository.findByCourseId(course.getId());
-            logger.info("Course '{}' (ID:{}) has {} exams", course.getName(), course.getId(), courseExams.size());
-            allExams.addAll(courseExams);
+        List<Exam> exams = examRepository.findActiveByCourseTypeIdWithCourse(courseTypeId);
+        if (exams.isEmpty()) {
+            logger.warn("No active exams found for courseTypeId: {}", courseTypeId);
+            return new ArrayList<>();
         }
         
-        logger.info("Total exams found: {}", allExams.size());
-        
-        // Filter active exams
-        List<Exam> activeExams = allExams.stream()
-                .filter(e -> e.getIsActive())
-                .collect(Collectors.toList());
+        List<Long> examIds = exams.stream().map(Exam::getId).collect(Collectors.toList());
+        List<ExamSubject> examSubjects = examSubjectRepository.findByExamIdsWithSubject(examIds);
+        Map<Long, List<ExamSubject>> subjectsByExam = new HashMap<>();
+        for (ExamSubject examSubject : examSubjects) {
+            subjectsByExam.computeIfAbsent(examSubject.getExam().getId(), id -> new ArrayList<>()).add(examSubject);
+        }
         
-        logger.info("Active exams: {}", activeExams.size());
+        List<Long> linkIds = examSubjects.stream().map(ExamSubject::getId).collect(Collectors.toList());
+        Map<Long, ContentCounts> linkCounts = contentCountRollupService.getSubjectLinkCounts(courseTypeId, linkIds);
+        Map<Long, List<String>> topicNames = loadTopicNames(courseTypeId, linkIds);
+        Map<Long, PricingConfiguration> pricing = loadPricing("EXAM", examIds);
         
-        if (activeExams.isEmpty()) {
-            logger.warn("No active exams found for courseTypeId: {}. Total exams: {}, Active: {}", 
-                    courseTypeId, allExams.size(), activeExams.size());
-        }
+        logger.info("Active exams: {}, exam subjects: {}", exams.size(), examSubjects.size());
         
-        return activeExams.stream()
-                .map(this::convertToExamCatalogueItem)
+        return exams.stream()
+                .map(exam -> convertToExamCatalogueItem(exam,
+                        subjectsByExam.getOrDefault(exam.getId(), Collections.emptyList()),
+                        linkCounts, topicNames, pricing.get(exam.getId())))
                 .collect(Collectors.toList());
     }
     
@@ -206,27 +190,59 @@ public class CourseCatalogueService {
     private List<CourseCatalogueItem> buildProfessionalCourseCatalogue(Long courseTypeId) {
         logger.info("Building Professional course catalogue for courseTypeId: {}", courseTypeId);
         
-        // Get course type entity
-        CourseType courseType = courseTypeRepository.findById(courseTypeId)
-                .orElseThrow(() -> new IllegalArgumentException("Course type not found"));
-        
-        // Find all courses for this course type
-        List<Course> courses = courseRepository.findByCourseTypeAndIsActive(courseType, true);
-        logger.info("Found {} courses for courseType: {}", courses.size(), courseType.getName());
-        
+        List<Course> courses = courseRepository.findByCourseTypeAndIsActive(
+                courseTypeRepository.getReferenceById(courseTypeId), true);
         if (courses.isEmpty()) {
             logger.warn("No courses found for courseTypeId: {}. Check if courses exist with this course type.", courseTypeId);
+            return new ArrayList<>();
+        }
+        
+        List<Long> courseIds = courses.stream().map(Course::getId).collect(Collectors.toList());
+        List<CourseSubject> courseSubjects = courseSubjectRepository.findByCourseIdsWithSubject(courseIds);
+        Map<Long, List<CourseSubject>> subjectsByCourse = new HashMap<>();
+        for (CourseSubject courseSubject : courseSubjects) {
+            subjectsByCourse.computeIfAbsent(courseSubject.getCourse().getId(), id -> new ArrayList<>()).add(courseSubject);
         }
         
+        List<Long> linkIds = courseSubjects.stream().map(CourseSubject::getId).collect(Collectors.toList());
+        Map<Long, ContentCounts> linkCounts = contentCountRollupService.getSubjectLinkCounts(courseTypeId, linkIds);
+        Map<Long, List<String>> topicNames = loadTopicNames(courseTypeId, linkIds);
+        Map<Long, PricingConfiguration> pricing = loadPricing("COURSE", courseIds);
+        
+        logger.info("Active courses: {}, course subjects: {}", courses.size(), courseSubjects.size());
+        
         return courses.stream()
-                .map(this::convertToCourseCatalogueItem)
+                .map(course -> convertToCourseCatalogueItem(course,
+                        subjectsByCourse.getOrDefault(course.getId(), Collections.emptyList()),
+                        linkCounts, topicNames, pricing.get(course.getId())))
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Active topic names per subject link (relationshipId), in display order, from one query
+     */
+    private Map<Long, List<String>> loadTopicNames(Long courseTypeId, List<Long> relationshipIds) {
+        Map<Long, List<String>> topicNames = new HashMap<>();
+        if (relationshipIds.isEmpty()) {
+            return topicNames;
+        }
+        topicRepository.findByCourseTypeIdAndRelationshipIdInAndIsActiveOrderByDisplayOrderAsc(courseTypeId, relationshipIds, true)
+                .forEach(topic -> topicNames.computeIfAbsent(topic.getRelationshipId(), id -> new ArrayList<>()).add(topic.getName()));
+        return topicNames;
+    }
+    
+    /**
+     * Pricing configurations for a set of entities, keyed by entity id, from the pricing table
+     */
+    private Map<Long, PricingConfiguration> loadPricing(String entityType, List<Long> entityIds) {
+        return pricingService.getConfigurations(entityType, entityIds);
+    }
+    
     /**
      * Convert ClassEntity to ClassCatalogueItem
      */
-    private ClassCatalogueItem convertToClassCatalogueItem(ClassEntity classEntity) {
+    private ClassCatalogueItem convertToClassCatalogueItem(ClassEntity classEntity, List<ClassSubject> classSubjects,
+                                                           Map<Long, ContentCounts> linkCounts, PricingConfiguration pricingConfig) {
         ClassCatalogueItem item = new ClassCatalogueItem();
         
         item.setId(classEntity.getId());
@@ -238,85 +254,30 @@ public class CourseCatalogueService {
         item.setDuration("1 academic year"); // TODO: Make dynamic
         
         // Get pricing from pricing_configurations table
-        item.setPricing(getEntityPricing("CLASS", classEntity.getId()));
+        item.setPricing(getEntityPricing("CLASS", classEntity.getId(), pricingConfig));
         
-        // Get actual counts from database using relationshipId
-        Long courseTypeId = classEntity.getCourse() != null && 
-                           classEntity.getCourse().getCourseType() != null ? 
-                           classEntity.getCourse().getCourseType().getId() : 1L;
-        
-        List<ClassSubject> classSubjects = classSubjectRepository.findByClassEntityIdAndIsActive(classEntity.getId(), true);
-        item.setSubjectCount(classSubjects != null ? classSubjects.size() : 0);
-        
-        // Count topics, modules, chapters, questions across all classSubjects
-        int totalTopics = 0;
-        int totalModules = 0;
-        int totalChapters = 0;
-        int totalQuestions = 0;
+        item.setSubjectCount(classSubjects.size());
         
+        // Counts come from the rollup store: one row per class subject (relationshipId = classSubject.id)
+        ContentCounts total = ContentCounts.EMPTY;
         List<SubjectInfo> subjectInfoList = new ArrayList<>();
-        
-        if (classSubjects == null || classSubjects.isEmpty()) {
-            // Set defaults when no subjects
-            item.setTopicCount(0);
-            item.setModuleCount(0);
-            item.setChapterCount(0);
-            item.setQuestionCount(0);
-            item.setSubjects(new ArrayList<>());
-            return item;
-        }
-        
         for (ClassSubject classSubject : classSubjects) {
-            // Find topics using relationshipId = classSubject.id AND courseTypeId
-            List<Topic> topics = topicRepository.findByCourseTypeIdAndRelationshipIdAndIsActiveOrderByDisplayOrderAsc(
-                    courseTypeId, classSubject.getId(), true);
-            
-            int subjectTopics = topics.size();
-            int subjectModules = 0;
-            int subjectChapters = 0;
-            int subjectQuestions = 0;
-            
-            for (Topic topic : topics) {
-                List<com.coaxial.entity.Module> modules = moduleRepository.findByTopicIdAndIsActiveOrderByDisplayOrderAsc(topic.getId(), true);
-                subjectModules += modules.size();
-                
-                for (com.coaxial.entity.Module module : modules) {
-                    List<Chapter> chapters = chapterRepository.findByModuleIdAndIsActiveOrderByDisplayOrderAsc(module.getId(), true);
-                    subjectChapters += chapters.size();
-                    
-                    for (Chapter chapter : chapters) {
-                        long questionCount = questionRepository.findByChapterIdAndIsActiveOrderByDisplayOrderAsc(chapter.getId(), true).size();
-                        subjectQuestions += questionCount;
-                    }
-                }
-            }
-            
-            totalTopics += subjectTopics;
-            totalModules += subjectModules;
-            totalChapters += subjectChapters;
-            totalQuestions += subjectQuestions;
-            
-            // Build subject info
+            ContentCounts counts = linkCounts.getOrDefault(classSubject.getId(), ContentCounts.EMPTY);
+            total = total.plus(counts);
             if (classSubject.getSubject() != null) {
-                SubjectInfo subjectInfo = new SubjectInfo();
-                subjectInfo.setId(classSubject.getSubject().getId());
-                subjectInfo.setName(classSubject.getSubject().getName());
-                subjectInfo.setTopicCount(subjectTopics);
-                subjectInfo.setModuleCount(subjectModules);
-                subjectInfo.setChapterCount(subjectChapters);
-                subjectInfo.setQuestionCount(subjectQuestions);
-                subjectInfoList.add(subjectInfo);
+                subjectInfoList.add(buildSubjectInfo(classSubject.getSubject(), counts));
             }
         }
         
-        item.setTopicCount(totalTopics != 0 ? totalTopics : 0);
-        item.setModuleCount(totalModules != 0 ? totalModules : 0);
-        item.setChapterCount(totalChapters != 0 ? totalChapters : 0);
-        item.setQuestionCount(totalQuestions != 0 ? totalQuestions : 0);
-        item.setSubjects(subjectInfoList != null && !subjectInfoList.isEmpty() ? subjectInfoList : new ArrayList<>());
+        item.setTopicCount((int) total.getTopicCount());
+        item.setModuleCount((int) total.getModuleCount());
+        item.setChapterCount((int) total.getChapterCount());
+        item.setQuestionCount((int) total.getQuestionCount());
+        item.setSubjects(subjectInfoList);
         
         logger.debug("Class {}: {} subjects, {} topics, {} modules, {} chapters, {} questions",
-                classEntity.getName(), classSubjects.size(), totalTopics, totalModules, totalChapters, totalQuestions);
+                classEntity.getName(), classSubjects.size(), total.getTopicCount(), total.getModuleCount(),
+                total.getChapterCount(), total.getQuestionCount());
         
         return item;
     }
@@ -324,7 +285,10 @@ public class CourseCatalogueService {
     /**
      * Convert Exam to ExamCatalogueItem
      */
-    private ExamCatalogueItem convertToExamCatalogueItem(Exam exam) {
+    private ExamCatalogueItem convertToExamCatalogueItem(Exam exam, List<ExamSubject> examSubjects,
+                                                         Map<Long, ContentCounts> linkCounts,
+                                                         Map<Long, List<String>> topicNamesByLink,
+                                                         PricingConfiguration pricingConfig) {
         ExamCatalogueItem item = new ExamCatalogueItem();
         
         item.setId(exam.getId());
@@ -335,85 +299,30 @@ public class CourseCatalogueService {
         item.setDifficulty("Medium"); // TODO: Add to entity or calculate
         
         // Get pricing from pricing_configurations table
-        item.setPricing(getEntityPricing("EXAM", exam.getId()));
-        
-        // Get actual counts from database using relationshipId
-        Long courseTypeId = exam.getCourse() != null && 
-                           exam.getCourse().getCourseType() != null ? 
-                           exam.getCourse().getCourseType().getId() : 2L;
-        
-        List<ExamSubject> examSubjects = examSubjectRepository.findByExamId(exam.getId());
-        item.setSubjectCount(examSubjects != null ? examSubjects.size() : 0);
+        item.setPricing(getEntityPricing("EXAM", exam.getId(), pricingConfig));
         
-        // Count topics, modules, chapters, questions across all examSubjects
-        int totalTopics = 0;
-        int totalModules = 0;
-        int totalChapters = 0;
-        int totalQuestions = 0;
+        item.setSubjectCount(examSubjects.size());
         
+        ContentCounts total = ContentCounts.EMPTY;
         List<SubjectInfo> subjectInfoList = new ArrayList<>();
         List<String> topicNames = new ArrayList<>();
-        
-        if (examSubjects == null || examSubjects.isEmpty()) {
-            // Set defaults when no subjects
-            item.setTopicCount(0);
-            item.setQuestionCount(0);
-            item.setTopicsList(new ArrayList<>());
-            item.setSubjects(new ArrayList<>());
-            return item;
-        }
-        
         for (ExamSubject examSubject : examSubjects) {
-            // Find topics using relationshipId = examSubject.id AND courseTypeId
-            List<Topic> topics = topicRepository.findByCourseTypeIdAndRelationshipIdAndIsActiveOrderByDisplayOrderAsc(
-                    courseTypeId, examSubject.getId(), true);
-            
-            int subjectTopics = topics.size();
-            int subjectModules = 0;
-            int subjectChapters = 0;
-            int subjectQuestions = 0;
-            
-            for (Topic topic : topics) {
-                topicNames.add(topic.getName());
-                List<com.coaxial.entity.Module> modules = moduleRepository.findByTopicIdAndIsActiveOrderByDisplayOrderAsc(topic.getId(), true);
-                subjectModules += modules.size();
-                
-                for (com.coaxial.entity.Module module : modules) {
-                    List<Chapter> chapters = chapterRepository.findByModuleIdAndIsActiveOrderByDisplayOrderAsc(module.getId(), true);
-                    subjectChapters += chapters.size();
-                    
-                    for (Chapter chapter : chapters) {
-                        long questionCount = questionRepository.findByChapterIdAndIsActiveOrderByDisplayOrderAsc(chapter.getId(), true).size();
-                        subjectQuestions += questionCount;
-                    }
-                }
-            }
+            topicNames.addAll(topicNamesByLink.getOrDefault(examSubject.getId(), Collections.emptyList()));
             
-            totalTopics += subjectTopics;
-            totalModules += subjectModules;
-            totalChapters += subjectChapters;
-            totalQuestions += subjectQuestions;
-            
-            // Build subject info
+            ContentCounts counts = linkCounts.getOrDefault(examSubject.getId(), ContentCounts.EMPTY);
+            total = total.plus(counts);
             if (examSubject.getSubject() != null) {
-                SubjectInfo subjectInfo = new SubjectInfo();
-                subjectInfo.setId(examSubject.getSubject().getId());
-                subjectInfo.setName(examSubject.getSubject().getName());
-                subjectInfo.setTopicCount(subjectTopics);
-                subjectInfo.setModuleCount(subjectModules);
-                subjectInfo.setChapterCount(subjectChapters);
-                subjectInfo.setQuestionCount(subjectQuestions);
-                subjectInfoList.add(subjectInfo);
+                subjectInfoList.add(buildSubjectInfo(examSubject.getSubject(), counts));
             }
         }
         
-        item.setTopicCount(totalTopics != 0 ? totalTopics : 0);
-        item.setQuestionCount(totalQuestions != 0 ? totalQuestions : 0);
-        item.setTopicsList(topicNames != null && !topicNames.isEmpty() ? topicNames : new ArrayList<>());
-        item.setSubjects(subjectInfoList != null && !subjectInfoList.isEmpty() ? subjectInfoList : new ArrayList<>());
+        item.setTopicCount((int) total.getTopicCount());
+        item.setQuestionCount((int) total.getQuestionCount());
+        item.setTopicsList(topicNames);
+        item.setSubjects(subjectInfoList);
         
         logger.debug("Exam {}: {} subjects, {} topics, {} questions",
-                exam.getName(), examSubjects.size(), totalTopics, totalQuestions);
+                exam.getName(), examSubjects.size(), total.getTopicCount(), total.getQuestionCount());
         
         return item;
     }
@@ -421,7 +330,10 @@ public class CourseCatalogueService {
     /**
      * Convert Course to CourseCatalogueItem
      */
-    private CourseCatalogueItem convertToCourseCatalogueItem(Course course) {
+    private CourseCatalogueItem convertToCourseCatalogueItem(Course course, List<CourseSubject> courseSubjects,
+                                                             Map<Long, ContentCounts> linkCounts,
+                                                             Map<Long, List<String>> topicNamesByLink,
+                                                             PricingConfiguration pricingConfig) {
         CourseCatalogueItem item = new CourseCatalogueItem();
         
         item.setId(course.getId());
@@ -431,72 +343,45 @@ public class CourseCatalogueService {
         item.setDuration("6 months"); // TODO: Make dynamic
         
         // Get pricing from pricing_configurations table
-        item.setPricing(getEntityPricing("COURSE", course.getId()));
-        
-        // Get actual counts from database using relationshipId
-        Long courseTypeId = course.getCourseType() != null ? course.getCourseType().getId() : 3L;
-        
-        List<CourseSubject> courseSubjects = courseSubjectRepository.findByCourseId(course.getId());
+        item.setPricing(getEntityPricing("COURSE", course.getId(), pricingConfig));
         
-        // Count topics, modules, chapters across all courseSubjects
-        int totalTopics = 0;
-        int totalModules = 0;
-        int totalChapters = 0;
+        ContentCounts total = ContentCounts.EMPTY;
         List<String> skills = new ArrayList<>();
-        
-        if (courseSubjects == null || courseSubjects.isEmpty()) {
-            // Set defaults when no subjects
-            item.setTopicCount(0);
-            item.setModuleCount(0);
-            item.setChapterCount(0);
-            item.setProjectCount(0);
-            item.setSkillsCovered(new ArrayList<>());
-            return item;
-        }
-        
         for (CourseSubject courseSubject : courseSubjects) {
-            // Find topics using relationshipId = courseSubject.id AND courseTypeId
-            List<Topic> topics = topicRepository.findByCourseTypeIdAndRelationshipIdAndIsActiveOrderByDisplayOrderAsc(
-                    courseTypeId, courseSubject.getId(), true);
-            
-            totalTopics += topics.size();
-            
-            for (Topic topic : topics) {
-                skills.add(topic.getName());
-                List<com.coaxial.entity.Module> modules = moduleRepository.findByTopicIdAndIsActiveOrderByDisplayOrderAsc(topic.getId(), true);
-                totalModules += modules.size();
-                
-                for (com.coaxial.entity.Module module : modules) {
-                    List<Chapter> chapters = chapterRepository.findByModuleIdAndIsActiveOrderByDisplayOrderAsc(module.getId(), true);
-                    totalChapters += chapters.size();
-                }
-            }
+            skills.addAll(topicNamesByLink.getOrDefault(courseSubject.getId(), Collections.emptyList()));
+            total = total.plus(linkCounts.getOrDefault(courseSubject.getId(), ContentCounts.EMPTY));
         }
         
-        item.setTopicCount(totalTopics != 0 ? totalTopics : 0);
-        item.setModuleCount(totalModules != 0 ? totalModules : 0);
-        item.setChapterCount(totalChapters != 0 ? totalChapters : 0);
+        item.setTopicCount((int) total.getTopicCount());
+        item.setModuleCount((int) total.getModuleCount());
+        item.setChapterCount((int) total.getChapterCount());
         item.setProjectCount(0); // TODO: Add project count if applicable
-        item.setSkillsCovered(skills != null && !skills.isEmpty() ? skills : new ArrayList<>());
+        item.setSkillsCovered(skills);
         
         logger.debug("Course {}: {} topics, {} modules, {} chapters",
-                course.getName(), totalTopics, totalModules, totalChapters);
+                course.getName(), total.getTopicCount(), total.getModuleCount(), total.getChapterCount());
         
         return item;
     }
     
+    private SubjectInfo buildSubjectInfo(Subject subject, ContentCounts counts) {
+        SubjectInfo subjectInfo = new SubjectInfo();
+        subjectInfo.setId(subject.getId());
+        subjectInfo.setName(subject.getName());
+        subjectInfo.setTopicCount((int) counts.getTopicCount());
+        subjectInfo.setModuleCount((int) counts.getModuleCount());
+        subjectInfo.setChapterCount((int) counts.getChapterCount());
+        subjectInfo.setQuestionCount((int) counts.getQuestionCount());
+        return subjectInfo;
+    }
+    
     /**
-     * Get pricing for entity (Class, Exam, or Course)
+     * Get pricing for entity (Class, Exam, or Course) from its preloaded configuration, if any
      */
-    private PricingInfo getEntityPricing(String entityType, Long entityId) {
+    private PricingInfo getEntityPricing(String entityType, Long entityId, PricingConfiguration config) {
         PricingInfo pricing = new PricingInfo();
         
-        Optional<PricingConfiguration> configOpt = pricingConfigRepository
-                .findByEntityTypeAndEntityId(entityType, entityId);
-        
-        if (configOpt.isPresent() && configOpt.get().getIsActive()) {
-            PricingConfiguration config = configOpt.get();
-            
+        if (config != null && config.getIsActive()) {
             pricing.setMonthlyPrice(config.getMonthlyPrice() != null ? config.getMonthlyPrice() : BigDecimal.ZERO);
             pricing.setQuarterlyPrice(config.getQuarterlyPrice() != null ? config.getQuarterlyPrice() : BigDecimal.ZERO);
             pricing.setYearlyPrice(config.getYearlyPrice() != null ? config.getYearlyPrice() : BigDecimal.ZERO);
@@ -627,7 +512,7 @@ public class CourseCatalogueService {
                     classInfo.put("subjectCount", classSubjects.size());
                     
                     // Check pricing
-                    boolean hasPricing = pricingConfigRepository.existsByEntityTypeAndEntityId("CLASS", classEntity.getId());
+                    boolean hasPricing = pricingService.getConfiguration("CLASS", classEntity.getId()) != null;
                     classInfo.put("hasPricing", hasPricing);
                     
                     classDetails.add(classInfo);
@@ -650,7 +535,7 @@ public class CourseCatalogueService {
                     examInfo.put("subjectCount", examSubjects.size());
                     
                     // Check pricing
-                    boolean hasPricing = pricingConfigRepository.existsByEntityTypeAndEntityId("EXAM", exam.getId());
+                    boolean hasPricing = pricingService.getConfiguration("EXAM", exam.getId()) != null;
                     examInfo.put("hasPricing", hasPricing);
                     
                     examDetails.add(examInfo);
@@ -663,7 +548,7 @@ public class CourseCatalogueService {
                 courseInfo.put("subjectCount", courseSubjects.size());
                 
                 // Check pricing
-                boolean hasPricing = pricingConfigRepository.existsByEntityTypeAndEntityId("COURSE", course.getId());
+                boolean hasPricing = pricingService.getConfiguration("COURSE", course.getId()) != null;
                 courseInfo.put("hasPricing", hasPricing);
             }
             
@@ -0,0 +1,318 @@
+package com.coaxial.service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.coaxial.config.SqlStatementCounter;
+import com.coaxial.dto.CourseCatalogueResponse;
+import com.coaxial.event.CacheInvalidationEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Serves the public course catalogue from an immutable, pre-serialized snapshot.
+ * Master data and question writes only mark the snapshot dirty; a background job rebuilds it,
+ * so bursts of anonymous catalogue traffic never reach the database. Each document carries a
+ * content-hash ETag, and the version and Last-Modified only advance when the content changes.
+ */
+@Service
+public class CourseCatalogueSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseCatalogueSnapshotService.class);
+
+    private static final long ACADEMIC = 1L;
+    private static final long COMPETITIVE = 2L;
+    private static final long PROFESSIONAL = 3L;
+
+    @Autowired
+    private CourseCatalogueService catalogueService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Offer validity flags depend on the clock, so the snapshot is also refreshed periodically
+    @Value("${app.catalogue.snapshot.max-age-minutes:15}")
+    private long maxAgeMinutes;
+
+    private final AtomicReference<CatalogueSnapshot> current = new AtomicReference<>();
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+    private final Object rebuildLock = new Object();
+
+    private volatile Instant lastBuiltAt = Instant.EPOCH;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildInitialSnapshot() {
+        rebuildQuietly();
+    }
+
+    // Master data and question writes on any instance
+    @EventListener
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        dirty.set(true);
+    }
+
+    /**
+     * Rebuild when writes have marked the snapshot dirty or it has reached its maximum age.
+     * Polling coalesces a burst of admin edits into a single rebuild.
+     */
+    @Scheduled(fixedDelayString = "${app.catalogue.snapshot.rebuild-delay-ms:5000}",
+               initialDelayString = "${app.catalogue.snapshot.rebuild-delay-ms:5000}")
+    public void rebuildIfStale() {
+        boolean expired = lastBuiltAt.plus(maxAgeMinutes, ChronoUnit.MINUTES).isBefore(Instant.now());
+        if (dirty.get() || expired) {
+            rebuildQuietly();
+        }
+    }
+
+    /**
+     * Current snapshot; built on the calling thread only if no snapshot exists yet
+     */
+    public CatalogueSnapshot getSnapshot() {
+        CatalogueSnapshot snapshot = current.get();
+        if (snapshot != null) {
+            return snapshot;
+        }
+        synchronized (rebuildLock) {
+            snapshot = current.get();
+            return snapshot != null ? snapshot : rebuild();
+        }
+    }
+
+    /**
+     * Build the catalogue and publish it as a new snapshot if its content changed
+     */
+    public CatalogueSnapshot rebuild() {
+        synchronized (rebuildLock) {
+            // Cleared before reading so a write that commits during the build triggers another one
+            dirty.set(false);
+            long startedAt = System.currentTimeMillis();
+            // The build is query-count bounded per course type; track every JDBC statement (Hibernate and
+            // JdbcTemplate rollup reads) per course type so regressions show up in the logs
+            int statementsBefore = SqlStatementCounter.current();
+            if (statementsBefore < 0) {
+                SqlStatementCounter.start();
+            }
+            int statements;
+            Map<Long, CourseCatalogueResponse> catalogues = new LinkedHashMap<>();
+            Map<Long, Integer> statementsByCourseType = new LinkedHashMap<>();
+            try {
+                for (long courseTypeId : new long[] { ACADEMIC, COMPETITIVE, PROFESSIONAL }) {
+                    int courseTypeStart = SqlStatementCounter.current();
+                    try {
+                        catalogues.put(courseTypeId, catalogueService.getCourseCatalogue(courseTypeId));
+                    } catch (IllegalArgumentException e) {
+                        logger.warn("Course type {} not found, leaving it out of the catalogue snapshot", courseTypeId);
+                    }
+                    statementsByCourseType.put(courseTypeId, SqlStatementCounter.current() - courseTypeStart);
+                }
+            } finally {
+                statements = statementsBefore < 0
+                        ? SqlStatementCounter.stop()
+                        : SqlStatementCounter.current() - statementsBefore;
+            }
+            CourseCatalogueResponse combined = catalogueService.combineCatalogues(
+                    catalogues.containsKey(ACADEMIC) ? catalogues.get(ACADEMIC).getClasses() : null,
+                    catalogues.containsKey(COMPETITIVE) ? catalogues.get(COMPETITIVE).getExams() : null,
+                    catalogues.containsKey(PROFESSIONAL) ? catalogues.get(PROFESSIONAL).getCourses() : null);
+
+            Map<Long, String> hashes = new HashMap<>();
+            catalogues.forEach((courseTypeId, catalogue) -> hashes.put(courseTypeId, contentHash(catalogue)));
+            String combinedHash = contentHash(combined);
+
+            CatalogueSnapshot previous = current.get();
+            lastBuiltAt = Instant.now();
+            if (previous != null && previous.hasSameContent(combinedHash, hashes)) {
+                logger.debug("Course catalogue unchanged after {} statements (per course type {}), keeping snapshot version {}",
+                        statements, statementsByCourseType, previous.getVersion());
+                return previous;
+            }
+
+            Instant lastModified = lastBuiltAt.truncatedTo(ChronoUnit.SECONDS);
+            String timestamp = LocalDateTime.ofInstant(lastModified, ZoneId.systemDefault()).toString();
+
+            Map<Long, CatalogueDocument> documents = new HashMap<>();
+            catalogues.forEach((courseTypeId, catalogue) -> documents.put(courseTypeId,
+                    new CatalogueDocument(serialize(buildCourseTypeBody(catalogue, timestamp)), hashes.get(courseTypeId))));
+            CatalogueDocument all = new CatalogueDocument(serialize(buildAllBody(combined, timestamp)), combinedHash);
+
+            long version = previous != null ? previous.getVersion() + 1 : 1L;
+            CatalogueSnapshot snapshot = new CatalogueSnapshot(version, lastModified, all, documents);
+            current.set(snapshot);
+
+            logger.info("Course catalogue snapshot v{} built in {} ms with {} statements (per course type {}): {} classes, {} exams, {} courses",
+                    version, System.currentTimeMillis() - startedAt, statements, statementsByCourseType,
+                    combined.getClasses().size(), combined.getExams().size(), combined.getCourses().size());
+            return snapshot;
+        }
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            // Keep serving the previous snapshot and retry on the next poll
+            dirty.set(true);
+            logger.error("Failed to rebuild course catalogue snapshot", e);
+        }
+    }
+
+    /**
+     * Response body for /all, in the shape the endpoint has always returned
+     */
+    private Map<String, Object> buildAllBody(CourseCatalogueResponse catalogue, String timestamp) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("success", true);
+        response.put("courseType", catalogue.getCourseType());
+        response.put("description", catalogue.getDescription());
+        response.put("classes", catalogue.getClasses());
+        response.put("classCount", catalogue.getClasses().size());
+        response.put("exams", catalogue.getExams());
+        response.put("examCount", catalogue.getExams().size());
+        response.put("courses", catalogue.getCourses());
+        response.put("courseCount", catalogue.getCourses().size());
+        response.put("timestamp", timestamp);
+        return response;
+    }
+
+    /**
+     * Response body for a single course type, in the shape the endpoint has always returned
+     */
+    private Map<String, Object> buildCourseTypeBody(CourseCatalogueResponse catalogue, String timestamp) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("success", true);
+        response.put("courseTypeId", catalogue.getCourseTypeId());
+        response.put("courseType", catalogue.getCourseType());
+        response.put("description", catalogue.getDescription());
+
+        if (catalogue.getClasses() != null && !catalogue.getClasses().isEmpty()) {
+            response.put("classes", catalogue.getClasses());
+            response.put("count", catalogue.getClasses().size());
+        } else if (catalogue.getExams() != null && !catalogue.getExams().isEmpty()) {
+            response.put("exams", catalogue.getExams());
+            response.put("count", catalogue.getExams().size());
+        } else if (catalogue.getCourses() != null && !catalogue.getCourses().isEmpty()) {
+            response.put("courses", catalogue.getCourses());
+            response.put("count", catalogue.getCourses().size());
+        } else {
+            response.put("count", 0);
+            response.put("message", "No data found for this course type");
+        }
+
+        response.put("timestamp", timestamp);
+        return response;
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize course catalogue", e);
+        }
+    }
+
+    private String contentHash(CourseCatalogueResponse catalogue) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(serialize(catalogue));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Immutable catalogue snapshot: one serialized document per course type plus the combined one
+     */
+    public static class CatalogueSnapshot {
+
+        private final long version;
+        private final Instant lastModified;
+        private final CatalogueDocument all;
+        private final Map<Long, CatalogueDocument> byCourseType;
+
+        CatalogueSnapshot(long version, Instant lastModified, CatalogueDocument all,
+                          Map<Long, CatalogueDocument> byCourseType) {
+            this.version = version;
+            this.lastModified = lastModified;
+            this.all = all;
+            this.byCourseType = Collections.unmodifiableMap(byCourseType);
+        }
+
+        boolean hasSameContent(String allHash, Map<Long, String> courseTypeHashes) {
+            if (!all.getContentHash().equals(allHash) || byCourseType.size() != courseTypeHashes.size()) {
+                return false;
+            }
+            for (Map.Entry<Long, String> entry : courseTypeHashes.entrySet()) {
+                CatalogueDocument document = byCourseType.get(entry.getKey());
+                if (document == null || !document.getContentHash().equals(entry.getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public Instant getLastModified() {
+            return lastModified;
+        }
+
+        public CatalogueDocument getAll() {
+            return all;
+        }
+
+        /**
+         * Document for a course type, or null if the course type does not exist
+         */
+        public CatalogueDocument getCourseType(Long courseTypeId) {
+            return byCourseType.get(courseTypeId);
+        }
+    }
+
+    /**
+     * Serialized JSON body and the hash of the catalogue it was built from
+     */
+    public static class CatalogueDocument {
+
+        private final byte[] body;
+        private final String contentHash;
+
+        CatalogueDocument(byte[] body, String contentHash) {
+            this.body = body;
+            this.contentHash = contentHash;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        public String getContentHash() {
+            return contentHash;
+        }
+
+        public String getETag() {
+            return "\"" + contentHash + "\"";
+        }
+    }
+}
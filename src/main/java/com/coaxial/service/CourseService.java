@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -17,6 +18,7 @@ import com.coaxial.dto.CourseResponse;
 import com.coaxial.entity.Course;
 import com.coaxial.entity.CourseType;
 import com.coaxial.entity.User;
+import com.coaxial.event.MasterDataChangedEvent;
 import com.coaxial.repository.CourseRepository;
 import com.coaxial.repository.CourseTypeRepository;
 
@@ -30,6 +32,9 @@ public class CourseService {
     @Autowired
     private CourseTypeRepository courseTypeRepository;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     // Create new course
     public CourseResponse createCourse(CourseRequest courseRequest) {
         // Validate course type exists
@@ -50,6 +55,7 @@ public class CourseService {
         course.setCreatedBy(getCurrentUser());
         
         Course savedCourse = courseRepository.save(course);
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.COURSE, savedCourse.getId()));
         return convertToResponse(savedCourse);
     }
     
@@ -160,6 +166,7 @@ public class CourseService {
         course.setUpdatedBy(getCurrentUser());
         
         Course updatedCourse = courseRepository.save(course);
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.COURSE, updatedCourse.getId()));
         return convertToResponse(updatedCourse);
     }
     
@@ -169,6 +176,7 @@ public class CourseService {
             throw new IllegalArgumentException("Course not found with id: " + id);
         }
         courseRepository.deleteById(id);
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.COURSE, id));
     }
     
     // Get courses by course type
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,6 +13,7 @@ import com.coaxial.dto.CourseSubjectResponseDTO;
 import com.coaxial.entity.Course;
 import com.coaxial.entity.CourseSubject;
 import com.coaxial.entity.Subject;
+import com.coaxial.event.MasterDataChangedEvent;
 import com.coaxial.repository.CourseRepository;
 import com.coaxial.repository.CourseSubjectRepository;
 import com.coaxial.repository.SubjectRepository;
@@ -29,6 +31,9 @@ public class CourseSubjectService {
     @Autowired
     private SubjectRepository subjectRepository;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     // Add subjects to course
     public List<CourseSubjectResponseDTO> addSubjectsToCourse(CourseSubjectRequestDTO request) {
         // Validate course exists
@@ -62,6 +67,7 @@ public class CourseSubjectService {
             .collect(Collectors.toList());
         
         List<CourseSubject> savedCourseSubjects = courseSubjectRepository.saveAll(courseSubjects);
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.COURSE_SUBJECT, null));
         return savedCourseSubjects.stream()
             .map(this::convertToResponse)
             .collect(Collectors.toList());
@@ -108,6 +114,7 @@ public class CourseSubjectService {
         courseSubject.setDisplayOrder(request.getDisplayOrder());
         
         CourseSubject updatedCourseSubject = courseSubjectRepository.save(courseSubject);
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.COURSE_SUBJECT, updatedCourseSubject.getId()));
         return convertToResponse(updatedCourseSubject);
     }
     
@@ -117,6 +124,7 @@ public class CourseSubjectService {
             throw new IllegalArgumentException("Course-Subject relationship not found");
         }
         courseSubjectRepository.deleteById(id);
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.COURSE_SUBJECT, id));
     }
     
     // Bulk remove subjects from course
@@ -128,6 +136,7 @@ public class CourseSubjectService {
         List<CourseSubject> courseSubjects = courseSubjectRepository.findByCourseAndSubjectIn(course, subjects);
         
         courseSubjectRepository.deleteAll(courseSubjects);
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.COURSE_SUBJECT, null));
     }
     
     // Convert CourseSubject entity to CourseSubjectResponseDTO
@@ -3,12 +3,14 @@ package com.coaxial.service;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.coaxial.entity.CourseType;
+import com.coaxial.event.MasterDataChangedEvent;
 import com.coaxial.repository.CourseTypeRepository;
 
 import jakarta.persistence.EntityNotFoundException;
@@ -20,6 +22,9 @@ public class CourseTypeService {
     @Autowired
     private CourseTypeRepository courseTypeRepository;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     public List<CourseType> getAllCourseTypes(Boolean active) {
         if (active != null && active) {
             return courseTypeRepository.findByIsActiveTrueOrderByDisplayOrderAsc();
@@ -39,7 +44,9 @@ public class CourseTypeService {
             throw new IllegalArgumentException("Course type with name '" + courseType.getName() + "' already exists");
         }
         
-        return courseTypeRepository.save(courseType);
+        CourseType savedCourseType = courseTypeRepository.save(courseType);
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.COURSE_TYPE, savedCourseType.getId()));
+        return savedCourseType;
     }
     
     public CourseType updateCourseType(Long id, CourseType courseType) {
@@ -58,13 +65,16 @@ public class CourseTypeService {
         existingCourseType.setDisplayOrder(courseType.getDisplayOrder());
         existingCourseType.setIsActive(courseType.getIsActive());
         
-        return courseTypeRepository.save(existingCourseType);
+        CourseType updatedCourseType = courseTypeRepository.save(existingCourseType);
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.COURSE_TYPE, updatedCourseType.getId()));
+        return updatedCourseType;
     }
     
     public void deleteCourseType(Long id) {
         // Check if course type exists
         getCourseTypeById(id);
         courseTypeRepository.deleteById(id);
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.COURSE_TYPE, id));
     }
     
     // Paginated method for standardized endpoints
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -18,6 +19,7 @@ import com.coaxial.entity.Course;
 import com.coaxial.entity.CourseType;
 import com.coaxial.entity.Exam;
 import com.coaxial.entity.User;
+import com.coaxial.event.MasterDataChangedEvent;
 import com.coaxial.repository.CourseRepository;
 import com.coaxial.repository.ExamRepository;
 
@@ -31,6 +33,9 @@ public class ExamService {
     @Autowired
     private CourseRepository courseRepository;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     // Create new exam
     public ExamResponse createExam(ExamRequest examRequest) {
         // Validate course exists
@@ -51,6 +56,7 @@ public class ExamService {
         exam.setCreatedBy(getCurrentUser());
         
         Exam savedExam = examRepository.save(exam);
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.EXAM, savedExam.getId()));
         return convertToResponse(savedExam);
     }
     
@@ -170,6 +176,7 @@ public class ExamService {
         exam.setUpdatedBy(getCurrentUser());
         
         Exam updatedExam = examRepository.save(exam);
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.EXAM, updatedExam.getId()));
         return convertToResponse(updatedExam);
     }
     
@@ -179,6 +186,7 @@ public class ExamService {
             throw new IllegalArgumentException("Exam not found with id: " + id);
         }
         examRepository.deleteById(id);
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.EXAM, id));
     }
     
     // Get exams by course
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,6 +13,7 @@ import com.coaxial.dto.ExamSubjectResponseDTO;
 import com.coaxial.entity.Exam;
 import com.coaxial.entity.ExamSubject;
 import com.coaxial.entity.Subject;
+import com.coaxial.event.MasterDataChangedEvent;
 import com.coaxial.repository.ExamRepository;
 import com.coaxial.repository.ExamSubjectRepository;
 import com.coaxial.repository.SubjectRepository;
@@ -29,6 +31,9 @@ public class ExamSubjectService {
     @Autowired
     private SubjectRepository subjectRepository;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     // Add subjects to exam
     public List<ExamSubjectResponseDTO> addSubjectsToExam(ExamSubjectRequestDTO request) {
         // Validate exam exists
@@ -62,6 +67,7 @@ public class ExamSubjectService {
             .collect(Collectors.toList());
         
         List<ExamSubject> savedExamSubjects = examSubjectRepository.saveAll(examSubjects);
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.EXAM_SUBJECT, null));
         return savedExamSubjects.stream()
             .map(this::convertToResponse)
             .collect(Collectors.toList());
@@ -108,6 +114,7 @@ public class ExamSubjectService {
         examSubject.setDisplayOrder(request.getDisplayOrder());
         
         ExamSubject updatedExamSubject = examSubjectRepository.save(examSubject);
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.EXAM_SUBJECT, updatedExamSubject.getId()));
         return convertToResponse(updatedExamSubject);
     }
     
@@ -117,6 +124,7 @@ public class ExamSubjectService {
             throw new IllegalArgumentException("Exam-Subject relationship not found");
         }
         examSubjectRepository.deleteById(id);
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.EXAM_SUBJECT, id));
     }
     
     // Bulk remove subjects from exam
@@ -128,6 +136,7 @@ public class ExamSubjectService {
         List<ExamSubject> examSubjects = examSubjectRepository.findByExamAndSubjectIn(exam, subjects);
         
         examSubjectRepository.deleteAll(examSubjects);
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.EXAM_SUBJECT, null));
     }
     
     // Convert ExamSubject entity to ExamSubjectResponseDTO
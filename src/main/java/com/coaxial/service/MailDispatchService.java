@@ -0,0 +1,149 @@
+package com.coaxial.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Bounded-concurrency mail queue with retry and rate limiting.
+ * When the queue is full the submitting thread sends the message itself,
+ * which throttles producers instead of buffering an unbounded backlog.
+ */
+@Service
+public class MailDispatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MailDispatchService.class);
+
+    @Autowired(required = false)
+    private JavaMailSender mailSender;
+
+    @Value("${app.mail.dispatch.concurrency:4}")
+    private int concurrency;
+
+    @Value("${app.mail.dispatch.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${app.mail.dispatch.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.mail.dispatch.retry-backoff-ms:2000}")
+    private long retryBackoffMs;
+
+    @Value("${app.mail.dispatch.rate-per-second:5}")
+    private double ratePerSecond;
+
+    private ThreadPoolExecutor executor;
+
+    private final Object rateLock = new Object();
+    private long nextSendAtNanos = 0L;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCounter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                concurrency, concurrency,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "mail-dispatch-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            logger.warn("Mail dispatch queue did not drain in time, {} messages dropped", executor.getQueue().size());
+            executor.shutdownNow();
+        }
+    }
+
+    public boolean isMailConfigured() {
+        return mailSender != null;
+    }
+
+    /**
+     * Queue a message for delivery. The future completes with true once the message is sent,
+     * or false after all retry attempts fail.
+     */
+    public CompletableFuture<Boolean> submit(SimpleMailMessage message) {
+        if (mailSender == null) {
+            logger.warn("Mail sender not configured. Message not sent to: {}", (Object) message.getTo());
+            return CompletableFuture.completedFuture(false);
+        }
+        return CompletableFuture.supplyAsync(() -> sendWithRetry(message), executor);
+    }
+
+    private boolean sendWithRetry(SimpleMailMessage message) {
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                acquireSendPermit();
+                mailSender.send(message);
+                return true;
+            } catch (MailAuthenticationException | MailParseException e) {
+                // Not transient - retrying will not help
+                logger.error("Mail to {} rejected permanently: {}", (Object) message.getTo(), e.getMessage());
+                return false;
+            } catch (MailException e) {
+                logger.warn("Mail to {} failed (attempt {}/{}): {}",
+                        (Object) message.getTo(), attempt, maxAttempts, e.getMessage());
+                if (attempt < maxAttempts && !sleepQuietly(retryBackoffMs << (attempt - 1))) {
+                    return false;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Space sends evenly so the SMTP relay never sees more than ratePerSecond messages per second.
+     */
+    private void acquireSendPermit() throws InterruptedException {
+        if (ratePerSecond <= 0) {
+            return;
+        }
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        long waitNanos;
+        synchronized (rateLock) {
+            long now = System.nanoTime();
+            long sendAt = Math.max(now, nextSendAtNanos);
+            nextSendAtNanos = sendAt + intervalNanos;
+            waitNanos = sendAt - now;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    private boolean sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
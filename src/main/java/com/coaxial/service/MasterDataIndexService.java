@@ -0,0 +1,369 @@
+package com.coaxial.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.coaxial.event.CacheInvalidationEvent;
+import com.coaxial.event.MasterDataChangedEvent;
+
+/**
+ * Process-local, immutable index of the course hierarchy master data: course types, courses,
+ * classes, exams, subjects and the class/exam/course subject links. These tables are small and
+ * rarely change, so name resolution and hierarchy traversal read them from memory instead of
+ * issuing a findById per row. Master data writes on any instance mark the index stale after commit
+ * and the next reader reloads it, so a committed change is visible to the very next request.
+ */
+@Service
+public class MasterDataIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MasterDataIndexService.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final AtomicReference<MasterDataIndex> current = new AtomicReference<>();
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+    private final Object reloadLock = new Object();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInitialIndex() {
+        try {
+            getIndex();
+        } catch (Exception e) {
+            // Loaded on first use instead
+            logger.error("Failed to load master data index", e);
+        }
+    }
+
+    @EventListener
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (!event.isQuestionChange() && !MasterDataChangedEvent.PRICING.equals(event.getEntityType())) {
+            stale.set(true);
+        }
+    }
+
+    /**
+     * Current index, reloaded on the calling thread if master data changed since it was built
+     */
+    public MasterDataIndex getIndex() {
+        MasterDataIndex index = current.get();
+        if (index != null && !stale.get()) {
+            return index;
+        }
+        synchronized (reloadLock) {
+            index = current.get();
+            if (index != null && !stale.get()) {
+                return index;
+            }
+            // Cleared before reading so a write that commits during the load triggers another one
+            stale.set(false);
+            try {
+                index = load();
+            } catch (RuntimeException e) {
+                stale.set(true);
+                throw e;
+            }
+            current.set(index);
+            return index;
+        }
+    }
+
+    private MasterDataIndex load() {
+        long startedAt = System.currentTimeMillis();
+        MasterDataIndex index = new MasterDataIndex();
+
+        jdbcTemplate.query("SELECT id, name, structure_type, is_active FROM course_types ORDER BY id", rs -> {
+            index.courseTypes.put(rs.getLong("id"), new Node(rs.getLong("id"), rs.getString("name"),
+                    0L, rs.getString("structure_type"), isActive(rs.getObject("is_active"))));
+        });
+        jdbcTemplate.query("SELECT id, name, course_type_id, is_active FROM courses ORDER BY id", rs -> {
+            index.courses.put(rs.getLong("id"), new Node(rs.getLong("id"), rs.getString("name"),
+                    rs.getLong("course_type_id"), null, isActive(rs.getObject("is_active"))));
+        });
+        jdbcTemplate.query("SELECT id, name, course_id, is_active FROM classes ORDER BY id", rs -> {
+            index.classes.put(rs.getLong("id"), new Node(rs.getLong("id"), rs.getString("name"),
+                    rs.getLong("course_id"), null, isActive(rs.getObject("is_active"))));
+        });
+        jdbcTemplate.query("SELECT id, name, course_id, is_active FROM exams ORDER BY id", rs -> {
+            index.exams.put(rs.getLong("id"), new Node(rs.getLong("id"), rs.getString("name"),
+                    rs.getLong("course_id"), null, isActive(rs.getObject("is_active"))));
+        });
+        jdbcTemplate.query("SELECT id, name, course_type_id, is_active FROM subjects ORDER BY id", rs -> {
+            index.subjects.put(rs.getLong("id"), new Node(rs.getLong("id"), rs.getString("name"),
+                    rs.getLong("course_type_id"), null, isActive(rs.getObject("is_active"))));
+        });
+        jdbcTemplate.query("SELECT id, class_id, subject_id, is_active FROM class_subjects ORDER BY id", rs -> {
+            index.addLink(new SubjectLink(rs.getLong("id"), MasterDataIndex.ACADEMIC, rs.getLong("class_id"),
+                    rs.getLong("subject_id"), isActive(rs.getObject("is_active"))));
+        });
+        // Exam and course subject links have no active flag
+        jdbcTemplate.query("SELECT id, exam_id, subject_id FROM exam_subjects ORDER BY id", rs -> {
+            index.addLink(new SubjectLink(rs.getLong("id"), MasterDataIndex.COMPETITIVE, rs.getLong("exam_id"),
+                    rs.getLong("subject_id"), true));
+        });
+        jdbcTemplate.query("SELECT id, course_id, subject_id FROM course_subjects ORDER BY id", rs -> {
+            index.addLink(new SubjectLink(rs.getLong("id"), MasterDataIndex.PROFESSIONAL, rs.getLong("course_id"),
+                    rs.getLong("subject_id"), true));
+        });
+
+        index.seal();
+        logger.info("Master data index loaded in {} ms: {} course types, {} courses, {} classes, {} exams, {} subjects, {} subject links",
+                System.currentTimeMillis() - startedAt, index.courseTypes.size(), index.courses.size(),
+                index.classes.size(), index.exams.size(), index.subjects.size(), index.linkCount());
+        return index;
+    }
+
+    private static boolean isActive(Object value) {
+        return value == null || Boolean.TRUE.equals(value);
+    }
+
+    /**
+     * Immutable id-keyed view of the hierarchy with parent/child adjacency arrays.
+     * Subject links are keyed by the topic course type (1 class, 2 exam, 3 course subjects),
+     * matching how Topic.relationshipId is interpreted.
+     */
+    public static class MasterDataIndex {
+
+        public static final long ACADEMIC = 1L;
+        public static final long COMPETITIVE = 2L;
+        public static final long PROFESSIONAL = 3L;
+
+        private static final long[] NONE = new long[0];
+
+        private final Map<Long, Node> courseTypes = new HashMap<>();
+        private final Map<Long, Node> courses = new HashMap<>();
+        private final Map<Long, Node> classes = new HashMap<>();
+        private final Map<Long, Node> exams = new HashMap<>();
+        private final Map<Long, Node> subjects = new HashMap<>();
+        private final Map<Long, Map<Long, SubjectLink>> links = new HashMap<>();
+
+        private final Map<Long, long[]> coursesByCourseType = new HashMap<>();
+        private final Map<Long, long[]> classesByCourse = new HashMap<>();
+        private final Map<Long, long[]> examsByCourse = new HashMap<>();
+        private final Map<Long, Map<Long, long[]>> linksByOwner = new HashMap<>();
+        private final Map<Long, Map<Long, long[]>> linksBySubject = new HashMap<>();
+
+        MasterDataIndex() {
+            for (long courseTypeId : new long[] { ACADEMIC, COMPETITIVE, PROFESSIONAL }) {
+                links.put(courseTypeId, new HashMap<>());
+            }
+        }
+
+        void addLink(SubjectLink link) {
+            links.get(link.getCourseTypeId()).put(link.getId(), link);
+        }
+
+        int linkCount() {
+            return links.values().stream().mapToInt(Map::size).sum();
+        }
+
+        void seal() {
+            coursesByCourseType.putAll(adjacency(courses.values()));
+            classesByCourse.putAll(adjacency(classes.values()));
+            examsByCourse.putAll(adjacency(exams.values()));
+            for (Map.Entry<Long, Map<Long, SubjectLink>> entry : links.entrySet()) {
+                Map<Long, List<Long>> byOwner = new HashMap<>();
+                Map<Long, List<Long>> bySubject = new HashMap<>();
+                for (SubjectLink link : entry.getValue().values()) {
+                    byOwner.computeIfAbsent(link.getOwnerId(), id -> new ArrayList<>()).add(link.getId());
+                    bySubject.computeIfAbsent(link.getSubjectId(), id -> new ArrayList<>()).add(link.getId());
+                }
+                linksByOwner.put(entry.getKey(), toArrays(byOwner));
+                linksBySubject.put(entry.getKey(), toArrays(bySubject));
+            }
+        }
+
+        private static Map<Long, long[]> adjacency(Iterable<Node> nodes) {
+            Map<Long, List<Long>> children = new HashMap<>();
+            for (Node node : nodes) {
+                children.computeIfAbsent(node.getParentId(), id -> new ArrayList<>()).add(node.getId());
+            }
+            return toArrays(children);
+        }
+
+        private static Map<Long, long[]> toArrays(Map<Long, List<Long>> lists) {
+            Map<Long, long[]> arrays = new HashMap<>();
+            lists.forEach((key, ids) -> arrays.put(key, ids.stream().mapToLong(Long::longValue).sorted().toArray()));
+            return arrays;
+        }
+
+        public Node getCourseType(Long id) {
+            return id != null ? courseTypes.get(id) : null;
+        }
+
+        public Node getCourse(Long id) {
+            return id != null ? courses.get(id) : null;
+        }
+
+        public Node getClassEntity(Long id) {
+            return id != null ? classes.get(id) : null;
+        }
+
+        public Node getExam(Long id) {
+            return id != null ? exams.get(id) : null;
+        }
+
+        public Node getSubject(Long id) {
+            return id != null ? subjects.get(id) : null;
+        }
+
+        /**
+         * Subject link a topic points at, or null if the course type or link is unknown
+         */
+        public SubjectLink getLink(Long courseTypeId, Long linkId) {
+            Map<Long, SubjectLink> byId = courseTypeId != null ? links.get(courseTypeId) : null;
+            return byId != null && linkId != null ? byId.get(linkId) : null;
+        }
+
+        /**
+         * Master subject of a subject link, e.g. a topic's course type and relationship id
+         */
+        public Node getLinkedSubject(Long courseTypeId, Long relationshipId) {
+            SubjectLink link = getLink(courseTypeId, relationshipId);
+            return link != null ? subjects.get(link.getSubjectId()) : null;
+        }
+
+        /**
+         * Class, exam or course that owns the link
+         */
+        public Node getOwner(SubjectLink link) {
+            if (link.getCourseTypeId() == ACADEMIC) {
+                return classes.get(link.getOwnerId());
+            } else if (link.getCourseTypeId() == COMPETITIVE) {
+                return exams.get(link.getOwnerId());
+            }
+            return courses.get(link.getOwnerId());
+        }
+
+        /**
+         * Course the link belongs to, directly or through its class or exam
+         */
+        public Node getCourse(SubjectLink link) {
+            if (link.getCourseTypeId() == PROFESSIONAL) {
+                return courses.get(link.getOwnerId());
+            }
+            Node owner = getOwner(link);
+            return owner != null ? courses.get(owner.getParentId()) : null;
+        }
+
+        public long[] getCourseIds(Long courseTypeId) {
+            return coursesByCourseType.getOrDefault(courseTypeId, NONE);
+        }
+
+        public long[] getClassIds(Long courseId) {
+            return classesByCourse.getOrDefault(courseId, NONE);
+        }
+
+        public long[] getExamIds(Long courseId) {
+            return examsByCourse.getOrDefault(courseId, NONE);
+        }
+
+        /**
+         * Ids of the links owned by a class (type 1), exam (type 2) or course (type 3)
+         */
+        public long[] getLinkIdsByOwner(Long courseTypeId, Long ownerId) {
+            return linksByOwner.getOrDefault(courseTypeId, Collections.emptyMap()).getOrDefault(ownerId, NONE);
+        }
+
+        public long[] getLinkIdsBySubject(Long courseTypeId, Long subjectId) {
+            return linksBySubject.getOrDefault(courseTypeId, Collections.emptyMap()).getOrDefault(subjectId, NONE);
+        }
+    }
+
+    /**
+     * Course type, course, class, exam or subject row. The parent is the course type for
+     * courses and subjects, and the course for classes and exams.
+     */
+    public static class Node {
+
+        private final long id;
+        private final String name;
+        private final long parentId;
+        private final String structureType;
+        private final boolean active;
+
+        Node(long id, String name, long parentId, String structureType, boolean active) {
+            this.id = id;
+            this.name = name;
+            this.parentId = parentId;
+            this.structureType = structureType;
+            this.active = active;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getParentId() {
+            return parentId;
+        }
+
+        /**
+         * Structure type of a course type node, null for other nodes
+         */
+        public String getStructureType() {
+            return structureType;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+    }
+
+    /**
+     * ClassSubject, ExamSubject or CourseSubject row
+     */
+    public static class SubjectLink {
+
+        private final long id;
+        private final long courseTypeId;
+        private final long ownerId;
+        private final long subjectId;
+        private final boolean active;
+
+        SubjectLink(long id, long courseTypeId, long ownerId, long subjectId, boolean active) {
+            this.id = id;
+            this.courseTypeId = courseTypeId;
+            this.ownerId = ownerId;
+            this.subjectId = subjectId;
+            this.active = active;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public long getCourseTypeId() {
+            return courseTypeId;
+        }
+
+        public long getOwnerId() {
+            return ownerId;
+        }
+
+        public long getSubjectId() {
+            return subjectId;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+    }
+}
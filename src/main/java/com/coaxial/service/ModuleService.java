@@ -6,6 +6,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -16,22 +17,18 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.coaxial.dto.ModuleRequestDTO;
 import com.coaxial.dto.ModuleResponseDTO;
-import com.coaxial.entity.ClassSubject;
-import com.coaxial.entity.CourseSubject;
-import com.coaxial.entity.ExamSubject;
 import com.coaxial.entity.Module;
-import com.coaxial.entity.Subject;
 import com.coaxial.entity.Topic;
 import com.coaxial.entity.User;
+import com.coaxial.event.MasterDataChangedEvent;
 import com.coaxial.repository.ClassRepository;
-import com.coaxial.repository.ClassSubjectRepository;
 import com.coaxial.repository.CourseRepository;
-import com.coaxial.repository.CourseSubjectRepository;
 import com.coaxial.repository.CourseTypeRepository;
 import com.coaxial.repository.ExamRepository;
-import com.coaxial.repository.ExamSubjectRepository;
 import com.coaxial.repository.ModuleRepository;
 import com.coaxial.repository.TopicRepository;
+import com.coaxial.service.MasterDataIndexService.MasterDataIndex;
+import com.coaxial.service.MasterDataIndexService.SubjectLink;
 
 @Service
 @Transactional
@@ -44,13 +41,7 @@ public class ModuleService {
     private TopicRepository topicRepository;
     
     @Autowired
-    private ClassSubjectRepository classSubjectRepository;
-    
-    @Autowired
-    private ExamSubjectRepository examSubjectRepository;
-    
-    @Autowired
-    private CourseSubjectRepository courseSubjectRepository;
+    private MasterDataIndexService masterDataIndexService;
     
     @Autowired
     private ClassRepository classRepository;
@@ -64,6 +55,12 @@ public class ModuleService {
     @Autowired
     private CourseTypeRepository courseTypeRepository;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private ContentCountRollupService contentCountRollupService;
+    
     public List<ModuleResponseDTO> getAllModules() {
         return moduleRepository.findAll().stream()
                 .map(this::createModuleResponseDTOWithSubjectInfo)
@@ -222,12 +219,16 @@ public class ModuleService {
         module.setCreatedBy(getCurrentUser());
         
         Module savedModule = moduleRepository.save(module);
+        contentCountRollupService.onModuleChanged(savedModule.getId(), null, false, topic.getId(), savedModule.getIsActive());
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.MODULE, savedModule.getId()));
         return createModuleResponseDTOWithSubjectInfo(savedModule);
     }
     
     public ModuleResponseDTO updateModule(Long id, ModuleRequestDTO moduleRequestDTO) {
         Module existingModule = moduleRepository.findById(id)
                 .orElseThrow(() -> (RuntimeException) new IllegalArgumentException("Module not found with ID: " + id));
+        Long previousTopicId = existingModule.getTopic().getId();
+        Boolean wasActive = existingModule.getIsActive();
         
         // Validate topic exists
         Topic topic = topicRepository.findById(moduleRequestDTO.getTopicId())
@@ -246,14 +247,17 @@ public class ModuleService {
         existingModule.setUpdatedBy(getCurrentUser());
         
         Module updatedModule = moduleRepository.save(existingModule);
+        contentCountRollupService.onModuleChanged(id, previousTopicId, wasActive, topic.getId(), updatedModule.getIsActive());
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.MODULE, updatedModule.getId()));
         return createModuleResponseDTOWithSubjectInfo(updatedModule);
     }
     
     public void deleteModule(Long id) {
-        if (!moduleRepository.existsById(id)) {
-            throw new IllegalArgumentException("Module not found with ID: " + id);
-        }
-        moduleRepository.deleteById(id);
+        Module module = moduleRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Module not found with ID: " + id));
+        contentCountRollupService.onModuleChanged(id, module.getTopic().getId(), module.getIsActive(), null, false);
+        moduleRepository.delete(module);
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.MODULE, id));
     }
     
     public boolean existsById(Long id) {
@@ -278,58 +282,19 @@ public class ModuleService {
         
         Topic topic = module.getTopic();
         if (topic != null) {
-            Subject subject = resolveSubjectFromTopic(topic);
+            MasterDataIndex index = masterDataIndexService.getIndex();
+            MasterDataIndexService.Node subject = index.getLinkedSubject(topic.getCourseTypeId(), topic.getRelationshipId());
             if (subject != null) {
+                MasterDataIndexService.Node courseType = index.getCourseType(subject.getParentId());
                 dto.setSubjectId(subject.getId());
                 dto.setSubjectName(subject.getName());
-                dto.setSubjectType(subject.getCourseType() != null ? subject.getCourseType().getName() : "Unknown");
+                dto.setSubjectType(courseType != null ? courseType.getName() : "Unknown");
             }
         }
         
         return dto;
     }
     
-    /**
-     * Resolves the Subject entity from a Topic based on its courseTypeId and relationshipId
-     * 
-     * @param topic The Topic entity
-     * @return The resolved Subject entity, or null if not found
-     */
-    private Subject resolveSubjectFromTopic(Topic topic) {
-        Long courseTypeId = topic.getCourseTypeId();
-        Long relationshipId = topic.getRelationshipId();
-        
-        if (courseTypeId == null || relationshipId == null) {
-            return null;
-        }
-        
-        try {
-            // CourseTypeId 1 = Academic (ClassSubject)
-            if (courseTypeId == 1) {
-                return classSubjectRepository.findById(relationshipId)
-                        .map(ClassSubject::getSubject)
-                        .orElse(null);
-            }
-            // CourseTypeId 2 = Competitive (ExamSubject)
-            else if (courseTypeId == 2) {
-                return examSubjectRepository.findById(relationshipId)
-                        .map(ExamSubject::getSubject)
-                        .orElse(null);
-            }
-            // CourseTypeId 3 = Professional (CourseSubject)
-            else if (courseTypeId == 3) {
-                return courseSubjectRepository.findById(relationshipId)
-                        .map(CourseSubject::getSubject)
-                        .orElse(null);
-            }
-        } catch (Exception e) {
-            // Log error if needed, but don't fail the entire operation
-            System.err.println("Error resolving subject for topic (courseTypeId=" + topic.getCourseTypeId() + ", relationshipId=" + topic.getRelationshipId() + "): " + e.getMessage());
-        }
-        
-        return null;
-    }
-    
     // Paginated method for standardized endpoints with enhanced course/courseType/class/exam info
     @Transactional(readOnly = true)
     public Page<ModuleResponseDTO> getModulesCombinedFilter(Long courseTypeId, Long courseId, Long classId, 
@@ -393,14 +358,8 @@ public class ModuleService {
             module.setCourseTypeId(courseTypeId);
             module.setStructureType(getStructureTypeName(courseTypeId));
             
-            // Resolve course and additional information based on courseType
-            if (courseTypeId == 1) { // Academic - ClassSubject
-                resolveAcademicModuleInfo(module, relationshipId);
-            } else if (courseTypeId == 2) { // Competitive - ExamSubject
-                resolveCompetitiveModuleInfo(module, relationshipId);
-            } else if (courseTypeId == 3) { // Professional - CourseSubject
-                resolveProfessionalModuleInfo(module, relationshipId);
-            }
+            // Resolve course and class/exam information through the subject link
+            resolveModuleLinkInfo(module, courseTypeId, relationshipId);
             
         } catch (Exception e) {
             System.err.println("Error enhancing module info for moduleId " + module.getId() + ": " + e.getMessage());
@@ -410,71 +369,33 @@ public class ModuleService {
     }
     
     /**
-     * Resolves Academic module information (Class -> Course -> CourseType)
+     * Resolves class (Academic) or exam (Competitive), course and course type names from the master data index
      */
-    private void resolveAcademicModuleInfo(ModuleResponseDTO module, Long classSubjectId) {
-        try {
-            ClassSubject classSubject = classSubjectRepository.findById(classSubjectId).orElse(null);
-            if (classSubject != null) {
-                module.setClassId(classSubject.getClassEntity().getId());
-                module.setClassName(classSubject.getClassEntity().getName());
-                
-                if (classSubject.getClassEntity().getCourse() != null) {
-                    com.coaxial.entity.Course course = classSubject.getClassEntity().getCourse();
-                    module.setCourseId(course.getId());
-                    module.setCourseName(course.getName());
-                    
-                    if (course.getCourseType() != null) {
-                        module.setCourseTypeName(course.getCourseType().getName());
-                    }
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("Error resolving academic module info: " + e.getMessage());
+    private void resolveModuleLinkInfo(ModuleResponseDTO module, Long courseTypeId, Long relationshipId) {
+        MasterDataIndex index = masterDataIndexService.getIndex();
+        SubjectLink link = index.getLink(courseTypeId, relationshipId);
+        if (link == null) {
+            return;
         }
-    }
-    
-    /**
-     * Resolves Competitive module information (Exam -> Course -> CourseType)
-     */
-    private void resolveCompetitiveModuleInfo(ModuleResponseDTO module, Long examSubjectId) {
-        try {
-            ExamSubject examSubject = examSubjectRepository.findById(examSubjectId).orElse(null);
-            if (examSubject != null) {
-                module.setExamId(examSubject.getExam().getId());
-                module.setExamName(examSubject.getExam().getName());
-                
-                if (examSubject.getExam().getCourse() != null) {
-                    com.coaxial.entity.Course course = examSubject.getExam().getCourse();
-                    module.setCourseId(course.getId());
-                    module.setCourseName(course.getName());
-                    
-                    if (course.getCourseType() != null) {
-                        module.setCourseTypeName(course.getCourseType().getName());
-                    }
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("Error resolving competitive module info: " + e.getMessage());
+        
+        MasterDataIndexService.Node owner = index.getOwner(link);
+        if (owner != null && courseTypeId == 1) {
+            module.setClassId(owner.getId());
+            module.setClassName(owner.getName());
+        } else if (owner != null && courseTypeId == 2) {
+            module.setExamId(owner.getId());
+            module.setExamName(owner.getName());
         }
-    }
-    
-    /**
-     * Resolves Professional module information (Course -> CourseType)
-     */
-    private void resolveProfessionalModuleInfo(ModuleResponseDTO module, Long courseSubjectId) {
-        try {
-            CourseSubject courseSubject = courseSubjectRepository.findById(courseSubjectId).orElse(null);
-            if (courseSubject != null) {
-                module.setCourseId(courseSubject.getCourse().getId());
-                module.setCourseName(courseSubject.getCourse().getName());
-                
-                if (courseSubject.getCourse().getCourseType() != null) {
-                    module.setCourseTypeName(courseSubject.getCourse().getCourseType().getName());
-                }
+        
+        MasterDataIndexService.Node course = index.getCourse(link);
+        if (course != null) {
+            module.setCourseId(course.getId());
+            module.setCourseName(course.getName());
+            
+            MasterDataIndexService.Node courseType = index.getCourseType(course.getParentId());
+            if (courseType != null) {
+                module.setCourseTypeName(courseType.getName());
             }
-        } catch (Exception e) {
-            System.err.println("Error resolving professional module info: " + e.getMessage());
         }
     }
     
@@ -0,0 +1,202 @@
+package com.coaxial.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Holds adaptive practice sessions between requests.
+ * Sessions live in Redis when it is enabled (so any instance can serve the next step),
+ * otherwise in this JVM. Either way nothing is written to the database per step.
+ * Callers that read, change and save a session do so inside withLock, which serializes
+ * steps of the same session across instances (Redis lock key) or threads (local lock).
+ */
+@Service
+public class PracticeSessionStore {
+
+    private static final String KEY_PREFIX = "practice:session:";
+
+    private static final String LOCK_SUFFIX = ":lock";
+
+    private static final long LOCK_POLL_MS = 25;
+
+    // Delete the lock only if this caller still holds it
+    private static final RedisScript<Long> RELEASE_LOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    @Autowired(required = false)
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Value("${app.practice.session-ttl-minutes:120}")
+    private long sessionTtlMinutes;
+
+    @Value("${app.practice.lock-wait-ms:2000}")
+    private long lockWaitMs;
+
+    @Value("${app.practice.lock-ttl-ms:10000}")
+    private long lockTtlMs;
+
+    private final ConcurrentHashMap<String, PracticeSession> localSessions = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, ReentrantLock> localLocks = new ConcurrentHashMap<>();
+
+    /**
+     * Run a load-change-save step while holding the session's lock.
+     * Throws IllegalStateException when another step of the same session holds it for too long.
+     */
+    public <T> T withLock(String sessionId, Supplier<T> action) {
+        if (redisTemplate != null) {
+            return withRedisLock(sessionId, action);
+        }
+        ReentrantLock lock = localLocks.computeIfAbsent(sessionId, id -> new ReentrantLock());
+        boolean acquired;
+        try {
+            acquired = lock.tryLock(lockWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            throw new IllegalStateException("Practice session is busy: " + sessionId);
+        }
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void save(PracticeSession session) {
+        session.setLastActivityAt(System.currentTimeMillis());
+        if (redisTemplate != null) {
+            redisTemplate.opsForValue().set(KEY_PREFIX + session.getId(), session, Duration.ofMinutes(sessionTtlMinutes));
+        } else {
+            localSessions.put(session.getId(), session);
+        }
+    }
+
+    public Optional<PracticeSession> find(String sessionId) {
+        if (redisTemplate != null) {
+            Object value = redisTemplate.opsForValue().get(KEY_PREFIX + sessionId);
+            return value instanceof PracticeSession ? Optional.of((PracticeSession) value) : Optional.empty();
+        }
+        PracticeSession session = localSessions.get(sessionId);
+        if (session == null || isExpired(session)) {
+            return Optional.empty();
+        }
+        return Optional.of(session);
+    }
+
+    public void delete(String sessionId) {
+        if (redisTemplate != null) {
+            redisTemplate.delete(KEY_PREFIX + sessionId);
+        } else {
+            localSessions.remove(sessionId);
+            localLocks.remove(sessionId);
+        }
+    }
+
+    // Redis expires keys itself; local sessions are swept here
+    @Scheduled(fixedDelayString = "${app.practice.sweep-interval-ms:300000}")
+    public void evictExpiredSessions() {
+        localSessions.values().removeIf(this::isExpired);
+        localLocks.entrySet().removeIf(e -> !localSessions.containsKey(e.getKey()) && !e.getValue().isLocked());
+    }
+
+    private <T> T withRedisLock(String sessionId, Supplier<T> action) {
+        String lockKey = KEY_PREFIX + sessionId + LOCK_SUFFIX;
+        String token = UUID.randomUUID().toString();
+        long deadline = System.currentTimeMillis() + lockWaitMs;
+        // The TTL frees the lock if the holder dies mid-step
+        while (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(lockKey, token, Duration.ofMillis(lockTtlMs)))) {
+            if (System.currentTimeMillis() >= deadline) {
+                throw new IllegalStateException("Practice session is busy: " + sessionId);
+            }
+            try {
+                Thread.sleep(LOCK_POLL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted waiting for practice session: " + sessionId, e);
+            }
+        }
+        try {
+            return action.get();
+        } finally {
+            redisTemplate.execute(RELEASE_LOCK_SCRIPT, List.of(lockKey), token);
+        }
+    }
+
+    private boolean isExpired(PracticeSession session) {
+        return session.getLastActivityAt() + Duration.ofMinutes(sessionTtlMinutes).toMillis() < System.currentTimeMillis();
+    }
+
+    /**
+     * State of one practice session. Plain bean so it round-trips through the Redis JSON serializer.
+     */
+    public static class PracticeSession {
+
+        private String id;
+        private Long studentId;
+        private Long chapterId;
+        private double ability;
+        private int answeredCount;
+        private int correctCount;
+        private List<Long> seenQuestionIds = new ArrayList<>();
+        private Long currentQuestionId;
+        private double currentDifficulty;
+        private List<Long> currentCorrectOptionIds = new ArrayList<>();
+        private String currentExplanation;
+        private long lastActivityAt;
+
+        public String getId() { return id; }
+        public void setId(String id) { this.id = id; }
+
+        public Long getStudentId() { return studentId; }
+        public void setStudentId(Long studentId) { this.studentId = studentId; }
+
+        public Long getChapterId() { return chapterId; }
+        public void setChapterId(Long chapterId) { this.chapterId = chapterId; }
+
+        public double getAbility() { return ability; }
+        public void setAbility(double ability) { this.ability = ability; }
+
+        public int getAnsweredCount() { return answeredCount; }
+        public void setAnsweredCount(int answeredCount) { this.answeredCount = answeredCount; }
+
+        public int getCorrectCount() { return correctCount; }
+        public void setCorrectCount(int correctCount) { this.correctCount = correctCount; }
+
+        public List<Long> getSeenQuestionIds() { return seenQuestionIds; }
+        public void setSeenQuestionIds(List<Long> seenQuestionIds) { this.seenQuestionIds = seenQuestionIds; }
+
+        public Long getCurrentQuestionId() { return currentQuestionId; }
+        public void setCurrentQuestionId(Long currentQuestionId) { this.currentQuestionId = currentQuestionId; }
+
+        public double getCurrentDifficulty() { return currentDifficulty; }
+        public void setCurrentDifficulty(double currentDifficulty) { this.currentDifficulty = currentDifficulty; }
+
+        public List<Long> getCurrentCorrectOptionIds() { return currentCorrectOptionIds; }
+        public void setCurrentCorrectOptionIds(List<Long> currentCorrectOptionIds) { this.currentCorrectOptionIds = currentCorrectOptionIds; }
+
+        public String getCurrentExplanation() { return currentExplanation; }
+        public void setCurrentExplanation(String currentExplanation) { this.currentExplanation = currentExplanation; }
+
+        public long getLastActivityAt() { return lastActivityAt; }
+        public void setLastActivityAt(long lastActivityAt) { this.lastActivityAt = lastActivityAt; }
+    }
+}
@@ -5,19 +5,30 @@ import com.coaxial.entity.Course;
 import com.coaxial.entity.Exam;
 import com.coaxial.entity.PricingConfiguration;
 import com.coaxial.enums.SubscriptionLevel;
+import com.coaxial.event.CacheInvalidationEvent;
+import com.coaxial.event.MasterDataChangedEvent;
 import com.coaxial.repository.PricingConfigurationRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Service for managing pricing information at different subscription levels
- * Provides pricing for Course level and Class/Exam level subscriptions
+ * Provides pricing for Course level and Class/Exam level subscriptions.
+ * Configurations are served from an in-memory table keyed by (entityType, entityId),
+ * loaded in one query and dropped whenever pricing changes on any instance.
  */
 @Service
 public class PricingService {
@@ -27,58 +38,145 @@ public class PricingService {
     @Autowired
     private PricingConfigurationRepository pricingConfigRepository;
     
+    private final AtomicReference<Map<String, PricingConfiguration>> table = new AtomicReference<>();
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+    private final Object reloadLock = new Object();
+    
+    // Runs before other invalidation listeners, so caches built from this table (admin dropdowns)
+    // never reload against a table that has not been marked stale yet
+    @EventListener
+    @Order(0)
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (MasterDataChangedEvent.PRICING.equals(event.getEntityType())) {
+            stale.set(true);
+        }
+    }
+    
     /**
      * Get pricing information for a class (Class level subscription)
      */
     public Map<String, Object> getClassPricing(ClassEntity classEntity) {
-        // First check if there's a custom pricing configuration
-        Optional<PricingConfiguration> config = pricingConfigRepository
-                .findByEntityTypeAndEntityId("CLASS", classEntity.getId());
-        
-        if (config.isPresent() && config.get().getIsActive()) {
-            logger.info("Using custom pricing configuration for class: {}", classEntity.getName());
-            return buildPricingFromConfig(config.get());
-        }
-        
-        // Fallback to default pricing logic
-        logger.info("Using default pricing logic for class: {}", classEntity.getName());
-        return getDefaultClassPricing(classEntity);
+        return resolvePricing("CLASS", classEntity.getId(), classEntity.getName(), () -> getDefaultClassPricing(classEntity));
     }
     
     /**
      * Get pricing information for an exam (Exam level subscription)
      */
     public Map<String, Object> getExamPricing(Exam exam) {
-        // First check if there's a custom pricing configuration
-        Optional<PricingConfiguration> config = pricingConfigRepository
-                .findByEntityTypeAndEntityId("EXAM", exam.getId());
-        
-        if (config.isPresent() && config.get().getIsActive()) {
-            logger.info("Using custom pricing configuration for exam: {}", exam.getName());
-            return buildPricingFromConfig(config.get());
-        }
-        
-        // Fallback to default pricing logic
-        logger.info("Using default pricing logic for exam: {}", exam.getName());
-        return getDefaultExamPricing(exam);
+        return resolvePricing("EXAM", exam.getId(), exam.getName(), () -> getDefaultExamPricing(exam));
     }
     
     /**
      * Get pricing information for a course (Course level subscription)
      */
     public Map<String, Object> getCoursePricing(Course course) {
+        return resolvePricing("COURSE", course.getId(), course.getName(), () -> getDefaultCoursePricing(course));
+    }
+    
+    /**
+     * Get pricing for many classes at once, keyed by class id, in listing order
+     */
+    public Map<Long, Map<String, Object>> getClassPricing(Collection<ClassEntity> classes) {
+        return getPricing(classes, ClassEntity::getId, this::getClassPricing);
+    }
+    
+    /**
+     * Get pricing for many exams at once, keyed by exam id, in listing order
+     */
+    public Map<Long, Map<String, Object>> getExamPricing(Collection<Exam> exams) {
+        return getPricing(exams, Exam::getId, this::getExamPricing);
+    }
+    
+    /**
+     * Get pricing for many courses at once, keyed by course id, in listing order
+     */
+    public Map<Long, Map<String, Object>> getCoursePricing(Collection<Course> courses) {
+        return getPricing(courses, Course::getId, this::getCoursePricing);
+    }
+    
+    /**
+     * Pricing configuration of an entity, active or not, from the in-memory table
+     */
+    public PricingConfiguration getConfiguration(String entityType, Long entityId) {
+        return getTable().get(key(entityType, entityId));
+    }
+    
+    /**
+     * Pricing configurations of many entities of one type, keyed by entity id
+     */
+    public Map<Long, PricingConfiguration> getConfigurations(String entityType, Collection<Long> entityIds) {
+        Map<String, PricingConfiguration> configs = getTable();
+        Map<Long, PricingConfiguration> result = new HashMap<>();
+        for (Long entityId : entityIds) {
+            PricingConfiguration config = configs.get(key(entityType, entityId));
+            if (config != null) {
+                result.put(entityId, config);
+            }
+        }
+        return result;
+    }
+    
+    private <T> Map<Long, Map<String, Object>> getPricing(Collection<T> entities, Function<T, Long> idOf,
+                                                          Function<T, Map<String, Object>> pricingOf) {
+        Map<Long, Map<String, Object>> pricing = new LinkedHashMap<>();
+        for (T entity : entities) {
+            pricing.put(idOf.apply(entity), pricingOf.apply(entity));
+        }
+        return pricing;
+    }
+    
+    private Map<String, Object> resolvePricing(String entityType, Long entityId, String entityName,
+                                               Supplier<Map<String, Object>> defaultPricing) {
         // First check if there's a custom pricing configuration
-        Optional<PricingConfiguration> config = pricingConfigRepository
-                .findByEntityTypeAndEntityId("COURSE", course.getId());
+        PricingConfiguration config = getConfiguration(entityType, entityId);
         
-        if (config.isPresent() && config.get().getIsActive()) {
-            logger.info("Using custom pricing configuration for course: {}", course.getName());
-            return buildPricingFromConfig(config.get());
+        if (config != null && Boolean.TRUE.equals(config.getIsActive())) {
+            logger.debug("Using custom pricing configuration for {}: {}", entityType, entityName);
+            return buildPricingFromConfig(config);
         }
         
         // Fallback to default pricing logic
-        logger.info("Using default pricing logic for course: {}", course.getName());
-        return getDefaultCoursePricing(course);
+        logger.debug("Using default pricing logic for {}: {}", entityType, entityName);
+        return defaultPricing.get();
+    }
+    
+    /**
+     * Current pricing table, reloaded on the calling thread if pricing changed since it was built
+     */
+    private Map<String, PricingConfiguration> getTable() {
+        Map<String, PricingConfiguration> configs = table.get();
+        if (configs != null && !stale.get()) {
+            return configs;
+        }
+        synchronized (reloadLock) {
+            configs = table.get();
+            if (configs != null && !stale.get()) {
+                return configs;
+            }
+            // Cleared before reading so a write that commits during the load triggers another one
+            stale.set(false);
+            try {
+                configs = loadTable();
+            } catch (RuntimeException e) {
+                stale.set(true);
+                throw e;
+            }
+            table.set(configs);
+            return configs;
+        }
+    }
+    
+    private Map<String, PricingConfiguration> loadTable() {
+        Map<String, PricingConfiguration> configs = new HashMap<>();
+        for (PricingConfiguration config : pricingConfigRepository.findAll()) {
+            configs.putIfAbsent(key(config.getEntityType(), config.getEntityId()), config);
+        }
+        logger.info("Pricing table loaded with {} configurations", configs.size());
+        return configs;
+    }
+    
+    private static String key(String entityType, Long entityId) {
+        return entityType + ":" + entityId;
     }
     
     /**
@@ -120,7 +218,7 @@ public class PricingService {
         pricing.put("entityId", config.getEntityId());
         pricing.put("entityName", config.getEntityName());
         
-        logger.info("Built pricing from config for {}: {}", config.getEntityName(), amounts);
+        logger.debug("Built pricing from config for {}: {}", config.getEntityName(), amounts);
         
         return pricing;
     }
@@ -163,7 +261,7 @@ public class PricingService {
         pricing.put("entityId", classEntity.getId());
         pricing.put("entityName", classEntity.getName());
         
-        logger.info("Generated default class pricing for {}: {}", classEntity.getName(), amounts);
+        logger.debug("Generated default class pricing for {}: {}", classEntity.getName(), amounts);
         
         return pricing;
     }
@@ -191,7 +289,7 @@ public class PricingService {
         pricing.put("entityId", exam.getId());
         pricing.put("entityName", exam.getName());
         
-        logger.info("Generated default exam pricing for {}: {}", exam.getName(), amounts);
+        logger.debug("Generated default exam pricing for {}: {}", exam.getName(), amounts);
         
         return pricing;
     }
@@ -239,7 +337,7 @@ public class PricingService {
         pricing.put("entityId", course.getId());
         pricing.put("entityName", course.getName());
         
-        logger.info("Generated default course pricing for {}: {}", course.getName(), amounts);
+        logger.debug("Generated default course pricing for {}: {}", course.getName(), amounts);
         
         return pricing;
     }
@@ -0,0 +1,414 @@
+package com.coaxial.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.coaxial.dto.QuestionFilterRequestDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Streams the question bank out as JSON Lines or CSV.
+ * Rows come from a server-side cursor (fetch size inside a read-only transaction) with options,
+ * suitabilities and histories aggregated per row in SQL, and each row is written as soon as it
+ * is read, so memory use does not grow with the size of the bank.
+ * Both formats use the same shape as the bulk import, so an export can be re-imported.
+ */
+@Service
+public class QuestionExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuestionExportService.class);
+
+    private static final String OPTION_LETTERS = "ABCDEF";
+
+    private static final String[] CSV_HEADER = {
+            "id", "chapterId", "moduleId", "topicId", "subjectId", "courseTypeId", "relationshipId",
+            "questionText", "questionType", "difficultyLevel", "marks", "negativeMarks", "timeLimitSeconds",
+            "explanation", "displayOrder", "isActive",
+            "optionA", "optionB", "optionC", "optionD", "optionE", "optionF", "correctOptions",
+            "examSuitabilities", "examHistories" };
+
+    private static final String EXPORT_SELECT =
+            "SELECT q.id, q.chapter_id, q.module_id, q.topic_id, q.subject_id, q.course_type_id, q.relationship_id, " +
+            "q.question_text, q.question_type, q.difficulty_level, q.marks, q.negative_marks, q.time_limit_seconds, " +
+            "q.explanation, q.display_order, q.is_active, " +
+            "(SELECT json_agg(json_build_object('optionText', o.option_text, 'optionLetter', o.option_letter, " +
+            "        'isCorrect', o.is_correct, 'displayOrder', o.display_order) ORDER BY o.display_order, o.id) " +
+            "   FROM question_options o WHERE o.question_id = q.id) AS options, " +
+            "(SELECT json_agg(s.master_exam_id ORDER BY s.master_exam_id) " +
+            "   FROM question_exam_suitabilities s WHERE s.question_id = q.id AND s.is_active = true) AS exam_suitabilities, " +
+            "(SELECT json_agg(json_build_object('masterExamId', h.master_exam_id, 'appearedYearId', h.appeared_year_id, " +
+            "        'appearedYear', y.year_value, 'appearedSession', h.appeared_session, 'marksInExam', h.marks_in_exam, " +
+            "        'questionNumberInExam', h.question_number_in_exam, 'difficultyInExam', h.difficulty_in_exam, " +
+            "        'notes', h.notes) ORDER BY h.id) " +
+            "   FROM question_exam_histories h LEFT JOIN master_years y ON y.id = h.appeared_year_id " +
+            "  WHERE h.question_id = q.id AND h.is_active = true) AS exam_histories " +
+            "FROM questions q";
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private static final Pattern EXPORT_FILE_NAME =
+            Pattern.compile("questions-\\d{8}-\\d{6}-[0-9a-f]{32}\\.(csv|jsonl)");
+
+    public static final String DOWNLOAD_PATH = "/api/admin/master-data/questions/export/files/";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Kept outside the static uploads directory: exports contain the answer key
+    @Value("${app.question.export.dir:exports}")
+    private String exportDir;
+
+    @Value("${app.question.export.fetch-size:1000}")
+    private int fetchSize;
+
+    /**
+     * Write matching questions to the stream and return how many were exported.
+     * Supported filters: hierarchy ids, isActive, questionType, difficultyLevel and examIds (suitability).
+     */
+    @Transactional(readOnly = true)
+    public int exportQuestions(QuestionFilterRequestDTO filter, String format, OutputStream out) throws IOException {
+        boolean csv = isCsv(format);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long startedAt = System.currentTimeMillis();
+
+        List<Object> args = new ArrayList<>();
+        String sql = EXPORT_SELECT + buildWhereClause(filter, args) + " ORDER BY q.id";
+
+        RowWriter rowWriter = csv ? new CsvRowWriter(writer) : new JsonLinesRowWriter(writer);
+        int[] count = {0};
+        try {
+            rowWriter.begin();
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                for (int i = 0; i < args.size(); i++) {
+                    Object arg = args.get(i);
+                    if (arg instanceof Long[] ids) {
+                        ps.setArray(i + 1, con.createArrayOf("bigint", ids));
+                    } else {
+                        ps.setObject(i + 1, arg);
+                    }
+                }
+                return ps;
+            }, (ResultSet rs) -> {
+                try {
+                    rowWriter.write(rs);
+                    count[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            rowWriter.end();
+        } catch (UncheckedIOException e) {
+            // Usually the client disconnected mid-download
+            throw e.getCause();
+        }
+        writer.flush();
+
+        logger.info("Exported {} questions as {} in {} ms", count[0], csv ? "csv" : "jsonl",
+                System.currentTimeMillis() - startedAt);
+        return count[0];
+    }
+
+    /**
+     * Export to a file in the export directory and return its admin download URL and row count.
+     * The file is written under a temporary name and renamed when complete; the name carries a random
+     * part so it cannot be guessed from the timestamp.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> exportQuestionsToFile(QuestionFilterRequestDTO filter, String format) throws IOException {
+        Path directory = getExportDirectory();
+        Files.createDirectories(directory);
+
+        String fileName = "questions-" + LocalDateTime.now().format(FILE_TIMESTAMP) + "-"
+                + UUID.randomUUID().toString().replace("-", "") + (isCsv(format) ? ".csv" : ".jsonl");
+        Path target = directory.resolve(fileName);
+        Path partial = directory.resolve(fileName + ".part");
+
+        int exported;
+        try (OutputStream out = Files.newOutputStream(partial)) {
+            exported = exportQuestions(filter, format, out);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+        Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        return Map.of(
+                "fileName", fileName,
+                "url", DOWNLOAD_PATH + fileName,
+                "exportedCount", exported);
+    }
+
+    /**
+     * Completed export file with this name, or empty if the name is not one this service produces
+     */
+    public Optional<Path> findExportFile(String fileName) {
+        if (fileName == null || !EXPORT_FILE_NAME.matcher(fileName).matches()) {
+            return Optional.empty();
+        }
+        Path file = getExportDirectory().resolve(fileName);
+        return Files.isRegularFile(file) ? Optional.of(file) : Optional.empty();
+    }
+
+    private Path getExportDirectory() {
+        return Paths.get(exportDir).toAbsolutePath();
+    }
+
+    public boolean isCsv(String format) {
+        if ("csv".equalsIgnoreCase(format)) {
+            return true;
+        }
+        if (format == null || "jsonl".equalsIgnoreCase(format) || "json".equalsIgnoreCase(format)) {
+            return false;
+        }
+        throw new IllegalArgumentException("Unsupported export format: " + format + ". Use jsonl or csv");
+    }
+
+    private String buildWhereClause(QuestionFilterRequestDTO filter, List<Object> args) {
+        StringBuilder where = new StringBuilder(" WHERE 1 = 1");
+        if (filter == null) {
+            return where.toString();
+        }
+        addEquals(where, args, "q.chapter_id", filter.getChapterId());
+        addEquals(where, args, "q.module_id", filter.getModuleId());
+        addEquals(where, args, "q.topic_id", filter.getTopicId());
+        addEquals(where, args, "q.subject_id", filter.getSubjectId());
+        addEquals(where, args, "q.course_type_id", filter.getCourseTypeId());
+        addEquals(where, args, "q.relationship_id", filter.getRelationshipId());
+        addEquals(where, args, "q.is_active", filter.getIsActive());
+        addEquals(where, args, "q.question_type", filter.getQuestionType());
+        addEquals(where, args, "q.difficulty_level", filter.getDifficultyLevel());
+        if (filter.getExamIds() != null && !filter.getExamIds().isEmpty()) {
+            where.append(" AND EXISTS (SELECT 1 FROM question_exam_suitabilities es")
+                 .append(" WHERE es.question_id = q.id AND es.is_active = true AND es.master_exam_id = ANY(?))");
+            args.add(filter.getExamIds().toArray(new Long[0]));
+        }
+        return where.toString();
+    }
+
+    private void addEquals(StringBuilder where, List<Object> args, String column, Object value) {
+        if (value != null) {
+            where.append(" AND ").append(column).append(" = ?");
+            args.add(value);
+        }
+    }
+
+    private JsonNode readJson(ResultSet rs, String column) throws SQLException, IOException {
+        String json = rs.getString(column);
+        return json != null ? objectMapper.readTree(json) : objectMapper.createArrayNode();
+    }
+
+    private static Long getLong(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static Integer getInteger(ResultSet rs, String column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private interface RowWriter {
+
+        void begin() throws IOException;
+
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        void end() throws IOException;
+    }
+
+    /**
+     * One question object per line, in the create-question request shape
+     */
+    private class JsonLinesRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+
+        private JsonLinesRowWriter(Writer writer) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(writer);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void begin() {
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            ObjectNode node = objectMapper.createObjectNode();
+            node.put("id", getLong(rs, "id"));
+            node.put("chapterId", getLong(rs, "chapter_id"));
+            node.put("moduleId", getLong(rs, "module_id"));
+            node.put("topicId", getLong(rs, "topic_id"));
+            node.put("subjectId", getLong(rs, "subject_id"));
+            node.put("courseTypeId", getLong(rs, "course_type_id"));
+            node.put("relationshipId", getLong(rs, "relationship_id"));
+            node.put("questionText", rs.getString("question_text"));
+            node.put("questionType", rs.getString("question_type"));
+            node.put("difficultyLevel", rs.getString("difficulty_level"));
+            node.put("marks", getInteger(rs, "marks"));
+            node.put("negativeMarks", getInteger(rs, "negative_marks"));
+            node.put("timeLimitSeconds", getInteger(rs, "time_limit_seconds"));
+            node.put("explanation", rs.getString("explanation"));
+            node.put("displayOrder", getInteger(rs, "display_order"));
+            node.put("isActive", rs.getBoolean("is_active"));
+            node.set("options", readJson(rs, "options"));
+            node.set("examSuitabilities", readJson(rs, "exam_suitabilities"));
+            node.set("examHistories", readJson(rs, "exam_histories"));
+
+            generator.writeTree(node);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void end() throws IOException {
+            generator.flush();
+        }
+    }
+
+    /**
+     * Import-compatible CSV: options map to optionA..optionF by position, lists are pipe-separated
+     */
+    private class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        private CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void begin() throws IOException {
+            writeRecord(List.of(CSV_HEADER));
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            List<String> record = new ArrayList<>(CSV_HEADER.length);
+            record.add(String.valueOf(rs.getLong("id")));
+            record.add(toText(getLong(rs, "chapter_id")));
+            record.add(toText(getLong(rs, "module_id")));
+            record.add(toText(getLong(rs, "topic_id")));
+            record.add(toText(getLong(rs, "subject_id")));
+            record.add(toText(getLong(rs, "course_type_id")));
+            record.add(toText(getLong(rs, "relationship_id")));
+            record.add(rs.getString("question_text"));
+            record.add(rs.getString("question_type"));
+            record.add(rs.getString("difficulty_level"));
+            record.add(toText(getInteger(rs, "marks")));
+            record.add(toText(getInteger(rs, "negative_marks")));
+            record.add(toText(getInteger(rs, "time_limit_seconds")));
+            record.add(rs.getString("explanation"));
+            record.add(toText(getInteger(rs, "display_order")));
+            record.add(String.valueOf(rs.getBoolean("is_active")));
+
+            JsonNode options = readJson(rs, "options");
+            StringBuilder correctOptions = new StringBuilder();
+            for (int i = 0; i < OPTION_LETTERS.length(); i++) {
+                JsonNode option = i < options.size() ? options.get(i) : null;
+                record.add(option != null ? option.path("optionText").asText(null) : null);
+                if (option != null && option.path("isCorrect").asBoolean(false)) {
+                    appendListItem(correctOptions, String.valueOf(OPTION_LETTERS.charAt(i)));
+                }
+            }
+            if (options.size() > OPTION_LETTERS.length()) {
+                logger.warn("Question {} has {} options, only the first {} are exported to CSV",
+                        rs.getLong("id"), options.size(), OPTION_LETTERS.length());
+            }
+            record.add(correctOptions.toString());
+
+            StringBuilder suitabilities = new StringBuilder();
+            for (JsonNode examId : readJson(rs, "exam_suitabilities")) {
+                appendListItem(suitabilities, examId.asText());
+            }
+            record.add(suitabilities.toString());
+
+            StringBuilder histories = new StringBuilder();
+            for (JsonNode history : (ArrayNode) readJson(rs, "exam_histories")) {
+                StringBuilder entry = new StringBuilder()
+                        .append(history.path("masterExamId").asText())
+                        .append(':')
+                        .append(history.path("appearedYear").asText());
+                String session = history.path("appearedSession").asText(null);
+                if (session != null && !session.isEmpty()) {
+                    entry.append(':').append(session);
+                }
+                appendListItem(histories, entry.toString());
+            }
+            record.add(histories.toString());
+
+            writeRecord(record);
+        }
+
+        @Override
+        public void end() {
+        }
+
+        private void appendListItem(StringBuilder list, String item) {
+            if (list.length() > 0) {
+                list.append('|');
+            }
+            list.append(item);
+        }
+
+        private String toText(Object value) {
+            return value != null ? value.toString() : null;
+        }
+
+        private void writeRecord(List<String> fields) throws IOException {
+            for (int i = 0; i < fields.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                String field = fields.get(i);
+                if (field == null) {
+                    continue;
+                }
+                if (field.indexOf(',') >= 0 || field.indexOf('"') >= 0 || field.indexOf('\n') >= 0 || field.indexOf('\r') >= 0) {
+                    writer.write('"');
+                    writer.write(field.replace("\"", "\"\""));
+                    writer.write('"');
+                } else {
+                    writer.write(field);
+                }
+            }
+            writer.write("\r\n");
+        }
+    }
+}
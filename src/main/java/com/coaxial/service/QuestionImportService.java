@@ -0,0 +1,550 @@
+package com.coaxial.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import com.coaxial.dto.QuestionExamHistoryRequestDTO;
+import com.coaxial.dto.QuestionImportResultDTO;
+import com.coaxial.dto.QuestionOptionRequestDTO;
+import com.coaxial.dto.QuestionRequestDTO;
+import com.coaxial.entity.Chapter;
+import com.coaxial.entity.MasterExam;
+import com.coaxial.entity.MasterYear;
+import com.coaxial.entity.Topic;
+import com.coaxial.entity.User;
+import com.coaxial.repository.ChapterRepository;
+import com.coaxial.repository.MasterExamRepository;
+import com.coaxial.repository.MasterYearRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Streaming bulk import of questions from CSV or JSON.
+ * Rows are parsed one at a time and collected into chunks; each chunk resolves its
+ * chapter references with one query (cached for the rest of the import) and is written
+ * by QuestionImportWriter in its own transaction. If a chunk fails, its rows are retried
+ * one by one so only the offending rows are reported.
+ *
+ * CSV columns (header row required, names case-insensitive):
+ * chapterId, questionText, questionType, difficultyLevel, marks, negativeMarks, timeLimitSeconds,
+ * explanation, displayOrder, isActive, subjectId, optionA..optionF, correctOptions ("A|C"),
+ * examSuitabilities ("examId|examId"), examHistories ("examId:year[:session]|...").
+ * JSON: an array of question objects in the same shape as the create-question request.
+ */
+@Service
+public class QuestionImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuestionImportService.class);
+
+    private static final String OPTION_COLUMN_PREFIX = "option";
+    private static final String OPTION_LETTERS = "ABCDEF";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ChapterRepository chapterRepository;
+
+    @Autowired
+    private MasterExamRepository masterExamRepository;
+
+    @Autowired
+    private MasterYearRepository masterYearRepository;
+
+    @Autowired
+    private QuestionImportWriter importWriter;
+
+    @Value("${app.question.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.question.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    /**
+     * Import questions from a CSV or JSON stream. Malformed files (bad header, broken JSON structure)
+     * throw IllegalArgumentException; row-level problems are reported in the result.
+     */
+    public QuestionImportResultDTO importQuestions(InputStream input, String format) throws IOException {
+        ImportRun run = new ImportRun(getCurrentUserId());
+        run.examIds = masterExamRepository.findAll().stream()
+                .map(MasterExam::getId)
+                .collect(Collectors.toSet());
+        for (MasterYear year : masterYearRepository.findAll()) {
+            run.yearIds.add(year.getId());
+            run.yearIdsByValue.put(year.getYearValue(), year.getId());
+        }
+
+        long startedAt = System.currentTimeMillis();
+        if ("json".equalsIgnoreCase(format)) {
+            importJson(input, run);
+        } else if ("csv".equalsIgnoreCase(format)) {
+            importCsv(input, run);
+        } else {
+            throw new IllegalArgumentException("Unsupported import format: " + format + ". Use csv or json");
+        }
+        flushChunk(run);
+
+        logger.info("Question import finished in {} ms: {} rows, {} imported, {} failed",
+                System.currentTimeMillis() - startedAt, run.result.getTotalRows(),
+                run.result.getImportedCount(), run.result.getFailedCount());
+        return run.result;
+    }
+
+    // ==================== PARSING ====================
+
+    private void importJson(InputStream input, ImportRun run) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("JSON import must be an array of questions");
+            }
+            int rowNumber = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (parser.currentToken() == null) {
+                    throw new IllegalArgumentException("Unexpected end of JSON input");
+                }
+                rowNumber++;
+                JsonNode node = parser.readValueAsTree();
+                try {
+                    addRow(run, rowNumber, objectMapper.treeToValue(node, QuestionRequestDTO.class));
+                } catch (JsonProcessingException e) {
+                    addError(run, rowNumber, "Invalid question: " + e.getOriginalMessage());
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private void importCsv(InputStream input, ImportRun run) throws IOException {
+        try (CsvReader reader = new CsvReader(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)))) {
+            List<String> header = reader.readRecord();
+            if (header == null) {
+                throw new IllegalArgumentException("CSV file is empty");
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            if (!columns.containsKey("chapterid") || !columns.containsKey("questiontext")) {
+                throw new IllegalArgumentException("CSV header must contain chapterId and questionText columns");
+            }
+
+            int rowNumber = 0;
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue; // Blank line
+                }
+                rowNumber++;
+                try {
+                    addRow(run, rowNumber, toRequest(columns, record));
+                } catch (IllegalArgumentException e) {
+                    addError(run, rowNumber, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private QuestionRequestDTO toRequest(Map<String, Integer> columns, List<String> record) {
+        QuestionRequestDTO dto = new QuestionRequestDTO();
+        dto.setChapterId(parseLong(cell(columns, record, "chapterid"), "chapterId"));
+        dto.setQuestionText(cell(columns, record, "questiontext"));
+        dto.setExplanation(cell(columns, record, "explanation"));
+        dto.setSubjectId(parseLong(cell(columns, record, "subjectid"), "subjectId"));
+
+        String questionType = cell(columns, record, "questiontype");
+        if (questionType != null) {
+            dto.setQuestionType(questionType.toUpperCase(Locale.ROOT));
+        }
+        String difficultyLevel = cell(columns, record, "difficultylevel");
+        if (difficultyLevel != null) {
+            dto.setDifficultyLevel(difficultyLevel.toUpperCase(Locale.ROOT));
+        }
+        Integer marks = parseInteger(cell(columns, record, "marks"), "marks");
+        if (marks != null) {
+            dto.setMarks(marks);
+        }
+        Integer negativeMarks = parseInteger(cell(columns, record, "negativemarks"), "negativeMarks");
+        if (negativeMarks != null) {
+            dto.setNegativeMarks(negativeMarks);
+        }
+        dto.setTimeLimitSeconds(parseInteger(cell(columns, record, "timelimitseconds"), "timeLimitSeconds"));
+        Integer displayOrder = parseInteger(cell(columns, record, "displayorder"), "displayOrder");
+        if (displayOrder != null) {
+            dto.setDisplayOrder(displayOrder);
+        }
+        String isActive = cell(columns, record, "isactive");
+        if (isActive != null) {
+            dto.setIsActive(Boolean.parseBoolean(isActive));
+        }
+
+        // Options: optionA..optionF with correctOptions listing the correct letters
+        Set<String> correctLetters = new HashSet<>();
+        String correctOptions = cell(columns, record, "correctoptions");
+        if (correctOptions != null) {
+            for (String letter : correctOptions.split("\\|")) {
+                correctLetters.add(letter.trim().toUpperCase(Locale.ROOT));
+            }
+        }
+        List<QuestionOptionRequestDTO> options = new ArrayList<>();
+        for (char letter : OPTION_LETTERS.toCharArray()) {
+            String optionText = cell(columns, record, OPTION_COLUMN_PREFIX + Character.toLowerCase(letter));
+            if (optionText != null) {
+                String optionLetter = String.valueOf(letter);
+                QuestionOptionRequestDTO option = new QuestionOptionRequestDTO(optionText, optionLetter, correctLetters.contains(optionLetter));
+                option.setDisplayOrder(options.size());
+                options.add(option);
+            }
+        }
+        if (!options.isEmpty()) {
+            dto.setOptions(options);
+        }
+
+        String suitabilities = cell(columns, record, "examsuitabilities");
+        if (suitabilities != null) {
+            List<Long> examIds = new ArrayList<>();
+            for (String examId : suitabilities.split("\\|")) {
+                examIds.add(parseLong(examId.trim(), "examSuitabilities"));
+            }
+            dto.setExamSuitabilities(examIds);
+        }
+
+        String histories = cell(columns, record, "examhistories");
+        if (histories != null) {
+            List<QuestionExamHistoryRequestDTO> examHistories = new ArrayList<>();
+            for (String entry : histories.split("\\|")) {
+                String[] parts = entry.trim().split(":", 3);
+                if (parts.length < 2) {
+                    throw new IllegalArgumentException("examHistories entries must be examId:year[:session]");
+                }
+                QuestionExamHistoryRequestDTO history = new QuestionExamHistoryRequestDTO(
+                        parseLong(parts[0].trim(), "examHistories"), parseInteger(parts[1].trim(), "examHistories"));
+                if (parts.length == 3 && !parts[2].isBlank()) {
+                    history.setAppearedSession(parts[2].trim());
+                }
+                examHistories.add(history);
+            }
+            dto.setExamHistories(examHistories);
+        }
+        return dto;
+    }
+
+    private String cell(Map<String, Integer> columns, List<String> record, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private Long parseLong(String value, String column) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number in " + column + ": " + value);
+        }
+    }
+
+    private Integer parseInteger(String value, String column) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number in " + column + ": " + value);
+        }
+    }
+
+    // ==================== VALIDATION & CHUNKING ====================
+
+    private void addRow(ImportRun run, int rowNumber, QuestionRequestDTO dto) {
+        run.result.setTotalRows(rowNumber);
+
+        Set<ConstraintViolation<QuestionRequestDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            addError(run, rowNumber, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return;
+        }
+
+        QuestionImportWriter.ImportedQuestion row = new QuestionImportWriter.ImportedQuestion(rowNumber, dto);
+        String error = resolveExamReferences(run, row);
+        if (error != null) {
+            addError(run, rowNumber, error);
+            return;
+        }
+
+        run.chunk.add(row);
+        if (run.chunk.size() >= chunkSize) {
+            flushChunk(run);
+        }
+    }
+
+    /**
+     * Check exam ids and resolve history years against the cached master data, same rules as createQuestion
+     */
+    private String resolveExamReferences(ImportRun run, QuestionImportWriter.ImportedQuestion row) {
+        QuestionRequestDTO dto = row.getRequest();
+        if (dto.getOptions() != null) {
+            for (QuestionOptionRequestDTO option : dto.getOptions()) {
+                if (option.getOptionText() == null || option.getOptionText().isBlank()) {
+                    return "Option text is required";
+                }
+            }
+        }
+        if (dto.getExamSuitabilities() != null) {
+            for (Long examId : dto.getExamSuitabilities()) {
+                if (!run.examIds.contains(examId)) {
+                    return "Master exam not found with ID: " + examId;
+                }
+            }
+        }
+        if (dto.getExamHistories() != null) {
+            for (QuestionExamHistoryRequestDTO history : dto.getExamHistories()) {
+                if (history.getMasterExamId() == null || !run.examIds.contains(history.getMasterExamId())) {
+                    return "Master exam not found with ID: " + history.getMasterExamId();
+                }
+                Long yearId;
+                if (history.getAppearedYearId() != null) {
+                    yearId = run.yearIds.contains(history.getAppearedYearId()) ? history.getAppearedYearId() : null;
+                    if (yearId == null) {
+                        return "Year not found with ID: " + history.getAppearedYearId();
+                    }
+                } else if (history.getAppearedYear() != null) {
+                    int yearValue = history.getAppearedYear() >= 1000 ? history.getAppearedYear() : 2020 + history.getAppearedYear();
+                    yearId = run.yearIdsByValue.get(yearValue);
+                    if (yearId == null) {
+                        return "Year not found with value: " + yearValue;
+                    }
+                } else {
+                    return "examHistories.appearedYearId or appearedYear is required";
+                }
+                row.getHistoryYearIds().add(yearId);
+
+                String session = history.getAppearedSession();
+                if (session == null || session.isEmpty()) {
+                    session = String.valueOf(run.yearValuesById().get(yearId));
+                }
+                row.getHistorySessions().add(session);
+            }
+        }
+        return null;
+    }
+
+    private void flushChunk(ImportRun run) {
+        if (run.chunk.isEmpty()) {
+            return;
+        }
+
+        // Resolve chapters not seen yet in one query
+        Set<Long> unknownChapterIds = run.chunk.stream()
+                .map(row -> row.getRequest().getChapterId())
+                .filter(chapterId -> !run.chapters.containsKey(chapterId))
+                .collect(Collectors.toSet());
+        if (!unknownChapterIds.isEmpty()) {
+            for (Chapter chapter : chapterRepository.findAllByIdInWithModuleAndTopic(unknownChapterIds)) {
+                Topic topic = chapter.getModule().getTopic();
+                run.chapters.put(chapter.getId(), new Long[] {
+                        chapter.getModule().getId(), topic.getId(), topic.getCourseTypeId(), topic.getRelationshipId() });
+            }
+            for (Long chapterId : unknownChapterIds) {
+                run.chapters.putIfAbsent(chapterId, null);
+            }
+        }
+
+        List<QuestionImportWriter.ImportedQuestion> valid = new ArrayList<>(run.chunk.size());
+        for (QuestionImportWriter.ImportedQuestion row : run.chunk) {
+            QuestionRequestDTO dto = row.getRequest();
+            Long[] hierarchy = run.chapters.get(dto.getChapterId());
+            if (hierarchy == null) {
+                addError(run, row.getRowNumber(), "Chapter not found with ID: " + dto.getChapterId());
+                continue;
+            }
+            // Hierarchy comes from the chapter, explicit values in the row win (same as createQuestion)
+            row.setChapterId(dto.getChapterId());
+            row.setModuleId(dto.getModuleId() != null ? dto.getModuleId() : hierarchy[0]);
+            row.setTopicId(dto.getTopicId() != null ? dto.getTopicId() : hierarchy[1]);
+            row.setCourseTypeId(dto.getCourseTypeId() != null ? dto.getCourseTypeId() : hierarchy[2]);
+            row.setRelationshipId(dto.getRelationshipId() != null ? dto.getRelationshipId() : hierarchy[3]);
+            valid.add(row);
+        }
+        run.chunk.clear();
+
+        if (valid.isEmpty()) {
+            return;
+        }
+        try {
+            importWriter.write(valid, run.userId);
+            run.result.setImportedCount(run.result.getImportedCount() + valid.size());
+        } catch (DataAccessException e) {
+            // Isolate the failing rows
+            logger.warn("Import chunk failed, retrying {} rows individually: {}", valid.size(), e.getMostSpecificCause().getMessage());
+            for (QuestionImportWriter.ImportedQuestion row : valid) {
+                try {
+                    importWriter.write(List.of(row), run.userId);
+                    run.result.setImportedCount(run.result.getImportedCount() + 1);
+                } catch (DataAccessException rowError) {
+                    addError(run, row.getRowNumber(), rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    private void addError(ImportRun run, int rowNumber, String message) {
+        QuestionImportResultDTO result = run.result;
+        result.setTotalRows(Math.max(result.getTotalRows(), rowNumber));
+        result.setFailedCount(result.getFailedCount() + 1);
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(new QuestionImportResultDTO.RowError(rowNumber, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    private Long getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User) {
+            return ((User) authentication.getPrincipal()).getId();
+        }
+        return null;
+    }
+
+    /**
+     * State of a single import: the result, the pending chunk and the reference caches
+     */
+    private static class ImportRun {
+
+        private final Long userId;
+        private final QuestionImportResultDTO result = new QuestionImportResultDTO();
+        private final List<QuestionImportWriter.ImportedQuestion> chunk = new ArrayList<>();
+        private final Map<Long, Long[]> chapters = new HashMap<>(); // chapterId -> {moduleId, topicId, courseTypeId, relationshipId}, null if missing
+        private Set<Long> examIds = new HashSet<>();
+        private final Set<Long> yearIds = new HashSet<>();
+        private final Map<Integer, Long> yearIdsByValue = new HashMap<>();
+        private Map<Long, Integer> yearValuesById;
+
+        private ImportRun(Long userId) {
+            this.userId = userId;
+        }
+
+        private Map<Long, Integer> yearValuesById() {
+            if (yearValuesById == null) {
+                yearValuesById = new HashMap<>();
+                yearIdsByValue.forEach((value, id) -> yearValuesById.put(id, value));
+            }
+            return yearValuesById;
+        }
+    }
+
+    /**
+     * Minimal RFC 4180 reader: quoted fields may contain commas, doubled quotes and line breaks
+     */
+    private static class CsvReader implements AutoCloseable {
+
+        private final Reader reader;
+        private boolean firstRead = true;
+        private boolean eof = false;
+
+        private CsvReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        private List<String> readRecord() throws IOException {
+            if (eof) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean inQuotes = false;
+            boolean sawAnyChar = false;
+
+            while (true) {
+                int c = reader.read();
+                if (firstRead) {
+                    firstRead = false;
+                    if (c == '\uFEFF') {
+                        c = reader.read(); // Skip UTF-8 BOM
+                    }
+                }
+                if (c == -1) {
+                    eof = true;
+                    if (!sawAnyChar) {
+                        return null;
+                    }
+                    fields.add(field.toString());
+                    return fields;
+                }
+                sawAnyChar = true;
+
+                if (inQuotes) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        int next = reader.read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            inQuotes = false;
+                            if (next != -1) {
+                                reader.reset();
+                            }
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    inQuotes = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    fields.add(field.toString());
+                    return fields;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.coaxial.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.coaxial.dto.QuestionExamHistoryRequestDTO;
+import com.coaxial.dto.QuestionOptionRequestDTO;
+import com.coaxial.dto.QuestionRequestDTO;
+import com.coaxial.event.QuestionsChangedEvent;
+
+/**
+ * Writes validated import rows with JDBC batch inserts.
+ * Question ids are reserved from the questions sequence up front, so options,
+ * suitabilities and histories can be batched in the same pass without reading keys back.
+ */
+@Service
+public class QuestionImportWriter {
+
+    private static final String INSERT_QUESTION =
+            "INSERT INTO questions (id, question_text, question_type, difficulty_level, marks, negative_marks, " +
+            "time_limit_seconds, explanation, is_active, chapter_id, course_type_id, relationship_id, topic_id, " +
+            "module_id, subject_id, display_order, created_at, updated_at, created_by) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_OPTION =
+            "INSERT INTO question_options (question_id, option_text, option_letter, is_correct, display_order, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_SUITABILITY =
+            "INSERT INTO question_exam_suitabilities (question_id, master_exam_id, suitability_level, is_active, created_at, created_by) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_HISTORY =
+            "INSERT INTO question_exam_histories (question_id, master_exam_id, appeared_year_id, appeared_session, " +
+            "marks_in_exam, question_number_in_exam, difficulty_in_exam, notes, is_active, created_at, created_by) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private QuestionSimilarityService questionSimilarityService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ContentCountRollupService contentCountRollupService;
+
+    /**
+     * Insert all rows in one transaction; any failure rolls back the whole batch
+     */
+    @Transactional
+    public void write(List<ImportedQuestion> rows, Long userId) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT nextval(pg_get_serial_sequence('questions', 'id')) FROM generate_series(1, ?)",
+                Long.class, rows.size());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> questionArgs = new ArrayList<>(rows.size());
+        List<Object[]> optionArgs = new ArrayList<>();
+        List<Object[]> suitabilityArgs = new ArrayList<>();
+        List<Object[]> historyArgs = new ArrayList<>();
+        Map<Long, String> questionTexts = new LinkedHashMap<>();
+        Map<Long, Long> activeCountByChapter = new HashMap<>();
+
+        for (int i = 0; i < rows.size(); i++) {
+            ImportedQuestion row = rows.get(i);
+            QuestionRequestDTO dto = row.getRequest();
+            Long questionId = ids.get(i);
+            Boolean isActive = dto.getIsActive() != null ? dto.getIsActive() : Boolean.TRUE;
+
+            questionArgs.add(new Object[] {
+                    questionId, dto.getQuestionText(), dto.getQuestionType(), dto.getDifficultyLevel(),
+                    dto.getMarks(), dto.getNegativeMarks(), dto.getTimeLimitSeconds(), dto.getExplanation(),
+                    isActive, row.getChapterId(), row.getCourseTypeId(), row.getRelationshipId(),
+                    row.getTopicId(), row.getModuleId(), dto.getSubjectId(), dto.getDisplayOrder(),
+                    now, now, userId });
+            questionTexts.put(questionId, dto.getQuestionText());
+            if (isActive) {
+                activeCountByChapter.merge(row.getChapterId(), 1L, Long::sum);
+            }
+
+            if (dto.getOptions() != null) {
+                for (int o = 0; o < dto.getOptions().size(); o++) {
+                    QuestionOptionRequestDTO option = dto.getOptions().get(o);
+                    String letter = option.getOptionLetter() != null
+                            ? option.getOptionLetter()
+                            : String.valueOf((char) ('A' + o));
+                    optionArgs.add(new Object[] {
+                            questionId, option.getOptionText(), letter,
+                            Boolean.TRUE.equals(option.getIsCorrect()),
+                            option.getDisplayOrder() != null ? option.getDisplayOrder() : o, now });
+                }
+            }
+
+            if (dto.getExamSuitabilities() != null) {
+                for (Long examId : dto.getExamSuitabilities()) {
+                    suitabilityArgs.add(new Object[] { questionId, examId, "MEDIUM", true, now, userId });
+                }
+            }
+
+            if (dto.getExamHistories() != null) {
+                for (int h = 0; h < dto.getExamHistories().size(); h++) {
+                    QuestionExamHistoryRequestDTO history = dto.getExamHistories().get(h);
+                    historyArgs.add(new Object[] {
+                            questionId, history.getMasterExamId(), row.getHistoryYearIds().get(h),
+                            row.getHistorySessions().get(h), history.getMarksInExam(),
+                            history.getQuestionNumberInExam(), history.getDifficultyInExam(),
+                            history.getNotes(), true, now, userId });
+                }
+            }
+        }
+
+        batchInsert(INSERT_QUESTION, questionArgs);
+        batchInsert(INSERT_OPTION, optionArgs);
+        batchInsert(INSERT_SUITABILITY, suitabilityArgs);
+        batchInsert(INSERT_HISTORY, historyArgs);
+        contentCountRollupService.onQuestionsAdded(activeCountByChapter);
+
+        questionSimilarityService.indexQuestions(questionTexts);
+        eventPublisher.publishEvent(new QuestionsChangedEvent(rows.size()));
+    }
+
+    private void batchInsert(String sql, List<Object[]> argsList) {
+        if (!argsList.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, argsList);
+        }
+    }
+
+    /**
+     * A validated import row with its hierarchy and year references resolved
+     */
+    public static class ImportedQuestion {
+
+        private final int rowNumber;
+        private final QuestionRequestDTO request;
+        private Long chapterId;
+        private Long moduleId;
+        private Long topicId;
+        private Long courseTypeId;
+        private Long relationshipId;
+        private final List<Long> historyYearIds = new ArrayList<>();   // Aligned with request.getExamHistories()
+        private final List<String> historySessions = new ArrayList<>();
+
+        public ImportedQuestion(int rowNumber, QuestionRequestDTO request) {
+            this.rowNumber = rowNumber;
+            this.request = request;
+        }
+
+        public int getRowNumber() {
+            return rowNumber;
+        }
+
+        public QuestionRequestDTO getRequest() {
+            return request;
+        }
+
+        public Long getChapterId() {
+            return chapterId;
+        }
+
+        public void setChapterId(Long chapterId) {
+            this.chapterId = chapterId;
+        }
+
+        public Long getModuleId() {
+            return moduleId;
+        }
+
+        public void setModuleId(Long moduleId) {
+            this.moduleId = moduleId;
+        }
+
+        public Long getTopicId() {
+            return topicId;
+        }
+
+        public void setTopicId(Long topicId) {
+            this.topicId = topicId;
+        }
+
+        public Long getCourseTypeId() {
+            return courseTypeId;
+        }
+
+        public void setCourseTypeId(Long courseTypeId) {
+            this.courseTypeId = courseTypeId;
+        }
+
+        public Long getRelationshipId() {
+            return relationshipId;
+        }
+
+        public void setRelationshipId(Long relationshipId) {
+            this.relationshipId = relationshipId;
+        }
+
+        public List<Long> getHistoryYearIds() {
+            return historyYearIds;
+        }
+
+        public List<String> getHistorySessions() {
+            return historySessions;
+        }
+    }
+}
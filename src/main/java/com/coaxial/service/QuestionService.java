@@ -1,15 +1,25 @@
 package com.coaxial.service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.coaxial.dto.QuestionExamHistoryResponseDTO;
@@ -17,6 +27,7 @@ import com.coaxial.dto.QuestionExamSuitabilityResponseDTO;
 import com.coaxial.dto.QuestionFilterRequestDTO;
 import com.coaxial.dto.QuestionRequestDTO;
 import com.coaxial.dto.QuestionResponseDTO;
+import com.coaxial.dto.SimilarQuestionDTO;
 import com.coaxial.entity.Chapter;
 import com.coaxial.entity.ClassSubject;
 import com.coaxial.entity.CourseSubject;
@@ -30,6 +41,7 @@ import com.coaxial.entity.QuestionOption;
 import com.coaxial.entity.Subject;
 import com.coaxial.entity.Topic;
 import com.coaxial.entity.User;
+import com.coaxial.event.QuestionsChangedEvent;
 import com.coaxial.repository.ChapterRepository;
 import com.coaxial.repository.ClassSubjectRepository;
 import com.coaxial.repository.CourseSubjectRepository;
@@ -39,11 +51,18 @@ import com.coaxial.repository.MasterYearRepository;
 import com.coaxial.repository.QuestionExamHistoryRepository;
 import com.coaxial.repository.QuestionExamSuitabilityRepository;
 import com.coaxial.repository.QuestionRepository;
+import com.coaxial.repository.QuestionSpecifications;
 
 @Service
 @Transactional
 public class QuestionService {
     
+    // Max ids per IN list when prefetching question graphs
+    private static final int PREFETCH_BATCH_SIZE = 500;
+    
+    private static final Set<String> SORTABLE_FIELDS =
+            Set.of("id", "displayOrder", "createdAt", "updatedAt", "marks", "difficultyLevel", "questionType");
+    
     @Autowired
     private QuestionRepository questionRepository;
     
@@ -71,87 +90,141 @@ public class QuestionService {
     @Autowired
     private CourseSubjectRepository courseSubjectRepository;
     
+    @Autowired
+    private QuestionSimilarityService questionSimilarityService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private ContentCountRollupService contentCountRollupService;
+    
     public List<QuestionResponseDTO> getAllQuestions() {
-        return questionRepository.findAll().stream()
-                .map(this::createQuestionResponseDTO)
-                .collect(Collectors.toList());
+        return createQuestionResponseDTOs(questionRepository.findAll());
     }
     
     public List<QuestionResponseDTO> getQuestionsByChapterId(Long chapterId) {
-        return questionRepository.findByChapterIdAndIsActiveTrueOrderByDisplayOrderAsc(chapterId).stream()
-                .map(this::createQuestionResponseDTO)
-                .collect(Collectors.toList());
+        return createQuestionResponseDTOs(questionRepository.findByChapterIdAndIsActiveTrueOrderByDisplayOrderAsc(chapterId));
     }
     
     public List<QuestionResponseDTO> getQuestionsByModuleId(Long moduleId) {
-        return questionRepository.findByModuleIdAndIsActiveTrueOrderByDisplayOrderAsc(moduleId).stream()
-                .map(this::createQuestionResponseDTO)
-                .collect(Collectors.toList());
+        return createQuestionResponseDTOs(questionRepository.findByModuleIdAndIsActiveTrueOrderByDisplayOrderAsc(moduleId));
     }
     
     public List<QuestionResponseDTO> getQuestionsByTopicId(Long topicId) {
-        return questionRepository.findByTopicIdAndIsActiveTrueOrderByDisplayOrderAsc(topicId).stream()
-                .map(this::createQuestionResponseDTO)
-                .collect(Collectors.toList());
+        return createQuestionResponseDTOs(questionRepository.findByTopicIdAndIsActiveTrueOrderByDisplayOrderAsc(topicId));
     }
     
     public List<QuestionResponseDTO> getQuestionsBySubjectId(Long subjectId) {
-        return questionRepository.findBySubjectIdAndIsActiveTrueOrderByDisplayOrderAsc(subjectId).stream()
-                .map(this::createQuestionResponseDTO)
-                .collect(Collectors.toList());
+        return createQuestionResponseDTOs(questionRepository.findBySubjectIdAndIsActiveTrueOrderByDisplayOrderAsc(subjectId));
     }
     
     public List<QuestionResponseDTO> getQuestionsWithFilters(Boolean isActive, String questionType, 
                                                            String difficultyLevel, Long chapterId, 
                                                            Long moduleId, Long topicId, Long subjectId) {
-        List<Question> questions = questionRepository.findAll();
+        QuestionFilterRequestDTO filter = new QuestionFilterRequestDTO();
+        filter.setIsActive(isActive);
+        filter.setQuestionType(questionType);
+        filter.setDifficultyLevel(difficultyLevel);
+        filter.setChapterId(chapterId);
+        filter.setModuleId(moduleId);
+        filter.setTopicId(topicId);
+        filter.setSubjectId(subjectId);
         
-        return questions.stream()
-                .filter(question -> isActive == null || question.getIsActive().equals(isActive))
-                .filter(question -> questionType == null || question.getQuestionType().equals(questionType))
-                .filter(question -> difficultyLevel == null || question.getDifficultyLevel().equals(difficultyLevel))
-                .filter(question -> chapterId == null || (question.getChapter() != null && question.getChapter().getId().equals(chapterId)))
-                .filter(question -> moduleId == null || question.getModuleId() != null && question.getModuleId().equals(moduleId))
-                .filter(question -> topicId == null || question.getTopicId() != null && question.getTopicId().equals(topicId))
-                .filter(question -> subjectId == null || question.getSubjectId() != null && question.getSubjectId().equals(subjectId))
-                .map(this::createQuestionResponseDTO)
-                .collect(Collectors.toList());
+        return createQuestionResponseDTOs(
+                questionRepository.findAll(QuestionSpecifications.withFilters(filter), Sort.by("displayOrder").ascending()));
+    }
+    
+    /**
+     * Filter, sort and paginate questions in the database.
+     * Sorting is limited to indexed/simple columns so arbitrary property names never reach the query.
+     */
+    public Page<QuestionResponseDTO> searchQuestions(QuestionFilterRequestDTO filter, Pageable pageable) {
+        for (Sort.Order order : pageable.getSort()) {
+            if (!SORTABLE_FIELDS.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Cannot sort questions by: " + order.getProperty());
+            }
+        }
+        return createQuestionResponseDTOs(questionRepository.findAll(QuestionSpecifications.withFilters(filter), pageable));
     }
     
     public Page<QuestionResponseDTO> getQuestionsPaginated(Pageable pageable) {
-        Page<Question> questions = questionRepository.findAll(pageable);
-        return questions.map(this::createQuestionResponseDTO);
+        return createQuestionResponseDTOs(questionRepository.findAll(pageable));
     }
     
     // Enhanced filtering methods
+    /**
+     * Two-phase pagination: page over matching question ids first, then load
+     * only that page's questions together with their exam suitabilities/histories.
+     * When questionTextSearch/explanationSearch is given, ids come from the full-text
+     * index instead and are ordered by relevance.
+     */
     public Page<QuestionResponseDTO> getQuestionsWithEnhancedFilters(QuestionFilterRequestDTO filter) {
         try {
-            System.out.println("Filter request: " + filter.toString());
-            
             Pageable pageable = Pageable.ofSize(filter.getSize()).withPage(filter.getPage());
-            System.out.println("Pageable created: page=" + pageable.getPageNumber() + ", size=" + pageable.getPageSize());
             
-            Page<Question> questions = questionRepository.findQuestionsWithEnhancedFilters(
-                filter.getIsActive(),
-                filter.getQuestionType(),
-                filter.getDifficultyLevel(),
-                filter.getMinMarks(),
-                filter.getMaxMarks(),
-                filter.getCourseTypeId(),
-                filter.getRelationshipId(),
-                filter.getSubjectId(),
-                filter.getTopicId(),
-                filter.getModuleId(),
-                filter.getChapterId(),
-                filter.getExamIds(),
-                filter.getSuitabilityLevels(),
-                filter.getAppearedYears(),
-                pageable
-            );
+            boolean filterExamIds = filter.getExamIds() != null && !filter.getExamIds().isEmpty();
+            boolean filterSuitabilityLevels = filter.getSuitabilityLevels() != null && !filter.getSuitabilityLevels().isEmpty();
+            boolean filterAppearedYears = filter.getAppearedYears() != null && !filter.getAppearedYears().isEmpty();
+            List<Long> examIds = filterExamIds ? filter.getExamIds() : List.of(0L);
+            List<String> suitabilityLevels = filterSuitabilityLevels ? filter.getSuitabilityLevels() : List.of("");
+            List<Integer> appearedYears = filterAppearedYears ? filter.getAppearedYears() : List.of(0);
+            
+            String tsQuery = buildFullTextQuery(filter.getQuestionTextSearch(), filter.getExplanationSearch());
+            boolean hasSearchText = (filter.getQuestionTextSearch() != null && !filter.getQuestionTextSearch().isBlank())
+                    || (filter.getExplanationSearch() != null && !filter.getExplanationSearch().isBlank());
+            if (hasSearchText && tsQuery == null) {
+                // Search text without any searchable word cannot match anything
+                return Page.empty(pageable);
+            }
             
-            System.out.println("Found " + questions.getTotalElements() + " questions");
+            Page<Long> idPage;
+            if (tsQuery != null) {
+                idPage = questionRepository.searchQuestionIds(
+                    tsQuery,
+                    filter.getIsActive(),
+                    filter.getQuestionType(),
+                    filter.getDifficultyLevel(),
+                    filter.getMinMarks(),
+                    filter.getMaxMarks(),
+                    filter.getCourseTypeId(),
+                    filter.getRelationshipId(),
+                    filter.getSubjectId(),
+                    filter.getTopicId(),
+                    filter.getModuleId(),
+                    filter.getChapterId(),
+                    filterExamIds, examIds,
+                    filterSuitabilityLevels, suitabilityLevels,
+                    filterAppearedYears, appearedYears,
+                    pageable
+                );
+            } else {
+                idPage = questionRepository.findQuestionIdsWithEnhancedFilters(
+                    filter.getIsActive(),
+                    filter.getQuestionType(),
+                    filter.getDifficultyLevel(),
+                    filter.getMinMarks(),
+                    filter.getMaxMarks(),
+                    filter.getCourseTypeId(),
+                    filter.getRelationshipId(),
+                    filter.getSubjectId(),
+                    filter.getTopicId(),
+                    filter.getModuleId(),
+                    filter.getChapterId(),
+                    filterExamIds, examIds,
+                    filterSuitabilityLevels, suitabilityLevels,
+                    filterAppearedYears, appearedYears,
+                    pageable
+                );
+            }
             
-            return questions.map(this::createQuestionResponseDTO);
+            // Load the page's question graphs and keep the order of the id page
+            Map<Long, Question> questionsById = prefetchQuestionGraphs(idPage.getContent());
+            List<Question> pageQuestions = idPage.getContent().stream()
+                    .map(questionsById::get)
+                    .filter(question -> question != null) // Deleted since the id page was read
+                    .collect(Collectors.toList());
+            return new PageImpl<>(createQuestionResponseDTOs(pageQuestions), idPage.getPageable(), idPage.getTotalElements());
         } catch (Exception e) {
             System.err.println("Error in getQuestionsWithEnhancedFilters: " + e.getMessage());
             e.printStackTrace();
@@ -159,11 +232,31 @@ public class QuestionService {
         }
     }
     
+    /**
+     * Builds a prefix-matching tsquery, e.g. "quadr equat" -> "quadr:*A & equat:*A".
+     * Only letters and digits survive, so user input can never inject tsquery operators.
+     * Returns null when there is nothing to search for.
+     */
+    private String buildFullTextQuery(String questionTextSearch, String explanationSearch) {
+        List<String> terms = new ArrayList<>();
+        addPrefixTerms(terms, questionTextSearch, "A");
+        addPrefixTerms(terms, explanationSearch, "B");
+        return terms.isEmpty() ? null : String.join(" & ", terms);
+    }
+    
+    private void addPrefixTerms(List<String> terms, String text, String weight) {
+        if (text == null) {
+            return;
+        }
+        for (String word : text.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                terms.add(word + ":*" + weight);
+            }
+        }
+    }
+    
     public List<QuestionResponseDTO> getQuestionsByExamSuitability(List<Long> examIds, List<String> suitabilityLevels) {
-        List<Question> questions = questionRepository.findQuestionsByExamSuitability(examIds, suitabilityLevels);
-        return questions.stream()
-                .map(this::createQuestionResponseDTO)
-                .collect(Collectors.toList());
+        return createQuestionResponseDTOs(questionRepository.findQuestionsByExamSuitability(examIds, suitabilityLevels));
     }
     
     public List<QuestionResponseDTO> getPreviouslyAskedQuestions(List<Long> examIds, List<Integer> appearedYears,
@@ -174,17 +267,12 @@ public class QuestionService {
             examIds, appearedYears, examSessions, minMarksInExam, 
             maxMarksInExam, questionNumbers, examDifficulties
         );
-        return questions.stream()
-                .map(this::createQuestionResponseDTO)
-                .collect(Collectors.toList());
+        return createQuestionResponseDTOs(questions);
     }
     
     public List<QuestionResponseDTO> getQuestionsByAcademicLevel(Long courseTypeId, Long relationshipId) {
-        return questionRepository.findByCourseTypeIdAndRelationshipIdAndIsActiveTrueOrderByDisplayOrderAsc(
-                courseTypeId, relationshipId)
-                .stream()
-                .map(this::createQuestionResponseDTO)
-                .collect(Collectors.toList());
+        return createQuestionResponseDTOs(questionRepository.findByCourseTypeIdAndRelationshipIdAndIsActiveTrueOrderByDisplayOrderAsc(
+                courseTypeId, relationshipId));
     }
     
     public List<QuestionResponseDTO> getQuestionsByHierarchy(Long courseTypeId, Long relationshipId, 
@@ -206,9 +294,7 @@ public class QuestionService {
             null  // createdBefore
         );
         
-        return questions.stream()
-                .map(this::createQuestionResponseDTO)
-                .collect(Collectors.toList());
+        return createQuestionResponseDTOs(questions);
     }
     
     public Optional<QuestionResponseDTO> getQuestionById(Long id) {
@@ -277,6 +363,7 @@ public class QuestionService {
         }
         
         Question savedQuestion = questionRepository.save(question);
+        contentCountRollupService.onQuestionChanged(null, false, chapter.getId(), savedQuestion.getIsActive());
         
         // Handle detailed exam histories
         if (questionRequestDTO.getExamHistories() != null && !questionRequestDTO.getExamHistories().isEmpty()) {
@@ -386,7 +473,11 @@ public class QuestionService {
             questionExamSuitabilityRepository.saveAll(examSuitabilities);
         }
         
-        return createQuestionResponseDTO(savedQuestion);
+        QuestionResponseDTO response = createQuestionResponseDTO(savedQuestion);
+        response.setSimilarQuestions(questionSimilarityService.findNearDuplicates(savedQuestion.getQuestionText(), savedQuestion.getId()));
+        questionSimilarityService.indexQuestion(savedQuestion.getId(), savedQuestion.getQuestionText());
+        eventPublisher.publishEvent(new QuestionsChangedEvent(1));
+        return response;
     }
 
     // removed unused normalization helper
@@ -394,6 +485,8 @@ public class QuestionService {
     public QuestionResponseDTO updateQuestion(Long id, QuestionRequestDTO questionRequestDTO) {
         Question existingQuestion = questionRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Question not found with ID: " + id));
+        Long previousChapterId = existingQuestion.getChapter().getId();
+        Boolean wasActive = existingQuestion.getIsActive();
         
         // Validate chapter exists
         Chapter chapter = chapterRepository.findById(questionRequestDTO.getChapterId())
@@ -455,14 +548,34 @@ public class QuestionService {
         }
         
         Question updatedQuestion = questionRepository.save(existingQuestion);
-        return createQuestionResponseDTO(updatedQuestion);
+        contentCountRollupService.onQuestionChanged(previousChapterId, wasActive, chapter.getId(), updatedQuestion.getIsActive());
+        QuestionResponseDTO response = createQuestionResponseDTO(updatedQuestion);
+        response.setSimilarQuestions(questionSimilarityService.findNearDuplicates(updatedQuestion.getQuestionText(), updatedQuestion.getId()));
+        questionSimilarityService.indexQuestion(updatedQuestion.getId(), updatedQuestion.getQuestionText());
+        eventPublisher.publishEvent(new QuestionsChangedEvent(1));
+        return response;
     }
     
     public void deleteQuestion(Long id) {
-        if (!questionRepository.existsById(id)) {
-            throw new IllegalArgumentException("Question not found with ID: " + id);
-        }
-        questionRepository.deleteById(id);
+        Question question = questionRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Question not found with ID: " + id));
+        contentCountRollupService.onQuestionChanged(question.getChapter().getId(), question.getIsActive(), null, false);
+        questionSimilarityService.removeQuestion(id);
+        questionRepository.delete(question);
+        eventPublisher.publishEvent(new QuestionsChangedEvent(1));
+    }
+    
+    /**
+     * Near-duplicate check for authors before saving; excludeQuestionId skips the question being edited
+     */
+    public List<SimilarQuestionDTO> findNearDuplicates(String questionText, Long excludeQuestionId) {
+        return questionSimilarityService.findNearDuplicates(questionText, excludeQuestionId);
+    }
+    
+    // Runs outside the class-level transaction so every batch commits on its own
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int rebuildNearDuplicateIndex() {
+        return questionSimilarityService.rebuildIndex();
     }
     
     public boolean existsById(Long id) {
@@ -478,11 +591,53 @@ public class QuestionService {
         return null;
     }
     
+    /**
+     * Maps a list of questions with a fixed number of queries: the options, hierarchy and exam
+     * data of all questions are fetched in batches and subjects are resolved once per relationship,
+     * instead of lazily per question.
+     */
+    private List<QuestionResponseDTO> createQuestionResponseDTOs(List<Question> questions) {
+        if (questions.isEmpty()) {
+            return new ArrayList<>();
+        }
+        prefetchQuestionGraphs(questions.stream().map(Question::getId).collect(Collectors.toList()));
+        Map<Long, Map<Long, Subject>> subjects = resolveSubjectsFromTopics(questions);
+        return questions.stream()
+                .map(question -> createQuestionResponseDTO(question, subjects))
+                .collect(Collectors.toList());
+    }
+    
+    private Page<QuestionResponseDTO> createQuestionResponseDTOs(Page<Question> questions) {
+        return new PageImpl<>(createQuestionResponseDTOs(questions.getContent()), questions.getPageable(), questions.getTotalElements());
+    }
+    
+    /**
+     * Loads options, chapter/module/topic and exam data for the given questions into the
+     * persistence context, so the already-loaded instances see initialized associations
+     */
+    private Map<Long, Question> prefetchQuestionGraphs(List<Long> ids) {
+        Map<Long, Question> questionsById = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += PREFETCH_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + PREFETCH_BATCH_SIZE, ids.size()));
+            for (Question question : questionRepository.findAllWithOptionsAndHierarchyByIdIn(batch)) {
+                questionsById.put(question.getId(), question);
+            }
+            // Bags cannot be fetched together, these initialize the other two collections on the same instances
+            questionRepository.findAllWithExamSuitabilitiesByIdIn(batch);
+            questionRepository.findAllWithExamHistoriesByIdIn(batch);
+        }
+        return questionsById;
+    }
+    
     /**
      * Creates a QuestionResponseDTO with complete information including
      * subject resolution, exam suitability, and exam histories
      */
     private QuestionResponseDTO createQuestionResponseDTO(Question question) {
+        return createQuestionResponseDTO(question, resolveSubjectsFromTopics(List.of(question)));
+    }
+    
+    private QuestionResponseDTO createQuestionResponseDTO(Question question, Map<Long, Map<Long, Subject>> subjects) {
         QuestionResponseDTO dto = new QuestionResponseDTO(question);
         
         // Populate additional information that might not be in the basic constructor
@@ -501,7 +656,7 @@ public class QuestionService {
                     dto.setTopicName(topic.getName());
                     
                     // Resolve subject information
-                    Subject subject = resolveSubjectFromTopic(topic);
+                    Subject subject = subjects.getOrDefault(topic.getCourseTypeId(), Map.of()).get(topic.getRelationshipId());
                     if (subject != null) {
                         dto.setSubjectId(subject.getId());
                         dto.setSubjectName(subject.getName());
@@ -529,43 +684,42 @@ public class QuestionService {
     }
     
     /**
-     * Resolves the Subject entity from a Topic based on its courseTypeId and relationshipId
-     * 
-     * @param topic The Topic entity
-     * @return The resolved Subject entity, or null if not found
+     * Resolves the subjects of the questions' topics, keyed by courseTypeId then relationshipId.
+     * CourseTypeId 1 = Academic (ClassSubject), 2 = Competitive (ExamSubject), 3 = Professional (CourseSubject);
+     * each relationship table is queried at most once.
      */
-    private Subject resolveSubjectFromTopic(Topic topic) {
-        Long courseTypeId = topic.getCourseTypeId();
-        Long relationshipId = topic.getRelationshipId();
-        
-        if (courseTypeId == null || relationshipId == null) {
-            return null;
+    private Map<Long, Map<Long, Subject>> resolveSubjectsFromTopics(Collection<Question> questions) {
+        Map<Long, Set<Long>> relationshipIds = new HashMap<>();
+        for (Question question : questions) {
+            if (question.getChapter() == null || question.getChapter().getModule() == null
+                    || question.getChapter().getModule().getTopic() == null) {
+                continue;
+            }
+            Topic topic = question.getChapter().getModule().getTopic();
+            if (topic.getCourseTypeId() != null && topic.getRelationshipId() != null) {
+                relationshipIds.computeIfAbsent(topic.getCourseTypeId(), courseTypeId -> new HashSet<>())
+                        .add(topic.getRelationshipId());
+            }
         }
         
-        try {
-            // CourseTypeId 1 = Academic (ClassSubject)
+        Map<Long, Map<Long, Subject>> subjects = new HashMap<>();
+        for (Map.Entry<Long, Set<Long>> entry : relationshipIds.entrySet()) {
+            Map<Long, Subject> byRelationship = subjects.computeIfAbsent(entry.getKey(), courseTypeId -> new HashMap<>());
+            long courseTypeId = entry.getKey();
             if (courseTypeId == 1) {
-                return classSubjectRepository.findById(relationshipId)
-                        .map(ClassSubject::getSubject)
-                        .orElse(null);
-            }
-            // CourseTypeId 2 = Competitive (ExamSubject)
-            else if (courseTypeId == 2) {
-                return examSubjectRepository.findById(relationshipId)
-                        .map(ExamSubject::getSubject)
-                        .orElse(null);
-            }
-            // CourseTypeId 3 = Professional (CourseSubject)
-            else if (courseTypeId == 3) {
-                return courseSubjectRepository.findById(relationshipId)
-                        .map(CourseSubject::getSubject)
-                        .orElse(null);
+                for (ClassSubject classSubject : classSubjectRepository.findAllByIdInWithSubject(entry.getValue())) {
+                    byRelationship.put(classSubject.getId(), classSubject.getSubject());
+                }
+            } else if (courseTypeId == 2) {
+                for (ExamSubject examSubject : examSubjectRepository.findAllByIdInWithSubject(entry.getValue())) {
+                    byRelationship.put(examSubject.getId(), examSubject.getSubject());
+                }
+            } else if (courseTypeId == 3) {
+                for (CourseSubject courseSubject : courseSubjectRepository.findAllByIdInWithSubject(entry.getValue())) {
+                    byRelationship.put(courseSubject.getId(), courseSubject.getSubject());
+                }
             }
-        } catch (Exception e) {
-            // Log error if needed, but don't fail the entire operation
-            System.err.println("Error resolving subject for topic (courseTypeId=" + topic.getCourseTypeId() + ", relationshipId=" + topic.getRelationshipId() + "): " + e.getMessage());
         }
-        
-        return null;
+        return subjects;
     }
 }
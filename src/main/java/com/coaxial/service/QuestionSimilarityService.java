@@ -0,0 +1,299 @@
+package com.coaxial.service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.coaxial.dto.SimilarQuestionDTO;
+import com.coaxial.entity.Question;
+import com.coaxial.entity.QuestionSignature;
+import com.coaxial.repository.QuestionRepository;
+import com.coaxial.repository.QuestionSignatureRepository;
+
+/**
+ * Near-duplicate question detection with MinHash + locality-sensitive hashing.
+ * Question text is normalized and split into character shingles; 128 MinHash values are
+ * grouped into 32 bands of 4. Two questions become candidates when any band matches,
+ * which happens with high probability above ~0.5 similarity and rarely below it;
+ * candidates are then ranked by the fraction of equal MinHash values.
+ */
+@Service
+public class QuestionSimilarityService {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuestionSimilarityService.class);
+
+    private static final int SHINGLE_LENGTH = 5;
+    private static final int BANDS = 32;
+    private static final int ROWS_PER_BAND = 4;
+    private static final int NUM_HASHES = BANDS * ROWS_PER_BAND;
+    private static final int MAX_CANDIDATES = 200;
+    private static final int REBUILD_BATCH_SIZE = 500;
+    private static final int SNIPPET_LENGTH = 200;
+
+    // Fixed seeds: signatures must stay comparable across restarts and instances
+    private static final long[] HASH_SEEDS = new SplittableRandom(0x51D5EEDL).longs(NUM_HASHES).toArray();
+
+    private static final String UPSERT_SIGNATURE =
+            "INSERT INTO question_signatures (question_id, minhash, band_keys, updated_at) " +
+            "VALUES (?, CAST(? AS integer[]), CAST(? AS bigint[]), ?) " +
+            "ON CONFLICT (question_id) DO UPDATE SET minhash = EXCLUDED.minhash, " +
+            "band_keys = EXCLUDED.band_keys, updated_at = EXCLUDED.updated_at";
+
+    @Autowired
+    private QuestionSignatureRepository signatureRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.question.near-duplicate.threshold:0.8}")
+    private double threshold;
+
+    @Value("${app.question.near-duplicate.max-results:10}")
+    private int maxResults;
+
+    /**
+     * Store (or replace) the signature of a question
+     */
+    @Transactional
+    public void indexQuestion(Long questionId, String questionText) {
+        int[] minhash = computeSignature(questionText);
+        if (minhash == null) {
+            signatureRepository.deleteById(questionId);
+            return;
+        }
+        signatureRepository.save(new QuestionSignature(questionId, minhash, computeBandKeys(minhash)));
+    }
+
+    /**
+     * Store signatures for a batch of new questions, keyed by question id
+     */
+    @Transactional
+    public void indexQuestions(Map<Long, String> questionTexts) {
+        List<QuestionSignature> batch = new ArrayList<>(questionTexts.size());
+        questionTexts.forEach((questionId, questionText) -> {
+            int[] minhash = computeSignature(questionText);
+            if (minhash != null) {
+                batch.add(new QuestionSignature(questionId, minhash, computeBandKeys(minhash)));
+            }
+        });
+        upsertSignatures(batch);
+    }
+
+    @Transactional
+    public void removeQuestion(Long questionId) {
+        if (signatureRepository.existsById(questionId)) {
+            signatureRepository.deleteById(questionId);
+        }
+    }
+
+    /**
+     * Existing questions whose text is at least the configured similarity to the given text, most similar first
+     */
+    @Transactional(readOnly = true)
+    public List<SimilarQuestionDTO> findNearDuplicates(String questionText, Long excludeQuestionId) {
+        int[] minhash = computeSignature(questionText);
+        if (minhash == null) {
+            return List.of();
+        }
+
+        List<QuestionSignature> candidates = signatureRepository.findCandidates(
+                toArrayLiteral(computeBandKeys(minhash)),
+                excludeQuestionId != null ? excludeQuestionId : -1L,
+                MAX_CANDIDATES);
+
+        List<Match> matches = new ArrayList<>();
+        for (QuestionSignature candidate : candidates) {
+            double similarity = estimateSimilarity(minhash, candidate.getMinhash());
+            if (similarity >= threshold) {
+                matches.add(new Match(candidate.getQuestionId(), similarity));
+            }
+        }
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        matches.sort(Comparator.comparingDouble(Match::similarity).reversed());
+        List<Match> top = matches.subList(0, Math.min(maxResults, matches.size()));
+
+        Map<Long, Question> questionsById = questionRepository.findAllById(
+                top.stream().map(Match::questionId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Question::getId, Function.identity()));
+
+        List<SimilarQuestionDTO> result = new ArrayList<>();
+        for (Match match : top) {
+            Question question = questionsById.get(match.questionId());
+            if (question == null) {
+                continue;
+            }
+            result.add(new SimilarQuestionDTO(
+                    question.getId(),
+                    question.getChapter() != null ? question.getChapter().getId() : null,
+                    question.getChapter() != null ? question.getChapter().getName() : null,
+                    snippet(question.getQuestionText()),
+                    Math.round(match.similarity() * 100) / 100.0));
+        }
+        return result;
+    }
+
+    /**
+     * Recompute signatures for the whole question bank in id order.
+     * Each batch is written as one JDBC batch upsert so memory stays flat on large banks.
+     */
+    public int rebuildIndex() {
+        long afterId = 0L;
+        int indexed = 0;
+        while (true) {
+            List<Object[]> rows = questionRepository.findIdAndTextAfter(afterId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            if (rows.isEmpty()) {
+                break;
+            }
+            List<QuestionSignature> batch = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                Long questionId = (Long) row[0];
+                int[] minhash = computeSignature((String) row[1]);
+                if (minhash != null) {
+                    batch.add(new QuestionSignature(questionId, minhash, computeBandKeys(minhash)));
+                }
+                afterId = questionId;
+            }
+            upsertSignatures(batch);
+            indexed += batch.size();
+        }
+        logger.info("Near-duplicate index rebuilt: {} questions indexed", indexed);
+        return indexed;
+    }
+
+    // ==================== MINHASH ====================
+
+    private int[] computeSignature(String text) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return null;
+        }
+
+        int[] signature = new int[NUM_HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+
+        int shingleCount = Math.max(1, normalized.length() - SHINGLE_LENGTH + 1);
+        for (int start = 0; start < shingleCount; start++) {
+            long shingleHash = fnv1a(normalized, start, Math.min(normalized.length(), start + SHINGLE_LENGTH));
+            for (int i = 0; i < NUM_HASHES; i++) {
+                int value = (int) (mix64(shingleHash ^ HASH_SEEDS[i]) >>> 32);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    private long[] computeBandKeys(int[] signature) {
+        long[] keys = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long key = band;
+            for (int row = 0; row < ROWS_PER_BAND; row++) {
+                key = mix64(key * 31 + signature[band * ROWS_PER_BAND + row]);
+            }
+            keys[band] = key;
+        }
+        return keys;
+    }
+
+    private double estimateSimilarity(int[] a, int[] b) {
+        if (b == null || a.length != b.length) {
+            return 0.0;
+        }
+        int equal = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / a.length;
+    }
+
+    /**
+     * Lower-case, keep letters and digits only, collapse whitespace
+     */
+    private String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.toLowerCase().replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+
+    private long fnv1a(String text, int from, int to) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = from; i < to; i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // SplitMix64 finalizer
+    private long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * JDBC batch upsert. The id is assigned, so saveAll would merge and SELECT every row first.
+     */
+    private void upsertSignatures(List<QuestionSignature> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(batch.size());
+        for (QuestionSignature signature : batch) {
+            args.add(new Object[] {
+                    signature.getQuestionId(), toArrayLiteral(signature.getMinhash()),
+                    toArrayLiteral(signature.getBandKeys()), Timestamp.valueOf(signature.getUpdatedAt()) });
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SIGNATURE, args);
+    }
+
+    private String toArrayLiteral(int[] values) {
+        return toArrayLiteral(Arrays.stream(values).asLongStream().toArray());
+    }
+
+    private String toArrayLiteral(long[] values) {
+        StringBuilder literal = new StringBuilder("{");
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                literal.append(',');
+            }
+            literal.append(values[i]);
+        }
+        return literal.append('}').toString();
+    }
+
+    private String snippet(String text) {
+        if (text == null || text.length() <= SNIPPET_LENGTH) {
+            return text;
+        }
+        return text.substring(0, SNIPPET_LENGTH) + "...";
+    }
+
+    private record Match(Long questionId, double similarity) {
+    }
+}
@@ -0,0 +1,164 @@
+package com.coaxial.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.coaxial.event.CacheInvalidationEvent;
+import com.coaxial.repository.QuestionExamSuitabilityRepository;
+import com.coaxial.repository.QuestionRepository;
+
+/**
+ * Question bank statistics computed with GROUP BY queries and cached in memory.
+ * The cache is dropped after a question write commits on any instance (CacheInvalidationEvent);
+ * the TTL only bounds staleness from writes that bypass the services, such as manual SQL.
+ */
+@Service
+@Transactional(readOnly = true)
+public class QuestionStatisticsService {
+
+    // breakdown name -> {question column, hierarchy table}
+    private static final Map<String, String[]> BREAKDOWNS = Map.of(
+            "chapter", new String[] { "chapter_id", "chapters" },
+            "module", new String[] { "module_id", "modules" },
+            "topic", new String[] { "topic_id", "topics" },
+            "subject", new String[] { "subject_id", "subjects" },
+            "courseType", new String[] { "course_type_id", "course_types" });
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private QuestionExamSuitabilityRepository questionExamSuitabilityRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.question.statistics.cache-ttl-seconds:600}")
+    private long cacheTtlSeconds;
+
+    private final ConcurrentHashMap<String, CachedValue> cache = new ConcurrentHashMap<>();
+
+    // Bumped on invalidation so a computation that started before a write is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Totals by question type, difficulty and active flag, in the shape the dashboard already uses
+     */
+    public Map<String, Object> getSummary() {
+        return cached("summary", () -> {
+            long total = 0;
+            Map<String, Long> questionTypeCount = new HashMap<>();
+            Map<String, Long> difficultyCount = new HashMap<>();
+            Map<String, Long> activeCount = new HashMap<>();
+            for (Object[] row : questionRepository.countByTypeDifficultyAndActive()) {
+                long count = ((Number) row[3]).longValue();
+                total += count;
+                questionTypeCount.merge(String.valueOf(row[0]), count, Long::sum);
+                difficultyCount.merge(String.valueOf(row[1]), count, Long::sum);
+                activeCount.merge(Boolean.TRUE.equals(row[2]) ? "Active" : "Inactive", count, Long::sum);
+            }
+
+            Map<String, Object> statistics = new LinkedHashMap<>();
+            statistics.put("totalQuestions", total);
+            statistics.put("questionTypeCount", questionTypeCount);
+            statistics.put("difficultyCount", difficultyCount);
+            statistics.put("activeCount", activeCount);
+            statistics.put("generatedAt", LocalDateTime.now());
+            return statistics;
+        });
+    }
+
+    /**
+     * Question counts per hierarchy node (chapter, module, topic, subject or courseType)
+     */
+    public List<Map<String, Object>> getHierarchyBreakdown(String level) {
+        String[] target = BREAKDOWNS.get(level);
+        if (target == null) {
+            throw new IllegalArgumentException("Unsupported breakdown: " + level + ". Use one of " + BREAKDOWNS.keySet());
+        }
+        // Column and table come from the whitelist above, never from the request
+        String sql = "SELECT q." + target[0] + " AS id, h.name AS name, COUNT(*) AS total, " +
+                "COUNT(*) FILTER (WHERE q.is_active = true) AS active " +
+                "FROM questions q LEFT JOIN " + target[1] + " h ON h.id = q." + target[0] + " " +
+                "GROUP BY q." + target[0] + ", h.name ORDER BY total DESC";
+        return cached("breakdown:" + level, () -> jdbcTemplate.query(sql, (rs, rowNum) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            long id = rs.getLong("id");
+            row.put("id", rs.wasNull() ? null : id);
+            row.put("name", rs.getString("name"));
+            row.put("totalQuestions", rs.getLong("total"));
+            row.put("activeQuestions", rs.getLong("active"));
+            return row;
+        }));
+    }
+
+    /**
+     * Distinct questions per exam and suitability level
+     */
+    public List<Map<String, Object>> getExamSuitabilityBreakdown() {
+        return cached("examSuitability", () -> {
+            List<Map<String, Object>> rows = new ArrayList<>();
+            for (Object[] row : questionExamSuitabilityRepository.countQuestionsByExamAndSuitabilityLevel()) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("examId", row[0]);
+                entry.put("examName", row[1]);
+                entry.put("suitabilityLevel", row[2]);
+                entry.put("questionCount", ((Number) row[3]).longValue());
+                rows.add(entry);
+            }
+            return rows;
+        });
+    }
+
+    // Question writes on any instance
+    @EventListener
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (event.isQuestionChange()) {
+            invalidate();
+        }
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        cache.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T cached(String key, Supplier<T> loader) {
+        CachedValue entry = cache.get(key);
+        if (entry != null && entry.expiresAt.isAfter(LocalDateTime.now())) {
+            return (T) entry.value;
+        }
+        long startGeneration = generation.get();
+        T value = loader.get();
+        if (generation.get() == startGeneration) {
+            cache.put(key, new CachedValue(value, LocalDateTime.now().plusSeconds(cacheTtlSeconds)));
+        }
+        return value;
+    }
+
+    private static class CachedValue {
+
+        private final Object value;
+        private final LocalDateTime expiresAt;
+
+        private CachedValue(Object value, LocalDateTime expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.coaxial.dto.RazorpayOrderDTO;
 import com.coaxial.entity.StudentSubscription;
 import com.coaxial.enums.PaymentStatus;
 import com.coaxial.enums.SubscriptionStatus;
+import com.coaxial.event.SubscriptionActivatedEvent;
 import com.coaxial.repository.StudentSubscriptionRepository;
 import com.razorpay.Order;
 import com.razorpay.RazorpayClient;
@@ -13,7 +14,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
@@ -41,6 +44,9 @@ public class RazorpayPaymentService {
     @Autowired
     private PaymentService paymentService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     private RazorpayClient razorpayClient;
 
     public void initRazorpayClient() throws RazorpayException {
@@ -235,6 +241,7 @@ public class RazorpayPaymentService {
      * Kept for backward compatibility
      */
     @Deprecated
+    @Transactional
     public boolean verifyPayment(String razorpayOrderId, String razorpayPaymentId, String razorpaySignature) {
         try {
             String generatedSignature = generateSignature(razorpayOrderId + "|" + razorpayPaymentId);
@@ -244,14 +251,7 @@ public class RazorpayPaymentService {
                 // Update subscription with payment details
                 Optional<StudentSubscription> subscriptionOpt = subscriptionRepository.findByRazorpayOrderId(razorpayOrderId);
                 if (subscriptionOpt.isPresent()) {
-                    StudentSubscription subscription = subscriptionOpt.get();
-                    subscription.setRazorpayPaymentId(razorpayPaymentId);
-                    subscription.setRazorpaySignature(razorpaySignature);
-                    subscription.setPaymentStatus(PaymentStatus.PAID);
-                    subscription.setPaymentDate(LocalDateTime.now());
-                    subscription.setIsActive(true);
-                    subscription.setStatus(SubscriptionStatus.ACTIVE);
-                    subscriptionRepository.save(subscription);
+                    markPaid(subscriptionOpt.get(), razorpayPaymentId, razorpaySignature);
                     
                     logger.info("Payment verified and subscription activated for order: {}", razorpayOrderId);
                     return true;
@@ -435,22 +435,14 @@ public class RazorpayPaymentService {
     /**
      * Handle successful payment from webhook
      */
+    @Transactional
     public boolean handlePaymentSuccess(String razorpayOrderId, String razorpayPaymentId) {
         try {
             Optional<StudentSubscription> subscriptionOpt = subscriptionRepository.findByRazorpayOrderId(razorpayOrderId);
             
             if (subscriptionOpt.isPresent()) {
-                StudentSubscription subscription = subscriptionOpt.get();
-                
-                // Only update if not already paid
-                if (subscription.getPaymentStatus() != PaymentStatus.PAID) {
-                    subscription.setRazorpayPaymentId(razorpayPaymentId);
-                    subscription.setPaymentStatus(PaymentStatus.PAID);
-                    subscription.setPaymentDate(LocalDateTime.now());
-                    subscription.setIsActive(true);
-                    subscription.setStatus(SubscriptionStatus.ACTIVE);
-                    subscriptionRepository.save(subscription);
-                    
+                // Only update if not already paid - verify and webhook may race on the same order
+                if (markPaid(subscriptionOpt.get(), razorpayPaymentId, null)) {
                     logger.info("Payment success handled via webhook for order: {}", razorpayOrderId);
                     return true;
                 }
@@ -468,19 +460,37 @@ public class RazorpayPaymentService {
     }
 
     /**
-     * Handle failed payment from webhook
+     * Mark the subscription paid with a conditional update, so only one of several concurrent
+     * callers wins. The winner publishes the activation; rollups record it after commit.
      */
+    private boolean markPaid(StudentSubscription subscription, String razorpayPaymentId, String razorpaySignature) {
+        LocalDateTime paymentDate = LocalDateTime.now();
+        int updated = subscriptionRepository.markPaidIfUnpaid(subscription.getRazorpayOrderId(), razorpayPaymentId,
+                razorpaySignature, paymentDate, PaymentStatus.PAID, SubscriptionStatus.ACTIVE);
+        if (updated == 0) {
+            return false;
+        }
+        eventPublisher.publishEvent(new SubscriptionActivatedEvent(subscription.getSubscriptionLevel(),
+                subscription.getEntityId(), paymentDate, subscription.getAmount()));
+        return true;
+    }
+
+    /**
+     * Handle failed payment from webhook. A failure arriving after the order was paid
+     * (out of order or replayed) is ignored.
+     */
+    @Transactional
     public boolean handlePaymentFailed(String razorpayOrderId, String reason) {
         try {
             Optional<StudentSubscription> subscriptionOpt = subscriptionRepository.findByRazorpayOrderId(razorpayOrderId);
             
             if (subscriptionOpt.isPresent()) {
-                StudentSubscription subscription = subscriptionOpt.get();
-                subscription.setPaymentStatus(PaymentStatus.FAILED);
-                subscription.setStatus(SubscriptionStatus.CANCELLED);
-                subscription.setIsActive(false);
-                subscription.setNotes("Payment failed: " + reason);
-                subscriptionRepository.save(subscription);
+                int updated = subscriptionRepository.markFailedIfUnpaid(razorpayOrderId, "Payment failed: " + reason,
+                        LocalDateTime.now(), PaymentStatus.FAILED, SubscriptionStatus.CANCELLED, PaymentStatus.PAID);
+                if (updated == 0) {
+                    logger.info("Ignoring payment failure for already paid order: {}", razorpayOrderId);
+                    return true;
+                }
                 
                 logger.info("Payment failure handled via webhook for order: {} - Reason: {}", razorpayOrderId, reason);
                 return true;
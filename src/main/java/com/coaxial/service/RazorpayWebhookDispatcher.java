@@ -0,0 +1,86 @@
+package com.coaxial.service;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.coaxial.entity.RazorpayWebhookEvent;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Drains the webhook event queue on a single background thread.
+ * The controller signals after each stored event for low latency, and a periodic poll
+ * picks up retries, expired leases and events stored by other instances.
+ */
+@Service
+public class RazorpayWebhookDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(RazorpayWebhookDispatcher.class);
+
+    @Autowired
+    private RazorpayWebhookEventService eventService;
+
+    @Value("${app.webhook.drain-batch-size:100}")
+    private int drainBatchSize;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "razorpay-webhook-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+
+    /**
+     * Request a drain without blocking the caller
+     */
+    public void signal() {
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.webhook.poll-interval-ms:5000}")
+    public void poll() {
+        signal();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void drain() {
+        try {
+            for (int i = 0; i < drainBatchSize; i++) {
+                Optional<RazorpayWebhookEvent> eventOpt = eventService.claimNextDueEvent();
+                if (eventOpt.isEmpty()) {
+                    break;
+                }
+                process(eventOpt.get());
+            }
+        } catch (Exception e) {
+            logger.error("Error draining webhook event queue", e);
+        } finally {
+            draining.set(false);
+        }
+    }
+
+    private void process(RazorpayWebhookEvent event) {
+        try {
+            eventService.applyEvent(event);
+            eventService.markProcessed(event.getId());
+        } catch (Exception e) {
+            eventService.markFailed(event.getId(), e);
+        }
+    }
+}
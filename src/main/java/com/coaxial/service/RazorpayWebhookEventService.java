@@ -0,0 +1,260 @@
+package com.coaxial.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.coaxial.dto.RazorpayWebhookDTO;
+import com.coaxial.entity.RazorpayWebhookEvent;
+import com.coaxial.enums.WebhookEventStatus;
+import com.coaxial.repository.RazorpayWebhookEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Durable, idempotent Razorpay webhook handling.
+ * Verified webhooks are stored once per event id and acknowledged immediately;
+ * RazorpayWebhookDispatcher later claims due events one at a time and applies them.
+ */
+@Service
+public class RazorpayWebhookEventService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RazorpayWebhookEventService.class);
+
+    @Autowired
+    private RazorpayWebhookEventRepository eventRepository;
+
+    @Autowired
+    private RazorpayPaymentService razorpayService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.webhook.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.webhook.lease-seconds:300}")
+    private long leaseSeconds;
+
+    @Value("${app.webhook.retry-base-seconds:30}")
+    private long retryBaseSeconds;
+
+    // ==================== INGESTION ====================
+
+    /**
+     * Persist a verified webhook payload.
+     * Returns false when the event was already received (Razorpay retry or duplicate delivery).
+     */
+    public boolean recordEvent(String eventId, String payload) throws JsonProcessingException {
+        RazorpayWebhookDTO webhookDTO = objectMapper.readValue(payload, RazorpayWebhookDTO.class);
+        String resolvedEventId = eventId != null && !eventId.isBlank() ? eventId : "sha256:" + sha256(payload);
+
+        if (eventRepository.existsByEventId(resolvedEventId)) {
+            logger.info("Duplicate webhook event ignored: {}", resolvedEventId);
+            return false;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        RazorpayWebhookEvent event = new RazorpayWebhookEvent();
+        event.setEventId(resolvedEventId);
+        event.setEventType(webhookDTO.getEvent() != null ? webhookDTO.getEvent() : "unknown");
+        event.setOrderId(extractOrderId(webhookDTO));
+        event.setPaymentId(extractPaymentId(webhookDTO));
+        event.setPayload(payload);
+        event.setStatus(WebhookEventStatus.PENDING);
+        event.setReceivedAt(now);
+        event.setNextAttemptAt(now);
+
+        try {
+            eventRepository.save(event);
+        } catch (DataIntegrityViolationException e) {
+            // Concurrent delivery of the same event won the insert
+            logger.info("Duplicate webhook event ignored on insert: {}", resolvedEventId);
+            return false;
+        }
+
+        logger.info("Webhook event stored: {} ({}) for order {}", resolvedEventId, event.getEventType(), event.getOrderId());
+        return true;
+    }
+
+    // ==================== PROCESSING ====================
+
+    /**
+     * Claim the next due event by bumping its attempt count and leasing it.
+     * If the processing node dies, the event becomes due again once the lease expires.
+     */
+    @Transactional
+    public Optional<RazorpayWebhookEvent> claimNextDueEvent() {
+        LocalDateTime now = LocalDateTime.now();
+        Optional<RazorpayWebhookEvent> eventOpt = eventRepository.lockNextDueEvent(now);
+        eventOpt.ifPresent(event -> {
+            event.setAttempts(event.getAttempts() + 1);
+            event.setNextAttemptAt(now.plusSeconds(leaseSeconds));
+            eventRepository.save(event);
+        });
+        return eventOpt;
+    }
+
+    /**
+     * Apply a claimed event to payments/subscriptions. Throws when the event should be retried.
+     * Handlers are idempotent, so a replayed event does not activate anything twice.
+     */
+    public void applyEvent(RazorpayWebhookEvent event) throws JsonProcessingException {
+        RazorpayWebhookDTO webhookDTO = objectMapper.readValue(event.getPayload(), RazorpayWebhookDTO.class);
+        RazorpayWebhookDTO.PaymentEntity payment = webhookDTO.getPayload() != null
+                ? webhookDTO.getPayload().getPayment()
+                : null;
+
+        switch (event.getEventType()) {
+            case "payment.captured":
+                if (payment == null || payment.getOrder_id() == null) {
+                    throw new IllegalArgumentException("Payment captured event missing required data");
+                }
+                logger.info("Payment captured - Order ID: {}, Payment ID: {}", payment.getOrder_id(), payment.getId());
+                if (!razorpayService.handlePaymentSuccess(payment.getOrder_id(), payment.getId())) {
+                    throw new IllegalStateException("Failed to activate subscription for order: " + payment.getOrder_id());
+                }
+                break;
+
+            case "payment.failed":
+                if (payment == null || payment.getOrder_id() == null) {
+                    throw new IllegalArgumentException("Payment failed event missing required data");
+                }
+                String errorReason = payment.getError_description() != null
+                        ? payment.getError_description()
+                        : "Unknown error";
+                logger.warn("Payment failed - Order ID: {}, Reason: {}", payment.getOrder_id(), errorReason);
+                if (!razorpayService.handlePaymentFailed(payment.getOrder_id(), errorReason)) {
+                    throw new IllegalStateException("Failed to record payment failure for order: " + payment.getOrder_id());
+                }
+                break;
+
+            case "payment.authorized":
+                // Auto-capture is enabled, payment.captured follows - informational only
+                logger.info("Payment authorized - Order ID: {}", event.getOrderId());
+                break;
+
+            case "order.paid":
+                // The subscription is activated via payment.captured - informational only
+                logger.info("Order paid - Order ID: {}", event.getOrderId());
+                break;
+
+            default:
+                logger.info("Unhandled webhook event: {}", event.getEventType());
+        }
+    }
+
+    @Transactional
+    public void markProcessed(Long id) {
+        eventRepository.findById(id).ifPresent(event -> {
+            event.setStatus(WebhookEventStatus.PROCESSED);
+            event.setProcessedAt(LocalDateTime.now());
+            event.setLastError(null);
+            eventRepository.save(event);
+        });
+    }
+
+    /**
+     * Schedule a retry with exponential backoff, or dead-letter the event once attempts run out.
+     * Malformed events are dead-lettered straight away.
+     */
+    @Transactional
+    public void markFailed(Long id, Exception error) {
+        eventRepository.findById(id).ifPresent(event -> {
+            event.setLastError(error.getClass().getSimpleName() + ": " + error.getMessage());
+            boolean retryable = !(error instanceof IllegalArgumentException || error instanceof JsonProcessingException);
+            if (!retryable || event.getAttempts() >= maxAttempts) {
+                event.setStatus(WebhookEventStatus.FAILED);
+                logger.error("Webhook event {} failed permanently after {} attempts: {}",
+                        event.getEventId(), event.getAttempts(), error.getMessage());
+            } else {
+                long delaySeconds = retryBaseSeconds << Math.min(event.getAttempts() - 1, 10);
+                event.setNextAttemptAt(LocalDateTime.now().plusSeconds(delaySeconds));
+                logger.warn("Webhook event {} failed (attempt {}/{}), retrying in {}s: {}",
+                        event.getEventId(), event.getAttempts(), maxAttempts, delaySeconds, error.getMessage());
+            }
+            eventRepository.save(event);
+        });
+    }
+
+    // ==================== REPLAY / ADMIN ====================
+
+    @Transactional(readOnly = true)
+    public Page<RazorpayWebhookEvent> getEvents(WebhookEventStatus status, Pageable pageable) {
+        return status != null
+                ? eventRepository.findByStatusOrderByIdDesc(status, pageable)
+                : eventRepository.findAllByOrderByIdDesc(pageable);
+    }
+
+    /**
+     * Pending events received more than the given minutes ago
+     */
+    @Transactional(readOnly = true)
+    public List<RazorpayWebhookEvent> getStuckEvents(int olderThanMinutes) {
+        return eventRepository.findStuckEvents(LocalDateTime.now().minusMinutes(olderThanMinutes));
+    }
+
+    /**
+     * Put a single event back on the queue with a fresh attempt budget
+     */
+    @Transactional
+    public RazorpayWebhookEvent replayEvent(Long id) {
+        RazorpayWebhookEvent event = eventRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Webhook event not found with ID: " + id));
+        event.setStatus(WebhookEventStatus.PENDING);
+        event.setAttempts(0);
+        event.setNextAttemptAt(LocalDateTime.now());
+        logger.info("Webhook event {} queued for replay", event.getEventId());
+        return eventRepository.save(event);
+    }
+
+    /**
+     * Put every dead-lettered event back on the queue
+     */
+    @Transactional
+    public int replayFailedEvents() {
+        int count = eventRepository.requeueFailedEvents(LocalDateTime.now());
+        logger.info("{} failed webhook events queued for replay", count);
+        return count;
+    }
+
+    private String extractOrderId(RazorpayWebhookDTO webhookDTO) {
+        if (webhookDTO.getPayload() == null) {
+            return null;
+        }
+        if (webhookDTO.getPayload().getPayment() != null && webhookDTO.getPayload().getPayment().getOrder_id() != null) {
+            return webhookDTO.getPayload().getPayment().getOrder_id();
+        }
+        return webhookDTO.getPayload().getOrder() != null ? webhookDTO.getPayload().getOrder().getId() : null;
+    }
+
+    private String extractPaymentId(RazorpayWebhookDTO webhookDTO) {
+        if (webhookDTO.getPayload() == null || webhookDTO.getPayload().getPayment() == null) {
+            return null;
+        }
+        return webhookDTO.getPayload().getPayment().getId();
+    }
+
+    private String sha256(String payload) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
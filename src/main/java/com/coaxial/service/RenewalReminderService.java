@@ -0,0 +1,244 @@
+package com.coaxial.service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.coaxial.entity.StudentSubscription;
+import com.coaxial.entity.User;
+import com.coaxial.repository.StudentSubscriptionRepository;
+
+/**
+ * Daily pipeline that sends renewal reminders for subscriptions about to expire.
+ * Subscriptions are read in keyset batches ordered by student, grouped into one
+ * email per student, and handed to the mail queue. Each subscription is claimed
+ * with a conditional UPDATE before its email is queued, so when several instances
+ * run the job only one of them reminds it; claims of failed emails are released
+ * so they are retried on the next run.
+ */
+@Service
+public class RenewalReminderService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RenewalReminderService.class);
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd MMM yyyy");
+
+    @Autowired
+    private StudentSubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private MailDispatchService mailDispatchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.renewal-reminder.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.renewal-reminder.days-before-expiry:7}")
+    private int daysBeforeExpiry;
+
+    @Value("${app.renewal-reminder.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.renewal-reminder.base-url:http://localhost:3000}")
+    private String baseUrl;
+
+    @Value("${app.renewal-reminder.from-email:noreply@coaxial.com}")
+    private String fromEmail;
+
+    @Scheduled(cron = "${app.renewal-reminder.cron:0 0 9 * * *}")
+    public void sendDailyRenewalReminders() {
+        if (!enabled) {
+            return;
+        }
+        if (!mailDispatchService.isMailConfigured()) {
+            logger.warn("Mail sender not configured. Skipping renewal reminders");
+            return;
+        }
+        try {
+            runReminderPipeline();
+        } catch (Exception e) {
+            logger.error("Renewal reminder pipeline failed", e);
+        }
+    }
+
+    /**
+     * Run the reminder pipeline once and return the number of subscriptions reminded
+     */
+    public int runReminderPipeline() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime futureDate = now.plusDays(daysBeforeExpiry);
+
+        long lastStudentId = 0L;
+        long lastId = 0L;
+        List<StudentSubscription> carryOver = new ArrayList<>();
+        int remindedCount = 0;
+
+        while (true) {
+            List<StudentSubscription> batch = subscriptionRepository.findExpiringSoonAfterCursor(
+                    now, futureDate, lastStudentId, lastId, PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            StudentSubscription last = batch.get(batch.size() - 1);
+            lastStudentId = last.getStudent().getId();
+            lastId = last.getId();
+
+            // The last student's group may continue in the next batch, so hold it back
+            List<List<StudentSubscription>> groups = groupByStudent(carryOver, batch);
+            boolean moreBatches = batch.size() == batchSize;
+            carryOver = moreBatches ? groups.remove(groups.size() - 1) : new ArrayList<>();
+
+            remindedCount += dispatchGroups(groups, now);
+
+            if (!moreBatches) {
+                break;
+            }
+        }
+
+        if (!carryOver.isEmpty()) {
+            remindedCount += dispatchGroups(List.of(carryOver), now);
+        }
+
+        logger.info("Renewal reminder pipeline finished: {} subscriptions reminded", remindedCount);
+        return remindedCount;
+    }
+
+    private List<List<StudentSubscription>> groupByStudent(List<StudentSubscription> carryOver,
+                                                           List<StudentSubscription> batch) {
+        List<List<StudentSubscription>> groups = new ArrayList<>();
+        List<StudentSubscription> current = carryOver;
+        for (StudentSubscription subscription : batch) {
+            if (!current.isEmpty()
+                    && !current.get(0).getStudent().getId().equals(subscription.getStudent().getId())) {
+                groups.add(current);
+                current = new ArrayList<>();
+            }
+            current.add(subscription);
+        }
+        if (!current.isEmpty()) {
+            groups.add(current);
+        }
+        return groups;
+    }
+
+    /**
+     * Claim the group members, queue one email per student, wait for the batch to drain
+     * and release the claims of emails that could not be delivered
+     */
+    private int dispatchGroups(List<List<StudentSubscription>> groups, LocalDateTime now) {
+        // Whole milliseconds so the release can match the stored timestamp exactly
+        LocalDateTime sentAt = now.truncatedTo(ChronoUnit.MILLIS);
+        List<Long> candidateIds = new ArrayList<>();
+        groups.forEach(group -> group.forEach(subscription -> candidateIds.add(subscription.getId())));
+        Set<Long> claimedIds = claim(candidateIds, sentAt);
+
+        List<List<StudentSubscription>> claimedGroups = new ArrayList<>(groups.size());
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>(groups.size());
+        for (List<StudentSubscription> group : groups) {
+            // Subscriptions claimed by another instance are reminded there
+            List<StudentSubscription> claimed = group.stream()
+                    .filter(subscription -> claimedIds.contains(subscription.getId()))
+                    .collect(Collectors.toList());
+            if (!claimed.isEmpty()) {
+                claimedGroups.add(claimed);
+                futures.add(mailDispatchService.submit(buildReminderMessage(claimed)));
+            }
+        }
+
+        int remindedCount = 0;
+        List<Long> failedIds = new ArrayList<>();
+        for (int i = 0; i < claimedGroups.size(); i++) {
+            if (Boolean.TRUE.equals(futures.get(i).join())) {
+                remindedCount += claimedGroups.get(i).size();
+            } else {
+                claimedGroups.get(i).forEach(subscription -> failedIds.add(subscription.getId()));
+            }
+        }
+
+        if (!failedIds.isEmpty()) {
+            release(failedIds, sentAt);
+        }
+        return remindedCount;
+    }
+
+    /**
+     * Mark the subscriptions as reminded unless another run already did; returns the ids this run claimed.
+     * Runs outside any transaction so the claim is visible to other instances before emails go out.
+     */
+    private Set<Long> claim(List<Long> ids, LocalDateTime sentAt) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "UPDATE student_subscriptions SET renewal_reminder_sent_at = ? " +
+                "WHERE id = ANY(CAST(? AS bigint[])) AND renewal_reminder_sent_at IS NULL RETURNING id",
+                Long.class, sentAt, toArrayLiteral(ids)));
+    }
+
+    /**
+     * Undo this run's claims so the subscriptions are picked up again on the next run
+     */
+    private void release(List<Long> ids, LocalDateTime sentAt) {
+        int released = jdbcTemplate.update(
+                "UPDATE student_subscriptions SET renewal_reminder_sent_at = NULL " +
+                "WHERE id = ANY(CAST(? AS bigint[])) AND renewal_reminder_sent_at = ?",
+                toArrayLiteral(ids), sentAt);
+        logger.warn("Released {} renewal reminder claims after failed emails", released);
+    }
+
+    private String toArrayLiteral(List<Long> values) {
+        return values.stream().map(String::valueOf).collect(Collectors.joining(",", "{", "}"));
+    }
+
+    private SimpleMailMessage buildReminderMessage(List<StudentSubscription> subscriptions) {
+        User student = subscriptions.get(0).getStudent();
+
+        StringBuilder items = new StringBuilder();
+        for (StudentSubscription subscription : subscriptions) {
+            items.append("  - ")
+                 .append(subscription.getEntityName())
+                 .append(" (")
+                 .append(subscription.getSubscriptionLevel().getDisplayName())
+                 .append("), expires on ")
+                 .append(subscription.getEndDate().format(DATE_FORMAT))
+                 .append("\n");
+        }
+
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromEmail);
+        message.setTo(student.getEmail());
+        message.setSubject("Your Coaxial LMS subscription is expiring soon");
+        message.setText(String.format("""
+            Hello %s,
+
+            The following subscriptions on your Coaxial LMS account are about to expire:
+
+            %s
+            Renew now to keep uninterrupted access:
+            %s/subscriptions
+
+            Best regards,
+            Coaxial LMS Team
+            """, student.getFullName(), items, baseUrl));
+        return message;
+    }
+}
@@ -380,13 +380,21 @@ public class StudentCourseService {
             
             // Class level options (for Academic courses)
             if ("Academic".equalsIgnoreCase(courseType) && course.getClasses() != null) {
+                // Create simple ClassEntities and price them in one pass
+                List<ClassEntity> classEntities = new ArrayList<>();
                 for (CourseResponse.ClassInfo classInfo : course.getClasses()) {
-                    StudentCourseResponseDTO.SubscriptionOption classOption = new StudentCourseResponseDTO.SubscriptionOption();
-                    
-                    // Create a simple ClassEntity for pricing calculation
                     ClassEntity classEntity = createClassEntityFromInfo(classInfo);
                     if (classEntity != null) {
-                        Map<String, Object> classPricing = pricingService.getClassPricing(classEntity);
+                        classEntities.add(classEntity);
+                    }
+                }
+                Map<Long, Map<String, Object>> classPricingById = pricingService.getClassPricing(classEntities);
+                
+                for (CourseResponse.ClassInfo classInfo : course.getClasses()) {
+                    StudentCourseResponseDTO.SubscriptionOption classOption = new StudentCourseResponseDTO.SubscriptionOption();
+                    
+                    Map<String, Object> classPricing = classPricingById.get(classInfo.getId());
+                    if (classPricing != null) {
                         
                         classOption.setLevel("CLASS");
                         classOption.setLevelName("Class " + classInfo.getName());
@@ -403,13 +411,21 @@ public class StudentCourseService {
             
             // Exam level options (for Competitive courses)
             if ("Competitive".equalsIgnoreCase(courseType) && course.getExams() != null) {
+                // Create simple Exam entities and price them in one pass
+                List<Exam> examEntities = new ArrayList<>();
                 for (CourseResponse.ExamInfo examInfo : course.getExams()) {
-                    StudentCourseResponseDTO.SubscriptionOption examOption = new StudentCourseResponseDTO.SubscriptionOption();
-                    
-                    // Create a simple Exam entity for pricing calculation
                     Exam examEntity = createExamEntityFromInfo(examInfo);
                     if (examEntity != null) {
-                        Map<String, Object> examPricing = pricingService.getExamPricing(examEntity);
+                        examEntities.add(examEntity);
+                    }
+                }
+                Map<Long, Map<String, Object>> examPricingById = pricingService.getExamPricing(examEntities);
+                
+                for (CourseResponse.ExamInfo examInfo : course.getExams()) {
+                    StudentCourseResponseDTO.SubscriptionOption examOption = new StudentCourseResponseDTO.SubscriptionOption();
+                    
+                    Map<String, Object> examPricing = examPricingById.get(examInfo.getId());
+                    if (examPricing != null) {
                         
                         examOption.setLevel("EXAM");
                         examOption.setLevelName("Exam " + examInfo.getName());
@@ -0,0 +1,301 @@
+package com.coaxial.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.coaxial.entity.Chapter;
+import com.coaxial.entity.ClassSubject;
+import com.coaxial.entity.CourseSubject;
+import com.coaxial.entity.ExamSubject;
+import com.coaxial.entity.Module;
+import com.coaxial.entity.Topic;
+import com.coaxial.enums.SubscriptionLevel;
+import com.coaxial.repository.ChapterRepository;
+import com.coaxial.repository.ClassSubjectRepository;
+import com.coaxial.repository.CourseSubjectRepository;
+import com.coaxial.repository.ExamSubjectRepository;
+import com.coaxial.repository.ModuleRepository;
+import com.coaxial.repository.StudentSubscriptionRepository;
+import com.coaxial.repository.TopicRepository;
+import com.coaxial.service.MasterDataIndexService.MasterDataIndex;
+import com.coaxial.service.MasterDataIndexService.Node;
+import com.coaxial.service.MasterDataIndexService.SubjectLink;
+
+/**
+ * Builds the student navigation tree (subjects, topics, modules, chapters) for one entitlement.
+ * Access is checked once per request and each level is loaded with a single IN query.
+ * Nodes below the requested depth carry a cursor the client passes back to expand them later.
+ */
+@Service
+@Transactional(readOnly = true)
+public class StudentCourseTreeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentCourseTreeService.class);
+
+    public static final String SUBJECT = "SUBJECT";
+    public static final String TOPIC = "TOPIC";
+    public static final String MODULE = "MODULE";
+    public static final String CHAPTER = "CHAPTER";
+
+    // Levels below an entitlement, in order
+    private static final List<String> LEVELS = List.of(SUBJECT, TOPIC, MODULE, CHAPTER);
+
+    public static final int MAX_DEPTH = LEVELS.size();
+
+    private static final Comparator<Map<String, Object>> BY_DISPLAY_ORDER = Comparator
+            .comparing((Map<String, Object> node) -> (Integer) node.get("displayOrder"),
+                    Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(node -> (Long) node.get("id"));
+
+    @Autowired
+    private StudentSubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private MasterDataIndexService masterDataIndexService;
+
+    @Autowired
+    private ClassSubjectRepository classSubjectRepository;
+
+    @Autowired
+    private ExamSubjectRepository examSubjectRepository;
+
+    @Autowired
+    private CourseSubjectRepository courseSubjectRepository;
+
+    @Autowired
+    private TopicRepository topicRepository;
+
+    @Autowired
+    private ModuleRepository moduleRepository;
+
+    @Autowired
+    private ChapterRepository chapterRepository;
+
+    /**
+     * Get the content tree of a class (course type 1), exam (2) or course (3) the student is subscribed to.
+     * Without a cursor the tree starts at the subjects; with one it starts below the node the cursor points at.
+     * Depth is the number of levels returned, the rest are left collapsed.
+     */
+    public Map<String, Object> getTree(Long studentId, Long courseTypeId, Long entityId, int depth, String cursor) {
+        SubscriptionLevel level = toSubscriptionLevel(courseTypeId);
+        if (depth < 1 || depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Depth must be between 1 and " + MAX_DEPTH);
+        }
+
+        Boolean hasAccess = subscriptionRepository.hasStudentAccessToEntity(studentId, level, entityId, LocalDateTime.now());
+        if (!Boolean.TRUE.equals(hasAccess)) {
+            throw new AccessDeniedException("You do not have an active subscription for this " + level.getDisplayName()
+                    + ". Please purchase a subscription to access its content.");
+        }
+
+        MasterDataIndex index = masterDataIndexService.getIndex();
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("courseTypeId", courseTypeId);
+        response.put("entityId", entityId);
+        response.put("entityName", resolveEntityName(index, courseTypeId, entityId));
+        response.put("depth", depth);
+
+        List<Map<String, Object>> nodes;
+        if (cursor == null || cursor.isBlank()) {
+            nodes = loadSubjects(courseTypeId, entityId);
+            expand(courseTypeId, nodes, SUBJECT, depth - 1);
+        } else {
+            String[] parsed = parseCursor(cursor);
+            String parentType = parsed[0];
+            Long parentId = Long.valueOf(parsed[1]);
+            checkBelongsToEntitlement(index, courseTypeId, entityId, parentType, parentId);
+
+            String childType = childLevel(parentType);
+            nodes = loadChildren(courseTypeId, childType, List.of(parentId)).getOrDefault(parentId, new ArrayList<>());
+            expand(courseTypeId, nodes, childType, depth - 1);
+            response.put("cursor", cursor);
+        }
+
+        response.put("nodes", nodes);
+        response.put("totalCount", nodes.size());
+        return response;
+    }
+
+    /**
+     * Attach the children of the given nodes, one query per level, down to the remaining depth
+     */
+    private void expand(Long courseTypeId, List<Map<String, Object>> nodes, String nodeType, int remainingDepth) {
+        String childType = childLevel(nodeType);
+        if (nodes.isEmpty() || childType == null) {
+            return;
+        }
+        if (remainingDepth <= 0) {
+            for (Map<String, Object> node : nodes) {
+                node.put("cursor", nodeType + ":" + node.get("id"));
+            }
+            return;
+        }
+
+        List<Long> ids = new ArrayList<>(nodes.size());
+        for (Map<String, Object> node : nodes) {
+            ids.add((Long) node.get("id"));
+        }
+        Map<Long, List<Map<String, Object>>> childrenByParent = loadChildren(courseTypeId, childType, ids);
+
+        List<Map<String, Object>> children = new ArrayList<>();
+        for (Map<String, Object> node : nodes) {
+            List<Map<String, Object>> nodeChildren = childrenByParent.getOrDefault(node.get("id"), new ArrayList<>());
+            node.put("children", nodeChildren);
+            children.addAll(nodeChildren);
+        }
+        expand(courseTypeId, children, childType, remainingDepth - 1);
+    }
+
+    private Map<Long, List<Map<String, Object>>> loadChildren(Long courseTypeId, String childType, List<Long> parentIds) {
+        Map<Long, List<Map<String, Object>>> childrenByParent = new HashMap<>();
+        switch (childType) {
+            case TOPIC:
+                for (Topic topic : topicRepository.findByCourseTypeIdAndRelationshipIdInAndIsActiveOrderByDisplayOrderAsc(
+                        courseTypeId, parentIds, true)) {
+                    childrenByParent.computeIfAbsent(topic.getRelationshipId(), id -> new ArrayList<>())
+                            .add(node(TOPIC, topic.getId(), topic.getName(), topic.getDescription(), topic.getDisplayOrder()));
+                }
+                break;
+            case MODULE:
+                for (Module module : moduleRepository.findByTopicIdInAndIsActiveTrueOrderByDisplayOrderAsc(parentIds)) {
+                    childrenByParent.computeIfAbsent(module.getTopic().getId(), id -> new ArrayList<>())
+                            .add(node(MODULE, module.getId(), module.getName(), module.getDescription(), module.getDisplayOrder()));
+                }
+                break;
+            case CHAPTER:
+                for (Chapter chapter : chapterRepository.findByModuleIdInAndIsActiveTrueOrderByDisplayOrderAsc(parentIds)) {
+                    childrenByParent.computeIfAbsent(chapter.getModule().getId(), id -> new ArrayList<>())
+                            .add(node(CHAPTER, chapter.getId(), chapter.getName(), chapter.getDescription(), chapter.getDisplayOrder()));
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Subjects cannot be expanded from a cursor");
+        }
+        return childrenByParent;
+    }
+
+    /**
+     * Subject links of the entitlement. Node ids are link ids, which is what topics reference.
+     */
+    private List<Map<String, Object>> loadSubjects(Long courseTypeId, Long entityId) {
+        List<Map<String, Object>> subjects = new ArrayList<>();
+        switch (courseTypeId.intValue()) {
+            case 1:
+                for (ClassSubject cs : classSubjectRepository.findActiveByClassIdsWithSubject(List.of(entityId))) {
+                    subjects.add(subjectNode(cs.getId(), cs.getSubject().getId(), cs.getSubject().getName(),
+                            cs.getSubject().getDescription(), cs.getDisplayOrder()));
+                }
+                break;
+            case 2:
+                for (ExamSubject es : examSubjectRepository.findByExamIdsWithSubject(List.of(entityId))) {
+                    Map<String, Object> subject = subjectNode(es.getId(), es.getSubject().getId(), es.getSubject().getName(),
+                            es.getSubject().getDescription(), es.getDisplayOrder());
+                    subject.put("weightage", es.getWeightage());
+                    subjects.add(subject);
+                }
+                break;
+            default:
+                for (CourseSubject cs : courseSubjectRepository.findByCourseIdsWithSubject(List.of(entityId))) {
+                    subjects.add(subjectNode(cs.getId(), cs.getSubject().getId(), cs.getSubject().getName(),
+                            cs.getSubject().getDescription(), cs.getDisplayOrder()));
+                }
+        }
+        subjects.sort(BY_DISPLAY_ORDER);
+        return subjects;
+    }
+
+    /**
+     * Reject cursors pointing outside the entitlement the access check was done for
+     */
+    private void checkBelongsToEntitlement(MasterDataIndex index, Long courseTypeId, Long entityId,
+                                           String nodeType, Long nodeId) {
+        Long linkId;
+        switch (nodeType) {
+            case SUBJECT:
+                linkId = nodeId;
+                break;
+            case TOPIC:
+                Topic topic = topicRepository.findById(nodeId).orElse(null);
+                linkId = topic != null && courseTypeId.equals(topic.getCourseTypeId()) ? topic.getRelationshipId() : null;
+                break;
+            case MODULE:
+                Module module = moduleRepository.findById(nodeId).orElse(null);
+                Topic moduleTopic = module != null ? module.getTopic() : null;
+                linkId = moduleTopic != null && courseTypeId.equals(moduleTopic.getCourseTypeId())
+                        ? moduleTopic.getRelationshipId() : null;
+                break;
+            default:
+                throw new IllegalArgumentException("Invalid cursor node type: " + nodeType);
+        }
+
+        SubjectLink link = linkId != null ? index.getLink(courseTypeId, linkId) : null;
+        if (link == null || link.getOwnerId() != entityId) {
+            logger.warn("Rejected tree cursor {}:{} outside entitlement {}:{}", nodeType, nodeId, courseTypeId, entityId);
+            throw new AccessDeniedException("The requested content is not part of this subscription");
+        }
+    }
+
+    private String[] parseCursor(String cursor) {
+        String[] parts = cursor.split(":");
+        if (parts.length != 2 || childLevel(parts[0]) == null || !parts[1].matches("\\d+")) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return parts;
+    }
+
+    private static String childLevel(String nodeType) {
+        int position = LEVELS.indexOf(nodeType);
+        return position >= 0 && position < LEVELS.size() - 1 ? LEVELS.get(position + 1) : null;
+    }
+
+    private static SubscriptionLevel toSubscriptionLevel(Long courseTypeId) {
+        if (courseTypeId != null) {
+            switch (courseTypeId.intValue()) {
+                case 1: return SubscriptionLevel.CLASS;
+                case 2: return SubscriptionLevel.EXAM;
+                case 3: return SubscriptionLevel.COURSE;
+            }
+        }
+        throw new IllegalArgumentException("Invalid courseTypeId. Must be 1 (Academic), 2 (Competitive), or 3 (Professional)");
+    }
+
+    private static String resolveEntityName(MasterDataIndex index, Long courseTypeId, Long entityId) {
+        Node entity;
+        switch (courseTypeId.intValue()) {
+            case 1: entity = index.getClassEntity(entityId); break;
+            case 2: entity = index.getExam(entityId); break;
+            default: entity = index.getCourse(entityId);
+        }
+        return entity != null ? entity.getName() : null;
+    }
+
+    private static Map<String, Object> subjectNode(Long linkageId, Long subjectId, String name,
+                                                   String description, Integer displayOrder) {
+        Map<String, Object> subject = node(SUBJECT, linkageId, name, description, displayOrder);
+        subject.put("subjectId", subjectId);
+        return subject;
+    }
+
+    private static Map<String, Object> node(String type, Long id, String name, String description, Integer displayOrder) {
+        Map<String, Object> node = new LinkedHashMap<>();
+        node.put("type", type);
+        node.put("id", id);
+        node.put("name", name);
+        node.put("description", description);
+        node.put("displayOrder", displayOrder);
+        return node;
+    }
+}
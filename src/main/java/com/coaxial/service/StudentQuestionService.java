@@ -19,6 +19,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -81,8 +82,19 @@ public class StudentQuestionService {
      * Get question by ID (if student has access)
      */
     public StudentQuestionResponseDTO getQuestionById(Long questionId, Long studentId) {
-        Question question = questionRepository.findById(questionId)
+        return findQuestionById(questionId, studentId)
                 .orElseThrow(() -> new IllegalArgumentException("Question not found"));
+    }
+    
+    /**
+     * Get question by ID, empty if it does not exist (throws if the student has no access)
+     */
+    public Optional<StudentQuestionResponseDTO> findQuestionById(Long questionId, Long studentId) {
+        Optional<Question> questionOpt = questionRepository.findById(questionId);
+        if (questionOpt.isEmpty()) {
+            return Optional.empty();
+        }
+        Question question = questionOpt.get();
         
         // Get student's active subscriptions
         List<StudentSubscription> subscriptions = subscriptionRepository.findActiveSubscriptionsByStudentId(studentId);
@@ -92,7 +104,7 @@ public class StudentQuestionService {
             throw new IllegalArgumentException("You do not have access to this question. Please purchase a subscription.");
         }
         
-        return toStudentDTO(question);
+        return Optional.of(toStudentDTO(question));
     }
     
     /**
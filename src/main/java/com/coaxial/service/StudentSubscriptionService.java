@@ -2,17 +2,28 @@ package com.coaxial.service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.coaxial.dto.CursorPageResponse;
 import com.coaxial.dto.RazorpayOrderDTO;
 import com.coaxial.dto.SubscriptionRequestDTO;
 import com.coaxial.dto.SubscriptionResponseDTO;
@@ -27,7 +38,6 @@ import com.coaxial.enums.SubscriptionStatus;
 import com.coaxial.repository.ClassRepository;
 import com.coaxial.repository.CourseRepository;
 import com.coaxial.repository.ExamRepository;
-import com.coaxial.repository.PricingConfigurationRepository;
 import com.coaxial.repository.StudentSubscriptionRepository;
 import com.coaxial.repository.UserRepository;
 
@@ -37,6 +47,11 @@ public class StudentSubscriptionService {
 
     private static final Logger logger = LoggerFactory.getLogger(StudentSubscriptionService.class);
 
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // Upper bound used as the cursor for the first page
+    private static final LocalDateTime FIRST_PAGE_CREATED_AT = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
     @Autowired
     private StudentSubscriptionRepository subscriptionRepository;
 
@@ -53,7 +68,13 @@ public class StudentSubscriptionService {
     private CourseRepository courseRepository;
 
     @Autowired
-    private PricingConfigurationRepository pricingConfigurationRepository;
+    private SubscriptionEntityResolver subscriptionEntityResolver;
+
+    @Autowired
+    private SubscriptionRollupService subscriptionRollupService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
 
     @Autowired
     private PaymentService paymentService;
@@ -192,7 +213,13 @@ public class StudentSubscriptionService {
             subscription.setEndDate(subscription.getStartDate().plusDays(payment.getDurationDays()));
         }
         
+        // Previous subscriptions for this entity are no longer the latest one
+        subscriptionRepository.clearLatestForEntity(
+            payment.getStudent().getId(), payment.getSubscriptionLevel(), payment.getEntityId());
+        subscription.setIsLatestForEntity(true);
+        
         subscription = subscriptionRepository.save(subscription);
+        subscriptionRollupService.recordActivation(subscription);
         logger.info("Subscription created from payment: Subscription ID {}, Payment ID {}", 
                     subscription.getId(), payment.getId());
         
@@ -211,9 +238,7 @@ public class StudentSubscriptionService {
                         .orElseThrow(() -> new IllegalArgumentException("Student not found with ID: " + studentId))
         );
 
-        return subscriptions.stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+        return convertToResponseDTOs(subscriptions);
     }
 
     /**
@@ -222,9 +247,7 @@ public class StudentSubscriptionService {
     public List<SubscriptionResponseDTO> getActiveStudentSubscriptions(Long studentId) {
         List<StudentSubscription> subscriptions = subscriptionRepository.findActiveSubscriptionsByStudentId(studentId);
 
-        return subscriptions.stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+        return convertToResponseDTOs(subscriptions);
     }
 
     /**
@@ -258,11 +281,18 @@ public class StudentSubscriptionService {
                 throw new IllegalArgumentException("Student can only cancel their own subscriptions");
             }
 
+            // Only a running paid subscription reduces the active subscriber count
+            boolean wasActive = subscription.getPaymentStatus() == PaymentStatus.PAID
+                    && subscription.isActiveAndNotExpired();
+
             // Cancel subscription
             subscription.setIsActive(false);
             subscription.setPaymentStatus(PaymentStatus.CANCELLED);
             subscription.setStatus(SubscriptionStatus.CANCELLED);
             subscriptionRepository.save(subscription);
+            if (wasActive) {
+                subscriptionRollupService.recordCancellation(subscription);
+            }
 
             // Cancel Razorpay order if exists
             if (subscription.getRazorpayOrderId() != null) {
@@ -308,10 +338,10 @@ public class StudentSubscriptionService {
     }
 
     /**
-     * Get subscription statistics for admin
+     * Get subscription statistics for admin, served from the daily rollups
      */
-    public List<Object[]> getSubscriptionStatistics() {
-        return subscriptionRepository.findSubscriptionStatsByLevel();
+    public Map<SubscriptionLevel, Map<String, Object>> getSubscriptionStatistics() {
+        return subscriptionRollupService.getTotalsByLevel();
     }
 
     /**
@@ -320,9 +350,7 @@ public class StudentSubscriptionService {
     public List<SubscriptionResponseDTO> getExpiredSubscriptions() {
         List<StudentSubscription> expiredSubscriptions = subscriptionRepository.findExpiredSubscriptions(LocalDateTime.now());
         
-        return expiredSubscriptions.stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+        return convertToResponseDTOs(expiredSubscriptions);
     }
 
     /**
@@ -353,9 +381,47 @@ public class StudentSubscriptionService {
             subscriptions = subscriptionRepository.findLatestSubscriptionsPerEntity(studentId);
         }
         
-        return subscriptions.stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+        return convertToResponseDTOs(subscriptions);
+    }
+
+    /**
+     * Keyset-paginated variant of getMySubscriptions, ordered by (createdAt, id) descending.
+     * Without includeAll only the latest subscription per entity is returned and the status
+     * filter applies to that latest subscription.
+     */
+    public CursorPageResponse<SubscriptionResponseDTO> getMySubscriptionsPage(Long studentId, SubscriptionStatus status,
+                                                                              Boolean includeAll, String cursor, int size) {
+        LocalDateTime cursorCreatedAt = decodeCursorCreatedAt(cursor);
+        Long cursorId = decodeCursorId(cursor);
+        Pageable pageable = PageRequest.of(0, clampPageSize(size) + 1);
+        
+        List<StudentSubscription> subscriptions;
+        if (includeAll != null && includeAll) {
+            subscriptions = status != null
+                    ? subscriptionRepository.findPageByStudentIdAndStatus(studentId, status, cursorCreatedAt, cursorId, pageable)
+                    : subscriptionRepository.findPageByStudentId(studentId, cursorCreatedAt, cursorId, pageable);
+        } else {
+            subscriptions = status != null
+                    ? subscriptionRepository.findLatestPageByStudentIdAndStatus(studentId, status, cursorCreatedAt, cursorId, pageable)
+                    : subscriptionRepository.findLatestPageByStudentId(studentId, cursorCreatedAt, cursorId, pageable);
+        }
+        
+        return toCursorPage(subscriptions, clampPageSize(size));
+    }
+
+    /**
+     * Keyset-paginated listing of all subscriptions for admin, ordered by (createdAt, id) descending
+     */
+    public CursorPageResponse<SubscriptionResponseDTO> getAllSubscriptionsPage(SubscriptionStatus status, String cursor, int size) {
+        LocalDateTime cursorCreatedAt = decodeCursorCreatedAt(cursor);
+        Long cursorId = decodeCursorId(cursor);
+        Pageable pageable = PageRequest.of(0, clampPageSize(size) + 1);
+        
+        List<StudentSubscription> subscriptions = status != null
+                ? subscriptionRepository.findPageByStatus(status, cursorCreatedAt, cursorId, pageable)
+                : subscriptionRepository.findPage(cursorCreatedAt, cursorId, pageable);
+        
+        return toCursorPage(subscriptions, clampPageSize(size));
     }
 
     /**
@@ -365,18 +431,12 @@ public class StudentSubscriptionService {
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime futureDate = now.plusDays(days);
         
-        List<StudentSubscription> subscriptions = subscriptionRepository.findSubscriptionsExpiringSoon(now, futureDate);
+        // Filter by student in the query when studentId is provided
+        List<StudentSubscription> subscriptions = studentId != null
+                ? subscriptionRepository.findSubscriptionsExpiringSoonForStudent(studentId, now, futureDate)
+                : subscriptionRepository.findSubscriptionsExpiringSoon(now, futureDate);
         
-        // Filter by student if studentId is provided
-        if (studentId != null) {
-            subscriptions = subscriptions.stream()
-                    .filter(sub -> sub.getStudent().getId().equals(studentId))
-                    .collect(Collectors.toList());
-        }
-        
-        return subscriptions.stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+        return convertToResponseDTOs(subscriptions);
     }
 
     /**
@@ -438,17 +498,28 @@ public class StudentSubscriptionService {
     }
 
     /**
-     * Auto-deactivate expired subscriptions (can be called by scheduler)
+     * Auto-deactivate expired subscriptions, run nightly by the scheduler
      */
     @Transactional
+    @Scheduled(cron = "${app.subscription.expiry-cron:0 5 0 * * *}")
     public int deactivateExpiredSubscriptions() {
-        List<StudentSubscription> expiredSubscriptions = subscriptionRepository.findExpiredSubscriptions(LocalDateTime.now());
+        LocalDateTime now = LocalDateTime.now();
+        // Expire and return in one statement: when several instances run the job, each row is
+        // changed (and counted in the rollups) only by the instance whose update matched it
+        List<Map<String, Object>> expired = jdbcTemplate.queryForList(
+                "UPDATE student_subscriptions SET is_active = false, status = ?, updated_at = ? " +
+                "WHERE is_active = true AND end_date IS NOT NULL AND end_date < ? " +
+                "RETURNING subscription_level, entity_id, end_date, payment_status",
+                SubscriptionStatus.EXPIRED.name(), now, now);
         
         int deactivatedCount = 0;
-        for (StudentSubscription subscription : expiredSubscriptions) {
-            subscription.setIsActive(false);
-            subscription.setStatus(SubscriptionStatus.EXPIRED);
-            subscriptionRepository.save(subscription);
+        for (Map<String, Object> row : expired) {
+            if (PaymentStatus.PAID.name().equals(row.get("payment_status"))) {
+                subscriptionRollupService.recordExpiration(
+                        SubscriptionLevel.valueOf((String) row.get("subscription_level")),
+                        ((Number) row.get("entity_id")).longValue(),
+                        ((Timestamp) row.get("end_date")).toLocalDateTime());
+            }
             deactivatedCount++;
         }
         
@@ -492,10 +563,91 @@ public class StudentSubscriptionService {
                 .isPresent();
     }
 
+    /**
+     * Build a cursor page from a result fetched with one extra row to detect whether more pages exist
+     */
+    private CursorPageResponse<SubscriptionResponseDTO> toCursorPage(List<StudentSubscription> subscriptions, int size) {
+        boolean hasMore = subscriptions.size() > size;
+        List<StudentSubscription> pageItems = hasMore ? subscriptions.subList(0, size) : subscriptions;
+        
+        String nextCursor = null;
+        if (hasMore) {
+            StudentSubscription last = pageItems.get(pageItems.size() - 1);
+            nextCursor = encodeCursor(last.getCreatedAt(), last.getId());
+        }
+        
+        return new CursorPageResponse<>(convertToResponseDTOs(pageItems), nextCursor, hasMore);
+    }
+
+    private int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    private String encodeCursor(LocalDateTime createdAt, Long id) {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private LocalDateTime decodeCursorCreatedAt(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST_PAGE_CREATED_AT;
+        }
+        try {
+            return LocalDateTime.parse(decodeCursor(cursor)[0]);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private Long decodeCursorId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Long.MAX_VALUE;
+        }
+        try {
+            return Long.parseLong(decodeCursor(cursor)[1]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
     /**
      * Convert entity to response DTO
      */
     private SubscriptionResponseDTO convertToResponseDTO(StudentSubscription subscription) {
+        return convertToResponseDTOs(List.of(subscription)).get(0);
+    }
+
+    /**
+     * Convert entities to response DTOs, resolving course details and pricing for all of them at once
+     */
+    private List<SubscriptionResponseDTO> convertToResponseDTOs(List<StudentSubscription> subscriptions) {
+        if (subscriptions.isEmpty()) {
+            return new ArrayList<>();
+        }
+        SubscriptionEntityResolver.ResolvedEntities resolved = subscriptionEntityResolver.resolve(subscriptions);
+        
+        List<SubscriptionResponseDTO> dtos = new ArrayList<>(subscriptions.size());
+        for (StudentSubscription subscription : subscriptions) {
+            dtos.add(convertToResponseDTO(subscription, resolved));
+        }
+        return dtos;
+    }
+
+    private SubscriptionResponseDTO convertToResponseDTO(StudentSubscription subscription,
+                                                         SubscriptionEntityResolver.ResolvedEntities resolved) {
         SubscriptionResponseDTO dto = new SubscriptionResponseDTO();
         dto.setId(subscription.getId());
         dto.setStudentId(subscription.getStudent().getId());
@@ -505,49 +657,28 @@ public class StudentSubscriptionService {
         dto.setEntityId(subscription.getEntityId());
         dto.setEntityName(subscription.getEntityName());
         
-        // Fetch and set courseTypeId, courseTypeName and courseName
-        try {
-            Object[] courseDetails = getCourseDetailsWithId(subscription.getSubscriptionLevel(), subscription.getEntityId());
-            dto.setCourseTypeId((Long) courseDetails[0]);
-            dto.setCourseTypeName((String) courseDetails[1]);
-            dto.setCourseName((String) courseDetails[2]);
-        } catch (Exception e) {
-            logger.warn("Failed to fetch course details for subscription {}: {}", subscription.getId(), e.getMessage());
-            dto.setCourseTypeId(null);
-            dto.setCourseTypeName(null);
-            dto.setCourseName(null);
+        // Set courseTypeId, courseTypeName and courseName from the bulk-resolved details
+        SubscriptionEntityResolver.CourseDetails courseDetails =
+                resolved.getCourseDetails(subscription.getSubscriptionLevel(), subscription.getEntityId());
+        if (courseDetails != null) {
+            dto.setCourseTypeId(courseDetails.getCourseTypeId());
+            dto.setCourseTypeName(courseDetails.getCourseTypeName());
+            dto.setCourseName(courseDetails.getCourseName());
         }
         
         dto.setAmount(subscription.getAmount());
         dto.setCurrency(subscription.getCurrency());
         dto.setIsActive(subscription.getIsActive());
         
-        // Fetch and set pricing information
-        try {
-            PricingConfiguration pricing = getPricingConfiguration(subscription.getSubscriptionLevel(), subscription.getEntityId());
-            if (pricing != null) {
-                dto.setMonthlyPrice(pricing.getMonthlyPrice());
-                dto.setQuarterlyPrice(pricing.getQuarterlyPrice());
-                dto.setYearlyPrice(pricing.getYearlyPrice());
-                
-                // Calculate discount percentage and savings
-                calculateAndSetDiscount(dto, subscription, pricing);
-            } else {
-                // Set null prices if not found - graceful degradation
-                dto.setMonthlyPrice(null);
-                dto.setQuarterlyPrice(null);
-                dto.setYearlyPrice(null);
-                dto.setDiscountPercentage(null);
-                dto.setSavingsAmount(null);
-            }
-        } catch (Exception e) {
-            logger.warn("Failed to fetch pricing for subscription {}: {}", subscription.getId(), e.getMessage());
-            // Set null prices if not found - graceful degradation
-            dto.setMonthlyPrice(null);
-            dto.setQuarterlyPrice(null);
-            dto.setYearlyPrice(null);
-            dto.setDiscountPercentage(null);
-            dto.setSavingsAmount(null);
+        // Set pricing information - null prices if not configured (graceful degradation)
+        PricingConfiguration pricing = resolved.getPricing(subscription.getSubscriptionLevel(), subscription.getEntityId());
+        if (pricing != null) {
+            dto.setMonthlyPrice(pricing.getMonthlyPrice());
+            dto.setQuarterlyPrice(pricing.getQuarterlyPrice());
+            dto.setYearlyPrice(pricing.getYearlyPrice());
+            
+            // Calculate discount percentage and savings
+            calculateAndSetDiscount(dto, subscription, pricing);
         }
         
         dto.setStartDate(subscription.getStartDate());
@@ -575,110 +706,6 @@ public class StudentSubscriptionService {
         return dto;
     }
 
-    /**
-     * Get course details with ID (courseTypeId, courseTypeName and courseName) based on subscription level and entity ID
-     * Returns [courseTypeId, courseTypeName, courseName]
-     * Handles lazy loading gracefully to prevent LazyInitializationException
-     */
-    private Object[] getCourseDetailsWithId(SubscriptionLevel level, Long entityId) {
-        Object[] details = new Object[3];
-        details[0] = null;  // courseTypeId
-        details[1] = null;  // courseTypeName
-        details[2] = null;  // courseName
-        
-        try {
-            switch (level) {
-                case CLASS:
-                    ClassEntity classEntity = classRepository.findById(entityId).orElse(null);
-                    if (classEntity != null) {
-                        try {
-                            Course course = classEntity.getCourse();
-                            if (course != null) {
-                                details[2] = course.getName();  // courseName
-                                try {
-                                    if (course.getCourseType() != null) {
-                                        details[0] = course.getCourseType().getId();  // courseTypeId
-                                        details[1] = course.getCourseType().getName();  // courseTypeName
-                                    }
-                                } catch (Exception e) {
-                                    logger.debug("Could not fetch courseType for class {}: {}", entityId, e.getMessage());
-                                }
-                            }
-                        } catch (Exception e) {
-                            logger.debug("Could not fetch course for class {}: {}", entityId, e.getMessage());
-                        }
-                    }
-                    break;
-                    
-                case EXAM:
-                    Exam exam = examRepository.findById(entityId).orElse(null);
-                    if (exam != null) {
-                        try {
-                            Course course = exam.getCourse();
-                            if (course != null) {
-                                details[2] = course.getName();  // courseName
-                                try {
-                                    if (course.getCourseType() != null) {
-                                        details[0] = course.getCourseType().getId();  // courseTypeId
-                                        details[1] = course.getCourseType().getName();  // courseTypeName
-                                    }
-                                } catch (Exception e) {
-                                    logger.debug("Could not fetch courseType for exam {}: {}", entityId, e.getMessage());
-                                }
-                            }
-                        } catch (Exception e) {
-                            logger.debug("Could not fetch course for exam {}: {}", entityId, e.getMessage());
-                        }
-                    }
-                    break;
-                    
-                case COURSE:
-                    Course course = courseRepository.findById(entityId).orElse(null);
-                    if (course != null) {
-                        details[2] = course.getName();  // courseName
-                        try {
-                            if (course.getCourseType() != null) {
-                                details[0] = course.getCourseType().getId();  // courseTypeId
-                                details[1] = course.getCourseType().getName();  // courseTypeName
-                            }
-                        } catch (Exception e) {
-                            logger.debug("Could not fetch courseType for course {}: {}", entityId, e.getMessage());
-                        }
-                    }
-                    break;
-                    
-                default:
-                    logger.warn("Invalid subscription level: {}", level);
-            }
-        } catch (Exception e) {
-            logger.error("Error fetching course details for level {} and entityId {}: {}", level, entityId, e.getMessage(), e);
-        }
-        
-        return details;
-    }
-
-    /**
-     * Get pricing configuration for a specific entity and subscription level
-     * Handles different entity type naming conventions
-     */
-    private PricingConfiguration getPricingConfiguration(SubscriptionLevel level, Long entityId) {
-        String entityType = level.name(); // CLASS, EXAM, COURSE
-        
-        // Try to find by exact match first
-        Optional<PricingConfiguration> pricingOpt = pricingConfigurationRepository
-                .findByEntityTypeAndEntityId(entityType, entityId);
-        
-        if (pricingOpt.isPresent()) {
-            return pricingOpt.get();
-        }
-        
-        // If not found, try alternative naming (for backward compatibility)
-        // Some configurations might use full names like "Professional Course" instead of "COURSE"
-        logger.debug("Pricing not found for entityType={}, entityId={}, trying alternatives", entityType, entityId);
-        
-        return null;
-    }
-
     /**
      * Calculate discount percentage and savings amount for subscription
      */
@@ -7,6 +7,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -27,11 +28,10 @@ import com.coaxial.entity.CourseSubject;
 import com.coaxial.entity.CourseType;
 import com.coaxial.entity.ExamSubject;
 import com.coaxial.entity.Subject;
-import com.coaxial.repository.ClassRepository;
-import com.coaxial.repository.CourseRepository;
+import com.coaxial.event.MasterDataChangedEvent;
 import com.coaxial.repository.CourseTypeRepository;
-import com.coaxial.repository.ExamRepository;
 import com.coaxial.repository.SubjectRepository;
+import com.coaxial.service.MasterDataIndexService.MasterDataIndex;
 
 @Service
 @Transactional
@@ -50,16 +50,13 @@ public class SubjectService {
     private CourseSubjectService courseSubjectService;
     
     @Autowired
-    private ClassRepository classRepository;
+    private MasterDataIndexService masterDataIndexService;
     
     @Autowired
-    private ExamRepository examRepository;
-    
-    @Autowired
-    private CourseRepository courseRepository;
+    private CourseTypeRepository courseTypeRepository;
     
     @Autowired
-    private CourseTypeRepository courseTypeRepository;
+    private ApplicationEventPublisher eventPublisher;
     
     public List<Subject> getAllSubjects() {
         return subjectRepository.findAll();
@@ -110,7 +107,9 @@ public class SubjectService {
         subject.setDisplayOrder(subjectRequestDTO.getDisplayOrder());
         subject.setIsActive(subjectRequestDTO.getIsActive());
         
-        return subjectRepository.save(subject);
+        Subject savedSubject = subjectRepository.save(subject);
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.SUBJECT, savedSubject.getId()));
+        return savedSubject;
     }
     
     public Subject updateSubject(Long id, SubjectRequestDTO subjectRequestDTO) {
@@ -123,7 +122,9 @@ public class SubjectService {
         existingSubject.setDisplayOrder(subjectRequestDTO.getDisplayOrder());
         existingSubject.setIsActive(subjectRequestDTO.getIsActive());
         
-        return subjectRepository.save(existingSubject);
+        Subject updatedSubject = subjectRepository.save(existingSubject);
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.SUBJECT, updatedSubject.getId()));
+        return updatedSubject;
     }
     
     public void deleteSubject(Long id) {
@@ -131,6 +132,7 @@ public class SubjectService {
             throw new IllegalArgumentException("Subject not found with ID: " + id);
         }
         subjectRepository.deleteById(id);
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.SUBJECT, id));
     }
     
     public boolean existsById(Long id) {
@@ -464,6 +466,7 @@ public class SubjectService {
             Long examId, Boolean active, String search, Pageable pageable) {
         
         List<Map<String, Object>> allLinkages = new java.util.ArrayList<>();
+        MasterDataIndex index = masterDataIndexService.getIndex();
         
         // Get ClassSubject linkages (Academic - courseTypeId = 1)
         if (courseTypeId == null || courseTypeId == 1) {
@@ -507,24 +510,8 @@ public class SubjectService {
                 linkage.put("name", cs.getSubjectName()); // For sorting
                 
                 // Add course and courseType information
-                try {
-                    Optional<com.coaxial.entity.ClassEntity> classEntity = classRepository.findById(cs.getClassId());
-                    if (classEntity.isPresent() && classEntity.get().getCourse() != null) {
-                        com.coaxial.entity.Course course = classEntity.get().getCourse();
-                        linkage.put("courseId", course.getId());
-                        linkage.put("courseName", course.getName());
-                        
-                        if (course.getCourseType() != null) {
-                            CourseType courseType = course.getCourseType();
-                            linkage.put("courseTypeId", courseType.getId());
-                            linkage.put("courseTypeName", courseType.getName());
-                            linkage.put("structureType", courseType.getStructureType() != null ? courseType.getStructureType().name() : null);
-                        }
-                    }
-                } catch (Exception e) {
-                    // Log error but don't fail the entire operation
-                    System.err.println("Error fetching course info for classId " + cs.getClassId() + ": " + e.getMessage());
-                }
+                MasterDataIndexService.Node classNode = index.getClassEntity(cs.getClassId());
+                putCourseInfo(linkage, index, classNode != null ? classNode.getParentId() : null);
                 
                 allLinkages.add(linkage);
             }
@@ -567,24 +554,8 @@ public class SubjectService {
                 linkage.put("name", es.getSubjectName()); // For sorting
                 
                 // Add course and courseType information
-                try {
-                    Optional<com.coaxial.entity.Exam> exam = examRepository.findById(es.getExamId());
-                    if (exam.isPresent() && exam.get().getCourse() != null) {
-                        com.coaxial.entity.Course course = exam.get().getCourse();
-                        linkage.put("courseId", course.getId());
-                        linkage.put("courseName", course.getName());
-                        
-                        if (course.getCourseType() != null) {
-                            CourseType courseType = course.getCourseType();
-                            linkage.put("courseTypeId", courseType.getId());
-                            linkage.put("courseTypeName", courseType.getName());
-                            linkage.put("structureType", courseType.getStructureType() != null ? courseType.getStructureType().name() : null);
-                        }
-                    }
-                } catch (Exception e) {
-                    // Log error but don't fail the entire operation
-                    System.err.println("Error fetching course info for examId " + es.getExamId() + ": " + e.getMessage());
-                }
+                MasterDataIndexService.Node examNode = index.getExam(es.getExamId());
+                putCourseInfo(linkage, index, examNode != null ? examNode.getParentId() : null);
                 
                 allLinkages.add(linkage);
             }
@@ -626,19 +597,9 @@ public class SubjectService {
                 linkage.put("createdAt", cs.getCreatedAt());
                 linkage.put("name", cs.getSubjectName()); // For sorting
                 
-                // Add course and courseType information
-                try {
-                    Optional<com.coaxial.entity.Course> course = courseRepository.findById(cs.getCourseId());
-                    if (course.isPresent() && course.get().getCourseType() != null) {
-                        CourseType courseType = course.get().getCourseType();
-                        linkage.put("courseTypeId", courseType.getId());
-                        linkage.put("courseTypeName", courseType.getName());
-                        linkage.put("structureType", courseType.getStructureType() != null ? courseType.getStructureType().name() : null);
-                    }
-                } catch (Exception e) {
-                    // Log error but don't fail the entire operation
-                    System.err.println("Error fetching courseType info for courseId " + cs.getCourseId() + ": " + e.getMessage());
-                }
+                // Add courseType information (course id and name are already on the linkage)
+                MasterDataIndexService.Node course = index.getCourse(cs.getCourseId());
+                putCourseTypeInfo(linkage, index, course != null ? course.getParentId() : null);
                 
                 allLinkages.add(linkage);
             }
@@ -670,4 +631,22 @@ public class SubjectService {
         
         return new PageImpl<>(pageContent, pageable, allLinkages.size());
     }
-}
\ No newline at end of file
+    
+    private void putCourseInfo(Map<String, Object> linkage, MasterDataIndex index, Long courseId) {
+        MasterDataIndexService.Node course = index.getCourse(courseId);
+        if (course != null) {
+            linkage.put("courseId", course.getId());
+            linkage.put("courseName", course.getName());
+            putCourseTypeInfo(linkage, index, course.getParentId());
+        }
+    }
+    
+    private void putCourseTypeInfo(Map<String, Object> linkage, MasterDataIndex index, Long courseTypeId) {
+        MasterDataIndexService.Node courseType = index.getCourseType(courseTypeId);
+        if (courseType != null) {
+            linkage.put("courseTypeId", courseType.getId());
+            linkage.put("courseTypeName", courseType.getName());
+            linkage.put("structureType", courseType.getStructureType());
+        }
+    }
+}
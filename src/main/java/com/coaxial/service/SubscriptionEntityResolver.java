@@ -0,0 +1,144 @@
+package com.coaxial.service;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.coaxial.entity.ClassEntity;
+import com.coaxial.entity.Course;
+import com.coaxial.entity.Exam;
+import com.coaxial.entity.PricingConfiguration;
+import com.coaxial.entity.StudentSubscription;
+import com.coaxial.enums.SubscriptionLevel;
+import com.coaxial.repository.ClassRepository;
+import com.coaxial.repository.CourseRepository;
+import com.coaxial.repository.ExamRepository;
+import com.coaxial.repository.PricingConfigurationRepository;
+
+/**
+ * Resolves course details and pricing for a batch of subscriptions.
+ * Entity ids are grouped by subscription level and loaded with one IN query per level,
+ * so converting N subscriptions costs a fixed number of queries instead of N lookups.
+ */
+@Service
+@Transactional(readOnly = true)
+public class SubscriptionEntityResolver {
+
+    @Autowired
+    private ClassRepository classRepository;
+
+    @Autowired
+    private ExamRepository examRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private PricingConfigurationRepository pricingConfigurationRepository;
+
+    public ResolvedEntities resolve(Collection<StudentSubscription> subscriptions) {
+        Map<SubscriptionLevel, Set<Long>> idsByLevel = new EnumMap<>(SubscriptionLevel.class);
+        for (StudentSubscription subscription : subscriptions) {
+            if (subscription.getSubscriptionLevel() != null && subscription.getEntityId() != null) {
+                idsByLevel.computeIfAbsent(subscription.getSubscriptionLevel(), level -> new HashSet<>())
+                          .add(subscription.getEntityId());
+            }
+        }
+
+        ResolvedEntities resolved = new ResolvedEntities();
+        for (Map.Entry<SubscriptionLevel, Set<Long>> entry : idsByLevel.entrySet()) {
+            SubscriptionLevel level = entry.getKey();
+            Set<Long> ids = entry.getValue();
+            Map<Long, CourseDetails> details = resolved.courseDetails.computeIfAbsent(level, l -> new HashMap<>());
+
+            switch (level) {
+                case CLASS:
+                    for (ClassEntity classEntity : classRepository.findAllByIdInWithCourseAndCourseType(ids)) {
+                        details.put(classEntity.getId(), CourseDetails.of(classEntity.getCourse()));
+                    }
+                    break;
+                case EXAM:
+                    for (Exam exam : examRepository.findAllByIdInWithCourseAndCourseType(ids)) {
+                        details.put(exam.getId(), CourseDetails.of(exam.getCourse()));
+                    }
+                    break;
+                case COURSE:
+                    for (Course course : courseRepository.findAllByIdInWithCourseType(ids)) {
+                        details.put(course.getId(), CourseDetails.of(course));
+                    }
+                    break;
+                default:
+                    break;
+            }
+
+            Map<Long, PricingConfiguration> pricing = resolved.pricing.computeIfAbsent(level, l -> new HashMap<>());
+            for (PricingConfiguration config : pricingConfigurationRepository.findByEntityTypeAndEntityIdIn(level.name(), ids)) {
+                pricing.put(config.getEntityId(), config);
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * Lookup tables produced by a single resolve call
+     */
+    public static class ResolvedEntities {
+
+        private final Map<SubscriptionLevel, Map<Long, CourseDetails>> courseDetails = new EnumMap<>(SubscriptionLevel.class);
+        private final Map<SubscriptionLevel, Map<Long, PricingConfiguration>> pricing = new EnumMap<>(SubscriptionLevel.class);
+
+        public CourseDetails getCourseDetails(SubscriptionLevel level, Long entityId) {
+            Map<Long, CourseDetails> byId = courseDetails.get(level);
+            return byId != null ? byId.get(entityId) : null;
+        }
+
+        public PricingConfiguration getPricing(SubscriptionLevel level, Long entityId) {
+            Map<Long, PricingConfiguration> byId = pricing.get(level);
+            return byId != null ? byId.get(entityId) : null;
+        }
+    }
+
+    /**
+     * Course and course type an entity belongs to
+     */
+    public static class CourseDetails {
+
+        private final Long courseTypeId;
+        private final String courseTypeName;
+        private final String courseName;
+
+        private CourseDetails(Long courseTypeId, String courseTypeName, String courseName) {
+            this.courseTypeId = courseTypeId;
+            this.courseTypeName = courseTypeName;
+            this.courseName = courseName;
+        }
+
+        static CourseDetails of(Course course) {
+            if (course == null) {
+                return new CourseDetails(null, null, null);
+            }
+            Long courseTypeId = course.getCourseType() != null ? course.getCourseType().getId() : null;
+            String courseTypeName = course.getCourseType() != null ? course.getCourseType().getName() : null;
+            return new CourseDetails(courseTypeId, courseTypeName, course.getName());
+        }
+
+        public Long getCourseTypeId() {
+            return courseTypeId;
+        }
+
+        public String getCourseTypeName() {
+            return courseTypeName;
+        }
+
+        public String getCourseName() {
+            return courseName;
+        }
+    }
+}
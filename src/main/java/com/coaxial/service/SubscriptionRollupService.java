@@ -0,0 +1,167 @@
+package com.coaxial.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.coaxial.dto.SubscriptionAnalyticsPointDTO;
+import com.coaxial.entity.StudentSubscription;
+import com.coaxial.enums.SubscriptionLevel;
+import com.coaxial.event.SubscriptionActivatedEvent;
+import com.coaxial.repository.SubscriptionDailyRollupRepository;
+
+/**
+ * Maintains subscription_daily_rollups and serves analytics from it.
+ * Writers call the record* methods from within their own transaction so the
+ * rollup changes commit or roll back together with the subscription change.
+ * Payment activations arrive as a SubscriptionActivatedEvent and are recorded
+ * in a separate transaction once the payment update has committed.
+ */
+@Service
+public class SubscriptionRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubscriptionRollupService.class);
+
+    private static final int MAX_SERIES_DAYS = 366;
+
+    @Autowired
+    private SubscriptionDailyRollupRepository rollupRepository;
+
+    // ==================== INCREMENTAL UPDATES ====================
+
+    /**
+     * Record a paid subscription becoming active
+     */
+    @Transactional
+    public void recordActivation(StudentSubscription subscription) {
+        recordActivation(subscription.getSubscriptionLevel(), subscription.getEntityId(),
+                subscription.getPaymentDate(), subscription.getAmount());
+    }
+
+    /**
+     * Record a payment activation once the transaction that marked the subscription paid has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onSubscriptionActivated(SubscriptionActivatedEvent event) {
+        recordActivation(event.getSubscriptionLevel(), event.getEntityId(), event.getPaymentDate(), event.getAmount());
+    }
+
+    /**
+     * Record an active subscription reaching its end date
+     */
+    @Transactional
+    public void recordExpiration(StudentSubscription subscription) {
+        recordExpiration(subscription.getSubscriptionLevel(), subscription.getEntityId(), subscription.getEndDate());
+    }
+
+    /**
+     * Record an expiration from the level, entity and end date alone
+     */
+    @Transactional
+    public void recordExpiration(SubscriptionLevel level, Long entityId, LocalDateTime endDate) {
+        LocalDate day = endDate != null ? endDate.toLocalDate() : LocalDate.now();
+        rollupRepository.upsertIncrement(day, level.name(), entityId, 0, 1, 0, BigDecimal.ZERO);
+    }
+
+    /**
+     * Record an active subscription being cancelled before it expired
+     */
+    @Transactional
+    public void recordCancellation(StudentSubscription subscription) {
+        rollupRepository.upsertIncrement(LocalDate.now(), subscription.getSubscriptionLevel().name(),
+                subscription.getEntityId(), 0, 0, 1, BigDecimal.ZERO);
+    }
+
+    // ==================== ANALYTICS ====================
+
+    /**
+     * Daily series of activations, expirations, cancellations, revenue and active subscribers.
+     * Level and entity filters are optional; entityId requires level.
+     */
+    @Transactional(readOnly = true)
+    public List<SubscriptionAnalyticsPointDTO> getDailySeries(LocalDate fromDate, LocalDate toDate,
+                                                              SubscriptionLevel level, Long entityId) {
+        if (fromDate == null || toDate == null || fromDate.isAfter(toDate)) {
+            throw new IllegalArgumentException("fromDate must be on or before toDate");
+        }
+        if (fromDate.plusDays(MAX_SERIES_DAYS).isBefore(toDate)) {
+            throw new IllegalArgumentException("Date range cannot exceed " + MAX_SERIES_DAYS + " days");
+        }
+        if (entityId != null && level == null) {
+            throw new IllegalArgumentException("subscriptionLevel is required when entityId is given");
+        }
+
+        List<Object[]> rows;
+        Long activeBefore;
+        if (level == null) {
+            rows = rollupRepository.findDailySeries(fromDate, toDate);
+            activeBefore = rollupRepository.sumNetActiveBefore(fromDate);
+        } else if (entityId == null) {
+            rows = rollupRepository.findDailySeriesByLevel(level, fromDate, toDate);
+            activeBefore = rollupRepository.sumNetActiveBeforeByLevel(level, fromDate);
+        } else {
+            rows = rollupRepository.findDailySeriesByLevelAndEntity(level, entityId, fromDate, toDate);
+            activeBefore = rollupRepository.sumNetActiveBeforeByLevelAndEntity(level, entityId, fromDate);
+        }
+
+        Map<LocalDate, Object[]> rowsByDate = new HashMap<>();
+        for (Object[] row : rows) {
+            rowsByDate.put((LocalDate) row[0], row);
+        }
+
+        // Emit every day in range so charts get a continuous axis
+        List<SubscriptionAnalyticsPointDTO> series = new ArrayList<>();
+        long active = activeBefore != null ? activeBefore : 0L;
+        for (LocalDate day = fromDate; !day.isAfter(toDate); day = day.plusDays(1)) {
+            Object[] row = rowsByDate.get(day);
+            long activations = row != null ? toLong(row[1]) : 0L;
+            long expirations = row != null ? toLong(row[2]) : 0L;
+            long cancellations = row != null ? toLong(row[3]) : 0L;
+            BigDecimal revenue = row != null && row[4] != null ? (BigDecimal) row[4] : BigDecimal.ZERO;
+            active += activations - expirations - cancellations;
+            series.add(new SubscriptionAnalyticsPointDTO(day, activations, expirations, cancellations, revenue, active));
+        }
+        return series;
+    }
+
+    /**
+     * Totals per subscription level: paid subscriptions, currently active and revenue
+     */
+    @Transactional(readOnly = true)
+    public Map<SubscriptionLevel, Map<String, Object>> getTotalsByLevel() {
+        Map<SubscriptionLevel, Map<String, Object>> totals = new LinkedHashMap<>();
+        for (Object[] row : rollupRepository.findTotalsByLevel()) {
+            Map<String, Object> levelTotals = new LinkedHashMap<>();
+            levelTotals.put("paidSubscriptions", toLong(row[1]));
+            levelTotals.put("activeSubscriptions", toLong(row[2]));
+            levelTotals.put("revenue", row[3] != null ? row[3] : BigDecimal.ZERO);
+            totals.put((SubscriptionLevel) row[0], levelTotals);
+        }
+        logger.debug("Loaded subscription totals for {} levels from rollups", totals.size());
+        return totals;
+    }
+
+    private void recordActivation(SubscriptionLevel level, Long entityId, LocalDateTime paymentDate, BigDecimal amount) {
+        LocalDate day = paymentDate != null ? paymentDate.toLocalDate() : LocalDate.now();
+        rollupRepository.upsertIncrement(day, level.name(), entityId, 1, 0, 0,
+                amount != null ? amount : BigDecimal.ZERO);
+    }
+
+    private long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+}
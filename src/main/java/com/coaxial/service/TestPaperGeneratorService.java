@@ -0,0 +1,176 @@
+package com.coaxial.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.coaxial.dto.TestPaperBlueprintDTO;
+import com.coaxial.dto.TestPaperGenerationResultDTO;
+import com.coaxial.entity.User;
+import com.coaxial.repository.TestRepository;
+
+/**
+ * Generates a test paper from a blueprint.
+ * Each section counts its matching questions and samples them in SQL (random order, LIMIT),
+ * excluding questions already in the test or picked by an earlier section; the whole paper
+ * is then written with one batch insert. A 200-question paper costs two queries per section
+ * plus the insert, regardless of the size of the question bank.
+ */
+@Service
+public class TestPaperGeneratorService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TestPaperGeneratorService.class);
+
+    private static final String INSERT_TEST_QUESTION =
+            "INSERT INTO test_questions (test_id, question_id, question_order, marks, negative_marks, is_active, " +
+            "created_at, updated_at, created_by) VALUES (?, ?, ?, ?, ?, true, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestRepository testRepository;
+
+    @Transactional
+    public TestPaperGenerationResultDTO generate(Long testId, TestPaperBlueprintDTO blueprint) {
+        if (!testRepository.existsById(testId)) {
+            throw new IllegalArgumentException("Test not found: " + testId);
+        }
+
+        int nextOrder;
+        Set<Long> excludedIds = new HashSet<>();
+        if (Boolean.TRUE.equals(blueprint.getReplaceExisting())) {
+            jdbcTemplate.update("DELETE FROM test_questions WHERE test_id = ?", testId);
+            nextOrder = 1;
+        } else {
+            excludedIds.addAll(jdbcTemplate.queryForList(
+                    "SELECT question_id FROM test_questions WHERE test_id = ?", Long.class, testId));
+            Integer maxOrder = jdbcTemplate.queryForObject(
+                    "SELECT MAX(question_order) FROM test_questions WHERE test_id = ?", Integer.class, testId);
+            nextOrder = maxOrder != null ? maxOrder + 1 : 1;
+        }
+
+        TestPaperGenerationResultDTO result = new TestPaperGenerationResultDTO();
+        result.setTestId(testId);
+        List<String> shortages = new ArrayList<>();
+        List<Object[]> insertArgs = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Long userId = getCurrentUserId();
+
+        for (int i = 0; i < blueprint.getSections().size(); i++) {
+            TestPaperBlueprintDTO.Section section = blueprint.getSections().get(i);
+            List<Object> args = new ArrayList<>();
+            String where = buildWhereClause(blueprint, section, excludedIds, args);
+
+            long available = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM questions q" + where, Long.class, args.toArray());
+            if (available < section.getCount()) {
+                shortages.add("Section " + (i + 1) + ": requested " + section.getCount() + ", available " + available);
+                if (!Boolean.TRUE.equals(blueprint.getAllowPartial())) {
+                    result.getSections().add(new TestPaperGenerationResultDTO.SectionResult(i + 1, section.getCount(), available, 0));
+                    continue;
+                }
+            }
+
+            args.add(section.getCount());
+            List<Object[]> picked = jdbcTemplate.query(
+                    "SELECT q.id, q.marks, q.negative_marks FROM questions q" + where + " ORDER BY random() LIMIT ?",
+                    (rs, rowNum) -> new Object[] { rs.getLong("id"), rs.getObject("marks"), rs.getObject("negative_marks") },
+                    args.toArray());
+
+            for (Object[] question : picked) {
+                Long questionId = (Long) question[0];
+                int marks = section.getMarks() != null ? section.getMarks()
+                        : question[1] != null ? ((Number) question[1]).intValue() : 1;
+                double negativeMarks = section.getNegativeMarks() != null ? section.getNegativeMarks()
+                        : question[2] != null ? ((Number) question[2]).doubleValue() : 0.0;
+                insertArgs.add(new Object[] { testId, questionId, nextOrder++, marks, negativeMarks, now, now, userId });
+                excludedIds.add(questionId);
+                result.setTotalMarks(result.getTotalMarks() + marks);
+            }
+            result.getSections().add(new TestPaperGenerationResultDTO.SectionResult(i + 1, section.getCount(), available, picked.size()));
+        }
+
+        if (!shortages.isEmpty() && !Boolean.TRUE.equals(blueprint.getAllowPartial())) {
+            // Nothing has been inserted; the transaction also rolls back replaceExisting
+            throw new IllegalArgumentException("Not enough questions for the blueprint. " + String.join("; ", shortages));
+        }
+
+        if (!insertArgs.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_TEST_QUESTION, insertArgs);
+        }
+        result.setGeneratedCount(insertArgs.size());
+
+        logger.info("Generated {} questions for test {} from {} sections{}", insertArgs.size(), testId,
+                blueprint.getSections().size(), shortages.isEmpty() ? "" : " (partial: " + String.join("; ", shortages) + ")");
+        return result;
+    }
+
+    private String buildWhereClause(TestPaperBlueprintDTO blueprint, TestPaperBlueprintDTO.Section section,
+                                    Set<Long> excludedIds, List<Object> args) {
+        StringBuilder where = new StringBuilder(" WHERE q.is_active = true");
+        addEquals(where, args, "q.course_type_id", blueprint.getCourseTypeId());
+        addEquals(where, args, "q.relationship_id", blueprint.getRelationshipId());
+        addEquals(where, args, "q.subject_id", section.getSubjectId());
+        addEquals(where, args, "q.topic_id", section.getTopicId());
+        addEquals(where, args, "q.module_id", section.getModuleId());
+        addEquals(where, args, "q.chapter_id", section.getChapterId());
+        addEquals(where, args, "q.difficulty_level", section.getDifficultyLevel());
+        addEquals(where, args, "q.question_type", section.getQuestionType());
+        addEquals(where, args, "q.marks", section.getQuestionMarks());
+
+        if (section.getExamIds() != null && !section.getExamIds().isEmpty()) {
+            where.append(" AND EXISTS (SELECT 1 FROM question_exam_suitabilities es WHERE es.question_id = q.id")
+                 .append(" AND es.is_active = true AND es.master_exam_id = ANY(CAST(? AS bigint[])))");
+            args.add(toArrayLiteral(section.getExamIds()));
+        }
+        if (section.getAppearedYears() != null && !section.getAppearedYears().isEmpty()) {
+            where.append(" AND EXISTS (SELECT 1 FROM question_exam_histories eh JOIN master_years my ON my.id = eh.appeared_year_id")
+                 .append(" WHERE eh.question_id = q.id AND eh.is_active = true AND my.year_value = ANY(CAST(? AS integer[])))");
+            args.add(toArrayLiteral(section.getAppearedYears()));
+        }
+        if (!excludedIds.isEmpty()) {
+            where.append(" AND NOT (q.id = ANY(CAST(? AS bigint[])))");
+            args.add(toArrayLiteral(excludedIds));
+        }
+        return where.toString();
+    }
+
+    private void addEquals(StringBuilder where, List<Object> args, String column, Object value) {
+        if (value != null) {
+            where.append(" AND ").append(column).append(" = ?");
+            args.add(value);
+        }
+    }
+
+    // Postgres array literal, e.g. {1,2,3}; values are numbers so no quoting is needed
+    private String toArrayLiteral(Iterable<? extends Number> values) {
+        StringBuilder literal = new StringBuilder("{");
+        for (Number value : values) {
+            if (literal.length() > 1) {
+                literal.append(',');
+            }
+            literal.append(value.longValue());
+        }
+        return literal.append('}').toString();
+    }
+
+    private Long getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User) {
+            return ((User) authentication.getPrincipal()).getId();
+        }
+        return null;
+    }
+}
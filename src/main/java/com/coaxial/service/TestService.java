@@ -3,6 +3,8 @@ package com.coaxial.service;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,12 +17,9 @@ import com.coaxial.dto.TestRequestDTO;
 import com.coaxial.dto.TestResponseDTO;
 import com.coaxial.entity.Chapter;
 import com.coaxial.entity.ClassEntity;
-import com.coaxial.entity.ClassSubject;
 import com.coaxial.entity.Course;
-import com.coaxial.entity.CourseSubject;
 import com.coaxial.entity.CourseType;
 import com.coaxial.entity.Exam;
-import com.coaxial.entity.ExamSubject;
 import com.coaxial.entity.MasterExam;
 import com.coaxial.entity.Module;
 import com.coaxial.entity.Question;
@@ -33,12 +32,9 @@ import com.coaxial.enums.TestLevel;
 import com.coaxial.exception.ValidationException;
 import com.coaxial.repository.ChapterRepository;
 import com.coaxial.repository.ClassRepository;
-import com.coaxial.repository.ClassSubjectRepository;
 import com.coaxial.repository.CourseRepository;
-import com.coaxial.repository.CourseSubjectRepository;
 import com.coaxial.repository.CourseTypeRepository;
 import com.coaxial.repository.ExamRepository;
-import com.coaxial.repository.ExamSubjectRepository;
 import com.coaxial.repository.MasterExamRepository;
 import com.coaxial.repository.ModuleRepository;
 import com.coaxial.repository.QuestionRepository;
@@ -79,13 +75,7 @@ public class TestService {
     private ExamRepository examRepository;
     
     @Autowired
-    private ClassSubjectRepository classSubjectRepository;
-    
-    @Autowired
-    private ExamSubjectRepository examSubjectRepository;
-    
-    @Autowired
-    private CourseSubjectRepository courseSubjectRepository;
+    private MasterDataIndexService masterDataIndexService;
     
     @Autowired
     private TopicRepository topicRepository;
@@ -468,9 +458,16 @@ public class TestService {
         Test testRef = new Test();
         testRef.setId(testId);
 
+        // One query for all referenced questions instead of findById per question
+        Map<Long, Question> questionsById = questionRepository.findAllById(
+                questions.stream().map(TestQuestionRequestDTO::getQuestionId).collect(Collectors.toSet()))
+            .stream().collect(Collectors.toMap(Question::getId, Function.identity()));
+
         for (TestQuestionRequestDTO q : questions) {
-            Question question = questionRepository.findById(q.getQuestionId())
-                .orElseThrow(() -> new IllegalArgumentException("Question not found: " + q.getQuestionId()));
+            Question question = questionsById.get(q.getQuestionId());
+            if (question == null) {
+                throw new IllegalArgumentException("Question not found: " + q.getQuestionId());
+            }
 
             TestQuestion tq = new TestQuestion();
             tq.setTest(testRef);
@@ -814,29 +811,9 @@ public class TestService {
             return null;
         }
         
-        try {
-            switch (courseTypeId.intValue()) {
-                case 1: // Academic - ClassSubject
-                    ClassSubject classSubject = classSubjectRepository.findById(subjectLinkageId).orElse(null);
-                    return classSubject != null && classSubject.getSubject() != null ? 
-                           classSubject.getSubject().getName() : null;
-                           
-                case 2: // Competitive - ExamSubject
-                    ExamSubject examSubject = examSubjectRepository.findById(subjectLinkageId).orElse(null);
-                    return examSubject != null && examSubject.getSubject() != null ? 
-                           examSubject.getSubject().getName() : null;
-                           
-                case 3: // Professional - CourseSubject
-                    CourseSubject courseSubject = courseSubjectRepository.findById(subjectLinkageId).orElse(null);
-                    return courseSubject != null && courseSubject.getSubject() != null ? 
-                           courseSubject.getSubject().getName() : null;
-                           
-                default:
-                    return null;
-            }
-        } catch (Exception e) {
-            return null;
-        }
+        MasterDataIndexService.Node subject = masterDataIndexService.getIndex()
+                .getLinkedSubject(courseTypeId, subjectLinkageId);
+        return subject != null ? subject.getName() : null;
     }
 }
 
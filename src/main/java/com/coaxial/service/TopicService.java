@@ -1,13 +1,20 @@
 package com.coaxial.service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -15,26 +22,24 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.coaxial.dto.TopicRequestDTO;
 import com.coaxial.dto.TopicResponseDTO;
-import com.coaxial.entity.ClassEntity;
-import com.coaxial.entity.ClassSubject;
-import com.coaxial.entity.Course;
-import com.coaxial.entity.CourseSubject;
-import com.coaxial.entity.Exam;
-import com.coaxial.entity.ExamSubject;
-import com.coaxial.entity.Subject;
 import com.coaxial.entity.Topic;
 import com.coaxial.entity.User;
-import com.coaxial.repository.ClassRepository;
+import com.coaxial.event.MasterDataChangedEvent;
 import com.coaxial.repository.ClassSubjectRepository;
 import com.coaxial.repository.CourseSubjectRepository;
-import com.coaxial.repository.ExamRepository;
 import com.coaxial.repository.ExamSubjectRepository;
 import com.coaxial.repository.TopicRepository;
+import com.coaxial.service.MasterDataIndexService.MasterDataIndex;
+import com.coaxial.service.MasterDataIndexService.SubjectLink;
 
 @Service
 @Transactional
 public class TopicService {
     
+    private static final long[] LINK_TYPES = { MasterDataIndex.ACADEMIC, MasterDataIndex.COMPETITIVE, MasterDataIndex.PROFESSIONAL };
+    private static final Sort DEFAULT_TOPIC_SORT = Sort.by("displayOrder").ascending().and(Sort.by("id"));
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("name", "displayOrder", "createdAt", "updatedAt", "isActive", "id");
+    
     @Autowired
     private TopicRepository topicRepository;
     
@@ -48,10 +53,13 @@ public class TopicService {
     private CourseSubjectRepository courseSubjectRepository;
     
     @Autowired
-    private ClassRepository classRepository;
+    private MasterDataIndexService masterDataIndexService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
     
     @Autowired
-    private ExamRepository examRepository;
+    private ContentCountRollupService contentCountRollupService;
     
     // Basic CRUD operations
     public List<Topic> getAllTopics() {
@@ -91,12 +99,19 @@ public class TopicService {
             topic.setCreatedBy((User) authentication.getPrincipal());
         }
         
-        return topicRepository.save(topic);
+        Topic savedTopic = topicRepository.save(topic);
+        contentCountRollupService.onTopicChanged(savedTopic.getId(), null, null, false,
+                savedTopic.getCourseTypeId(), savedTopic.getRelationshipId(), savedTopic.getIsActive());
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.TOPIC, savedTopic.getId()));
+        return savedTopic;
     }
     
     public Topic updateTopic(Long id, TopicRequestDTO topicRequestDTO) {
         Topic existingTopic = topicRepository.findById(id)
             .orElseThrow(() -> new IllegalArgumentException("Topic not found with ID: " + id));
+        Long previousCourseTypeId = existingTopic.getCourseTypeId();
+        Long previousRelationshipId = existingTopic.getRelationshipId();
+        Boolean wasActive = existingTopic.getIsActive();
         
         // Validate the relationship exists based on course type
         validateRelationship(topicRequestDTO.getCourseTypeId(), topicRequestDTO.getRelationshipId());
@@ -122,14 +137,20 @@ public class TopicService {
             existingTopic.setUpdatedBy((User) authentication.getPrincipal());
         }
         
-        return topicRepository.save(existingTopic);
+        Topic updatedTopic = topicRepository.save(existingTopic);
+        contentCountRollupService.onTopicChanged(id, previousCourseTypeId, previousRelationshipId, wasActive,
+                updatedTopic.getCourseTypeId(), updatedTopic.getRelationshipId(), updatedTopic.getIsActive());
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.TOPIC, updatedTopic.getId()));
+        return updatedTopic;
     }
     
     public void deleteTopic(Long id) {
-        if (!topicRepository.existsById(id)) {
-            throw new IllegalArgumentException("Topic not found with ID: " + id);
-        }
-        topicRepository.deleteById(id);
+        Topic topic = topicRepository.findById(id)
+            .orElseThrow(() -> new IllegalArgumentException("Topic not found with ID: " + id));
+        contentCountRollupService.onTopicChanged(id, topic.getCourseTypeId(), topic.getRelationshipId(), topic.getIsActive(),
+                null, null, false);
+        topicRepository.delete(topic);
+        eventPublisher.publishEvent(new MasterDataChangedEvent(MasterDataChangedEvent.TOPIC, id));
     }
     
     // Filtering methods
@@ -207,9 +228,12 @@ public class TopicService {
             Long classId, Long examId, Long subjectId, String search) {
         
         List<Topic> topics;
+        boolean searching = search != null && !search.trim().isEmpty();
+        Map<Long, List<Long>> linkIds = searching ? null
+            : resolveFilterLinkIds(courseTypeId, courseId, classId, examId, subjectId);
         
         // Priority 1: Search functionality (highest priority)
-        if (search != null && !search.trim().isEmpty()) {
+        if (searching) {
             topics = searchTopics(search.trim());
             // Apply additional filters to search results
             if (active != null || courseTypeId != null || courseId != null || 
@@ -217,25 +241,13 @@ public class TopicService {
                 topics = applyAdditionalFilters(topics, active, courseTypeId, courseId, classId, examId, subjectId);
             }
         }
-        // Priority 1.5: If courseTypeId is specified, treat subjectId as linkageId for that type
-        else if (subjectId != null && courseTypeId != null) {
-            topics = getTopicsByLinkageId(courseTypeId, subjectId, active, courseId, classId, examId);
-        }
-        // Priority 2: Filter by specific subject (most specific)
-        else if (subjectId != null) {
-            topics = getTopicsBySubjectId(subjectId, active, courseTypeId, courseId, classId, examId);
-        }
-        // Priority 3: Filter by class (Academic courses)
-        else if (classId != null) {
-            topics = getTopicsByClassId(classId, active);
-        }
-        // Priority 4: Filter by exam (Competitive courses)
-        else if (examId != null) {
-            topics = getTopicsByExamId(examId, active);
-        }
-        // Priority 5: Filter by course
-        else if (courseId != null) {
-            topics = getTopicsByCourseId(courseId, active);
+        // Priority 2-5: Subject, class, exam or course filters resolve to subject links, fetched in one query
+        else if (linkIds != null) {
+            topics = hasLinkIds(linkIds)
+                ? topicRepository.findByLinkIds(linkIds.getOrDefault(MasterDataIndex.ACADEMIC, List.of()),
+                    linkIds.getOrDefault(MasterDataIndex.COMPETITIVE, List.of()),
+                    linkIds.getOrDefault(MasterDataIndex.PROFESSIONAL, List.of()), active, DEFAULT_TOPIC_SORT)
+                : List.of();
         }
         // Priority 6: Filter by course type
         else if (courseTypeId != null) {
@@ -255,322 +267,83 @@ public class TopicService {
             .collect(Collectors.toList());
     }
 
-    // Fetch topics by linkage id based on courseTypeId, with optional validation against higher-level filters
-    private List<Topic> getTopicsByLinkageId(Long courseTypeId, Long linkageId, Boolean active,
-            Long courseId, Long classId, Long examId) {
-        List<Topic> topics = new java.util.ArrayList<>();
-
-        if (courseTypeId == 1) {
-            // ClassSubject
-            Optional<ClassSubject> csOpt = classSubjectRepository.findById(linkageId);
-            if (csOpt.isEmpty()) {
-                return topics;
-            }
-            ClassSubject cs = csOpt.get();
-            ClassEntity classEntity = cs.getClassEntity();
-            // Validate filters
-            if (classId != null && !classId.equals(classEntity.getId())) {
-                return topics;
-            }
-            if (courseId != null && !courseId.equals(classEntity.getCourse().getId())) {
-                return topics;
-            }
-            // Fetch topics
-            if (active != null) {
-                topics.addAll(topicRepository.findByCourseTypeIdAndRelationshipIdAndIsActiveOrderByDisplayOrderAsc(1L, linkageId, active));
-            } else {
-                topics.addAll(topicRepository.findByCourseTypeIdAndRelationshipIdOrderByDisplayOrderAsc(1L, linkageId));
-            }
-        } else if (courseTypeId == 2) {
-            // ExamSubject
-            Optional<ExamSubject> esOpt = examSubjectRepository.findById(linkageId);
-            if (esOpt.isEmpty()) {
-                return topics;
-            }
-            ExamSubject es = esOpt.get();
-            Exam exam = es.getExam();
-            // Validate filters
-            if (examId != null && !examId.equals(exam.getId())) {
-                return topics;
-            }
-            if (courseId != null && !courseId.equals(exam.getCourse().getId())) {
-                return topics;
-            }
-            // Fetch topics
-            if (active != null) {
-                topics.addAll(topicRepository.findByCourseTypeIdAndRelationshipIdAndIsActiveOrderByDisplayOrderAsc(2L, linkageId, active));
-            } else {
-                topics.addAll(topicRepository.findByCourseTypeIdAndRelationshipIdOrderByDisplayOrderAsc(2L, linkageId));
-            }
-        } else if (courseTypeId == 3) {
-            // CourseSubject
-            Optional<CourseSubject> cosOpt = courseSubjectRepository.findById(linkageId);
-            if (cosOpt.isEmpty()) {
-                return topics;
-            }
-            CourseSubject cos = cosOpt.get();
-            // Validate filters
-            if (courseId != null && !courseId.equals(cos.getCourse().getId())) {
-                return topics;
-            }
-            // Fetch topics
-            if (active != null) {
-                topics.addAll(topicRepository.findByCourseTypeIdAndRelationshipIdAndIsActiveOrderByDisplayOrderAsc(3L, linkageId, active));
-            } else {
-                topics.addAll(topicRepository.findByCourseTypeIdAndRelationshipIdOrderByDisplayOrderAsc(3L, linkageId));
-            }
-        }
-
-        return topics;
-    }
-    
     /**
-     * Get topics by subject ID (works across all course types)
-     * Finds topics where relationshipId points to ClassSubject/ExamSubject/CourseSubject 
-     * that have the specified subjectId, with additional filtering support
+     * Subject link ids selected by the combined filter, keyed by course type (1 ClassSubject, 2 ExamSubject,
+     * 3 CourseSubject), or null when no subject/class/exam/course filter is given
      */
-    private List<Topic> getTopicsBySubjectId(Long subjectId, Boolean active, Long courseTypeId, 
-            Long courseId, Long classId, Long examId) {
-        List<Topic> topics = new java.util.ArrayList<>();
-        
-        System.out.println("DEBUG: getTopicsBySubjectId called with subjectId=" + subjectId + 
-                          ", courseTypeId=" + courseTypeId + ", courseId=" + courseId + 
-                          ", examId=" + examId + ", active=" + active);
-        
-        // Academic courses (courseTypeId = 1)
-        if (courseTypeId == null || courseTypeId == 1) {
-            List<Long> classSubjectIds = classSubjectRepository.findBySubjectId(subjectId)
-                .stream().map(cs -> cs.getId()).collect(Collectors.toList());
-            
-            // Apply additional filters for Academic courses
-            if (courseId != null || classId != null) {
-                classSubjectIds = classSubjectIds.stream()
-                    .filter(csId -> {
-                        Optional<ClassSubject> csOpt = classSubjectRepository.findById(csId);
-                        if (csOpt.isEmpty()) return false;
-                        
-                        ClassSubject cs = csOpt.get();
-                        ClassEntity classEntity = cs.getClassEntity();
-                        
-                        // Filter by classId
-                        if (classId != null && !classId.equals(classEntity.getId())) {
-                            return false;
-                        }
-                        
-                        // Filter by courseId
-                        if (courseId != null && !courseId.equals(classEntity.getCourse().getId())) {
-                            return false;
-                        }
-                        
-                        return true;
-                    })
-                    .collect(Collectors.toList());
-            }
-            
-            // Find topics for filtered ClassSubject IDs
-            for (Long classSubjectId : classSubjectIds) {
-                if (active != null) {
-                    topics.addAll(topicRepository.findByCourseTypeIdAndRelationshipIdAndIsActiveOrderByDisplayOrderAsc(
-                        1L, classSubjectId, active));
-                } else {
-                    topics.addAll(topicRepository.findByCourseTypeIdAndRelationshipIdOrderByDisplayOrderAsc(
-                        1L, classSubjectId));
-                }
+    private Map<Long, List<Long>> resolveFilterLinkIds(Long courseTypeId, Long courseId, Long classId,
+            Long examId, Long subjectId) {
+        MasterDataIndex index = masterDataIndexService.getIndex();
+        Map<Long, List<Long>> linkIds = new HashMap<>();
+        
+        // If courseTypeId is specified, subjectId is the linkage id for that type
+        if (subjectId != null && courseTypeId != null) {
+            SubjectLink link = index.getLink(courseTypeId, subjectId);
+            if (link != null && linkMatchesFilters(index, link, courseId, classId, examId)) {
+                linkIds.put(courseTypeId, List.of(subjectId));
             }
         }
-        
-        // Competitive courses (courseTypeId = 2)
-        if (courseTypeId == null || courseTypeId == 2) {
-            List<Long> examSubjectIds = examSubjectRepository.findBySubjectId(subjectId)
-                .stream().map(es -> es.getId()).collect(Collectors.toList());
-            
-            System.out.println("DEBUG: Found " + examSubjectIds.size() + " ExamSubject records for subjectId=" + subjectId);
-            System.out.println("DEBUG: ExamSubject IDs: " + examSubjectIds);
-            
-            // Apply additional filters for Competitive courses
-            if (courseId != null || examId != null) {
-                System.out.println("DEBUG: Applying filters - courseId=" + courseId + ", examId=" + examId);
-                examSubjectIds = examSubjectIds.stream()
-                    .filter(esId -> {
-                        Optional<ExamSubject> esOpt = examSubjectRepository.findById(esId);
-                        if (esOpt.isEmpty()) {
-                            System.out.println("DEBUG: ExamSubject not found for ID=" + esId);
-                            return false;
-                        }
-                        
-                        ExamSubject es = esOpt.get();
-                        Exam exam = es.getExam();
-                        
-                        System.out.println("DEBUG: Checking ExamSubject ID=" + esId + ", Exam ID=" + exam.getId() + ", Course ID=" + exam.getCourse().getId());
-                        
-                        // Filter by examId
-                        if (examId != null && !examId.equals(exam.getId())) {
-                            System.out.println("DEBUG: Filtered out by examId - expected=" + examId + ", actual=" + exam.getId());
-                            return false;
-                        }
-                        
-                        // Filter by courseId
-                        if (courseId != null && !courseId.equals(exam.getCourse().getId())) {
-                            System.out.println("DEBUG: Filtered out by courseId - expected=" + courseId + ", actual=" + exam.getCourse().getId());
-                            return false;
-                        }
-                        
-                        System.out.println("DEBUG: ExamSubject ID=" + esId + " passed all filters");
-                        return true;
-                    })
-                    .collect(Collectors.toList());
-                
-                System.out.println("DEBUG: After filtering, " + examSubjectIds.size() + " ExamSubject IDs remain: " + examSubjectIds);
-            }
-            
-            // Find topics for filtered ExamSubject IDs
-            for (Long examSubjectId : examSubjectIds) {
-                System.out.println("DEBUG: Looking for topics with courseTypeId=2, relationshipId=" + examSubjectId + ", active=" + active);
-                if (active != null) {
-                    List<Topic> foundTopics = topicRepository.findByCourseTypeIdAndRelationshipIdAndIsActiveOrderByDisplayOrderAsc(
-                        2L, examSubjectId, active);
-                    System.out.println("DEBUG: Found " + foundTopics.size() + " topics for ExamSubject ID=" + examSubjectId);
-                    topics.addAll(foundTopics);
-                } else {
-                    List<Topic> foundTopics = topicRepository.findByCourseTypeIdAndRelationshipIdOrderByDisplayOrderAsc(
-                        2L, examSubjectId);
-                    System.out.println("DEBUG: Found " + foundTopics.size() + " topics for ExamSubject ID=" + examSubjectId);
-                    topics.addAll(foundTopics);
-                }
+        // Links of a master subject across course types, narrowed by the other filters
+        else if (subjectId != null) {
+            for (long linkType : LINK_TYPES) {
+                linkIds.put(linkType, Arrays.stream(index.getLinkIdsBySubject(linkType, subjectId))
+                    .filter(linkId -> linkMatchesFilters(index, index.getLink(linkType, linkId), courseId, classId, examId))
+                    .boxed()
+                    .collect(Collectors.toList()));
             }
         }
-        
-        // Professional courses (courseTypeId = 3)
-        if (courseTypeId == null || courseTypeId == 3) {
-            List<Long> courseSubjectIds = courseSubjectRepository.findBySubjectId(subjectId)
-                .stream().map(cs -> cs.getId()).collect(Collectors.toList());
-            
-            // Apply additional filters for Professional courses
-            if (courseId != null) {
-                courseSubjectIds = courseSubjectIds.stream()
-                    .filter(csId -> {
-                        Optional<CourseSubject> csOpt = courseSubjectRepository.findById(csId);
-                        if (csOpt.isEmpty()) return false;
-                        
-                        CourseSubject cs = csOpt.get();
-                        
-                        // Filter by courseId
-                        if (courseId != null && !courseId.equals(cs.getCourse().getId())) {
-                            return false;
-                        }
-                        
-                        return true;
-                    })
-                    .collect(Collectors.toList());
+        // Class subjects (Academic)
+        else if (classId != null) {
+            linkIds.put(MasterDataIndex.ACADEMIC, toList(index.getLinkIdsByOwner(MasterDataIndex.ACADEMIC, classId)));
+        }
+        // Exam subjects (Competitive)
+        else if (examId != null) {
+            linkIds.put(MasterDataIndex.COMPETITIVE, toList(index.getLinkIdsByOwner(MasterDataIndex.COMPETITIVE, examId)));
+        }
+        // Course subjects, plus the subjects of the course's classes and exams
+        else if (courseId != null) {
+            linkIds.put(MasterDataIndex.PROFESSIONAL, toList(index.getLinkIdsByOwner(MasterDataIndex.PROFESSIONAL, courseId)));
+            List<Long> classSubjectIds = new ArrayList<>();
+            for (long ownerId : index.getClassIds(courseId)) {
+                classSubjectIds.addAll(toList(index.getLinkIdsByOwner(MasterDataIndex.ACADEMIC, ownerId)));
             }
-            
-            // Find topics for filtered CourseSubject IDs
-            for (Long courseSubjectId : courseSubjectIds) {
-                if (active != null) {
-                    topics.addAll(topicRepository.findByCourseTypeIdAndRelationshipIdAndIsActiveOrderByDisplayOrderAsc(
-                        3L, courseSubjectId, active));
-                } else {
-                    topics.addAll(topicRepository.findByCourseTypeIdAndRelationshipIdOrderByDisplayOrderAsc(
-                        3L, courseSubjectId));
-                }
+            List<Long> examSubjectIds = new ArrayList<>();
+            for (long ownerId : index.getExamIds(courseId)) {
+                examSubjectIds.addAll(toList(index.getLinkIdsByOwner(MasterDataIndex.COMPETITIVE, ownerId)));
             }
+            linkIds.put(MasterDataIndex.ACADEMIC, classSubjectIds);
+            linkIds.put(MasterDataIndex.COMPETITIVE, examSubjectIds);
+        } else {
+            return null;
         }
         
-        System.out.println("DEBUG: Total topics found: " + topics.size());
-        return topics.stream().distinct().collect(Collectors.toList());
+        return linkIds;
     }
     
     /**
-     * Get topics by class ID (Academic courses)
-     * Finds topics where courseTypeId=1 and relationshipId points to ClassSubject 
-     * that belongs to the specified classId
+     * Whether a subject link belongs to the given course, class and exam (null filters match anything).
+     * Class filters only apply to class subjects and exam filters only to exam subjects.
      */
-    private List<Topic> getTopicsByClassId(Long classId, Boolean active) {
-        List<Topic> topics = new java.util.ArrayList<>();
-        
-        // Find ClassSubject IDs that belong to this classId
-        List<Long> classSubjectIds = classSubjectRepository.findByClassEntityId(classId)
-            .stream().map(cs -> cs.getId()).collect(Collectors.toList());
-        
-        // Find topics where courseTypeId=1 and relationshipId is in the ClassSubject IDs
-        for (Long classSubjectId : classSubjectIds) {
-            if (active != null) {
-                topics.addAll(topicRepository.findByCourseTypeIdAndRelationshipIdAndIsActiveOrderByDisplayOrderAsc(
-                    1L, classSubjectId, active));
-            } else {
-                topics.addAll(topicRepository.findByCourseTypeIdAndRelationshipIdOrderByDisplayOrderAsc(
-                    1L, classSubjectId));
-            }
+    private boolean linkMatchesFilters(MasterDataIndex index, SubjectLink link, Long courseId, Long classId, Long examId) {
+        if (link.getCourseTypeId() == MasterDataIndex.ACADEMIC && classId != null && classId != link.getOwnerId()) {
+            return false;
         }
-        
-        return topics;
+        if (link.getCourseTypeId() == MasterDataIndex.COMPETITIVE && examId != null && examId != link.getOwnerId()) {
+            return false;
+        }
+        if (courseId != null) {
+            MasterDataIndexService.Node course = index.getCourse(link);
+            return course != null && courseId.equals(course.getId());
+        }
+        return true;
     }
     
-    /**
-     * Get topics by exam ID (Competitive courses)
-     * Finds topics where courseTypeId=2 and relationshipId points to ExamSubject 
-     * that belongs to the specified examId
-     */
-    private List<Topic> getTopicsByExamId(Long examId, Boolean active) {
-        List<Topic> topics = new java.util.ArrayList<>();
-        
-        // Find ExamSubject IDs that belong to this examId
-        List<Long> examSubjectIds = examSubjectRepository.findByExamId(examId)
-            .stream().map(es -> es.getId()).collect(Collectors.toList());
-        
-        // Find topics where courseTypeId=2 and relationshipId is in the ExamSubject IDs
-        for (Long examSubjectId : examSubjectIds) {
-            if (active != null) {
-                topics.addAll(topicRepository.findByCourseTypeIdAndRelationshipIdAndIsActiveOrderByDisplayOrderAsc(
-                    2L, examSubjectId, active));
-            } else {
-                topics.addAll(topicRepository.findByCourseTypeIdAndRelationshipIdOrderByDisplayOrderAsc(
-                    2L, examSubjectId));
-            }
-        }
-        
-        return topics;
+    private boolean hasLinkIds(Map<Long, List<Long>> linkIds) {
+        return linkIds.values().stream().anyMatch(ids -> !ids.isEmpty());
     }
     
-    /**
-     * Get topics by course ID
-     * Finds topics where relationshipId points to ClassSubject/ExamSubject/CourseSubject 
-     * that belongs to the specified courseId
-     */
-    private List<Topic> getTopicsByCourseId(Long courseId, Boolean active) {
-        List<Topic> topics = new java.util.ArrayList<>();
-        
-        // For Professional courses (courseTypeId = 3), find CourseSubject IDs for this course
-        List<Long> courseSubjectIds = courseSubjectRepository.findByCourseId(courseId)
-            .stream().map(cs -> cs.getId()).collect(Collectors.toList());
-        
-        for (Long courseSubjectId : courseSubjectIds) {
-            if (active != null) {
-                topics.addAll(topicRepository.findByCourseTypeIdAndRelationshipIdAndIsActiveOrderByDisplayOrderAsc(
-                    3L, courseSubjectId, active));
-            } else {
-                topics.addAll(topicRepository.findByCourseTypeIdAndRelationshipIdOrderByDisplayOrderAsc(
-                    3L, courseSubjectId));
-            }
-        }
-        
-        // For Academic courses (courseTypeId = 1), find ClassSubject IDs through classes
-        List<Long> classIds = classRepository.findByCourseId(courseId)
-            .stream().map(c -> c.getId()).collect(Collectors.toList());
-        
-        for (Long classId : classIds) {
-            topics.addAll(getTopicsByClassId(classId, active));
-        }
-        
-        // For Competitive courses (courseTypeId = 2), find ExamSubject IDs through exams
-        List<Long> examIds = examRepository.findByCourseId(courseId)
-            .stream().map(e -> e.getId()).collect(Collectors.toList());
-        
-        for (Long examId : examIds) {
-            topics.addAll(getTopicsByExamId(examId, active));
-        }
-        
-        return topics.stream().distinct().collect(Collectors.toList());
+    private List<Long> toList(long[] ids) {
+        return Arrays.stream(ids).boxed().collect(Collectors.toList());
     }
     
     /**
@@ -632,70 +405,34 @@ public class TopicService {
         dto.setRelationshipId(topic.getRelationshipId());
         dto.setRelationshipType(topic.getRelationshipType());
         
-        // Get complete relationship information based on courseTypeId
-        try {
-            if (topic.getCourseTypeId() == 1) {
-                // Academic - get ClassSubject
-                Optional<ClassSubject> classSubjectOpt = classSubjectRepository.findById(topic.getRelationshipId());
-                if (classSubjectOpt.isPresent()) {
-                    ClassSubject classSubject = classSubjectOpt.get();
-                    ClassEntity classEntity = classSubject.getClassEntity();
-                    Course course = classEntity.getCourse();
-                    Subject subject = classSubject.getSubject();
-                    
-                    // Course information
-                    dto.setCourseId(course.getId());
-                    dto.setCourseName(course.getName());
-                    
-                    // Class information
-                    dto.setClassId(classEntity.getId());
-                    dto.setClassName(classEntity.getName());
-                    
-                    // Master subject information
-                    dto.setSubjectId(subject.getId());
-                    dto.setSubjectName(subject.getName());
-                }
-            } else if (topic.getCourseTypeId() == 2) {
-                // Competitive - get ExamSubject
-                Optional<ExamSubject> examSubjectOpt = examSubjectRepository.findById(topic.getRelationshipId());
-                if (examSubjectOpt.isPresent()) {
-                    ExamSubject examSubject = examSubjectOpt.get();
-                    Exam exam = examSubject.getExam();
-                    Course course = exam.getCourse();
-                    Subject subject = examSubject.getSubject();
-                    
-                    // Course information
-                    dto.setCourseId(course.getId());
-                    dto.setCourseName(course.getName());
-                    
-                    // Exam information
-                    dto.setExamId(exam.getId());
-                    dto.setExamName(exam.getName());
-                    
-                    // Master subject information
-                    dto.setSubjectId(subject.getId());
-                    dto.setSubjectName(subject.getName());
-                }
-            } else if (topic.getCourseTypeId() == 3) {
-                // Professional - get CourseSubject
-                Optional<CourseSubject> courseSubjectOpt = courseSubjectRepository.findById(topic.getRelationshipId());
-                if (courseSubjectOpt.isPresent()) {
-                    CourseSubject courseSubject = courseSubjectOpt.get();
-                    Course course = courseSubject.getCourse();
-                    Subject subject = courseSubject.getSubject();
-                    
-                    // Course information
-                    dto.setCourseId(course.getId());
-                    dto.setCourseName(course.getName());
-                    
-                    // Master subject information
-                    dto.setSubjectId(subject.getId());
-                    dto.setSubjectName(subject.getName());
-                }
+        // Get complete relationship information based on courseTypeId (relationshipId is the link id)
+        MasterDataIndex index = masterDataIndexService.getIndex();
+        SubjectLink link = index.getLink(topic.getCourseTypeId(), topic.getRelationshipId());
+        if (link != null) {
+            MasterDataIndexService.Node course = index.getCourse(link);
+            MasterDataIndexService.Node subject = index.getSubject(link.getSubjectId());
+            
+            // Course information
+            if (course != null) {
+                dto.setCourseId(course.getId());
+                dto.setCourseName(course.getName());
+            }
+            
+            // Class information (Academic) or exam information (Competitive)
+            MasterDataIndexService.Node owner = index.getOwner(link);
+            if (owner != null && link.getCourseTypeId() == MasterDataIndex.ACADEMIC) {
+                dto.setClassId(owner.getId());
+                dto.setClassName(owner.getName());
+            } else if (owner != null && link.getCourseTypeId() == MasterDataIndex.COMPETITIVE) {
+                dto.setExamId(owner.getId());
+                dto.setExamName(owner.getName());
+            }
+            
+            // Master subject information
+            if (subject != null) {
+                dto.setSubjectId(subject.getId());
+                dto.setSubjectName(subject.getName());
             }
-        } catch (Exception e) {
-            // Log error but don't fail the conversion
-            System.err.println("Error loading relationship data for topic " + topic.getId() + ": " + e.getMessage());
         }
         
         return dto;
@@ -703,16 +440,18 @@ public class TopicService {
     
     // Validation method
     private void validateRelationship(Long courseTypeId, Long relationshipId) {
+        // The index covers committed links; links created earlier in this transaction are checked in the database
+        boolean indexed = masterDataIndexService.getIndex().getLink(courseTypeId, relationshipId) != null;
         if (courseTypeId == 1) { // Academic
-            if (!classSubjectRepository.existsById(relationshipId)) {
+            if (!indexed && !classSubjectRepository.existsById(relationshipId)) {
                 throw new IllegalArgumentException("ClassSubject not found with ID: " + relationshipId);
             }
         } else if (courseTypeId == 2) { // Competitive
-            if (!examSubjectRepository.existsById(relationshipId)) {
+            if (!indexed && !examSubjectRepository.existsById(relationshipId)) {
                 throw new IllegalArgumentException("ExamSubject not found with ID: " + relationshipId);
             }
         } else if (courseTypeId == 3) { // Professional
-            if (!courseSubjectRepository.existsById(relationshipId)) {
+            if (!indexed && !courseSubjectRepository.existsById(relationshipId)) {
                 throw new IllegalArgumentException("CourseSubject not found with ID: " + relationshipId);
             }
         } else {
@@ -720,17 +459,48 @@ public class TopicService {
         }
     }
     
-    // Paginated method for standardized endpoints
+    // Paginated method for standardized endpoints; filtering, ordering and paging all happen in SQL
     @Transactional(readOnly = true)
     public Page<TopicResponseDTO> getTopicsCombinedFilter(Long courseTypeId, Long courseId, Long classId, 
             Long examId, Long subjectId, Boolean active, String search, Pageable pageable) {
-        List<TopicResponseDTO> topics = getTopicsWithCombinedFilter(active, courseTypeId, courseId, classId, examId, subjectId, search);
+        Pageable sqlPageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), toTopicSort(pageable.getSort()));
         
-        // Manual pagination
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), topics.size());
-        List<TopicResponseDTO> pageContent = start < topics.size() ? topics.subList(start, end) : List.of();
+        Page<Topic> topics;
+        if (search != null && !search.trim().isEmpty()) {
+            // Search applies only the course type and active filters, as the list endpoint does
+            topics = topicRepository.findByFilters(courseTypeId, active, toLikePattern(search.trim()), sqlPageable);
+        } else {
+            Map<Long, List<Long>> linkIds = resolveFilterLinkIds(courseTypeId, courseId, classId, examId, subjectId);
+            if (linkIds == null) {
+                topics = topicRepository.findByFilters(courseTypeId, active, "%", sqlPageable);
+            } else if (!hasLinkIds(linkIds)) {
+                topics = Page.empty(sqlPageable);
+            } else {
+                topics = topicRepository.findByLinkIds(linkIds.getOrDefault(MasterDataIndex.ACADEMIC, List.of()),
+                    linkIds.getOrDefault(MasterDataIndex.COMPETITIVE, List.of()),
+                    linkIds.getOrDefault(MasterDataIndex.PROFESSIONAL, List.of()), active, sqlPageable);
+            }
+        }
         
-        return new PageImpl<>(pageContent, pageable, topics.size());
+        return topics.map(this::convertToResponseDTO);
+    }
+    
+    /**
+     * Requested sort restricted to sortable Topic properties, falling back to display order, with id as tie-breaker
+     */
+    private Sort toTopicSort(Sort requested) {
+        List<Sort.Order> orders = requested.stream()
+            .filter(order -> SORTABLE_PROPERTIES.contains(order.getProperty()))
+            .collect(Collectors.toList());
+        Sort sort = orders.isEmpty() ? DEFAULT_TOPIC_SORT : Sort.by(orders);
+        return sort.getOrderFor("id") != null ? sort : sort.and(Sort.by("id"));
+    }
+    
+    private String toLikePattern(String search) {
+        String escaped = search.toLowerCase()
+            .replace("\\", "\\\\")
+            .replace("%", "\\%")
+            .replace("_", "\\_");
+        return "%" + escaped + "%";
     }
 }
\ No newline at end of file
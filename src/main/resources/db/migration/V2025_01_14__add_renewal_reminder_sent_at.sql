@@ -0,0 +1,7 @@
+-- Track when a renewal reminder was sent so the daily pipeline does not email twice
+ALTER TABLE student_subscriptions ADD COLUMN renewal_reminder_sent_at TIMESTAMP;
+
+-- Supports the keyset cursor used by the renewal reminder pipeline
+CREATE INDEX idx_student_subscriptions_expiring_reminder
+    ON student_subscriptions(student_id, id)
+    WHERE is_active = TRUE AND payment_status = 'PAID' AND renewal_reminder_sent_at IS NULL;
@@ -0,0 +1,21 @@
+-- Materialized "latest subscription per entity" flag, replacing the MAX(id) subquery
+ALTER TABLE student_subscriptions ADD COLUMN is_latest_for_entity BOOLEAN;
+
+UPDATE student_subscriptions s
+SET is_latest_for_entity = (s.id = (
+    SELECT MAX(s2.id) FROM student_subscriptions s2
+    WHERE s2.student_id = s.student_id
+      AND s2.subscription_level = s.subscription_level
+      AND s2.entity_id = s.entity_id
+));
+
+-- Keyset pagination indexes on (created_at, id)
+CREATE INDEX idx_student_subscriptions_student_created
+    ON student_subscriptions(student_id, created_at DESC, id DESC);
+CREATE INDEX idx_student_subscriptions_student_latest_created
+    ON student_subscriptions(student_id, created_at DESC, id DESC)
+    WHERE is_latest_for_entity = TRUE;
+CREATE INDEX idx_student_subscriptions_created
+    ON student_subscriptions(created_at DESC, id DESC);
+CREATE INDEX idx_student_subscriptions_status_created
+    ON student_subscriptions(status, created_at DESC, id DESC);
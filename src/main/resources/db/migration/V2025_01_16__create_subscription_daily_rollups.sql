@@ -0,0 +1,40 @@
+-- Daily per-level/per-entity subscription counters used by admin analytics
+CREATE TABLE IF NOT EXISTS subscription_daily_rollups (
+    id BIGSERIAL PRIMARY KEY,
+    rollup_date DATE NOT NULL,
+    subscription_level VARCHAR(20) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    activations INT NOT NULL DEFAULT 0,
+    expirations INT NOT NULL DEFAULT 0,
+    cancellations INT NOT NULL DEFAULT 0,
+    revenue NUMERIC(12,2) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP,
+    CONSTRAINT uk_subscription_rollup_day_entity UNIQUE (rollup_date, subscription_level, entity_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_subscription_rollup_level_date
+    ON subscription_daily_rollups(subscription_level, rollup_date);
+
+-- Backfill from existing subscriptions (one-off; afterwards rows are maintained incrementally)
+INSERT INTO subscription_daily_rollups (rollup_date, subscription_level, entity_id, activations, revenue, updated_at)
+SELECT CAST(COALESCE(payment_date, created_at) AS DATE), subscription_level, entity_id, COUNT(*), SUM(amount), CURRENT_TIMESTAMP
+FROM student_subscriptions
+WHERE payment_date IS NOT NULL AND payment_status IN ('PAID', 'CANCELLED')
+GROUP BY CAST(COALESCE(payment_date, created_at) AS DATE), subscription_level, entity_id
+ON CONFLICT (rollup_date, subscription_level, entity_id) DO NOTHING;
+
+INSERT INTO subscription_daily_rollups (rollup_date, subscription_level, entity_id, expirations, updated_at)
+SELECT CAST(end_date AS DATE), subscription_level, entity_id, COUNT(*), CURRENT_TIMESTAMP
+FROM student_subscriptions
+WHERE payment_status = 'PAID' AND status = 'EXPIRED' AND end_date IS NOT NULL
+GROUP BY CAST(end_date AS DATE), subscription_level, entity_id
+ON CONFLICT (rollup_date, subscription_level, entity_id)
+DO UPDATE SET expirations = subscription_daily_rollups.expirations + EXCLUDED.expirations;
+
+INSERT INTO subscription_daily_rollups (rollup_date, subscription_level, entity_id, cancellations, updated_at)
+SELECT CAST(COALESCE(updated_at, created_at) AS DATE), subscription_level, entity_id, COUNT(*), CURRENT_TIMESTAMP
+FROM student_subscriptions
+WHERE payment_date IS NOT NULL AND payment_status = 'CANCELLED'
+GROUP BY CAST(COALESCE(updated_at, created_at) AS DATE), subscription_level, entity_id
+ON CONFLICT (rollup_date, subscription_level, entity_id)
+DO UPDATE SET cancellations = subscription_daily_rollups.cancellations + EXCLUDED.cancellations;
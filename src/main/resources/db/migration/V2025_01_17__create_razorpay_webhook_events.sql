@@ -0,0 +1,22 @@
+-- Raw Razorpay webhook events; also serves as the durable processing queue
+CREATE TABLE IF NOT EXISTS razorpay_webhook_events (
+    id BIGSERIAL PRIMARY KEY,
+    event_id VARCHAR(100) NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    order_id VARCHAR(100),
+    payment_id VARCHAR(100),
+    payload TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    last_error TEXT,
+    received_at TIMESTAMP NOT NULL,
+    next_attempt_at TIMESTAMP NOT NULL,
+    processed_at TIMESTAMP,
+    CONSTRAINT uk_razorpay_webhook_event_id UNIQUE (event_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_webhook_events_status_next_attempt
+    ON razorpay_webhook_events(status, next_attempt_at);
+
+CREATE INDEX IF NOT EXISTS idx_webhook_events_order
+    ON razorpay_webhook_events(order_id, id);
@@ -0,0 +1,8 @@
+-- Indexes backing the question filter engine (QuestionSpecifications)
+-- Each hierarchy filter is typically combined with is_active and ordered by display_order
+CREATE INDEX IF NOT EXISTS idx_questions_chapter_active_order ON questions(chapter_id, is_active, display_order);
+CREATE INDEX IF NOT EXISTS idx_questions_module_active_order ON questions(module_id, is_active, display_order);
+CREATE INDEX IF NOT EXISTS idx_questions_topic_active_order ON questions(topic_id, is_active, display_order);
+CREATE INDEX IF NOT EXISTS idx_questions_subject_active_order ON questions(subject_id, is_active, display_order);
+CREATE INDEX IF NOT EXISTS idx_questions_course_type_relationship ON questions(course_type_id, relationship_id, is_active, display_order);
+CREATE INDEX IF NOT EXISTS idx_questions_active_order ON questions(is_active, display_order, id);
@@ -0,0 +1,5 @@
+-- Indexes for the EXISTS subqueries used by enhanced question filtering
+CREATE INDEX IF NOT EXISTS idx_question_exam_suitability_question_exam
+    ON question_exam_suitabilities(question_id, master_exam_id, suitability_level);
+CREATE INDEX IF NOT EXISTS idx_question_exam_history_question_year
+    ON question_exam_histories(question_id, appeared_year_id);
@@ -0,0 +1,9 @@
+-- Full-text search over question text (weight A) and explanation (weight B).
+-- A stored generated column is kept up to date by PostgreSQL on every insert/update.
+ALTER TABLE questions ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(question_text, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(explanation, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_questions_search_vector ON questions USING GIN (search_vector);
@@ -0,0 +1,10 @@
+-- MinHash signatures and LSH band keys for near-duplicate question detection.
+-- Populate for existing questions with POST /api/admin/master-data/questions/near-duplicates/rebuild
+CREATE TABLE IF NOT EXISTS question_signatures (
+    question_id BIGINT PRIMARY KEY REFERENCES questions(id) ON DELETE CASCADE,
+    minhash INTEGER[] NOT NULL,
+    band_keys BIGINT[] NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_question_signatures_band_keys ON question_signatures USING GIN (band_keys);
@@ -0,0 +1,6 @@
+-- Indexes for adaptive practice calibration (per-question answer outcomes)
+-- and for seeding a student's ability from their attempts
+CREATE INDEX IF NOT EXISTS idx_test_answers_question_answered
+    ON test_answers(question_id, is_correct) WHERE is_answered = true;
+CREATE INDEX IF NOT EXISTS idx_test_attempts_student
+    ON test_attempts(student_id);
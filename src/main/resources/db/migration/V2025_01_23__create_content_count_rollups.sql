@@ -0,0 +1,15 @@
+-- Active content counts per hierarchy node, maintained incrementally by the content services.
+-- node_type: CHAPTER, MODULE, TOPIC, SUBJECT_LINK, CLASS, EXAM, COURSE
+-- scope_id is the topic course type for SUBJECT_LINK rows (node_id is then the relationship id), 0 otherwise.
+-- The table is filled on first startup and rebuilt nightly to repair drift from out-of-band writes.
+CREATE TABLE IF NOT EXISTS content_count_rollups (
+    node_type VARCHAR(20) NOT NULL,
+    scope_id BIGINT NOT NULL DEFAULT 0,
+    node_id BIGINT NOT NULL,
+    topic_count BIGINT NOT NULL DEFAULT 0,
+    module_count BIGINT NOT NULL DEFAULT 0,
+    chapter_count BIGINT NOT NULL DEFAULT 0,
+    question_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT now(),
+    PRIMARY KEY (node_type, scope_id, node_id)
+);
@@ -0,0 +1,6 @@
+-- Optimistic locking for pricing configurations; bulk discount updates bump the version set-based
+ALTER TABLE pricing_configurations ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Bulk discount updates select by course type and level
+CREATE INDEX IF NOT EXISTS idx_pricing_configurations_course_type_entity_type
+    ON pricing_configurations(course_type_id, entity_type);